@@ -0,0 +1,78 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.build.jmh;
+
+import java.util.Arrays;
+
+import me.champeau.gradle.JMHPlugin;
+import me.champeau.gradle.JMHPluginExtension;
+import org.gradle.api.Plugin;
+import org.gradle.api.Project;
+import org.gradle.api.file.DuplicatesStrategy;
+import org.gradle.api.plugins.JavaPlugin;
+
+/**
+ * {@link Plugin} that applies conventions for JMH micro-benchmarks in Spring Framework.
+ * <p>Benchmarks live in the {@code src/jmh/java} source set of each module and can be
+ * run with {@code "./gradlew :spring-core:jmh"}. A subset of benchmarks can be selected
+ * with a regular expression on the CLI: {@code "./gradlew :spring-core:jmh -PjmhInclude=PathMatcher"}.
+ * JMH profilers can be enabled as well: {@code "./gradlew :spring-aop:jmh -PjmhProfilers=gc"}.
+ */
+public class JmhConventionsPlugin implements Plugin<Project> {
+
+	/**
+	 * The project property that can be used to select the benchmarks to run.
+	 */
+	public static final String JMH_INCLUDE_PROPERTY = "jmhInclude";
+
+	/**
+	 * The project property that can be used to enable JMH profilers.
+	 */
+	public static final String JMH_PROFILERS_PROPERTY = "jmhProfilers";
+
+	/**
+	 * The JMH version used for compiling and running benchmarks.
+	 */
+	public static final String JMH_VERSION = "1.22";
+
+	@Override
+	public void apply(Project project) {
+		project.getPlugins().withType(JavaPlugin.class, javaPlugin -> applyJmhConventions(project));
+	}
+
+	/**
+	 * Applies the JMH plugin and configures the {@code jmh} source set and tasks.
+	 * @param project the current project
+	 */
+	private void applyJmhConventions(Project project) {
+		project.getPlugins().apply(JMHPlugin.class);
+		JMHPluginExtension jmh = project.getExtensions().getByType(JMHPluginExtension.class);
+		jmh.setJmhVersion(JMH_VERSION);
+		jmh.setDuplicateClassesStrategy(DuplicatesStrategy.EXCLUDE);
+		jmh.setResultFormat("JSON");
+		if (project.hasProperty(JMH_INCLUDE_PROPERTY)) {
+			jmh.setInclude(Arrays.asList(String.valueOf(project.property(JMH_INCLUDE_PROPERTY)).split(",")));
+		}
+		if (project.hasProperty(JMH_PROFILERS_PROPERTY)) {
+			jmh.setProfilers(Arrays.asList(String.valueOf(project.property(JMH_PROFILERS_PROPERTY)).split(",")));
+		}
+		project.getDependencies().add("jmh", "org.openjdk.jmh:jmh-core:" + JMH_VERSION);
+		project.getDependencies().add("jmh", "org.openjdk.jmh:jmh-generator-annprocess:" + JMH_VERSION);
+		project.getDependencies().add("jmh", "net.sf.jopt-simple:jopt-simple");
+	}
+
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.aop.framework;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.NameMatchMethodPointcut;
+
+/**
+ * Benchmarks for method invocations through JDK and CGLIB proxies, with
+ * and without a frozen configuration. Run with the {@code gc} profiler
+ * in order to compare the allocations per invocation.
+ *
+ * @since 5.2.1
+ */
+@BenchmarkMode(Mode.Throughput)
+public class ProxyInvocationBenchmark {
+
+	@Benchmark
+	public void advisedMethod(BenchmarkData data, Blackhole bh) {
+		bh.consume(data.proxy.advised(data.value));
+	}
+
+	@Benchmark
+	public void unadvisedMethod(BenchmarkData data, Blackhole bh) {
+		bh.consume(data.proxy.unadvised(data.value));
+	}
+
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkData {
+
+		@Param({"jdk", "cglib"})
+		public String proxyType;
+
+		@Param({"true", "false"})
+		public boolean frozen;
+
+		public Service proxy;
+
+		public String value = "spring";
+
+		@Setup(Level.Trial)
+		public void setup() {
+			ProxyFactory proxyFactory = new ProxyFactory(new DefaultService());
+			proxyFactory.setProxyTargetClass(this.proxyType.equals("cglib"));
+			proxyFactory.addInterface(Service.class);
+			MethodInterceptor interceptor = MethodInvocation::proceed;
+			proxyFactory.addAdvisor(new DefaultPointcutAdvisor(
+					new NameMatchMethodPointcut().addMethodName("advised"), interceptor));
+			proxyFactory.setFrozen(this.frozen);
+			this.proxy = (Service) proxyFactory.getProxy();
+		}
+	}
+
+
+	public interface Service {
+
+		String advised(String value);
+
+		String unadvised(String value);
+	}
+
+
+	public static class DefaultService implements Service {
+
+		@Override
+		public String advised(String value) {
+			return value;
+		}
+
+		@Override
+		public String unadvised(String value) {
+			return value;
+		}
+	}
+
+}
@@ -19,8 +19,12 @@ package org.springframework.aop.aspectj;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.Type;
 import java.util.HashMap;
 import java.util.Map;
@@ -67,6 +71,10 @@ public abstract class AbstractAspectJAdvice implements Advice, AspectJPrecedence
 	 */
 	protected static final String JOIN_POINT_KEY = JoinPoint.class.getName();
 
+	private static final Object[] EMPTY_ARGS = new Object[0];
+
+	private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+
 
 	/**
 	 * Lazily instantiate joinpoint for the current invocation.
@@ -149,7 +157,35 @@ public abstract class AbstractAspectJAdvice implements Advice, AspectJPrecedence
 	@Nullable
 	private Map<String, Integer> argumentBindings;
 
-	private boolean argumentsIntrospected = false;
+	/**
+	 * Index for the returning argument, if bound.
+	 */
+	private int returningArgumentIndex = -1;
+
+	/**
+	 * Index for the throwing argument, if bound.
+	 */
+	private int throwingArgumentIndex = -1;
+
+	/**
+	 * Names of the pointcut parameters, in the order of the bindings
+	 * in a {@link JoinPointMatch}.
+	 */
+	@Nullable
+	private String[] pointcutParameterNames;
+
+	/**
+	 * Indexes for the pointcut parameters, in the same order.
+	 */
+	@Nullable
+	private int[] pointcutParameterIndexes;
+
+	private volatile boolean argumentsIntrospected = false;
+
+	private transient volatile boolean adviceInvokerResolved = false;
+
+	@Nullable
+	private transient volatile MethodHandle adviceInvoker;
 
 	@Nullable
 	private Type discoveredReturningGenericType;
@@ -378,8 +414,12 @@ public abstract class AbstractAspectJAdvice implements Advice, AspectJPrecedence
 	 * this binding, which are arranged in a ChainOfResponsibility.
 	 */
 	public final synchronized void calculateArgumentBindings() {
+		if (this.argumentsIntrospected) {
+			return;
+		}
 		// The simple case... nothing to bind.
-		if (this.argumentsIntrospected || this.parameterTypes.length == 0) {
+		if (this.parameterTypes.length == 0) {
+			this.argumentsIntrospected = true;
 			return;
 		}
 
@@ -495,6 +535,7 @@ public abstract class AbstractAspectJAdvice implements Advice, AspectJPrecedence
 			}
 			else {
 				Integer index = this.argumentBindings.get(this.returningName);
+				this.returningArgumentIndex = index;
 				this.discoveredReturningType = this.aspectJAdviceMethod.getParameterTypes()[index];
 				this.discoveredReturningGenericType = this.aspectJAdviceMethod.getGenericParameterTypes()[index];
 			}
@@ -506,6 +547,7 @@ public abstract class AbstractAspectJAdvice implements Advice, AspectJPrecedence
 			}
 			else {
 				Integer index = this.argumentBindings.get(this.throwingName);
+				this.throwingArgumentIndex = index;
 				this.discoveredThrowingType = this.aspectJAdviceMethod.getParameterTypes()[index];
 			}
 		}
@@ -529,6 +571,7 @@ public abstract class AbstractAspectJAdvice implements Advice, AspectJPrecedence
 		}
 		String[] pointcutParameterNames = new String[argumentNames.length - numParametersToRemove];
 		Class<?>[] pointcutParameterTypes = new Class<?>[pointcutParameterNames.length];
+		int[] pointcutParameterIndexes = new int[pointcutParameterNames.length];
 		Class<?>[] methodParameterTypes = this.aspectJAdviceMethod.getParameterTypes();
 
 		int index = 0;
@@ -542,11 +585,14 @@ public abstract class AbstractAspectJAdvice implements Advice, AspectJPrecedence
 			}
 			pointcutParameterNames[index] = argumentNames[i];
 			pointcutParameterTypes[index] = methodParameterTypes[i];
+			pointcutParameterIndexes[index] = i;
 			index++;
 		}
 
 		this.pointcut.setParameterNames(pointcutParameterNames);
 		this.pointcut.setParameterTypes(pointcutParameterTypes);
+		this.pointcutParameterNames = pointcutParameterNames;
+		this.pointcutParameterIndexes = pointcutParameterIndexes;
 	}
 
 	/**
@@ -561,7 +607,12 @@ public abstract class AbstractAspectJAdvice implements Advice, AspectJPrecedence
 	protected Object[] argBinding(JoinPoint jp, @Nullable JoinPointMatch jpMatch,
 			@Nullable Object returnValue, @Nullable Throwable ex) {
 
-		calculateArgumentBindings();
+		if (!this.argumentsIntrospected) {
+			calculateArgumentBindings();
+		}
+		if (this.parameterTypes.length == 0) {
+			return EMPTY_ARGS;
+		}
 
 		// AMC start
 		Object[] adviceInvocationArgs = new Object[this.parameterTypes.length];
@@ -580,23 +631,20 @@ public abstract class AbstractAspectJAdvice implements Advice, AspectJPrecedence
 			// binding from pointcut match
 			if (jpMatch != null) {
 				PointcutParameter[] parameterBindings = jpMatch.getParameterBindings();
-				for (PointcutParameter parameter : parameterBindings) {
-					String name = parameter.getName();
-					Integer index = this.argumentBindings.get(name);
-					adviceInvocationArgs[index] = parameter.getBinding();
+				for (int i = 0; i < parameterBindings.length; i++) {
+					PointcutParameter parameter = parameterBindings[i];
+					adviceInvocationArgs[getArgumentIndex(i, parameter.getName())] = parameter.getBinding();
 					numBound++;
 				}
 			}
 			// binding from returning clause
-			if (this.returningName != null) {
-				Integer index = this.argumentBindings.get(this.returningName);
-				adviceInvocationArgs[index] = returnValue;
+			if (this.returningArgumentIndex != -1) {
+				adviceInvocationArgs[this.returningArgumentIndex] = returnValue;
 				numBound++;
 			}
 			// binding from thrown exception
-			if (this.throwingName != null) {
-				Integer index = this.argumentBindings.get(this.throwingName);
-				adviceInvocationArgs[index] = ex;
+			if (this.throwingArgumentIndex != -1) {
+				adviceInvocationArgs[this.throwingArgumentIndex] = ex;
 				numBound++;
 			}
 		}
@@ -610,6 +658,21 @@ public abstract class AbstractAspectJAdvice implements Advice, AspectJPrecedence
 		return adviceInvocationArgs;
 	}
 
+	/**
+	 * Determine the advice argument index for the pointcut parameter binding
+	 * at the given position, using the precomputed indexes if it matches.
+	 */
+	private int getArgumentIndex(int position, String name) {
+		String[] pointcutParameterNames = this.pointcutParameterNames;
+		int[] pointcutParameterIndexes = this.pointcutParameterIndexes;
+		if (pointcutParameterNames != null && pointcutParameterIndexes != null &&
+				position < pointcutParameterNames.length && pointcutParameterNames[position].equals(name)) {
+			return pointcutParameterIndexes[position];
+		}
+		Assert.state(this.argumentBindings != null, "No argument bindings available");
+		return this.argumentBindings.get(name);
+	}
+
 
 	/**
 	 * Invoke the advice method.
@@ -638,10 +701,15 @@ public abstract class AbstractAspectJAdvice implements Advice, AspectJPrecedence
 		if (this.aspectJAdviceMethod.getParameterCount() == 0) {
 			actualArgs = null;
 		}
+		Object aspectInstance = this.aspectInstanceFactory.getAspectInstance();
+		MethodHandle adviceInvoker = obtainAdviceInvoker();
+		if (adviceInvoker != null && isInvocable(aspectInstance, actualArgs)) {
+			return (Object) adviceInvoker.invokeExact(aspectInstance, actualArgs);
+		}
 		try {
 			ReflectionUtils.makeAccessible(this.aspectJAdviceMethod);
 			// TODO AopUtils.invokeJoinpointUsingReflection
-			return this.aspectJAdviceMethod.invoke(this.aspectInstanceFactory.getAspectInstance(), actualArgs);
+			return this.aspectJAdviceMethod.invoke(aspectInstance, actualArgs);
 		}
 		catch (IllegalArgumentException ex) {
 			throw new AopInvocationException("Mismatch on arguments to advice method [" +
@@ -653,6 +721,56 @@ public abstract class AbstractAspectJAdvice implements Advice, AspectJPrecedence
 		}
 	}
 
+	/**
+	 * Obtain a {@link MethodHandle} for the advice method, spreading an argument
+	 * array over its parameters, or {@code null} if not accessible.
+	 */
+	@Nullable
+	private MethodHandle obtainAdviceInvoker() {
+		if (!this.adviceInvokerResolved) {
+			MethodHandle adviceInvoker = null;
+			try {
+				ReflectionUtils.makeAccessible(this.aspectJAdviceMethod);
+				adviceInvoker = MethodHandles.lookup().unreflect(this.aspectJAdviceMethod).asFixedArity()
+						.asSpreader(Object[].class, this.parameterTypes.length);
+				if (Modifier.isStatic(this.aspectJAdviceMethod.getModifiers())) {
+					adviceInvoker = MethodHandles.dropArguments(adviceInvoker, 0, Object.class);
+				}
+				adviceInvoker = adviceInvoker.asType(INVOKER_TYPE);
+			}
+			catch (IllegalAccessException ex) {
+				// Keep using reflection.
+			}
+			this.adviceInvoker = adviceInvoker;
+			this.adviceInvokerResolved = true;
+		}
+		return this.adviceInvoker;
+	}
+
+	/**
+	 * Check whether the given aspect instance and arguments can be passed to the
+	 * advice method as-is, leaving any mismatch to the reflective invocation and
+	 * its error reporting.
+	 */
+	private boolean isInvocable(Object aspectInstance, @Nullable Object[] args) {
+		if (!Modifier.isStatic(this.aspectJAdviceMethod.getModifiers()) &&
+				!this.aspectJAdviceMethod.getDeclaringClass().isInstance(aspectInstance)) {
+			return false;
+		}
+		if (args == null) {
+			return (this.parameterTypes.length == 0);
+		}
+		if (args.length != this.parameterTypes.length) {
+			return false;
+		}
+		for (int i = 0; i < args.length; i++) {
+			if (!ClassUtils.isAssignableValue(this.parameterTypes[i], args[i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	/**
 	 * Overridden in around advice to return proceeding join point.
 	 */
@@ -29,7 +29,25 @@ import java.util.concurrent.ConcurrentHashMap;
 import org.aopalliance.intercept.MethodInvocation;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.aspectj.weaver.internal.tools.PointcutExpressionImpl;
+import org.aspectj.weaver.patterns.AndAnnotationTypePattern;
+import org.aspectj.weaver.patterns.AndPointcut;
+import org.aspectj.weaver.patterns.AndTypePattern;
+import org.aspectj.weaver.patterns.AnnotationPointcut;
+import org.aspectj.weaver.patterns.AnnotationTypePattern;
+import org.aspectj.weaver.patterns.ExactAnnotationTypePattern;
+import org.aspectj.weaver.patterns.ExactTypePattern;
+import org.aspectj.weaver.patterns.KindedPointcut;
 import org.aspectj.weaver.patterns.NamePattern;
+import org.aspectj.weaver.patterns.OrAnnotationTypePattern;
+import org.aspectj.weaver.patterns.OrPointcut;
+import org.aspectj.weaver.patterns.OrTypePattern;
+import org.aspectj.weaver.patterns.Pointcut;
+import org.aspectj.weaver.patterns.ThisOrTargetAnnotationPointcut;
+import org.aspectj.weaver.patterns.TypePattern;
+import org.aspectj.weaver.patterns.WildTypePattern;
+import org.aspectj.weaver.patterns.WithinAnnotationPointcut;
+import org.aspectj.weaver.patterns.WithinPointcut;
 import org.aspectj.weaver.reflect.ReflectionWorld.ReflectionWorldException;
 import org.aspectj.weaver.reflect.ShadowMatchImpl;
 import org.aspectj.weaver.tools.ContextBasedMatcher;
@@ -51,6 +69,8 @@ import org.springframework.aop.framework.autoproxy.ProxyCreationContext;
 import org.springframework.aop.interceptor.ExposeInvocationInterceptor;
 import org.springframework.aop.support.AbstractExpressionPointcut;
 import org.springframework.aop.support.AopUtils;
+import org.springframework.aop.support.IndexablePointcut;
+import org.springframework.aop.support.PointcutIndexHints;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.BeanFactoryAware;
 import org.springframework.beans.factory.BeanFactoryUtils;
@@ -91,7 +111,7 @@ import org.springframework.util.StringUtils;
  */
 @SuppressWarnings("serial")
 public class AspectJExpressionPointcut extends AbstractExpressionPointcut
-		implements ClassFilter, IntroductionAwareMethodMatcher, BeanFactoryAware {
+		implements ClassFilter, IntroductionAwareMethodMatcher, IndexablePointcut, BeanFactoryAware {
 
 	private static final Set<PointcutPrimitive> SUPPORTED_PRIMITIVES = new HashSet<>();
 
@@ -129,6 +149,11 @@ public class AspectJExpressionPointcut extends AbstractExpressionPointcut
 
 	private transient Map<Method, ShadowMatch> shadowMatchCache = new ConcurrentHashMap<>(32);
 
+	@Nullable
+	private transient volatile PointcutIndexHints indexHints;
+
+	private transient volatile boolean indexHintsResolved;
+
 
 	/**
 	 * Create a new default AspectJExpressionPointcut.
@@ -275,6 +300,31 @@ public class AspectJExpressionPointcut extends AbstractExpressionPointcut
 		return obtainPointcutExpression();
 	}
 
+	/**
+	 * Derive index hints from the type names, package patterns and annotation
+	 * types that the underlying AspectJ pointcut expression requires.
+	 * @since 5.2.1
+	 */
+	@Override
+	@Nullable
+	public PointcutIndexHints getIndexHints() {
+		if (!this.indexHintsResolved) {
+			PointcutIndexHints hints = null;
+			try {
+				PointcutExpression pointcutExpression = obtainPointcutExpression();
+				if (pointcutExpression instanceof PointcutExpressionImpl) {
+					hints = IndexHintsResolver.resolve(((PointcutExpressionImpl) pointcutExpression).getUnderlyingPointcut());
+				}
+			}
+			catch (Throwable ex) {
+				logger.debug("Failed to derive index hints from PointcutExpression", ex);
+			}
+			this.indexHints = hints;
+			this.indexHintsResolved = true;
+		}
+		return this.indexHints;
+	}
+
 	@Override
 	public boolean matches(Class<?> targetClass) {
 		PointcutExpression pointcutExpression = obtainPointcutExpression();
@@ -585,6 +635,95 @@ public class AspectJExpressionPointcut extends AbstractExpressionPointcut
 	}
 
 
+	/**
+	 * Derives conservative {@link PointcutIndexHints} from an AspectJ pointcut:
+	 * any part of the pointcut that is not understood leads to no hints at all.
+	 */
+	private static class IndexHintsResolver {
+
+		@Nullable
+		static PointcutIndexHints resolve(Pointcut pointcut) {
+			if (pointcut instanceof AndPointcut) {
+				// Both sides need to match: either side's hints are sufficient
+				AndPointcut andPointcut = (AndPointcut) pointcut;
+				PointcutIndexHints hints = resolve(andPointcut.getLeft());
+				return (hints != null ? hints : resolve(andPointcut.getRight()));
+			}
+			if (pointcut instanceof OrPointcut) {
+				OrPointcut orPointcut = (OrPointcut) pointcut;
+				return PointcutIndexHints.union(resolve(orPointcut.getLeft()), resolve(orPointcut.getRight()));
+			}
+			if (pointcut instanceof KindedPointcut) {
+				KindedPointcut kindedPointcut = (KindedPointcut) pointcut;
+				PointcutIndexHints hints = resolve(kindedPointcut.getSignature().getDeclaringType());
+				return (hints != null ? hints : resolve(kindedPointcut.getSignature().getAnnotationPattern()));
+			}
+			if (pointcut instanceof WithinPointcut) {
+				return resolve(((WithinPointcut) pointcut).getTypePattern());
+			}
+			if (pointcut instanceof AnnotationPointcut) {
+				return resolve(((AnnotationPointcut) pointcut).getAnnotationTypePattern());
+			}
+			if (pointcut instanceof WithinAnnotationPointcut) {
+				return resolve(((WithinAnnotationPointcut) pointcut).getAnnotationTypePattern());
+			}
+			if (pointcut instanceof ThisOrTargetAnnotationPointcut) {
+				return resolve(((ThisOrTargetAnnotationPointcut) pointcut).getAnnotationTypePattern());
+			}
+			return null;
+		}
+
+		@Nullable
+		private static PointcutIndexHints resolve(TypePattern typePattern) {
+			if (typePattern instanceof AndTypePattern) {
+				AndTypePattern andPattern = (AndTypePattern) typePattern;
+				PointcutIndexHints hints = resolve(andPattern.getLeft());
+				return (hints != null ? hints : resolve(andPattern.getRight()));
+			}
+			if (typePattern instanceof OrTypePattern) {
+				OrTypePattern orPattern = (OrTypePattern) typePattern;
+				return PointcutIndexHints.union(resolve(orPattern.getLeft()), resolve(orPattern.getRight()));
+			}
+			if (typePattern instanceof ExactTypePattern) {
+				return PointcutIndexHints.forTypeName(typePattern.getExactType().getRawType().getName());
+			}
+			if (typePattern instanceof WildTypePattern) {
+				// Literal leading name segments, e.g. "com.example." for "com.example..*Service"
+				StringBuilder prefix = new StringBuilder();
+				for (NamePattern namePattern : ((WildTypePattern) typePattern).getNamePatterns()) {
+					String segment = namePattern.maybeGetSimpleName();
+					if (segment == null) {
+						return (prefix.length() > 0 ? PointcutIndexHints.forPackagePrefix(prefix.toString()) : null);
+					}
+					prefix.append(segment).append('.');
+				}
+				// Unresolved type name without any wildcards
+				return (prefix.length() > 0 ?
+						PointcutIndexHints.forPackagePrefix(prefix.substring(0, prefix.length() - 1)) : null);
+			}
+			return null;
+		}
+
+		@Nullable
+		private static PointcutIndexHints resolve(AnnotationTypePattern annotationPattern) {
+			if (annotationPattern instanceof AndAnnotationTypePattern) {
+				AndAnnotationTypePattern andPattern = (AndAnnotationTypePattern) annotationPattern;
+				PointcutIndexHints hints = resolve(andPattern.getLeft());
+				return (hints != null ? hints : resolve(andPattern.getRight()));
+			}
+			if (annotationPattern instanceof OrAnnotationTypePattern) {
+				OrAnnotationTypePattern orPattern = (OrAnnotationTypePattern) annotationPattern;
+				return PointcutIndexHints.union(resolve(orPattern.getLeft()), resolve(orPattern.getRight()));
+			}
+			if (annotationPattern instanceof ExactAnnotationTypePattern) {
+				return PointcutIndexHints.forAnnotationType(
+						((ExactAnnotationTypePattern) annotationPattern).getAnnotationType().getName());
+			}
+			return null;
+		}
+	}
+
+
 	/**
 	 * Handler for the Spring-specific {@code bean()} pointcut designator
 	 * extension to AspectJ.
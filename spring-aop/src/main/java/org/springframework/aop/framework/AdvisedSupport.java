@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -84,6 +84,9 @@ public class AdvisedSupport extends ProxyConfig implements Advised {
 	/** Cache with Method as key and advisor chain List as value. */
 	private transient Map<MethodCacheKey, List<Object>> methodCache;
 
+	/** Cache with Method as key and invoker as value, for frozen configurations. */
+	private transient Map<Method, FrozenMethodInvoker> frozenMethodCache;
+
 	/**
 	 * Interfaces to be implemented by the proxy. Held in List to keep the order
 	 * of registration, to create JDK proxy with specified order of interfaces.
@@ -108,6 +111,7 @@ public class AdvisedSupport extends ProxyConfig implements Advised {
 	 */
 	public AdvisedSupport() {
 		this.methodCache = new ConcurrentHashMap<>(32);
+		this.frozenMethodCache = new ConcurrentHashMap<>(32);
 	}
 
 	/**
@@ -491,11 +495,32 @@ public class AdvisedSupport extends ProxyConfig implements Advised {
 		return cached;
 	}
 
+	/**
+	 * Determine the {@link FrozenMethodInvoker} for the given method, holding
+	 * its interceptor chain as determined by
+	 * {@link #getInterceptorsAndDynamicInterceptionAdvice}.
+	 * <p>Looked up without any per-call allocation; to be used by proxies whose
+	 * configuration is {@link #isFrozen() frozen} and whose target is static.
+	 * @param method the proxied method
+	 * @param targetClass the target class
+	 * @return the invoker for the method
+	 * @since 5.2.1
+	 */
+	FrozenMethodInvoker getFrozenMethodInvoker(Method method, @Nullable Class<?> targetClass) {
+		FrozenMethodInvoker invoker = this.frozenMethodCache.get(method);
+		if (invoker == null) {
+			invoker = new FrozenMethodInvoker(method, getInterceptorsAndDynamicInterceptionAdvice(method, targetClass));
+			this.frozenMethodCache.put(method, invoker);
+		}
+		return invoker;
+	}
+
 	/**
 	 * Invoked when advice has changed.
 	 */
 	protected void adviceChanged() {
 		this.methodCache.clear();
+		this.frozenMethodCache.clear();
 	}
 
 	/**
@@ -556,6 +581,7 @@ public class AdvisedSupport extends ProxyConfig implements Advised {
 
 		// Initialize transient fields.
 		this.methodCache = new ConcurrentHashMap<>(32);
+		this.frozenMethodCache = new ConcurrentHashMap<>(32);
 	}
 
 
@@ -20,6 +20,7 @@ import java.io.Serializable;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.UndeclaredThrowableException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -27,19 +28,17 @@ import java.util.Map;
 import java.util.Set;
 import java.util.WeakHashMap;
 
-import org.aopalliance.aop.Advice;
 import org.aopalliance.intercept.MethodInvocation;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
-import org.springframework.aop.Advisor;
 import org.springframework.aop.AopInvocationException;
-import org.springframework.aop.PointcutAdvisor;
 import org.springframework.aop.RawTargetAccess;
 import org.springframework.aop.TargetSource;
 import org.springframework.aop.support.AopUtils;
 import org.springframework.cglib.core.ClassLoaderAwareGeneratorStrategy;
 import org.springframework.cglib.core.CodeGenerationException;
+import org.springframework.cglib.core.PregeneratedClassSupport;
 import org.springframework.cglib.core.SpringNamingPolicy;
 import org.springframework.cglib.proxy.Callback;
 import org.springframework.cglib.proxy.CallbackFilter;
@@ -53,7 +52,6 @@ import org.springframework.core.SmartClassLoader;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
-import org.springframework.util.ObjectUtils;
 import org.springframework.util.ReflectionUtils;
 
 
@@ -194,7 +192,8 @@ class CglibAopProxy implements AopProxy, Serializable {
 			// 设置代理对象的父类
 			enhancer.setSuperclass(proxySuperClass);
 			// 设置代理对象要实现的接口
-			enhancer.setInterfaces(AopProxyUtils.completeProxiedInterfaces(this.advised));
+			Class<?>[] proxiedInterfaces = AopProxyUtils.completeProxiedInterfaces(this.advised);
+			enhancer.setInterfaces(proxiedInterfaces);
 			enhancer.setNamingPolicy(SpringNamingPolicy.INSTANCE);
 			enhancer.setStrategy(new ClassLoaderAwareGeneratorStrategy(classLoader));
 
@@ -208,9 +207,13 @@ class CglibAopProxy implements AopProxy, Serializable {
 			}
 			// 设置callback的过滤器，即某些条件不走代理
 			// fixedInterceptorMap only populated at this point, after getCallbacks call above
-			enhancer.setCallbackFilter(new ProxyCallbackFilter(
-					this.advised.getConfigurationOnlyCopy(), this.fixedInterceptorMap, this.fixedInterceptorOffset));
+			CallbackFilter callbackFilter = new StructuralCallbackFilter(
+					new ProxyCallbackFilter(this.advised, this.fixedInterceptorMap, this.fixedInterceptorOffset),
+					proxySuperClass, proxiedInterfaces);
+			enhancer.setCallbackFilter(callbackFilter);
 			enhancer.setCallbackTypes(types);
+			PregeneratedClassSupport.configure(enhancer, getClass(), proxySuperClass,
+					proxiedInterfaces, callbackFilter, types);
 
 			// Generate the proxy class and create a proxy instance.
 			return createProxyClassAndInstance(enhancer, callbacks);
@@ -687,7 +690,9 @@ class CglibAopProxy implements AopProxy, Serializable {
 				// 如果目标来自pool，则要尽可能晚些以最小化我们"拥有"目标的时间。
 				target = targetSource.getTarget();
 				Class<?> targetClass = (target != null ? target.getClass() : null);
-				List<Object> chain = this.advised.getInterceptorsAndDynamicInterceptionAdvice(method, targetClass);
+				List<Object> chain = (this.advised.isFrozen() && targetSource.isStatic() ?
+						this.advised.getFrozenMethodInvoker(method, targetClass).getChain() :
+						this.advised.getInterceptorsAndDynamicInterceptionAdvice(method, targetClass));
 				Object retVal;
 				// Check whether we only have one InvokerInterceptor: that is,
 				// no real advice, but just reflective invocation of the target.
@@ -877,13 +882,11 @@ class CglibAopProxy implements AopProxy, Serializable {
 				return INVOKE_HASHCODE;
 			}
 			Class<?> targetClass = this.advised.getTargetClass();
-			// Proxy is not yet available, but that shouldn't matter.
-			List<?> chain = this.advised.getInterceptorsAndDynamicInterceptionAdvice(method, targetClass);
-			boolean haveAdvice = !chain.isEmpty();
 			boolean exposeProxy = this.advised.isExposeProxy();
 			boolean isStatic = this.advised.getTargetSource().isStatic();
 			boolean isFrozen = this.advised.isFrozen();
-			if (haveAdvice || !isFrozen) {
+			// Proxy is not yet available, but that shouldn't matter.
+			if (!isFrozen || !this.advised.getInterceptorsAndDynamicInterceptionAdvice(method, targetClass).isEmpty()) {
 				// If exposing the proxy, then AOP_PROXY must be used.
 				if (exposeProxy) {
 					if (logger.isTraceEnabled()) {
@@ -935,74 +938,49 @@ class CglibAopProxy implements AopProxy, Serializable {
 				}
 			}
 		}
+	}
 
-		@Override
-		public boolean equals(@Nullable Object other) {
-			if (this == other) {
-				return true;
-			}
-			if (!(other instanceof ProxyCallbackFilter)) {
-				return false;
-			}
-			ProxyCallbackFilter otherCallbackFilter = (ProxyCallbackFilter) other;
-			AdvisedSupport otherAdvised = otherCallbackFilter.advised;
-			if (this.advised.isFrozen() != otherAdvised.isFrozen()) {
-				return false;
-			}
-			if (this.advised.isExposeProxy() != otherAdvised.isExposeProxy()) {
-				return false;
-			}
-			if (this.advised.getTargetSource().isStatic() != otherAdvised.getTargetSource().isStatic()) {
-				return false;
-			}
-			if (!AopProxyUtils.equalsProxiedInterfaces(this.advised, otherAdvised)) {
-				return false;
-			}
-			// Advice instance identity is unimportant to the proxy class:
-			// All that matters is type and ordering.
-			Advisor[] thisAdvisors = this.advised.getAdvisors();
-			Advisor[] thatAdvisors = otherAdvised.getAdvisors();
-			if (thisAdvisors.length != thatAdvisors.length) {
-				return false;
-			}
-			for (int i = 0; i < thisAdvisors.length; i++) {
-				Advisor thisAdvisor = thisAdvisors[i];
-				Advisor thatAdvisor = thatAdvisors[i];
-				if (!equalsAdviceClasses(thisAdvisor, thatAdvisor)) {
-					return false;
-				}
-				if (!equalsPointcuts(thisAdvisor, thatAdvisor)) {
-					return false;
-				}
+
+	/**
+	 * CallbackFilter that captures the callback assigned to each method by a
+	 * {@link ProxyCallbackFilter}, keying the generated proxy class on that
+	 * assignment rather than on the advisor configuration of a specific proxy.
+	 * <p>Proxies with equivalent advisor configurations therefore share a proxy
+	 * class, with per-instance advisor state supplied through their callbacks.
+	 * In particular, all non-frozen proxies for the same target class and
+	 * interfaces share a class, whatever their advisors.
+	 */
+	private static class StructuralCallbackFilter implements CallbackFilter {
+
+		private final Map<Method, Integer> callbackIndexes;
+
+		private final int hashCode;
+
+		public StructuralCallbackFilter(CallbackFilter filter, Class<?> superclass, Class<?>[] interfaces) {
+			List<Method> methods = new ArrayList<>();
+			Enhancer.getMethods(superclass, interfaces, methods);
+			this.callbackIndexes = new HashMap<>(methods.size());
+			for (Method method : methods) {
+				this.callbackIndexes.put(method, filter.accept(method));
 			}
-			return true;
+			this.hashCode = this.callbackIndexes.hashCode();
 		}
 
-		private boolean equalsAdviceClasses(Advisor a, Advisor b) {
-			return (a.getAdvice().getClass() == b.getAdvice().getClass());
+		@Override
+		public int accept(Method method) {
+			Integer index = this.callbackIndexes.get(method);
+			return (index != null ? index : AOP_PROXY);
 		}
 
-		private boolean equalsPointcuts(Advisor a, Advisor b) {
-			// If only one of the advisor (but not both) is PointcutAdvisor, then it is a mismatch.
-			// Takes care of the situations where an IntroductionAdvisor is used (see SPR-3959).
-			return (!(a instanceof PointcutAdvisor) ||
-					(b instanceof PointcutAdvisor &&
-							ObjectUtils.nullSafeEquals(((PointcutAdvisor) a).getPointcut(), ((PointcutAdvisor) b).getPointcut())));
+		@Override
+		public boolean equals(@Nullable Object other) {
+			return (this == other || (other instanceof StructuralCallbackFilter &&
+					this.callbackIndexes.equals(((StructuralCallbackFilter) other).callbackIndexes)));
 		}
 
 		@Override
 		public int hashCode() {
-			int hashCode = 0;
-			Advisor[] advisors = this.advised.getAdvisors();
-			for (Advisor advisor : advisors) {
-				Advice advice = advisor.getAdvice();
-				hashCode = 13 * hashCode + advice.getClass().hashCode();
-			}
-			hashCode = 13 * hashCode + (this.advised.isFrozen() ? 1 : 0);
-			hashCode = 13 * hashCode + (this.advised.isExposeProxy() ? 1 : 0);
-			hashCode = 13 * hashCode + (this.advised.isOptimize() ? 1 : 0);
-			hashCode = 13 * hashCode + (this.advised.isOpaque() ? 1 : 0);
-			return hashCode;
+			return this.hashCode;
 		}
 	}
 
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.aop.framework;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.List;
+
+import org.aopalliance.intercept.MethodInvocation;
+
+import org.springframework.aop.support.AopUtils;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Invocation state for a method on a proxy with a frozen configuration
+ * and a static target: the interceptor chain is resolved once, and the
+ * target method is invoked through a {@link MethodHandle} rather than
+ * through reflection.
+ *
+ * @since 5.2.1
+ * @see AdvisedSupport#getFrozenMethodInvoker
+ */
+final class FrozenMethodInvoker {
+
+	private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+
+	private final Method method;
+
+	private final Class<?>[] parameterTypes;
+
+	private final List<Object> chain;
+
+	private volatile boolean targetInvokerResolved = false;
+
+	@Nullable
+	private volatile MethodHandle targetInvoker;
+
+
+	FrozenMethodInvoker(Method method, List<Object> chain) {
+		this.method = method;
+		this.parameterTypes = method.getParameterTypes();
+		this.chain = chain;
+	}
+
+
+	/**
+	 * Return the interceptor chain for the method.
+	 */
+	public List<Object> getChain() {
+		return this.chain;
+	}
+
+	/**
+	 * Invoke the method on the given target, without any interceptor.
+	 * @param target the target object
+	 * @param args the (already adapted) arguments
+	 * @return the return value of the method
+	 * @throws Throwable if thrown by the target method
+	 */
+	@Nullable
+	public Object invokeTarget(@Nullable Object target, @Nullable Object[] args) throws Throwable {
+		MethodHandle targetInvoker = obtainTargetInvoker();
+		if (targetInvoker != null && isInvocable(target, args)) {
+			return (Object) targetInvoker.invokeExact(target, args);
+		}
+		// Reflection also translates a mismatched target or arguments into an AopInvocationException
+		return AopUtils.invokeJoinpointUsingReflection(target, this.method, args);
+	}
+
+	/**
+	 * Create a {@link MethodInvocation} which proceeds through the interceptor
+	 * chain of the method to the given target.
+	 */
+	public MethodInvocation createInvocation(
+			Object proxy, @Nullable Object target, @Nullable Object[] args, @Nullable Class<?> targetClass) {
+
+		return new FrozenMethodInvocation(proxy, target, this.method, args, targetClass, this);
+	}
+
+	/**
+	 * Determine whether the target method handle can be invoked on the given
+	 * target with the given arguments, without any conversion but unboxing.
+	 */
+	private boolean isInvocable(@Nullable Object target, @Nullable Object[] args) {
+		if (!this.method.getDeclaringClass().isInstance(target)) {
+			return false;
+		}
+		Class<?>[] parameterTypes = this.parameterTypes;
+		if (args == null) {
+			return (parameterTypes.length == 0);
+		}
+		if (args.length != parameterTypes.length) {
+			return false;
+		}
+		for (int i = 0; i < args.length; i++) {
+			if (!ClassUtils.isAssignableValue(parameterTypes[i], args[i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Nullable
+	private MethodHandle obtainTargetInvoker() {
+		if (!this.targetInvokerResolved) {
+			MethodHandle targetInvoker = null;
+			// Bridge methods are resolved by ReflectiveMethodInvocation - keep using reflection for them
+			if (!this.method.isBridge()) {
+				try {
+					ReflectionUtils.makeAccessible(this.method);
+					targetInvoker = MethodHandles.lookup().unreflect(this.method).asFixedArity()
+							.asSpreader(Object[].class, this.method.getParameterCount()).asType(INVOKER_TYPE);
+				}
+				catch (IllegalAccessException ex) {
+					// Keep using reflection.
+				}
+			}
+			this.targetInvoker = targetInvoker;
+			this.targetInvokerResolved = true;
+		}
+		return this.targetInvoker;
+	}
+
+
+	/**
+	 * {@link ReflectiveMethodInvocation} which invokes the joinpoint through
+	 * the target method handle of its {@link FrozenMethodInvoker}, if any.
+	 */
+	private static class FrozenMethodInvocation extends ReflectiveMethodInvocation {
+
+		private final FrozenMethodInvoker invoker;
+
+		FrozenMethodInvocation(Object proxy, @Nullable Object target, Method method, @Nullable Object[] arguments,
+				@Nullable Class<?> targetClass, FrozenMethodInvoker invoker) {
+
+			super(proxy, target, method, arguments, targetClass, invoker.getChain());
+			this.invoker = invoker;
+		}
+
+		@Override
+		@Nullable
+		protected Object invokeJoinpoint() throws Throwable {
+			return this.invoker.invokeTarget(this.target, this.arguments);
+		}
+	}
+
+}
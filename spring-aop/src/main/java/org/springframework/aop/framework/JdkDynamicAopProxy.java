@@ -197,7 +197,10 @@ final class JdkDynamicAopProxy implements AopProxy, InvocationHandler, Serializa
 
 			// Get the interception chain for this method.
 			// 获取此方法的拦截链。
-			List<Object> chain = this.advised.getInterceptorsAndDynamicInterceptionAdvice(method, targetClass);
+			FrozenMethodInvoker frozenInvoker = (this.advised.isFrozen() && targetSource.isStatic() ?
+					this.advised.getFrozenMethodInvoker(method, targetClass) : null);
+			List<Object> chain = (frozenInvoker != null ? frozenInvoker.getChain() :
+					this.advised.getInterceptorsAndDynamicInterceptionAdvice(method, targetClass));
 
 			// Check whether we have any advice. If we don't, we can fallback on direct
 			// reflective invocation of the target, and avoid creating a MethodInvocation.
@@ -208,13 +211,15 @@ final class JdkDynamicAopProxy implements AopProxy, InvocationHandler, Serializa
 				Object[] argsToUse = AopProxyUtils.adaptArgumentsIfNecessary(method, args);
 				/** 这个方法没有拦截链，表示没被切到，直接调用真实对象方法即可*/
 				// 常说的方法内部调用AOP不生效，比如 A方法 调用 B方法，A没切面，B有切面，没生效的原因就是调用A的时候，已经被真实对象接管了。
-				retVal = AopUtils.invokeJoinpointUsingReflection(target, method, argsToUse);
+				retVal = (frozenInvoker != null ? frozenInvoker.invokeTarget(target, argsToUse) :
+						AopUtils.invokeJoinpointUsingReflection(target, method, argsToUse));
 			}
 			else {
 				// We need to create a method invocation...
 				// 将方法调用这个动作，抽象成一个对象
-				MethodInvocation invocation =
-						new ReflectiveMethodInvocation(proxy, target, method, args, targetClass, chain);
+				MethodInvocation invocation = (frozenInvoker != null ?
+						frozenInvoker.createInvocation(proxy, target, args, targetClass) :
+						new ReflectiveMethodInvocation(proxy, target, method, args, targetClass, chain));
 				// Proceed to the joinpoint through the interceptor chain.
 				/** 内部在经过拦截器链的层层洗礼后，在链尾会调用真实的对象方法 */
 				retVal = invocation.proceed();
@@ -20,6 +20,7 @@ import java.util.List;
 
 import org.springframework.aop.Advisor;
 import org.springframework.aop.TargetSource;
+import org.springframework.aop.support.AdvisorIndex;
 import org.springframework.aop.support.AopUtils;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
@@ -42,6 +43,11 @@ import org.springframework.util.Assert;
  * Ordered interface will be considered as unordered; they will appear
  * at the end of the advisor chain in undefined order.
  *
+ * <p>Candidate Advisors are pre-filtered through an {@link AdvisorIndex}
+ * before full pointcut matching, skipping Advisors whose
+ * {@link org.springframework.aop.support.IndexablePointcut} rules out
+ * the bean class upfront.
+ *
  * @author Rod Johnson
  * @author Juergen Hoeller
  * @see #findCandidateAdvisors
@@ -52,6 +58,9 @@ public abstract class AbstractAdvisorAutoProxyCreator extends AbstractAutoProxyC
 	@Nullable
 	private BeanFactoryAdvisorRetrievalHelper advisorRetrievalHelper;
 
+	@Nullable
+	private volatile AdvisorIndex advisorIndex;
+
 
 	@Override
 	public void setBeanFactory(BeanFactory beanFactory) {
@@ -136,7 +145,8 @@ public abstract class AbstractAdvisorAutoProxyCreator extends AbstractAutoProxyC
 		// 放置到ThreadLocal中
 		ProxyCreationContext.setCurrentProxiedBeanName(beanName);
 		try {
-			return AopUtils.findAdvisorsThatCanApply(candidateAdvisors, beanClass);
+			List<Advisor> plausibleAdvisors = obtainAdvisorIndex(candidateAdvisors).getCandidateAdvisors(beanClass);
+			return AopUtils.findAdvisorsThatCanApply(plausibleAdvisors, beanClass);
 		}
 		finally {
 			// 清除ThreadLocal
@@ -144,6 +154,19 @@ public abstract class AbstractAdvisorAutoProxyCreator extends AbstractAutoProxyC
 		}
 	}
 
+	/**
+	 * Return an {@link AdvisorIndex} for the given candidate Advisors,
+	 * reusing the previous index as long as the candidates are unchanged.
+	 */
+	private AdvisorIndex obtainAdvisorIndex(List<Advisor> candidateAdvisors) {
+		AdvisorIndex index = this.advisorIndex;
+		if (index == null || !index.isIndexFor(candidateAdvisors)) {
+			index = new AdvisorIndex(candidateAdvisors);
+			this.advisorIndex = index;
+		}
+		return index;
+	}
+
 	/**
 	 * Return whether the Advisor bean with the given name is eligible
 	 * for proxying in the first place.
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.aop.support;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.aop.Advisor;
+import org.springframework.aop.IntroductionAdvisor;
+import org.springframework.aop.PointcutAdvisor;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Pre-filter index over a list of candidate {@link Advisor Advisors}, selecting
+ * the advisors that could plausibly apply to a given class before running full
+ * pointcut matching through {@link AopUtils#findAdvisorsThatCanApply}.
+ *
+ * <p>Advisors whose pointcut implements {@link IndexablePointcut} are only
+ * returned for classes that satisfy the pointcut's {@link PointcutIndexHints};
+ * all other advisors are always returned. The type hierarchy information that
+ * the hints are checked against is cached per class and shared between all
+ * classes that extend or implement the same types.
+ *
+ * @since 5.2.1
+ * @see IndexablePointcut
+ * @see org.springframework.aop.framework.autoproxy.AbstractAdvisorAutoProxyCreator
+ */
+public class AdvisorIndex {
+
+	private static final Map<Class<?>, TypeFeatures> typeFeaturesCache = new ConcurrentReferenceHashMap<>(256);
+
+
+	private final List<Advisor> advisors;
+
+	private final PointcutIndexHints[] hints;
+
+	private final boolean restricted;
+
+
+	/**
+	 * Create a new AdvisorIndex for the given candidate advisors.
+	 * @param advisors the candidate advisors, in their original order
+	 */
+	public AdvisorIndex(List<Advisor> advisors) {
+		this.advisors = new ArrayList<>(advisors);
+		this.hints = new PointcutIndexHints[advisors.size()];
+		boolean restricted = false;
+		for (int i = 0; i < this.hints.length; i++) {
+			this.hints[i] = getIndexHints(advisors.get(i));
+			restricted |= (this.hints[i] != null);
+		}
+		this.restricted = restricted;
+	}
+
+	@Nullable
+	private static PointcutIndexHints getIndexHints(Advisor advisor) {
+		if (advisor instanceof IntroductionAdvisor || !(advisor instanceof PointcutAdvisor)) {
+			return null;
+		}
+		Object pointcut = ((PointcutAdvisor) advisor).getPointcut();
+		return (pointcut instanceof IndexablePointcut ? ((IndexablePointcut) pointcut).getIndexHints() : null);
+	}
+
+
+	/**
+	 * Determine whether this index has been built for the given advisors,
+	 * i.e. for the same advisor instances in the same order.
+	 * @param advisors the candidate advisors to check
+	 */
+	public boolean isIndexFor(List<Advisor> advisors) {
+		if (advisors.size() != this.advisors.size()) {
+			return false;
+		}
+		for (int i = 0; i < this.hints.length; i++) {
+			if (advisors.get(i) != this.advisors.get(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Return the advisors that could plausibly apply to the given class,
+	 * in their original order.
+	 * @param targetClass the target class
+	 * @return a new list of candidate advisors
+	 */
+	public List<Advisor> getCandidateAdvisors(Class<?> targetClass) {
+		if (!this.restricted) {
+			return new ArrayList<>(this.advisors);
+		}
+		TypeFeatures features = getTypeFeatures(targetClass);
+		if (features.typeNames == null || features.annotationTypes == null) {
+			return new ArrayList<>(this.advisors);
+		}
+		List<Advisor> candidates = new ArrayList<>(this.advisors.size());
+		for (int i = 0; i < this.hints.length; i++) {
+			PointcutIndexHints hints = this.hints[i];
+			if (hints == null || hints.matches(features.typeNames, features.annotationTypes)) {
+				candidates.add(this.advisors.get(i));
+			}
+		}
+		return candidates;
+	}
+
+
+	/**
+	 * Clear the internal type hierarchy cache.
+	 * <p>Invoked by application contexts when resetting common caches after
+	 * a refresh, since the cached entries may pin user classes.
+	 */
+	public static void clearCache() {
+		typeFeaturesCache.clear();
+	}
+
+	private static TypeFeatures getTypeFeatures(Class<?> clazz) {
+		TypeFeatures features = typeFeaturesCache.get(clazz);
+		if (features == null) {
+			features = introspectTypeFeatures(clazz);
+			typeFeaturesCache.put(clazz, features);
+		}
+		return features;
+	}
+
+	private static TypeFeatures introspectTypeFeatures(Class<?> clazz) {
+		Set<String> typeNames = new HashSet<>();
+		Set<String> annotationTypes = new HashSet<>();
+		typeNames.add(clazz.getName());
+		try {
+			for (Annotation annotation : clazz.getDeclaredAnnotations()) {
+				annotationTypes.add(annotation.annotationType().getName());
+			}
+			for (Method method : ReflectionUtils.getDeclaredMethods(clazz)) {
+				for (Annotation annotation : method.getDeclaredAnnotations()) {
+					annotationTypes.add(annotation.annotationType().getName());
+				}
+			}
+		}
+		catch (Throwable ex) {
+			// Unresolvable types in the class signature: make no assumptions
+			return TypeFeatures.UNKNOWN;
+		}
+		if (clazz.getSuperclass() != null && !merge(clazz.getSuperclass(), typeNames, annotationTypes)) {
+			return TypeFeatures.UNKNOWN;
+		}
+		for (Class<?> ifc : clazz.getInterfaces()) {
+			if (!merge(ifc, typeNames, annotationTypes)) {
+				return TypeFeatures.UNKNOWN;
+			}
+		}
+		return new TypeFeatures(typeNames, annotationTypes);
+	}
+
+	private static boolean merge(Class<?> superType, Set<String> typeNames, Set<String> annotationTypes) {
+		TypeFeatures features = getTypeFeatures(superType);
+		if (features.typeNames == null || features.annotationTypes == null) {
+			return false;
+		}
+		typeNames.addAll(features.typeNames);
+		annotationTypes.addAll(features.annotationTypes);
+		return true;
+	}
+
+
+	/**
+	 * Names of all types and annotation types in a class hierarchy.
+	 */
+	private static final class TypeFeatures {
+
+		static final TypeFeatures UNKNOWN = new TypeFeatures(null, null);
+
+		@Nullable
+		final Set<String> typeNames;
+
+		@Nullable
+		final Set<String> annotationTypes;
+
+		TypeFeatures(@Nullable Set<String> typeNames, @Nullable Set<String> annotationTypes) {
+			this.typeNames = (typeNames != null ? Collections.unmodifiableSet(typeNames) : null);
+			this.annotationTypes = (annotationTypes != null ? Collections.unmodifiableSet(annotationTypes) : null);
+		}
+	}
+
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.aop.support;
+
+import org.springframework.aop.Pointcut;
+import org.springframework.lang.Nullable;
+
+/**
+ * Interface to be implemented by pointcuts that can describe, in terms of
+ * {@link PointcutIndexHints}, which target classes they could possibly match.
+ *
+ * <p>Used by {@link AdvisorIndex} to skip full pointcut evaluation for
+ * classes that cannot match in the first place.
+ *
+ * @since 5.2.1
+ * @see AdvisorIndex
+ */
+public interface IndexablePointcut extends Pointcut {
+
+	/**
+	 * Return the hints that any class matched by this pointcut satisfies.
+	 * <p>The hints must be conservative: a class that does not satisfy them
+	 * must never be matched by this pointcut.
+	 * @return the index hints, or {@code null} if this pointcut
+	 * may match any class
+	 */
+	@Nullable
+	PointcutIndexHints getIndexHints();
+
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.aop.support;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Hints describing the classes that an {@link IndexablePointcut} could match:
+ * annotation types declared on the class or any of its methods, package
+ * prefixes, and fully qualified type names. All hints are evaluated against
+ * the entire type hierarchy of a candidate class, and a class is a candidate
+ * if it satisfies <i>any</i> of the hints.
+ *
+ * @since 5.2.1
+ * @see IndexablePointcut
+ * @see AdvisorIndex
+ */
+public final class PointcutIndexHints {
+
+	private final Set<String> annotationTypes;
+
+	private final Set<String> packagePrefixes;
+
+	private final Set<String> typeNames;
+
+
+	private PointcutIndexHints(Set<String> annotationTypes, Set<String> packagePrefixes, Set<String> typeNames) {
+		this.annotationTypes = annotationTypes;
+		this.packagePrefixes = packagePrefixes;
+		this.typeNames = typeNames;
+	}
+
+
+	/**
+	 * Return the annotation types that a candidate class, one of its supertypes,
+	 * or one of their methods must declare.
+	 */
+	public Set<String> getAnnotationTypes() {
+		return this.annotationTypes;
+	}
+
+	/**
+	 * Return the package prefixes that the name of a candidate class or one of
+	 * its supertypes must start with, optionally after an imported package.
+	 */
+	public Set<String> getPackagePrefixes() {
+		return this.packagePrefixes;
+	}
+
+	/**
+	 * Return the fully qualified names that a candidate class or one of its
+	 * supertypes must have.
+	 */
+	public Set<String> getTypeNames() {
+		return this.typeNames;
+	}
+
+	/**
+	 * Determine whether a class with the given hierarchy features satisfies these hints.
+	 * @param hierarchyTypeNames the names of the class and all of its supertypes
+	 * @param hierarchyAnnotationTypes the annotation types declared on the class,
+	 * its supertypes and their methods
+	 */
+	boolean matches(Set<String> hierarchyTypeNames, Set<String> hierarchyAnnotationTypes) {
+		for (String annotationType : this.annotationTypes) {
+			if (hierarchyAnnotationTypes.contains(annotationType)) {
+				return true;
+			}
+		}
+		for (String typeName : this.typeNames) {
+			if (hierarchyTypeNames.contains(typeName)) {
+				return true;
+			}
+		}
+		if (!this.packagePrefixes.isEmpty()) {
+			for (String typeName : hierarchyTypeNames) {
+				for (String packagePrefix : this.packagePrefixes) {
+					// Type patterns may also match relative to an imported package
+					if (typeName.startsWith(packagePrefix) || typeName.contains("." + packagePrefix)) {
+						return true;
+					}
+				}
+			}
+		}
+		return false;
+	}
+
+
+	@Override
+	public boolean equals(@Nullable Object other) {
+		if (this == other) {
+			return true;
+		}
+		if (!(other instanceof PointcutIndexHints)) {
+			return false;
+		}
+		PointcutIndexHints otherHints = (PointcutIndexHints) other;
+		return (this.annotationTypes.equals(otherHints.annotationTypes) &&
+				this.packagePrefixes.equals(otherHints.packagePrefixes) &&
+				this.typeNames.equals(otherHints.typeNames));
+	}
+
+	@Override
+	public int hashCode() {
+		int hashCode = this.annotationTypes.hashCode();
+		hashCode = 31 * hashCode + this.packagePrefixes.hashCode();
+		hashCode = 31 * hashCode + this.typeNames.hashCode();
+		return hashCode;
+	}
+
+	@Override
+	public String toString() {
+		return "PointcutIndexHints: annotationTypes=" + this.annotationTypes +
+				", packagePrefixes=" + this.packagePrefixes + ", typeNames=" + this.typeNames;
+	}
+
+
+	/**
+	 * Create hints for classes that declare the given annotation type on the class
+	 * itself, on one of its supertypes, or on any of their methods.
+	 * @param annotationType the fully qualified annotation type name
+	 */
+	public static PointcutIndexHints forAnnotationType(String annotationType) {
+		Assert.hasText(annotationType, "Annotation type must not be empty");
+		return new PointcutIndexHints(Collections.singleton(annotationType),
+				Collections.emptySet(), Collections.emptySet());
+	}
+
+	/**
+	 * Create hints for classes whose name, or the name of one of their supertypes,
+	 * starts with the given prefix (e.g. {@code "com.example."}).
+	 * @param packagePrefix the package prefix
+	 */
+	public static PointcutIndexHints forPackagePrefix(String packagePrefix) {
+		Assert.hasText(packagePrefix, "Package prefix must not be empty");
+		return new PointcutIndexHints(Collections.emptySet(),
+				Collections.singleton(packagePrefix), Collections.emptySet());
+	}
+
+	/**
+	 * Create hints for classes that are, extend or implement the given type.
+	 * @param typeName the fully qualified type name
+	 */
+	public static PointcutIndexHints forTypeName(String typeName) {
+		Assert.hasText(typeName, "Type name must not be empty");
+		return new PointcutIndexHints(Collections.emptySet(),
+				Collections.emptySet(), Collections.singleton(typeName));
+	}
+
+	/**
+	 * Combine the given hints into hints satisfied by any class that satisfies
+	 * either of them.
+	 * @param hints1 the first hints (may be {@code null} for any class)
+	 * @param hints2 the second hints (may be {@code null} for any class)
+	 * @return the combined hints, or {@code null} if either of them
+	 * is {@code null}
+	 */
+	@Nullable
+	public static PointcutIndexHints union(@Nullable PointcutIndexHints hints1, @Nullable PointcutIndexHints hints2) {
+		if (hints1 == null || hints2 == null) {
+			return null;
+		}
+		if (hints1.equals(hints2)) {
+			return hints1;
+		}
+		return new PointcutIndexHints(union(hints1.annotationTypes, hints2.annotationTypes),
+				union(hints1.packagePrefixes, hints2.packagePrefixes), union(hints1.typeNames, hints2.typeNames));
+	}
+
+	private static Set<String> union(Set<String> set1, Set<String> set2) {
+		if (set1.isEmpty()) {
+			return set2;
+		}
+		if (set2.isEmpty()) {
+			return set1;
+		}
+		Set<String> result = new LinkedHashSet<>(set1);
+		result.addAll(set2);
+		return Collections.unmodifiableSet(result);
+	}
+
+}
@@ -31,6 +31,7 @@ import org.springframework.aop.MethodMatcher;
 import org.springframework.aop.Pointcut;
 import org.springframework.aop.framework.ProxyFactory;
 import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.PointcutIndexHints;
 import org.springframework.tests.sample.beans.IOther;
 import org.springframework.tests.sample.beans.ITestBean;
 import org.springframework.tests.sample.beans.TestBean;
@@ -284,6 +285,20 @@ public class AspectJExpressionPointcutTests {
 		assertThat(expr.getPointcutExpression()).isEqualTo("execution(* *(..)) && args(String) && this(Object)");
 	}
 
+	@Test
+	public void testIndexHints() {
+		assertThat(((AspectJExpressionPointcut) getPointcut(
+				"execution(* org.springframework.tests.sample.beans.ITestBean+.*(..)) && args(String)")).getIndexHints())
+				.isEqualTo(PointcutIndexHints.forTypeName(ITestBean.class.getName()));
+		assertThat(((AspectJExpressionPointcut) getPointcut(
+				"within(org.springframework.tests..*) || @annotation(java.lang.Deprecated)")).getIndexHints())
+				.isEqualTo(PointcutIndexHints.union(PointcutIndexHints.forPackagePrefix("org.springframework.tests."),
+						PointcutIndexHints.forAnnotationType(Deprecated.class.getName())));
+		assertThat(((AspectJExpressionPointcut) getPointcut(MATCH_ALL_METHODS)).getIndexHints()).isNull();
+		assertThat(((AspectJExpressionPointcut) getPointcut(
+				"within(org.springframework.tests..*) || this(Object)")).getIndexHints()).isNull();
+	}
+
 	private Pointcut getPointcut(String expression) {
 		AspectJExpressionPointcut pointcut = new AspectJExpressionPointcut();
 		pointcut.setExpression(expression);
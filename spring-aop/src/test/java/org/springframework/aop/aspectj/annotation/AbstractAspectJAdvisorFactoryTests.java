@@ -45,6 +45,7 @@ import test.aop.PerTargetAspect;
 import test.aop.TwoAdviceAspect;
 
 import org.springframework.aop.Advisor;
+import org.springframework.aop.AopInvocationException;
 import org.springframework.aop.framework.Advised;
 import org.springframework.aop.framework.AopConfigException;
 import org.springframework.aop.framework.ProxyFactory;
@@ -325,6 +326,53 @@ public abstract class AbstractAspectJAdvisorFactoryTests {
 		assertThat(mva.mungeArgs(a, b, c, d, e)).isEqualTo(expectedResult);
 	}
 
+	@Test
+	public void testBindingWithArgsAndReturningOnRepeatedInvocation() {
+		TestBean target = new TestBean();
+		ArgsAndReturningBindingAspect aspect = new ArgsAndReturningBindingAspect();
+		ITestBean itb = (ITestBean) createProxy(target,
+				getFixture().getAdvisors(new SingletonMetadataAwareAspectInstanceFactory(aspect, "someBean")),
+				ITestBean.class);
+		for (int i = 1; i <= 3; i++) {
+			itb.setAge(i);
+			assertThat(itb.getAge()).isEqualTo(i);
+		}
+		assertThat(aspect.ages).isEqualTo("1,2,3,");
+		assertThat(aspect.returned).isEqualTo("1,2,3,");
+	}
+
+	@Test
+	public void testAdviceInvocationWithMismatchedAspectInstance() {
+		MetadataAwareAspectInstanceFactory aspectInstanceFactory =
+				new SingletonMetadataAwareAspectInstanceFactory(new ArgsAndReturningBindingAspect(), "someBean");
+		MetadataAwareAspectInstanceFactory mismatchedInstanceFactory = new MetadataAwareAspectInstanceFactory() {
+			@Override
+			public AspectMetadata getAspectMetadata() {
+				return aspectInstanceFactory.getAspectMetadata();
+			}
+			@Override
+			public Object getAspectCreationMutex() {
+				return aspectInstanceFactory.getAspectCreationMutex();
+			}
+			@Override
+			public Object getAspectInstance() {
+				return new TestBean();
+			}
+			@Override
+			public ClassLoader getAspectClassLoader() {
+				return aspectInstanceFactory.getAspectClassLoader();
+			}
+			@Override
+			public int getOrder() {
+				return aspectInstanceFactory.getOrder();
+			}
+		};
+		ITestBean itb = (ITestBean) createProxy(new TestBean(),
+				getFixture().getAdvisors(mismatchedInstanceFactory), ITestBean.class);
+		assertThatExceptionOfType(AopInvocationException.class).isThrownBy(() ->
+				itb.setAge(1));
+	}
+
 	/**
 	 * In this case the introduction will be made.
 	 */
@@ -726,6 +774,25 @@ public abstract class AbstractAspectJAdvisorFactoryTests {
 	}
 
 
+	@Aspect
+	static class ArgsAndReturningBindingAspect {
+
+		String ages = "";
+
+		String returned = "";
+
+		@Before(value="execution(void setAge(int)) && args(age)", argNames="age")
+		void recordAge(int age) {
+			this.ages += age + ",";
+		}
+
+		@AfterReturning(value="execution(int getAge())", returning="age")
+		void recordReturned(JoinPoint jp, int age) {
+			this.returned += age + ",";
+		}
+	}
+
+
 	@Aspect
 	public static class ManyValuedArgs {
 
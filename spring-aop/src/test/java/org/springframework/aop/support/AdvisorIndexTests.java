@@ -0,0 +1,127 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.aop.support;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.aop.Advisor;
+import org.springframework.lang.Nullable;
+import org.springframework.tests.aop.interceptor.NopInterceptor;
+import org.springframework.tests.sample.beans.ITestBean;
+import org.springframework.tests.sample.beans.TestBean;
+import org.springframework.tests.sample.beans.subpkg.DeepBean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link AdvisorIndex}.
+ */
+public class AdvisorIndexTests {
+
+	private final Advisor plain = new DefaultPointcutAdvisor(new NopInterceptor());
+
+	private final Advisor byTypeName = advisor(PointcutIndexHints.forTypeName(ITestBean.class.getName()));
+
+	private final Advisor byPackage = advisor(PointcutIndexHints.forPackagePrefix("org.springframework.tests.sample.beans.subpkg."));
+
+	private final Advisor byAnnotation = advisor(PointcutIndexHints.forAnnotationType(Deprecated.class.getName()));
+
+	private final List<Advisor> advisors = Arrays.asList(this.plain, this.byTypeName, this.byPackage, this.byAnnotation);
+
+
+	@Test
+	public void candidatesByTypeHierarchy() {
+		AdvisorIndex index = new AdvisorIndex(this.advisors);
+		assertThat(index.getCandidateAdvisors(TestBean.class)).containsExactly(this.plain, this.byTypeName);
+		assertThat(index.getCandidateAdvisors(DeepBean.class)).containsExactly(this.plain, this.byPackage);
+		assertThat(index.getCandidateAdvisors(Object.class)).containsExactly(this.plain);
+	}
+
+	@Test
+	public void candidatesByInheritedMethodAnnotation() {
+		AdvisorIndex index = new AdvisorIndex(this.advisors);
+		assertThat(index.getCandidateAdvisors(AnnotatedSubclass.class)).containsExactly(this.plain, this.byAnnotation);
+	}
+
+	@Test
+	public void candidatesByImportedPackagePrefix() {
+		Advisor relative = advisor(PointcutIndexHints.forPackagePrefix("sample.beans."));
+		AdvisorIndex index = new AdvisorIndex(Arrays.asList(this.plain, relative));
+		assertThat(index.getCandidateAdvisors(TestBean.class)).containsExactly(this.plain, relative);
+		assertThat(index.getCandidateAdvisors(String.class)).containsExactly(this.plain);
+	}
+
+	@Test
+	public void isIndexForSameAdvisorInstances() {
+		AdvisorIndex index = new AdvisorIndex(this.advisors);
+		assertThat(index.isIndexFor(Arrays.asList(this.plain, this.byTypeName, this.byPackage, this.byAnnotation))).isTrue();
+		assertThat(index.isIndexFor(Arrays.asList(this.plain, this.byTypeName))).isFalse();
+		assertThat(index.isIndexFor(Arrays.asList(this.plain, this.byTypeName, this.byPackage,
+				advisor(PointcutIndexHints.forAnnotationType(Deprecated.class.getName()))))).isFalse();
+	}
+
+	@Test
+	public void unionRequiresBothHints() {
+		PointcutIndexHints hints = PointcutIndexHints.forTypeName(ITestBean.class.getName());
+		assertThat(PointcutIndexHints.union(hints, null)).isNull();
+		assertThat(PointcutIndexHints.union(hints, hints)).isSameAs(hints);
+		assertThat(PointcutIndexHints.union(hints, PointcutIndexHints.forAnnotationType(Deprecated.class.getName()))
+				.getAnnotationTypes()).containsExactly(Deprecated.class.getName());
+	}
+
+
+	private static Advisor advisor(PointcutIndexHints hints) {
+		return new DefaultPointcutAdvisor(new HintedPointcut(hints), new NopInterceptor());
+	}
+
+
+	private static class HintedPointcut extends StaticMethodMatcherPointcut implements IndexablePointcut {
+
+		private final PointcutIndexHints hints;
+
+		HintedPointcut(PointcutIndexHints hints) {
+			this.hints = hints;
+		}
+
+		@Override
+		public boolean matches(Method method, @Nullable Class<?> targetClass) {
+			return true;
+		}
+
+		@Override
+		public PointcutIndexHints getIndexHints() {
+			return this.hints;
+		}
+	}
+
+
+	static class AnnotatedBase {
+
+		@Deprecated
+		public void legacy() {
+		}
+	}
+
+
+	static class AnnotatedSubclass extends AnnotatedBase {
+	}
+
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for {@link BeanWrapperImpl} property access, with simple,
+ * nested and indexed property paths as well as type conversion.
+ *
+ * @since 5.2.1
+ */
+@BenchmarkMode(Mode.Throughput)
+public class BeanWrapperBenchmark {
+
+	@Benchmark
+	public void setSimpleProperty(BenchmarkData data, Blackhole bh) {
+		BeanWrapper bw = new BeanWrapperImpl(data.target);
+		bw.setPropertyValue("name", "spring");
+		bh.consume(bw);
+	}
+
+	@Benchmark
+	public void setSimplePropertyWithConversion(BenchmarkData data, Blackhole bh) {
+		BeanWrapper bw = new BeanWrapperImpl(data.target);
+		bw.setPropertyValue("age", "42");
+		bh.consume(bw);
+	}
+
+	@Benchmark
+	public void getNestedProperty(BenchmarkData data, Blackhole bh) {
+		BeanWrapper bw = new BeanWrapperImpl(data.target);
+		bh.consume(bw.getPropertyValue("spouse.name"));
+	}
+
+	@Benchmark
+	public void setIndexedProperty(BenchmarkData data, Blackhole bh) {
+		BeanWrapper bw = new BeanWrapperImpl(data.target);
+		bw.setPropertyValue("nicknames[0]", "spring");
+		bh.consume(bw);
+	}
+
+	@Benchmark
+	public void setPropertyValues(BenchmarkData data, Blackhole bh) {
+		BeanWrapper bw = new BeanWrapperImpl(data.target);
+		bw.setPropertyValues(data.propertyValues);
+		bh.consume(bw);
+	}
+
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkData {
+
+		public Person target;
+
+		public MutablePropertyValues propertyValues;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			this.target = new Person();
+			this.target.setSpouse(new Person());
+			this.target.getSpouse().setName("spouse");
+			this.target.getNicknames().add("nickname");
+			this.propertyValues = new MutablePropertyValues();
+			this.propertyValues.add("name", "spring");
+			this.propertyValues.add("age", "42");
+			this.propertyValues.add("spouse.age", 40);
+		}
+	}
+
+
+	public static class Person {
+
+		private String name;
+
+		private int age;
+
+		private Person spouse;
+
+		private List<String> nicknames = new ArrayList<>();
+
+		public String getName() {
+			return this.name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public int getAge() {
+			return this.age;
+		}
+
+		public void setAge(int age) {
+			this.age = age;
+		}
+
+		public Person getSpouse() {
+			return this.spouse;
+		}
+
+		public void setSpouse(Person spouse) {
+			this.spouse = spouse;
+		}
+
+		public List<String> getNicknames() {
+			return this.nicknames;
+		}
+
+		public void setNicknames(List<String> nicknames) {
+			this.nicknames = nicknames;
+		}
+	}
+
+}
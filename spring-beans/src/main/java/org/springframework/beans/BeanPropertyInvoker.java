@@ -0,0 +1,129 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Method;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.core.convert.Property;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Per-property access state, cached by {@link CachedIntrospectionResults}
+ * so that repeated reads and writes of the same bean property do not have
+ * to re-resolve accessor methods and type metadata.
+ *
+ * <p>Read and write methods are made accessible once up front unless a
+ * {@link SecurityManager} is active, in which case callers are expected to
+ * do so within their own privileged block before invoking them.
+ *
+ * @since 5.2.1
+ * @see CachedIntrospectionResults#getPropertyInvoker(String)
+ * @see BeanWrapperImpl
+ */
+final class BeanPropertyInvoker {
+
+	private final GenericTypeAwarePropertyDescriptor propertyDescriptor;
+
+	private final Property property;
+
+	@Nullable
+	private final Method readMethod;
+
+	@Nullable
+	private volatile Method writeMethod;
+
+	@Nullable
+	private volatile TypeDescriptor typeDescriptor;
+
+	@Nullable
+	private volatile ResolvableType resolvableType;
+
+
+	BeanPropertyInvoker(GenericTypeAwarePropertyDescriptor pd) {
+		this.propertyDescriptor = pd;
+		this.property = new Property(pd.getBeanClass(), pd.getReadMethod(), pd.getWriteMethod(), pd.getName());
+		this.readMethod = pd.getReadMethod();
+		if (this.readMethod != null && System.getSecurityManager() == null) {
+			ReflectionUtils.makeAccessible(this.readMethod);
+		}
+	}
+
+
+	public PropertyDescriptor getPropertyDescriptor() {
+		return this.propertyDescriptor;
+	}
+
+	public Property getProperty() {
+		return this.property;
+	}
+
+	public TypeDescriptor getTypeDescriptor() {
+		TypeDescriptor td = this.typeDescriptor;
+		if (td == null) {
+			td = new TypeDescriptor(this.property);
+			this.typeDescriptor = td;
+		}
+		return td;
+	}
+
+	public ResolvableType getResolvableType() {
+		ResolvableType type = this.resolvableType;
+		if (type == null) {
+			type = ResolvableType.forMethodReturnType(getReadMethod());
+			this.resolvableType = type;
+		}
+		return type;
+	}
+
+	public Method getReadMethod() {
+		if (this.readMethod == null) {
+			throw new IllegalStateException("No read method available");
+		}
+		return this.readMethod;
+	}
+
+	/**
+	 * Return the write method to actually invoke, resolved (and made accessible)
+	 * on first access so that ambiguity warnings still surface on actual use.
+	 * @see GenericTypeAwarePropertyDescriptor#getWriteMethodForActualAccess()
+	 */
+	public Method getWriteMethod() {
+		Method method = this.writeMethod;
+		if (method == null) {
+			method = this.propertyDescriptor.getWriteMethodForActualAccess();
+			if (System.getSecurityManager() == null) {
+				ReflectionUtils.makeAccessible(method);
+			}
+			this.writeMethod = method;
+		}
+		return method;
+	}
+
+	@Nullable
+	public Object getValue(Object target) throws Exception {
+		return getReadMethod().invoke(target, (Object[]) null);
+	}
+
+	public void setValue(Object target, @Nullable Object value) throws Exception {
+		getWriteMethod().invoke(target, value);
+	}
+
+}
@@ -25,7 +25,6 @@ import java.security.PrivilegedActionException;
 import java.security.PrivilegedExceptionAction;
 
 import org.springframework.core.ResolvableType;
-import org.springframework.core.convert.Property;
 import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.lang.Nullable;
 import org.springframework.util.ReflectionUtils;
@@ -206,29 +205,19 @@ public class BeanWrapperImpl extends AbstractNestablePropertyAccessor implements
 	 */
 	@Nullable
 	public Object convertForProperty(@Nullable Object value, String propertyName) throws TypeMismatchException {
-		CachedIntrospectionResults cachedIntrospectionResults = getCachedIntrospectionResults();
-		PropertyDescriptor pd = cachedIntrospectionResults.getPropertyDescriptor(propertyName);
-		if (pd == null) {
+		BeanPropertyInvoker invoker = getCachedIntrospectionResults().getPropertyInvoker(propertyName);
+		if (invoker == null) {
 			throw new InvalidPropertyException(getRootClass(), getNestedPath() + propertyName,
 					"No property '" + propertyName + "' found");
 		}
-		TypeDescriptor td = cachedIntrospectionResults.getTypeDescriptor(pd);
-		if (td == null) {
-			td = cachedIntrospectionResults.addTypeDescriptor(pd, new TypeDescriptor(property(pd)));
-		}
-		return convertForProperty(propertyName, null, value, td);
-	}
-
-	private Property property(PropertyDescriptor pd) {
-		GenericTypeAwarePropertyDescriptor gpd = (GenericTypeAwarePropertyDescriptor) pd;
-		return new Property(gpd.getBeanClass(), gpd.getReadMethod(), gpd.getWriteMethod(), gpd.getName());
+		return convertForProperty(propertyName, null, value, invoker.getTypeDescriptor());
 	}
 
 	@Override
 	@Nullable
 	protected BeanPropertyHandler getLocalPropertyHandler(String propertyName) {
-		PropertyDescriptor pd = getCachedIntrospectionResults().getPropertyDescriptor(propertyName);
-		return (pd != null ? new BeanPropertyHandler(pd) : null);
+		BeanPropertyInvoker invoker = getCachedIntrospectionResults().getPropertyInvoker(propertyName);
+		return (invoker != null ? new BeanPropertyHandler(invoker) : null);
 	}
 
 	@Override
@@ -263,34 +252,36 @@ public class BeanWrapperImpl extends AbstractNestablePropertyAccessor implements
 
 	private class BeanPropertyHandler extends PropertyHandler {
 
-		private final PropertyDescriptor pd;
+		private final BeanPropertyInvoker invoker;
 
-		public BeanPropertyHandler(PropertyDescriptor pd) {
-			super(pd.getPropertyType(), pd.getReadMethod() != null, pd.getWriteMethod() != null);
-			this.pd = pd;
+		public BeanPropertyHandler(BeanPropertyInvoker invoker) {
+			super(invoker.getPropertyDescriptor().getPropertyType(),
+					invoker.getPropertyDescriptor().getReadMethod() != null,
+					invoker.getPropertyDescriptor().getWriteMethod() != null);
+			this.invoker = invoker;
 		}
 
 		@Override
 		public ResolvableType getResolvableType() {
-			return ResolvableType.forMethodReturnType(this.pd.getReadMethod());
+			return this.invoker.getResolvableType();
 		}
 
 		@Override
 		public TypeDescriptor toTypeDescriptor() {
-			return new TypeDescriptor(property(this.pd));
+			return this.invoker.getTypeDescriptor();
 		}
 
 		@Override
 		@Nullable
 		public TypeDescriptor nested(int level) {
-			return TypeDescriptor.nested(property(this.pd), level);
+			return TypeDescriptor.nested(this.invoker.getProperty(), level);
 		}
 
 		@Override
 		@Nullable
 		public Object getValue() throws Exception {
-			final Method readMethod = this.pd.getReadMethod();
 			if (System.getSecurityManager() != null) {
+				final Method readMethod = this.invoker.getReadMethod();
 				AccessController.doPrivileged((PrivilegedAction<Object>) () -> {
 					ReflectionUtils.makeAccessible(readMethod);
 					return null;
@@ -304,17 +295,14 @@ public class BeanWrapperImpl extends AbstractNestablePropertyAccessor implements
 				}
 			}
 			else {
-				ReflectionUtils.makeAccessible(readMethod);
-				return readMethod.invoke(getWrappedInstance(), (Object[]) null);
+				return this.invoker.getValue(getWrappedInstance());
 			}
 		}
 
 		@Override
 		public void setValue(final @Nullable Object value) throws Exception {
-			final Method writeMethod = (this.pd instanceof GenericTypeAwarePropertyDescriptor ?
-					((GenericTypeAwarePropertyDescriptor) this.pd).getWriteMethodForActualAccess() :
-					this.pd.getWriteMethod());
 			if (System.getSecurityManager() != null) {
+				final Method writeMethod = this.invoker.getWriteMethod();
 				AccessController.doPrivileged((PrivilegedAction<Object>) () -> {
 					ReflectionUtils.makeAccessible(writeMethod);
 					return null;
@@ -328,8 +316,7 @@ public class BeanWrapperImpl extends AbstractNestablePropertyAccessor implements
 				}
 			}
 			else {
-				ReflectionUtils.makeAccessible(writeMethod);
-				writeMethod.invoke(getWrappedInstance(), value);
+				this.invoker.setValue(getWrappedInstance(), value);
 			}
 		}
 	}
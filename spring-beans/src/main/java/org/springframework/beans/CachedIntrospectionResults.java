@@ -32,7 +32,6 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import org.springframework.core.SpringProperties;
-import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.core.io.support.SpringFactoriesLoader;
 import org.springframework.lang.Nullable;
 import org.springframework.util.ClassUtils;
@@ -256,8 +255,8 @@ public final class CachedIntrospectionResults {
 	/** PropertyDescriptor objects keyed by property name String. */
 	private final Map<String, PropertyDescriptor> propertyDescriptorCache;
 
-	/** TypeDescriptor objects keyed by PropertyDescriptor. */
-	private final ConcurrentMap<PropertyDescriptor, TypeDescriptor> typeDescriptorCache;
+	/** BeanPropertyInvoker objects keyed by requested property name String. */
+	private final ConcurrentMap<String, BeanPropertyInvoker> propertyInvokerCache;
 
 
 	/**
@@ -303,7 +302,7 @@ public final class CachedIntrospectionResults {
 				currClass = currClass.getSuperclass();
 			}
 
-			this.typeDescriptorCache = new ConcurrentReferenceHashMap<>();
+			this.propertyInvokerCache = new ConcurrentReferenceHashMap<>();
 		}
 		catch (IntrospectionException ex) {
 			throw new FatalBeanException("Failed to obtain BeanInfo for class [" + beanClass.getName() + "]", ex);
@@ -372,14 +371,30 @@ public final class CachedIntrospectionResults {
 		}
 	}
 
-	TypeDescriptor addTypeDescriptor(PropertyDescriptor pd, TypeDescriptor td) {
-		TypeDescriptor existing = this.typeDescriptorCache.putIfAbsent(pd, td);
-		return (existing != null ? existing : td);
-	}
-
+	/**
+	 * Return the cached {@link BeanPropertyInvoker} for the given property name,
+	 * resolving it leniently in the same way as {@link #getPropertyDescriptor}.
+	 * <p>Only existing properties are cached, since callers such as data binders
+	 * may ask for arbitrary property names.
+	 * @param name the property name
+	 * @return the invoker, or {@code null} if no such property exists
+	 * @since 5.2.1
+	 */
 	@Nullable
-	TypeDescriptor getTypeDescriptor(PropertyDescriptor pd) {
-		return this.typeDescriptorCache.get(pd);
+	BeanPropertyInvoker getPropertyInvoker(String name) {
+		BeanPropertyInvoker invoker = this.propertyInvokerCache.get(name);
+		if (invoker == null) {
+			PropertyDescriptor pd = getPropertyDescriptor(name);
+			if (pd == null) {
+				return null;
+			}
+			invoker = new BeanPropertyInvoker((GenericTypeAwarePropertyDescriptor) pd);
+			BeanPropertyInvoker existing = this.propertyInvokerCache.putIfAbsent(name, invoker);
+			if (existing != null) {
+				invoker = existing;
+			}
+		}
+		return invoker;
 	}
 
 }
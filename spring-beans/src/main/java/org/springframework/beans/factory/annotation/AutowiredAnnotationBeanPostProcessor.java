@@ -18,6 +18,9 @@ package org.springframework.beans.factory.annotation;
 
 import java.beans.PropertyDescriptor;
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
@@ -131,6 +134,8 @@ import org.springframework.util.StringUtils;
 public class AutowiredAnnotationBeanPostProcessor extends InstantiationAwareBeanPostProcessorAdapter
 		implements MergedBeanDefinitionPostProcessor, PriorityOrdered, BeanFactoryAware {
 
+	private static final MethodType FIELD_SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
 	protected final Log logger = LogFactory.getLog(getClass());
 
 	private final Set<Class<? extends Annotation>> autowiredAnnotationTypes = new LinkedHashSet<>(4);
@@ -141,6 +146,8 @@ public class AutowiredAnnotationBeanPostProcessor extends InstantiationAwareBean
 
 	private int order = Ordered.LOWEST_PRECEDENCE - 2;
 
+	private boolean useMethodHandles = false;
+
 	@Nullable
 	private ConfigurableListableBeanFactory beanFactory;
 
@@ -220,6 +227,20 @@ public class AutowiredAnnotationBeanPostProcessor extends InstantiationAwareBean
 		this.requiredParameterValue = requiredParameterValue;
 	}
 
+	/**
+	 * Specify whether to inject autowired fields and methods through cached
+	 * {@link MethodHandle MethodHandles} rather than through reflection.
+	 * <p>Default is "false". Switch this to "true" for a lower per-injection
+	 * overhead in case of frequently created prototype or otherwise scoped beans.
+	 * Members that cannot be resolved to a method handle are still injected
+	 * via reflection.
+	 * @since 5.2.1
+	 * @see org.springframework.beans.factory.support.MethodHandleInstantiationStrategy
+	 */
+	public void setUseMethodHandles(boolean useMethodHandles) {
+		this.useMethodHandles = useMethodHandles;
+	}
+
 	public void setOrder(int order) {
 		this.order = order;
 	}
@@ -251,6 +272,17 @@ public class AutowiredAnnotationBeanPostProcessor extends InstantiationAwareBean
 		this.injectionMetadataCache.remove(beanName);
 	}
 
+	@Override
+	public int releaseSingletonMetadata(RootBeanDefinition beanDefinition, String beanName) {
+		InjectionMetadata metadata = this.injectionMetadataCache.remove(beanName);
+		if (metadata == null) {
+			return 0;
+		}
+		// Allow for rebuilt metadata to inject the properties processed so far.
+		metadata.clear(beanDefinition.getPropertyValues());
+		return 1;
+	}
+
 	@Override
 	@Nullable
 	public Constructor<?>[] determineCandidateConstructors(Class<?> beanClass, final String beanName)
@@ -629,6 +661,11 @@ public class AutowiredAnnotationBeanPostProcessor extends InstantiationAwareBean
 		@Nullable
 		private volatile Object cachedFieldValue;
 
+		private volatile boolean setterResolved = false;
+
+		@Nullable
+		private volatile MethodHandle setter;
+
 		public AutowiredFieldElement(Field field, boolean required) {
 			super(field, null);
 			this.required = required;
@@ -676,10 +713,33 @@ public class AutowiredAnnotationBeanPostProcessor extends InstantiationAwareBean
 				}
 			}
 			if (value != null) {
-				// 使用反射注入
-				ReflectionUtils.makeAccessible(field);
-				field.set(bean, value);
+				MethodHandle setter = (useMethodHandles ? obtainSetter(field) : null);
+				if (setter != null) {
+					setter.invokeExact(bean, value);
+				}
+				else {
+					// 使用反射注入
+					ReflectionUtils.makeAccessible(field);
+					field.set(bean, value);
+				}
+			}
+		}
+
+		@Nullable
+		private MethodHandle obtainSetter(Field field) {
+			if (!this.setterResolved) {
+				MethodHandle setter = null;
+				try {
+					ReflectionUtils.makeAccessible(field);
+					setter = MethodHandles.lookup().unreflectSetter(field).asType(FIELD_SETTER_TYPE);
+				}
+				catch (IllegalAccessException ex) {
+					// e.g. a final field - keep using reflection.
+				}
+				this.setter = setter;
+				this.setterResolved = true;
 			}
+			return this.setter;
 		}
 	}
 
@@ -696,6 +756,11 @@ public class AutowiredAnnotationBeanPostProcessor extends InstantiationAwareBean
 		@Nullable
 		private volatile Object[] cachedMethodArguments;
 
+		private volatile boolean invokerResolved = false;
+
+		@Nullable
+		private volatile MethodHandle invoker;
+
 		public AutowiredMethodElement(Method method, boolean required, @Nullable PropertyDescriptor pd) {
 			super(method, pd);
 			this.required = required;
@@ -768,6 +833,11 @@ public class AutowiredAnnotationBeanPostProcessor extends InstantiationAwareBean
 				}
 			}
 			if (arguments != null) {
+				MethodHandle invoker = (useMethodHandles ? obtainInvoker(method) : null);
+				if (invoker != null) {
+					invoker.invokeExact(bean, arguments);
+					return;
+				}
 				try {
 					// 使用反射注入
 					ReflectionUtils.makeAccessible(method);
@@ -779,6 +849,26 @@ public class AutowiredAnnotationBeanPostProcessor extends InstantiationAwareBean
 			}
 		}
 
+		@Nullable
+		private MethodHandle obtainInvoker(Method method) {
+			if (!this.invokerResolved) {
+				MethodHandle invoker = null;
+				try {
+					ReflectionUtils.makeAccessible(method);
+					int parameterCount = method.getParameterCount();
+					invoker = MethodHandles.lookup().unreflect(method).asFixedArity()
+							.asType(MethodType.genericMethodType(parameterCount + 1).changeReturnType(void.class))
+							.asSpreader(Object[].class, parameterCount);
+				}
+				catch (IllegalAccessException ex) {
+					// Keep using reflection.
+				}
+				this.invoker = invoker;
+				this.invokerResolved = true;
+			}
+			return this.invoker;
+		}
+
 		@Nullable
 		private Object[] resolveCachedArguments(@Nullable String beanName) {
 			Object[] cachedMethodArguments = this.cachedMethodArguments;
@@ -143,4 +143,27 @@ public interface BeanPostProcessor {
 		return bean;
 	}
 
+	/**
+	 * Determine whether this post-processor needs to be applied to beans of the
+	 * given type at all.
+	 * <p>Bean factories may consult this method once per type and skip all callbacks
+	 * of this post-processor for beans of a type that it declares no interest in.
+	 * Implementations therefore need to return a stable result for a given type.
+	 * <p>The type is the one exposed to the respective callback: the target type for
+	 * {@link InstantiationAwareBeanPostProcessor#postProcessBeforeInstantiation} and
+	 * {@link SmartInstantiationAwareBeanPostProcessor} type prediction, the bean type
+	 * for merged bean definition callbacks, and the class of the bean instance for
+	 * all other callbacks. If a post-processor replaces the bean instance with one
+	 * of a different class (e.g. a proxy), the post-processors that follow are
+	 * selected against the class of the replacement.
+	 * <p>The default implementation returns {@code true}.
+	 * @param beanType the type of the bean
+	 * @return {@code false} if no callback of this post-processor needs to be
+	 * invoked for beans of the given type
+	 * @since 5.2.1
+	 */
+	default boolean isApplicableTo(Class<?> beanType) {
+		return true;
+	}
+
 }
@@ -184,4 +184,17 @@ public interface ConfigurableListableBeanFactory
 	 */
 	void preInstantiateSingletons() throws BeansException;
 
+	/**
+	 * Release metadata that has only been cached for creating the singletons
+	 * which are instantiated at this point, typically at the end of the
+	 * application context's refresh. Released metadata gets rebuilt on demand.
+	 * <p>The default implementation releases nothing.
+	 * @return the number of released cache entries
+	 * @since 5.2.1
+	 * @see org.springframework.beans.factory.support.MergedBeanDefinitionPostProcessor#releaseSingletonMetadata
+	 */
+	default int trimMetadataCaches() {
+		return 0;
+	}
+
 }
@@ -24,7 +24,9 @@ import java.security.PrivilegedActionException;
 import java.security.PrivilegedExceptionAction;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
@@ -34,6 +36,8 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.BeanWrapper;
@@ -65,15 +69,18 @@ import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.beans.factory.config.DestructionAwareBeanPostProcessor;
 import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessor;
 import org.springframework.beans.factory.config.Scope;
+import org.springframework.beans.factory.config.SmartInstantiationAwareBeanPostProcessor;
 import org.springframework.core.AttributeAccessor;
 import org.springframework.core.DecoratingClassLoader;
 import org.springframework.core.NamedThreadLocal;
 import org.springframework.core.ResolvableType;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.core.log.LogMessage;
+import org.springframework.core.metrics.ApplicationStartup;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
 import org.springframework.util.ObjectUtils;
 import org.springframework.util.StringUtils;
 import org.springframework.util.StringValueResolver;
@@ -133,6 +140,9 @@ public abstract class AbstractBeanFactory extends FactoryBeanRegistrySupport imp
 	@Nullable
 	private BeanExpressionResolver beanExpressionResolver;
 
+	/** Application startup metrics. */
+	private ApplicationStartup applicationStartup = ApplicationStartup.DEFAULT;
+
 	/** Spring ConversionService to use instead of PropertyEditors. */
 	@Nullable
 	private ConversionService conversionService;
@@ -151,13 +161,11 @@ public abstract class AbstractBeanFactory extends FactoryBeanRegistrySupport imp
 	private final List<StringValueResolver> embeddedValueResolvers = new CopyOnWriteArrayList<>();
 
 	/** BeanPostProcessors to apply in createBean. */
-	private final List<BeanPostProcessor> beanPostProcessors = new CopyOnWriteArrayList<>();
-
-	/** Indicates whether any InstantiationAwareBeanPostProcessors have been registered. */
-	private volatile boolean hasInstantiationAwareBeanPostProcessors;
+	private final List<BeanPostProcessor> beanPostProcessors = new BeanPostProcessorCacheAwareList();
 
-	/** Indicates whether any DestructionAwareBeanPostProcessors have been registered. */
-	private volatile boolean hasDestructionAwareBeanPostProcessors;
+	/** Cache of pre-filtered post-processors, built on demand. */
+	@Nullable
+	private volatile BeanPostProcessorCache beanPostProcessorCache;
 
 	/** Map from scope identifier String to corresponding Scope. */
 	private final Map<String, Scope> scopes = new LinkedHashMap<>(8);
@@ -835,6 +843,17 @@ public abstract class AbstractBeanFactory extends FactoryBeanRegistrySupport imp
 		return this.beanExpressionResolver;
 	}
 
+	@Override
+	public void setApplicationStartup(ApplicationStartup applicationStartup) {
+		Assert.notNull(applicationStartup, "applicationStartup should not be null");
+		this.applicationStartup = applicationStartup;
+	}
+
+	@Override
+	public ApplicationStartup getApplicationStartup() {
+		return this.applicationStartup;
+	}
+
 	@Override
 	public void setConversionService(@Nullable ConversionService conversionService) {
 		this.conversionService = conversionService;
@@ -942,13 +961,6 @@ public abstract class AbstractBeanFactory extends FactoryBeanRegistrySupport imp
 		Assert.notNull(beanPostProcessor, "BeanPostProcessor must not be null");
 		// Remove from old position, if any
 		this.beanPostProcessors.remove(beanPostProcessor);
-		// Track whether it is instantiation/destruction aware
-		if (beanPostProcessor instanceof InstantiationAwareBeanPostProcessor) {
-			this.hasInstantiationAwareBeanPostProcessors = true;
-		}
-		if (beanPostProcessor instanceof DestructionAwareBeanPostProcessor) {
-			this.hasDestructionAwareBeanPostProcessors = true;
-		}
 		// Add to end of list
 		this.beanPostProcessors.add(beanPostProcessor);
 	}
@@ -973,7 +985,7 @@ public abstract class AbstractBeanFactory extends FactoryBeanRegistrySupport imp
 	 * @see org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessor
 	 */
 	protected boolean hasInstantiationAwareBeanPostProcessors() {
-		return this.hasInstantiationAwareBeanPostProcessors;
+		return !getBeanPostProcessorCache().instantiationAware.isEmpty();
 	}
 
 	/**
@@ -983,7 +995,34 @@ public abstract class AbstractBeanFactory extends FactoryBeanRegistrySupport imp
 	 * @see org.springframework.beans.factory.config.DestructionAwareBeanPostProcessor
 	 */
 	protected boolean hasDestructionAwareBeanPostProcessors() {
-		return this.hasDestructionAwareBeanPostProcessors;
+		return !getBeanPostProcessorCache().destructionAware.isEmpty();
+	}
+
+	/**
+	 * Return the internal cache of pre-filtered post-processors,
+	 * freshly (re-)building it if necessary.
+	 * @since 5.2.1
+	 */
+	BeanPostProcessorCache getBeanPostProcessorCache() {
+		BeanPostProcessorCache bppCache = this.beanPostProcessorCache;
+		if (bppCache == null) {
+			bppCache = new BeanPostProcessorCache(this.beanPostProcessors);
+			this.beanPostProcessorCache = bppCache;
+		}
+		return bppCache;
+	}
+
+	/**
+	 * Return the pre-filtered post-processors which are applicable to beans
+	 * of the given type.
+	 * @param beanType the type of the bean, or {@code null} if not known
+	 * (in which case all post-processors are considered as applicable)
+	 * @since 5.2.1
+	 * @see BeanPostProcessor#isApplicableTo(Class)
+	 */
+	BeanPostProcessorCache getBeanPostProcessorCache(@Nullable Class<?> beanType) {
+		BeanPostProcessorCache bppCache = getBeanPostProcessorCache();
+		return (beanType != null ? bppCache.forBeanType(beanType) : bppCache);
 	}
 
 	@Override
@@ -1051,12 +1090,9 @@ public abstract class AbstractBeanFactory extends FactoryBeanRegistrySupport imp
 			this.customEditors.putAll(otherAbstractFactory.customEditors);
 			this.typeConverter = otherAbstractFactory.typeConverter;
 			this.beanPostProcessors.addAll(otherAbstractFactory.beanPostProcessors);
-			this.hasInstantiationAwareBeanPostProcessors = this.hasInstantiationAwareBeanPostProcessors ||
-					otherAbstractFactory.hasInstantiationAwareBeanPostProcessors;
-			this.hasDestructionAwareBeanPostProcessors = this.hasDestructionAwareBeanPostProcessors ||
-					otherAbstractFactory.hasDestructionAwareBeanPostProcessors;
 			this.scopes.putAll(otherAbstractFactory.scopes);
 			this.securityContextProvider = otherAbstractFactory.securityContextProvider;
+			this.applicationStartup = otherAbstractFactory.applicationStartup;
 		}
 		else {
 			setTypeConverter(otherFactory.getTypeConverter());
@@ -1178,7 +1214,8 @@ public abstract class AbstractBeanFactory extends FactoryBeanRegistrySupport imp
 	 * @param mbd the merged bean definition
 	 */
 	protected void destroyBean(String beanName, Object bean, RootBeanDefinition mbd) {
-		new DisposableBeanAdapter(bean, beanName, mbd, getBeanPostProcessors(), getAccessControlContext()).destroy();
+		new DisposableBeanAdapter(bean, beanName, mbd, getBeanPostProcessorCache(bean.getClass()).destructionAware,
+				getAccessControlContext()).destroy();
 	}
 
 	@Override
@@ -1894,7 +1931,8 @@ public abstract class AbstractBeanFactory extends FactoryBeanRegistrySupport imp
 	protected boolean requiresDestruction(Object bean, RootBeanDefinition mbd) {
 		return (bean.getClass() != NullBean.class &&
 				(DisposableBeanAdapter.hasDestroyMethod(bean, mbd) || (hasDestructionAwareBeanPostProcessors() &&
-						DisposableBeanAdapter.hasApplicableProcessors(bean, getBeanPostProcessors()))));
+						DisposableBeanAdapter.hasApplicableProcessors(
+								bean, getBeanPostProcessorCache(bean.getClass()).destructionAware))));
 	}
 
 	/**
@@ -1920,7 +1958,8 @@ public abstract class AbstractBeanFactory extends FactoryBeanRegistrySupport imp
 				// work for the given bean: DestructionAwareBeanPostProcessors,
 				// DisposableBean interface, custom destroy method.
 				registerDisposableBean(beanName,
-						new DisposableBeanAdapter(bean, beanName, mbd, getBeanPostProcessors(), acc));
+						new DisposableBeanAdapter(bean, beanName, mbd,
+								getBeanPostProcessorCache(bean.getClass()).destructionAware, acc));
 			}
 			else {
 				// A bean with a custom scope...
@@ -1929,7 +1968,8 @@ public abstract class AbstractBeanFactory extends FactoryBeanRegistrySupport imp
 					throw new IllegalStateException("No Scope registered for scope name '" + mbd.getScope() + "'");
 				}
 				scope.registerDestructionCallback(beanName,
-						new DisposableBeanAdapter(bean, beanName, mbd, getBeanPostProcessors(), acc));
+						new DisposableBeanAdapter(bean, beanName, mbd,
+								getBeanPostProcessorCache(bean.getClass()).destructionAware, acc));
 			}
 		}
 	}
@@ -1991,4 +2031,204 @@ public abstract class AbstractBeanFactory extends FactoryBeanRegistrySupport imp
 	protected abstract Object createBean(String beanName, RootBeanDefinition mbd, @Nullable Object[] args)
 			throws BeanCreationException;
 
+
+	/**
+	 * CopyOnWriteArrayList which resets the beanPostProcessorCache field on modification.
+	 * @since 5.2.1
+	 */
+	@SuppressWarnings("serial")
+	private class BeanPostProcessorCacheAwareList extends CopyOnWriteArrayList<BeanPostProcessor> {
+
+		@Override
+		public BeanPostProcessor set(int index, BeanPostProcessor element) {
+			BeanPostProcessor result = super.set(index, element);
+			beanPostProcessorCache = null;
+			return result;
+		}
+
+		@Override
+		public boolean add(BeanPostProcessor o) {
+			boolean success = super.add(o);
+			beanPostProcessorCache = null;
+			return success;
+		}
+
+		@Override
+		public void add(int index, BeanPostProcessor element) {
+			super.add(index, element);
+			beanPostProcessorCache = null;
+		}
+
+		@Override
+		public BeanPostProcessor remove(int index) {
+			BeanPostProcessor result = super.remove(index);
+			beanPostProcessorCache = null;
+			return result;
+		}
+
+		@Override
+		public boolean remove(Object o) {
+			boolean success = super.remove(o);
+			if (success) {
+				beanPostProcessorCache = null;
+			}
+			return success;
+		}
+
+		@Override
+		public boolean removeAll(Collection<?> c) {
+			boolean success = super.removeAll(c);
+			if (success) {
+				beanPostProcessorCache = null;
+			}
+			return success;
+		}
+
+		@Override
+		public boolean retainAll(Collection<?> c) {
+			boolean success = super.retainAll(c);
+			if (success) {
+				beanPostProcessorCache = null;
+			}
+			return success;
+		}
+
+		@Override
+		public boolean addAll(Collection<? extends BeanPostProcessor> c) {
+			boolean success = super.addAll(c);
+			if (success) {
+				beanPostProcessorCache = null;
+			}
+			return success;
+		}
+
+		@Override
+		public boolean addAll(int index, Collection<? extends BeanPostProcessor> c) {
+			boolean success = super.addAll(index, c);
+			if (success) {
+				beanPostProcessorCache = null;
+			}
+			return success;
+		}
+
+		@Override
+		public boolean removeIf(Predicate<? super BeanPostProcessor> filter) {
+			boolean success = super.removeIf(filter);
+			if (success) {
+				beanPostProcessorCache = null;
+			}
+			return success;
+		}
+
+		@Override
+		public void replaceAll(UnaryOperator<BeanPostProcessor> operator) {
+			super.replaceAll(operator);
+			beanPostProcessorCache = null;
+		}
+
+		@Override
+		public void sort(@Nullable Comparator<? super BeanPostProcessor> c) {
+			super.sort(c);
+			beanPostProcessorCache = null;
+		}
+
+		@Override
+		public void clear() {
+			super.clear();
+			beanPostProcessorCache = null;
+		}
+	}
+
+
+	/**
+	 * Internal cache of pre-filtered post-processors: classified by callback type
+	 * and, on demand, narrowed down to the post-processors applicable to a given
+	 * bean type.
+	 * @since 5.2.1
+	 * @see BeanPostProcessor#isApplicableTo(Class)
+	 */
+	static class BeanPostProcessorCache {
+
+		final List<BeanPostProcessor> all;
+
+		final List<InstantiationAwareBeanPostProcessor> instantiationAware = new ArrayList<>();
+
+		final List<SmartInstantiationAwareBeanPostProcessor> smartInstantiationAware = new ArrayList<>();
+
+		final List<DestructionAwareBeanPostProcessor> destructionAware = new ArrayList<>();
+
+		final List<MergedBeanDefinitionPostProcessor> mergedDefinition = new ArrayList<>();
+
+		/** Post-processors applicable to a given bean type; {@code null} for an already filtered cache. */
+		@Nullable
+		private final Map<Class<?>, BeanPostProcessorCache> applicableByType;
+
+		BeanPostProcessorCache(List<BeanPostProcessor> beanPostProcessors) {
+			this(beanPostProcessors, new ConcurrentReferenceHashMap<>(256));
+		}
+
+		private BeanPostProcessorCache(List<BeanPostProcessor> beanPostProcessors,
+				@Nullable Map<Class<?>, BeanPostProcessorCache> applicableByType) {
+
+			this.all = new ArrayList<>(beanPostProcessors);
+			this.applicableByType = applicableByType;
+			for (BeanPostProcessor bpp : this.all) {
+				if (bpp instanceof InstantiationAwareBeanPostProcessor) {
+					this.instantiationAware.add((InstantiationAwareBeanPostProcessor) bpp);
+					if (bpp instanceof SmartInstantiationAwareBeanPostProcessor) {
+						this.smartInstantiationAware.add((SmartInstantiationAwareBeanPostProcessor) bpp);
+					}
+				}
+				if (bpp instanceof DestructionAwareBeanPostProcessor) {
+					this.destructionAware.add((DestructionAwareBeanPostProcessor) bpp);
+				}
+				if (bpp instanceof MergedBeanDefinitionPostProcessor) {
+					this.mergedDefinition.add((MergedBeanDefinitionPostProcessor) bpp);
+				}
+			}
+		}
+
+		/**
+		 * Return the post-processors applicable to beans of the given type,
+		 * or this cache itself if all post-processors are applicable.
+		 */
+		BeanPostProcessorCache forBeanType(Class<?> beanType) {
+			if (this.applicableByType == null) {
+				return this;
+			}
+			BeanPostProcessorCache applicable = this.applicableByType.get(beanType);
+			if (applicable == null) {
+				List<BeanPostProcessor> filtered = new ArrayList<>(this.all.size());
+				for (BeanPostProcessor bpp : this.all) {
+					if (bpp.isApplicableTo(beanType)) {
+						filtered.add(bpp);
+					}
+				}
+				applicable = (filtered.size() == this.all.size() ? this : new BeanPostProcessorCache(filtered, null));
+				this.applicableByType.put(beanType, applicable);
+			}
+			return applicable;
+		}
+
+		/**
+		 * Return the post-processors applicable to beans of the given type which
+		 * follow the given post-processor in the overall post-processor order.
+		 */
+		List<BeanPostProcessor> applicableAfter(BeanPostProcessor processor, Class<?> beanType) {
+			int index = this.all.indexOf(processor);
+			List<BeanPostProcessor> applicable = forBeanType(beanType).all;
+			int position = 0;
+			for (int i = 0; i < applicable.size(); i++) {
+				BeanPostProcessor candidate = applicable.get(i);
+				while (this.all.get(position) != candidate) {
+					position++;
+				}
+				if (position > index) {
+					return applicable.subList(i, applicable.size());
+				}
+			}
+			return Collections.emptyList();
+		}
+	}
+
 }
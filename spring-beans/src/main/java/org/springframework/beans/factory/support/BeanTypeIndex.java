@@ -0,0 +1,220 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.support;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Incrementally maintained index of bean definition names by the types that
+ * the corresponding beans may expose, used by {@link DefaultListableBeanFactory}
+ * to narrow down type lookups before its configuration has been frozen.
+ *
+ * <p>The index is a pre-filter only: it returns a superset of the beans that
+ * may match a given type, in registration order, and the caller still performs
+ * the full type check for every candidate. Beans whose exposed types cannot be
+ * determined upfront (e.g. most {@code FactoryBean} definitions or beans that
+ * are currently in creation) are reported as candidates for every type.
+ *
+ * <p>Changes are recorded by marking individual entries as dirty, which is
+ * lock-free and therefore safe to trigger from within singleton creation.
+ * Dirty entries are re-resolved lazily on the next lookup, without holding
+ * the index lock while calling back into the bean factory.
+ *
+ * @since 5.2.1
+ * @see DefaultListableBeanFactory#getBeanNamesForType(Class, boolean, boolean)
+ */
+class BeanTypeIndex {
+
+	private static final Class<?>[] UNKNOWN = new Class<?>[0];
+
+
+	/** Registration sequence number per bean definition name. */
+	private final Map<String, Long> registrationOrder = new ConcurrentHashMap<>(256);
+
+	/** Names of bean definitions that need to be re-resolved. */
+	private final Set<String> dirtyNames = ConcurrentHashMap.newKeySet(256);
+
+	/** Names of bean definitions that are currently being re-resolved. */
+	private final Set<String> resolvingNames = ConcurrentHashMap.newKeySet(16);
+
+	/** Indexed types per bean definition name (guarded by this). */
+	private final Map<String, Set<Class<?>>> typesByName = new HashMap<>(256);
+
+	/** Bean definition names per exposed type, including all supertypes (guarded by this). */
+	private final Map<Class<?>, Set<String>> namesByType = new HashMap<>(256);
+
+	/** Names of bean definitions that have to be checked for every type (guarded by this). */
+	private final Set<String> unknownNames = new LinkedHashSet<>(64);
+
+	private long sequence;
+
+
+	/**
+	 * Register the given bean definition name, keeping the original
+	 * registration order in case of an overriding definition.
+	 */
+	public void register(String beanName) {
+		synchronized (this) {
+			this.registrationOrder.computeIfAbsent(beanName, name -> this.sequence++);
+		}
+		this.dirtyNames.add(beanName);
+	}
+
+	/**
+	 * Remove the given bean definition name from the index.
+	 */
+	public void remove(String beanName) {
+		synchronized (this) {
+			this.registrationOrder.remove(beanName);
+			this.dirtyNames.remove(beanName);
+			unindex(beanName);
+		}
+	}
+
+	/**
+	 * Mark the given bean definition name for re-resolution on the next lookup.
+	 */
+	public void markDirty(String beanName) {
+		if (this.registrationOrder.containsKey(beanName)) {
+			this.dirtyNames.add(beanName);
+		}
+	}
+
+	/**
+	 * Mark all registered bean definition names for re-resolution on the next lookup.
+	 */
+	public void markAllDirty() {
+		this.dirtyNames.addAll(this.registrationOrder.keySet());
+	}
+
+	/**
+	 * Determine the names of all bean definitions that may expose the given type.
+	 * @param type the raw type to look up
+	 * @param typeResolver callback that determines the types exposed by a given bean,
+	 * returning {@code null} if those cannot be determined upfront
+	 * @return the candidate bean names, in registration order
+	 */
+	public List<String> getCandidateNames(Class<?> type, Function<String, Class<?>[]> typeResolver) {
+		if (type.isArray()) {
+			// Arrays are only indexed under their own class, whereas a String[]
+			// bean also matches Object[] or Serializable[] through array covariance.
+			return sortByRegistrationOrder(new ArrayList<>(this.registrationOrder.keySet()));
+		}
+
+		for (String beanName : this.dirtyNames) {
+			this.resolvingNames.add(beanName);
+			try {
+				if (this.dirtyNames.remove(beanName)) {
+					Class<?>[] types;
+					try {
+						types = typeResolver.apply(beanName);
+					}
+					catch (RuntimeException ex) {
+						// Let the actual type check reproduce the failure.
+						types = null;
+					}
+					synchronized (this) {
+						if (this.registrationOrder.containsKey(beanName)) {
+							unindex(beanName);
+							index(beanName, (types != null ? types : UNKNOWN));
+						}
+					}
+				}
+			}
+			finally {
+				this.resolvingNames.remove(beanName);
+			}
+		}
+
+		Set<String> candidates;
+		synchronized (this) {
+			candidates = new LinkedHashSet<>(this.unknownNames);
+			Set<String> names = this.namesByType.get(type);
+			if (names != null) {
+				candidates.addAll(names);
+			}
+		}
+		// Entries changed concurrently might not be reflected in the index yet.
+		candidates.addAll(this.dirtyNames);
+		candidates.addAll(this.resolvingNames);
+
+		List<String> result = new ArrayList<>(candidates.size());
+		for (String candidate : candidates) {
+			if (this.registrationOrder.containsKey(candidate)) {
+				result.add(candidate);
+			}
+		}
+		return sortByRegistrationOrder(result);
+	}
+
+	private List<String> sortByRegistrationOrder(List<String> names) {
+		names.sort(Comparator.comparingLong(name -> this.registrationOrder.getOrDefault(name, Long.MAX_VALUE)));
+		return names;
+	}
+
+	private void index(String beanName, Class<?>[] types) {
+		if (types == UNKNOWN) {
+			this.unknownNames.add(beanName);
+			return;
+		}
+		Set<Class<?>> hierarchy = new LinkedHashSet<>();
+		for (Class<?> type : types) {
+			collectTypeHierarchy(type, hierarchy);
+		}
+		this.typesByName.put(beanName, hierarchy);
+		for (Class<?> type : hierarchy) {
+			this.namesByType.computeIfAbsent(type, key -> new LinkedHashSet<>()).add(beanName);
+		}
+	}
+
+	private void unindex(String beanName) {
+		this.unknownNames.remove(beanName);
+		Set<Class<?>> types = this.typesByName.remove(beanName);
+		if (types != null) {
+			for (Class<?> type : types) {
+				Set<String> names = this.namesByType.get(type);
+				if (names != null) {
+					names.remove(beanName);
+					if (names.isEmpty()) {
+						this.namesByType.remove(type);
+					}
+				}
+			}
+		}
+	}
+
+	private static void collectTypeHierarchy(@Nullable Class<?> type, Set<Class<?>> hierarchy) {
+		if (type == null || type == Object.class || !hierarchy.add(type)) {
+			return;
+		}
+		collectTypeHierarchy(type.getSuperclass(), hierarchy);
+		for (Class<?> ifc : type.getInterfaces()) {
+			collectTypeHierarchy(ifc, hierarchy);
+		}
+	}
+
+}
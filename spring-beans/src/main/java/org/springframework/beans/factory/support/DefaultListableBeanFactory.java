@@ -31,6 +31,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
@@ -39,7 +40,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
@@ -48,6 +55,8 @@ import javax.inject.Provider;
 
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.BeansException;
+import org.springframework.beans.FatalBeanException;
+import org.springframework.beans.PropertyValue;
 import org.springframework.beans.TypeConverter;
 import org.springframework.beans.factory.BeanCreationException;
 import org.springframework.beans.factory.BeanCurrentlyInCreationException;
@@ -68,11 +77,12 @@ import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.config.BeanDefinitionHolder;
-import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.config.ConstructorArgumentValues;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.beans.factory.config.DependencyDescriptor;
 import org.springframework.beans.factory.config.NamedBeanHolder;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
 import org.springframework.core.OrderComparator;
 import org.springframework.core.ResolvableType;
 import org.springframework.core.annotation.MergedAnnotation;
@@ -171,6 +181,16 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	/** Map of singleton-only bean names, keyed by dependency type. */
 	private final Map<Class<?>, String[]> singletonBeanNamesByType = new ConcurrentHashMap<>(64);
 
+	/** Map of uniquely resolved singleton beans, keyed by required Class or ResolvableType. */
+	private final Map<Object, NamedBeanHolder<?>> resolvedSingletonsByType = new ConcurrentHashMap<>(64);
+
+	/** Index of bean definition names by exposed type, for type lookups that cannot be cached. */
+	private final BeanTypeIndex beanTypeIndex = new BeanTypeIndex();
+
+	/** Post-processor state that the bean type index has been resolved against. */
+	@Nullable
+	private volatile Object beanTypeIndexPostProcessors;
+
 	/** List of bean definition names, in registration order. */
 	private volatile List<String> beanDefinitionNames = new ArrayList<>(256);
 
@@ -184,6 +204,9 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	/** Whether bean definition metadata may be cached for all beans. */
 	private volatile boolean configurationFrozen = false;
 
+	/** Number of threads to use for pre-instantiating singletons. */
+	private int preInstantiationParallelism = 1;
+
 
 	/**
 	 * Create a new DefaultListableBeanFactory.
@@ -257,6 +280,7 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	 */
 	public void setAllowEagerClassLoading(boolean allowEagerClassLoading) {
 		this.allowEagerClassLoading = allowEagerClassLoading;
+		this.beanTypeIndex.markAllDirty();
 	}
 
 	/**
@@ -315,6 +339,34 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		return this.autowireCandidateResolver;
 	}
 
+	/**
+	 * Set the number of threads to use for pre-instantiating non-lazy singletons.
+	 * <p>Default is 1, creating all singletons one after another on the calling
+	 * thread. A higher value creates singletons on a dedicated {@link ForkJoinPool},
+	 * ordered according to the dependencies declared in their bean definitions
+	 * (depends-on, factory bean and bean references in property values and
+	 * constructor arguments). Dependencies that only get resolved at creation time,
+	 * e.g. through autowiring, are coordinated by the singleton registry: a thread
+	 * requesting a singleton in creation elsewhere waits for it to be completed.
+	 * <p>Note that bean creation callbacks such as {@code afterPropertiesSet} need
+	 * to be safe for concurrent invocation across different beans in this mode.
+	 * {@link SmartInitializingSingleton} callbacks are still invoked sequentially.
+	 * @since 5.2.1
+	 * @see #preInstantiateSingletons()
+	 */
+	public void setPreInstantiationParallelism(int preInstantiationParallelism) {
+		Assert.isTrue(preInstantiationParallelism > 0, "Pre-instantiation parallelism must be greater than 0");
+		this.preInstantiationParallelism = preInstantiationParallelism;
+	}
+
+	/**
+	 * Return the number of threads to use for pre-instantiating non-lazy singletons.
+	 * @since 5.2.1
+	 */
+	public int getPreInstantiationParallelism() {
+		return this.preInstantiationParallelism;
+	}
+
 
 	@Override
 	public void copyConfigurationFrom(ConfigurableBeanFactory otherFactory) {
@@ -324,6 +376,7 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 			this.allowBeanDefinitionOverriding = otherListableFactory.allowBeanDefinitionOverriding;
 			this.allowEagerClassLoading = otherListableFactory.allowEagerClassLoading;
 			this.dependencyComparator = otherListableFactory.dependencyComparator;
+			this.preInstantiationParallelism = otherListableFactory.preInstantiationParallelism;
 			// A clone of the AutowireCandidateResolver since it is potentially BeanFactoryAware...
 			setAutowireCandidateResolver(
 					BeanUtils.instantiateClass(otherListableFactory.getAutowireCandidateResolver().getClass()));
@@ -346,7 +399,7 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	@Override
 	public <T> T getBean(Class<T> requiredType, @Nullable Object... args) throws BeansException {
 		Assert.notNull(requiredType, "Required type must not be null");
-		Object resolved = resolveBean(ResolvableType.forRawClass(requiredType), args, false);
+		Object resolved = resolveBean(ResolvableType.forRawClass(requiredType), requiredType, args, false);
 		if (resolved == null) {
 			throw new NoSuchBeanDefinitionException(requiredType);
 		}
@@ -356,16 +409,21 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	@Override
 	public <T> ObjectProvider<T> getBeanProvider(Class<T> requiredType) throws BeansException {
 		Assert.notNull(requiredType, "Required type must not be null");
-		return getBeanProvider(ResolvableType.forRawClass(requiredType));
+		return getBeanProvider(ResolvableType.forRawClass(requiredType), requiredType);
 	}
 
-	@SuppressWarnings("unchecked")
 	@Override
 	public <T> ObjectProvider<T> getBeanProvider(ResolvableType requiredType) {
+		// Unresolvable generics may compare equal to a raw type with different matching rules
+		return getBeanProvider(requiredType, (requiredType.hasUnresolvableGenerics() ? null : requiredType));
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> ObjectProvider<T> getBeanProvider(ResolvableType requiredType, @Nullable Object cacheKey) {
 		return new BeanObjectProvider<T>() {
 			@Override
 			public T getObject() throws BeansException {
-				T resolved = resolveBean(requiredType, null, false);
+				T resolved = resolveBean(requiredType, cacheKey, null, false);
 				if (resolved == null) {
 					throw new NoSuchBeanDefinitionException(requiredType);
 				}
@@ -373,7 +431,7 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 			}
 			@Override
 			public T getObject(Object... args) throws BeansException {
-				T resolved = resolveBean(requiredType, args, false);
+				T resolved = resolveBean(requiredType, cacheKey, args, false);
 				if (resolved == null) {
 					throw new NoSuchBeanDefinitionException(requiredType);
 				}
@@ -382,12 +440,12 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 			@Override
 			@Nullable
 			public T getIfAvailable() throws BeansException {
-				return resolveBean(requiredType, null, false);
+				return resolveBean(requiredType, cacheKey, null, false);
 			}
 			@Override
 			@Nullable
 			public T getIfUnique() throws BeansException {
-				return resolveBean(requiredType, null, true);
+				return resolveBean(requiredType, cacheKey, null, true);
 			}
 			@Override
 			public Stream<T> stream() {
@@ -411,15 +469,41 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		};
 	}
 
+	/**
+	 * Resolve the bean matching the given type, locally or in a parent factory.
+	 * <p>Once the configuration is frozen, a uniquely resolved local singleton
+	 * is cached under the given key until singletons are registered or destroyed.
+	 * @param requiredType the type the bean must match
+	 * @param cacheKey the key for caching the resolved singleton
+	 * (or {@code null} if the result must not be cached)
+	 * @param args the explicit arguments for bean creation, if any
+	 * @param nonUniqueAsNull whether to return {@code null} in case of
+	 * several matching beans without a primary or highest-priority candidate
+	 * @return the resolved bean, or {@code null} if none found
+	 */
+	@SuppressWarnings("unchecked")
 	@Nullable
-	private <T> T resolveBean(ResolvableType requiredType, @Nullable Object[] args, boolean nonUniqueAsNull) {
+	private <T> T resolveBean(ResolvableType requiredType, @Nullable Object cacheKey,
+			@Nullable Object[] args, boolean nonUniqueAsNull) {
+
+		boolean cacheable = (cacheKey != null && args == null);
+		if (cacheable) {
+			NamedBeanHolder<?> cachedBean = this.resolvedSingletonsByType.get(cacheKey);
+			if (cachedBean != null) {
+				return (T) cachedBean.getBeanInstance();
+			}
+		}
 		NamedBeanHolder<T> namedBean = resolveNamedBean(requiredType, args, nonUniqueAsNull);
 		if (namedBean != null) {
+			if (cacheable && isConfigurationFrozen() && namedBean.getBeanInstance() != null &&
+					containsSingleton(namedBean.getBeanName()) && isSingleton(namedBean.getBeanName())) {
+				this.resolvedSingletonsByType.put(cacheKey, namedBean);
+			}
 			return namedBean.getBeanInstance();
 		}
 		BeanFactory parent = getParentBeanFactory();
 		if (parent instanceof DefaultListableBeanFactory) {
-			return ((DefaultListableBeanFactory) parent).resolveBean(requiredType, args, nonUniqueAsNull);
+			return ((DefaultListableBeanFactory) parent).resolveBean(requiredType, cacheKey, args, nonUniqueAsNull);
 		}
 		else if (parent != null) {
 			ObjectProvider<T> parentProvider = parent.getBeanProvider(requiredType);
@@ -506,8 +590,8 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	private String[] doGetBeanNamesForType(ResolvableType type, boolean includeNonSingletons, boolean allowEagerInit) {
 		List<String> result = new ArrayList<>();
 
-		// Check all bean definitions.
-		for (String beanName : this.beanDefinitionNames) {
+		// Check all bean definitions that may expose the given type.
+		for (String beanName : getBeanDefinitionNamesForTypeCheck(type)) {
 			// Only consider bean as eligible if the bean name
 			// is not defined as alias for some other bean.
 			if (!isAlias(beanName)) {
@@ -585,6 +669,70 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		return StringUtils.toStringArray(result);
 	}
 
+	/**
+	 * Determine the bean definition names to check against the given type,
+	 * narrowed down through the bean type index where possible.
+	 * @param type the type to match
+	 * @return the candidate bean definition names, in registration order
+	 * @since 5.2.1
+	 */
+	private List<String> getBeanDefinitionNamesForTypeCheck(ResolvableType type) {
+		Class<?> rawType = type.resolve();
+		if (rawType == null || rawType == Object.class || rawType.isPrimitive() || getTempClassLoader() != null) {
+			return this.beanDefinitionNames;
+		}
+		Object postProcessors = getBeanPostProcessorCache();
+		if (this.beanTypeIndexPostProcessors != postProcessors) {
+			// Post-processors may predict different bean types now...
+			this.beanTypeIndexPostProcessors = postProcessors;
+			this.beanTypeIndex.markAllDirty();
+		}
+		return this.beanTypeIndex.getCandidateNames(rawType, this::determineIndexedTypes);
+	}
+
+	/**
+	 * Determine the types that the given bean may expose, as far as possible
+	 * without side effects beyond those of a regular type check.
+	 * @param beanName the name of the bean
+	 * @return the exposed types (empty if the bean never matches any type),
+	 * or {@code null} if the bean needs to be checked against every type
+	 * @since 5.2.1
+	 */
+	@Nullable
+	private Class<?>[] determineIndexedTypes(String beanName) {
+		if (isCurrentlyInCreation(beanName)) {
+			return null;
+		}
+		RootBeanDefinition mbd = getMergedLocalBeanDefinition(beanName);
+		if (mbd.isAbstract()) {
+			return new Class<?>[0];
+		}
+		if (mbd.getDecoratedDefinition() != null ||
+				(!mbd.hasBeanClass() && mbd.isLazyInit() && !isAllowEagerClassLoading()) ||
+				requiresEagerInitForType(mbd.getFactoryBeanName())) {
+			return null;
+		}
+		Class<?> targetType = determineTargetType(beanName, mbd);
+		Class<?> predictedType = predictBeanType(beanName, mbd);
+		if (targetType == null || predictedType == null) {
+			return null;
+		}
+		Object beanInstance = getSingleton(beanName, false);
+		if (beanInstance != null && beanInstance.getClass() == NullBean.class) {
+			beanInstance = null;
+		}
+		if (FactoryBean.class.isAssignableFrom(targetType) || FactoryBean.class.isAssignableFrom(predictedType) ||
+				beanInstance instanceof FactoryBean) {
+			// The object type of a FactoryBean is only known upfront if declared as attribute.
+			Class<?> objectType = (beanInstance == null ? getTypeForFactoryBeanFromAttributes(mbd).resolve() : null);
+			return (objectType != null ? new Class<?>[] {targetType, predictedType, objectType} : null);
+		}
+		ResolvableType returnType = mbd.factoryMethodReturnType;
+		return new Class<?>[] {targetType, predictedType,
+				(beanInstance != null ? beanInstance.getClass() : null),
+				(returnType != null ? returnType.resolve() : null)};
+	}
+
 	private boolean isSingleton(String beanName, RootBeanDefinition mbd, @Nullable BeanDefinitionHolder dbd) {
 		return (dbd != null ? mbd.isSingleton() : isSingleton(beanName));
 	}
@@ -819,6 +967,7 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	public void clearMetadataCache() {
 		super.clearMetadataCache();
 		clearByTypeCache();
+		this.beanTypeIndex.markAllDirty();
 	}
 
 	@Override
@@ -855,31 +1004,14 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		List<String> beanNames = new ArrayList<>(this.beanDefinitionNames);
 
 		// Trigger initialization of all non-lazy singleton beans...  （触发所有非惰性单例bean的初始化...）
-		for (String beanName : beanNames) {
-			RootBeanDefinition bd = getMergedLocalBeanDefinition(beanName);
-			if (!bd.isAbstract() && bd.isSingleton() && !bd.isLazyInit()) {  // 非抽象类、是单例、非懒加载
-				if (isFactoryBean(beanName)) {  // 是一个FactoryBean
-					// 拼上一个&前缀
-					Object bean = getBean(FACTORY_BEAN_PREFIX + beanName);
-					if (bean instanceof FactoryBean) {
-						final FactoryBean<?> factory = (FactoryBean<?>) bean;
-						boolean isEagerInit;
-						if (System.getSecurityManager() != null && factory instanceof SmartFactoryBean) {
-							isEagerInit = AccessController.doPrivileged((PrivilegedAction<Boolean>)
-											((SmartFactoryBean<?>) factory)::isEagerInit,
-									getAccessControlContext());
-						}
-						else {
-							isEagerInit = (factory instanceof SmartFactoryBean &&
-									((SmartFactoryBean<?>) factory).isEagerInit());
-						}
-						if (isEagerInit) {
-							getBean(beanName);
-						}
-					}
-				}
-				else {  // 不是FactoryBean
-					getBean(beanName);
+		if (this.preInstantiationParallelism > 1) {
+			preInstantiateSingletonsInParallel(beanNames);
+		}
+		else {
+			for (String beanName : beanNames) {
+				RootBeanDefinition bd = getMergedLocalBeanDefinition(beanName);
+				if (!bd.isAbstract() && bd.isSingleton() && !bd.isLazyInit()) {  // 非抽象类、是单例、非懒加载
+					preInstantiateSingleton(beanName);
 				}
 			}
 		}
@@ -903,6 +1035,206 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		}
 	}
 
+	/**
+	 * Instantiate the given non-lazy singleton, for a {@link FactoryBean}
+	 * including its object in case of {@link SmartFactoryBean#isEagerInit()}.
+	 * @param beanName the name of the bean
+	 */
+	private void preInstantiateSingleton(String beanName) {
+		if (isFactoryBean(beanName)) {  // 是一个FactoryBean
+			// 拼上一个&前缀
+			Object bean = getBean(FACTORY_BEAN_PREFIX + beanName);
+			if (bean instanceof FactoryBean) {
+				final FactoryBean<?> factory = (FactoryBean<?>) bean;
+				boolean isEagerInit;
+				if (System.getSecurityManager() != null && factory instanceof SmartFactoryBean) {
+					isEagerInit = AccessController.doPrivileged((PrivilegedAction<Boolean>)
+									((SmartFactoryBean<?>) factory)::isEagerInit,
+							getAccessControlContext());
+				}
+				else {
+					isEagerInit = (factory instanceof SmartFactoryBean &&
+							((SmartFactoryBean<?>) factory).isEagerInit());
+				}
+				if (isEagerInit) {
+					getBean(beanName);
+				}
+			}
+		}
+		else {  // 不是FactoryBean
+			getBean(beanName);
+		}
+	}
+
+	/**
+	 * Instantiate the non-lazy singletons among the given beans on a dedicated
+	 * {@link ForkJoinPool}, creating each singleton once the singletons that it
+	 * declares as dependencies have been created.
+	 * @param beanNames the names of all registered bean definitions
+	 * @throws BeansException if one of the singletons could not be created
+	 * @see #setPreInstantiationParallelism
+	 */
+	private void preInstantiateSingletonsInParallel(List<String> beanNames) throws BeansException {
+		Map<String, Set<String>> dependencyGraph = new LinkedHashMap<>();
+		for (String beanName : beanNames) {
+			RootBeanDefinition bd = getMergedLocalBeanDefinition(beanName);
+			if (!bd.isAbstract() && bd.isSingleton() && !bd.isLazyInit()) {
+				Set<String> dependencies = new LinkedHashSet<>();
+				collectDeclaredDependencies(bd, dependencies);
+				dependencyGraph.put(beanName, dependencies);
+			}
+		}
+
+		ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+		ForkJoinPool pool = new ForkJoinPool(this.preInstantiationParallelism, fjp -> {
+			ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(fjp);
+			thread.setName("singleton-pre-instantiation-" + thread.getPoolIndex());
+			thread.setContextClassLoader(classLoader);
+			return thread;
+		}, null, false);
+		setParallelSingletonCreation(true);
+		try {
+			Map<String, CompletableFuture<Void>> tasks = new LinkedHashMap<>();
+			for (String beanName : dependencyGraph.keySet()) {
+				schedulePreInstantiation(beanName, dependencyGraph, tasks, new HashSet<>(), pool);
+			}
+			// Wait for all singletons before reporting the first failure in registration order.
+			Throwable failure = null;
+			for (CompletableFuture<Void> task : tasks.values()) {
+				try {
+					task.join();
+				}
+				catch (CompletionException | CancellationException ex) {
+					if (failure == null) {
+						failure = (ex.getCause() != null ? ex.getCause() : ex);
+					}
+				}
+			}
+			if (failure instanceof BeansException) {
+				throw (BeansException) failure;
+			}
+			else if (failure instanceof Error) {
+				throw (Error) failure;
+			}
+			else if (failure != null) {
+				throw new FatalBeanException("Parallel pre-instantiation of singletons failed", failure);
+			}
+		}
+		finally {
+			setParallelSingletonCreation(false);
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Schedule the pre-instantiation of the given singleton after the
+	 * pre-instantiation of its declared dependencies.
+	 * <p>Circular references among declared dependencies are not awaited but left
+	 * to regular circular reference resolution at singleton creation time.
+	 */
+	private CompletableFuture<Void> schedulePreInstantiation(String beanName, Map<String, Set<String>> dependencyGraph,
+			Map<String, CompletableFuture<Void>> tasks, Set<String> beansInProgress, Executor executor) {
+
+		CompletableFuture<Void> task = tasks.get(beanName);
+		if (task != null) {
+			return task;
+		}
+		beansInProgress.add(beanName);
+		List<CompletableFuture<Void>> dependencyTasks = new ArrayList<>();
+		for (String dependency : dependencyGraph.get(beanName)) {
+			if (dependencyGraph.containsKey(dependency) && !beansInProgress.contains(dependency)) {
+				dependencyTasks.add(schedulePreInstantiation(dependency, dependencyGraph, tasks, beansInProgress, executor));
+			}
+		}
+		beansInProgress.remove(beanName);
+		task = CompletableFuture.allOf(dependencyTasks.toArray(new CompletableFuture<?>[0]))
+				.thenRunAsync(() -> preInstantiateSingleton(beanName), executor);
+		tasks.put(beanName, task);
+		return task;
+	}
+
+	/**
+	 * Collect the canonical names of the beans that the given bean definition
+	 * explicitly refers to: depends-on beans, its factory bean as well as bean
+	 * references in property values and constructor arguments, including those
+	 * of inner bean definitions and within collections.
+	 */
+	private void collectDeclaredDependencies(BeanDefinition bd, Set<String> dependencies) {
+		String[] dependsOn = bd.getDependsOn();
+		if (dependsOn != null) {
+			for (String dependency : dependsOn) {
+				dependencies.add(canonicalName(BeanFactoryUtils.transformedBeanName(dependency)));
+			}
+		}
+		if (bd.getFactoryBeanName() != null) {
+			dependencies.add(canonicalName(bd.getFactoryBeanName()));
+		}
+		if (bd.hasPropertyValues()) {
+			for (PropertyValue pv : bd.getPropertyValues().getPropertyValues()) {
+				collectReferencedBeans(pv.getValue(), dependencies);
+			}
+		}
+		if (bd.hasConstructorArgumentValues()) {
+			ConstructorArgumentValues cav = bd.getConstructorArgumentValues();
+			for (ConstructorArgumentValues.ValueHolder valueHolder : cav.getIndexedArgumentValues().values()) {
+				collectReferencedBeans(valueHolder.getValue(), dependencies);
+			}
+			for (ConstructorArgumentValues.ValueHolder valueHolder : cav.getGenericArgumentValues()) {
+				collectReferencedBeans(valueHolder.getValue(), dependencies);
+			}
+		}
+	}
+
+	private void collectReferencedBeans(@Nullable Object value, Set<String> dependencies) {
+		if (value instanceof RuntimeBeanReference) {
+			RuntimeBeanReference ref = (RuntimeBeanReference) value;
+			if (!ref.isToParent()) {
+				dependencies.add(canonicalName(BeanFactoryUtils.transformedBeanName(ref.getBeanName())));
+			}
+		}
+		else if (value instanceof BeanDefinitionHolder) {
+			collectDeclaredDependencies(((BeanDefinitionHolder) value).getBeanDefinition(), dependencies);
+		}
+		else if (value instanceof BeanDefinition) {
+			collectDeclaredDependencies((BeanDefinition) value, dependencies);
+		}
+		else if (value instanceof Collection) {
+			for (Object element : (Collection<?>) value) {
+				collectReferencedBeans(element, dependencies);
+			}
+		}
+		else if (value instanceof Map) {
+			for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+				collectReferencedBeans(entry.getKey(), dependencies);
+				collectReferencedBeans(entry.getValue(), dependencies);
+			}
+		}
+		else if (value instanceof Object[]) {
+			for (Object element : (Object[]) value) {
+				collectReferencedBeans(element, dependencies);
+			}
+		}
+	}
+
+	@Override
+	public int trimMetadataCaches() {
+		int released = 0;
+		List<MergedBeanDefinitionPostProcessor> processors = getBeanPostProcessorCache().mergedDefinition;
+		if (!processors.isEmpty()) {
+			for (String beanName : this.beanDefinitionNames) {
+				if (containsSingleton(beanName)) {
+					RootBeanDefinition mbd = getMergedLocalBeanDefinition(beanName);
+					if (mbd.isSingleton()) {
+						for (MergedBeanDefinitionPostProcessor processor : processors) {
+							released += processor.releaseSingletonMetadata(mbd, beanName);
+						}
+					}
+				}
+			}
+		}
+		return released + clearBeanCreationCaches();
+	}
+
 
 	//---------------------------------------------------------------------
 	// Implementation of BeanDefinitionRegistry interface
@@ -974,10 +1306,14 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 			}
 			this.frozenBeanDefinitionNames = null;
 		}
+		this.beanTypeIndex.register(beanName);
 
 		if (existingDefinition != null || containsSingleton(beanName)) {
 			resetBeanDefinition(beanName);
 		}
+		else if (isConfigurationFrozen()) {
+			clearByTypeCache();
+		}
 	}
 
 	@Override
@@ -1005,6 +1341,7 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 			this.beanDefinitionNames.remove(beanName);
 		}
 		this.frozenBeanDefinitionNames = null;
+		this.beanTypeIndex.remove(beanName);
 
 		resetBeanDefinition(beanName);
 	}
@@ -1030,10 +1367,8 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		destroySingleton(beanName);
 
 		// Notify all post-processors that the specified bean definition has been reset.
-		for (BeanPostProcessor processor : getBeanPostProcessors()) {
-			if (processor instanceof MergedBeanDefinitionPostProcessor) {
-				((MergedBeanDefinitionPostProcessor) processor).resetBeanDefinition(beanName);
-			}
+		for (MergedBeanDefinitionPostProcessor processor : getBeanPostProcessorCache().mergedDefinition) {
+			processor.resetBeanDefinition(beanName);
 		}
 
 		// Reset all bean definitions that have the given bean as parent (recursively).
@@ -1069,6 +1404,7 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		super.destroySingletons();
 		updateManualSingletonNames(Set::clear, set -> !set.isEmpty());
 		clearByTypeCache();
+		this.beanTypeIndex.markAllDirty();
 	}
 
 	@Override
@@ -1113,6 +1449,46 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	private void clearByTypeCache() {
 		this.allBeanNamesByType.clear();
 		this.singletonBeanNamesByType.clear();
+		this.resolvedSingletonsByType.clear();
+	}
+
+	@Override
+	public void setTempClassLoader(@Nullable ClassLoader tempClassLoader) {
+		super.setTempClassLoader(tempClassLoader);
+		this.beanTypeIndex.markAllDirty();
+	}
+
+	@Override
+	protected void clearMergedBeanDefinition(String beanName) {
+		super.clearMergedBeanDefinition(beanName);
+		this.beanTypeIndex.markDirty(beanName);
+	}
+
+	@Override
+	protected void addSingleton(String beanName, Object singletonObject) {
+		super.addSingleton(beanName, singletonObject);
+		this.beanTypeIndex.markDirty(beanName);
+		// By-type resolution may differ once a candidate instance is available.
+		this.resolvedSingletonsByType.clear();
+	}
+
+	@Override
+	protected void removeSingleton(String beanName) {
+		super.removeSingleton(beanName);
+		this.beanTypeIndex.markDirty(beanName);
+	}
+
+	@Override
+	protected void beforeSingletonCreation(String beanName) {
+		super.beforeSingletonCreation(beanName);
+		this.beanTypeIndex.markDirty(beanName);
+	}
+
+	@Override
+	protected void beforePrototypeCreation(String beanName) {
+		super.beforePrototypeCreation(beanName);
+		// Post-processors may predict a different type after a first creation attempt.
+		this.beanTypeIndex.markDirty(beanName);
 	}
 
 
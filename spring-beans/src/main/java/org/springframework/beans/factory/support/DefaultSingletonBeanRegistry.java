@@ -114,6 +114,15 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	// bean 被哪些 bean 依赖了
 	private final Map<String, Set<String>> dependenciesForBeanMap = new ConcurrentHashMap<>(64);
 
+	/** Whether singletons may currently be created by several threads in parallel. */
+	private volatile boolean parallelSingletonCreation = false;
+
+	/** Threads creating singletons in parallel: bean name to creating thread. */
+	private final Map<String, Thread> singletonCreationThreads = new HashMap<>(16);
+
+	/** Threads waiting for singletons created in parallel: waiting thread to bean name. */
+	private final Map<Thread, String> singletonCreationWaiters = new HashMap<>(16);
+
 
 	@Override
 	public void registerSingleton(String beanName, Object singletonObject) throws IllegalStateException {
@@ -191,6 +200,11 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 		Object singletonObject = this.singletonObjects.get(beanName);
 		if (singletonObject == null && isSingletonCurrentlyInCreation(beanName)) {  // 如果没创建过，且在创建中。
 			synchronized (this.singletonObjects) {
+				if (this.parallelSingletonCreation && !isSingletonCreatedByCurrentThread(beanName)) {
+					// Early references are only exposed to the creating thread itself,
+					// other threads have to wait for the fully initialized singleton.
+					return null;
+				}
 				// 【二级缓存】获取生肉版本
 				singletonObject = this.earlySingletonObjects.get(beanName);
 				if (singletonObject == null && allowEarlyReference) {  // 如果生肉版本不存在，且允许提前获取生肉的引用
@@ -224,6 +238,9 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 */
 	public Object getSingleton(String beanName, ObjectFactory<?> singletonFactory) {
 		Assert.notNull(beanName, "Bean name must not be null");
+		if (this.parallelSingletonCreation) {
+			return getSingletonInParallel(beanName, singletonFactory);
+		}
 		synchronized (this.singletonObjects) {
 			Object singletonObject = this.singletonObjects.get(beanName);
 			if (singletonObject == null) {  // 如果不等于null，表示已经创建并注册过了，直接返回
@@ -281,6 +298,146 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 		}
 	}
 
+	/**
+	 * Variant of {@link #getSingleton(String, ObjectFactory)} for parallel singleton
+	 * creation: the singleton lock is only held for claiming the bean and for
+	 * registering the result, not while invoking the given factory.
+	 * <p>A thread requesting a singleton that another thread is currently creating
+	 * waits for it to be fully initialized, unless that other thread in turn waits
+	 * (directly or indirectly) for the current thread. In the latter case, this is
+	 * a circular reference which gets resolved through an early singleton reference,
+	 * just like for sequential singleton creation.
+	 * @param beanName the name of the bean
+	 * @param singletonFactory the ObjectFactory to lazily create the singleton
+	 * with, if necessary
+	 * @return the registered singleton object
+	 * @since 5.2.1
+	 * @see #setParallelSingletonCreation
+	 */
+	private Object getSingletonInParallel(String beanName, ObjectFactory<?> singletonFactory) {
+		Thread currentThread = Thread.currentThread();
+		synchronized (this.singletonObjects) {
+			while (true) {
+				Object singletonObject = this.singletonObjects.get(beanName);
+				if (singletonObject != null) {
+					return singletonObject;
+				}
+				if (this.singletonsCurrentlyInDestruction) {
+					throw new BeanCreationNotAllowedException(beanName,
+							"Singleton bean creation not allowed while singletons of this factory are in destruction " +
+							"(Do not request a bean from a BeanFactory in a destroy method implementation!)");
+				}
+				Thread creatingThread = this.singletonCreationThreads.get(beanName);
+				if (creatingThread == null || creatingThread == currentThread) {
+					break;
+				}
+				if (isWaitingForThread(creatingThread, currentThread)) {
+					// Circular reference across threads -> resolve it like a sequential one.
+					ObjectFactory<?> earlyFactory = this.singletonFactories.get(beanName);
+					singletonObject = this.earlySingletonObjects.get(beanName);
+					if (singletonObject == null && earlyFactory != null) {
+						singletonObject = earlyFactory.getObject();
+						this.earlySingletonObjects.put(beanName, singletonObject);
+						this.singletonFactories.remove(beanName);
+					}
+					if (singletonObject == null) {
+						throw new BeanCurrentlyInCreationException(beanName);
+					}
+					return singletonObject;
+				}
+				this.singletonCreationWaiters.put(currentThread, beanName);
+				try {
+					this.singletonObjects.wait();
+				}
+				catch (InterruptedException ex) {
+					currentThread.interrupt();
+					throw new BeanCreationException(beanName,
+							"Interrupted while waiting for singleton creation in another thread", ex);
+				}
+				finally {
+					this.singletonCreationWaiters.remove(currentThread);
+				}
+			}
+			if (logger.isDebugEnabled()) {
+				logger.debug("Creating shared instance of singleton bean '" + beanName + "'");
+			}
+			beforeSingletonCreation(beanName);
+			this.singletonCreationThreads.put(beanName, currentThread);
+		}
+
+		Object singletonObject = null;
+		boolean newSingleton = false;
+		try {
+			singletonObject = singletonFactory.getObject();
+			newSingleton = true;
+		}
+		catch (IllegalStateException ex) {
+			// Has the singleton object implicitly appeared in the meantime ->
+			// if yes, proceed with it since the exception indicates that state.
+			singletonObject = this.singletonObjects.get(beanName);
+			if (singletonObject == null) {
+				throw ex;
+			}
+		}
+		finally {
+			synchronized (this.singletonObjects) {
+				try {
+					afterSingletonCreation(beanName);
+					if (newSingleton) {
+						addSingleton(beanName, singletonObject);
+					}
+				}
+				finally {
+					this.singletonCreationThreads.remove(beanName);
+					this.singletonObjects.notifyAll();
+				}
+			}
+		}
+		return singletonObject;
+	}
+
+	/**
+	 * Determine whether the given thread waits, directly or through a chain of
+	 * other singleton creation threads, for the given target thread.
+	 * <p>To be called with the singleton lock held.
+	 */
+	private boolean isWaitingForThread(Thread thread, Thread targetThread) {
+		Set<Thread> visited = new HashSet<>();
+		Thread current = thread;
+		while (current != null && visited.add(current)) {
+			if (current == targetThread) {
+				return true;
+			}
+			String awaitedBean = this.singletonCreationWaiters.get(current);
+			current = (awaitedBean != null ? this.singletonCreationThreads.get(awaitedBean) : null);
+		}
+		return false;
+	}
+
+	/**
+	 * Determine whether the specified singleton is currently being created by
+	 * the current thread, in case of parallel singleton creation.
+	 * <p>To be called with the singleton lock held.
+	 */
+	private boolean isSingletonCreatedByCurrentThread(String beanName) {
+		return (this.singletonCreationThreads.get(beanName) == Thread.currentThread());
+	}
+
+	/**
+	 * Specify whether singletons may currently be created by several threads in
+	 * parallel, e.g. during parallel pre-instantiation of singletons.
+	 * <p>While switched on, the singleton lock is not held during singleton creation.
+	 * Threads requesting a singleton that is in creation in another thread wait for
+	 * its completion rather than receiving an early reference to it.
+	 * @since 5.2.1
+	 * @see DefaultListableBeanFactory#setPreInstantiationParallelism
+	 */
+	protected void setParallelSingletonCreation(boolean parallelSingletonCreation) {
+		synchronized (this.singletonObjects) {
+			this.parallelSingletonCreation = parallelSingletonCreation;
+		}
+	}
+
 	/**
 	 * Register an Exception that happened to get suppressed during the creation of a
 	 * singleton bean instance, e.g. a temporary circular reference resolution problem.
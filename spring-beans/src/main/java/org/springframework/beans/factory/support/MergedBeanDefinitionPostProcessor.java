@@ -64,4 +64,20 @@ public interface MergedBeanDefinitionPostProcessor extends BeanPostProcessor {
 	default void resetBeanDefinition(String beanName) {
 	}
 
+	/**
+	 * A notification that the specified singleton bean has been fully initialized,
+	 * and that this post-processor may release any metadata that it only cached
+	 * for creating the bean. Such metadata has to be rebuilt on demand if the bean
+	 * gets created again.
+	 * <p>The default implementation releases nothing.
+	 * @param beanDefinition the merged bean definition for the bean
+	 * @param beanName the name of the bean
+	 * @return the number of released cache entries
+	 * @since 5.2.1
+	 * @see DefaultListableBeanFactory#trimMetadataCaches
+	 */
+	default int releaseSingletonMetadata(RootBeanDefinition beanDefinition, String beanName) {
+		return 0;
+	}
+
 }
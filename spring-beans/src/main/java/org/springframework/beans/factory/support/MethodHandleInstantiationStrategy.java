@@ -0,0 +1,281 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.support;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.Supplier;
+
+import org.springframework.beans.BeanInstantiationException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.core.KotlinDetector;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Object instantiation strategy which invokes constructors and factory methods
+ * through {@link MethodHandle MethodHandles} instead of reflection.
+ *
+ * <p>The instantiator for the resolved constructor or factory method is generated
+ * once and cached in the {@link RootBeanDefinition}, so that repeated creation of
+ * prototype or otherwise scoped beans bypasses {@code Constructor.newInstance} and
+ * {@code Method.invoke}. Public default constructors of classes visible to this
+ * strategy are bound to a {@link Supplier} via {@link LambdaMetafactory}, making
+ * steady-state instantiation equivalent to a plain {@code new}.
+ *
+ * <p>Beans requiring Method Injection, Kotlin classes and invocations under a
+ * {@code SecurityManager} are handled by the regular reflective code paths of
+ * {@link CglibSubclassingInstantiationStrategy}.
+ *
+ * @since 5.2.1
+ * @see AbstractAutowireCapableBeanFactory#setInstantiationStrategy
+ * @see org.springframework.beans.factory.annotation.AutowiredAnnotationBeanPostProcessor#setUseMethodHandles
+ */
+public class MethodHandleInstantiationStrategy extends CglibSubclassingInstantiationStrategy {
+
+	private static final MethodType SUPPLIER_FACTORY_TYPE = MethodType.methodType(Supplier.class);
+
+	private static final MethodType SUPPLIER_GET_TYPE = MethodType.methodType(Object.class);
+
+
+	@Override
+	public Object instantiate(RootBeanDefinition bd, @Nullable String beanName, BeanFactory owner) {
+		if (!bd.hasMethodOverrides() && bd.hasBeanClass()) {
+			Instantiator instantiator = getInstantiator(bd);
+			if (instantiator != null && instantiator.isDefaultConstructorFor(bd.getBeanClass())) {
+				return instantiator.instantiate();
+			}
+		}
+		Object instance = super.instantiate(bd, beanName, owner);
+		if (!bd.hasMethodOverrides() && bd.resolvedInstantiator == null) {
+			Executable resolved;
+			synchronized (bd.constructorArgumentLock) {
+				resolved = bd.resolvedConstructorOrFactoryMethod;
+			}
+			if (resolved instanceof Constructor && resolved.getParameterCount() == 0) {
+				bd.resolvedInstantiator = createInstantiator(resolved);
+			}
+		}
+		return instance;
+	}
+
+	@Override
+	public Object instantiate(RootBeanDefinition bd, @Nullable String beanName, BeanFactory owner,
+			Constructor<?> ctor, Object... args) {
+
+		if (!bd.hasMethodOverrides() && isApplicable(ctor, null, args)) {
+			Instantiator instantiator = getInstantiator(bd);
+			if (instantiator == null || !instantiator.isFor(ctor)) {
+				instantiator = createInstantiator(ctor);
+				bd.resolvedInstantiator = instantiator;
+			}
+			if (instantiator.handle != null) {
+				return instantiator.instantiate(args);
+			}
+		}
+		return super.instantiate(bd, beanName, owner, ctor, args);
+	}
+
+	@Override
+	@Nullable
+	protected Object invokeFactoryMethod(RootBeanDefinition bd, @Nullable Object factoryBean,
+			Method factoryMethod, Object... args) throws IllegalAccessException, InvocationTargetException {
+
+		if (isApplicable(factoryMethod, factoryBean, args)) {
+			Instantiator instantiator = getInstantiator(bd);
+			if (instantiator == null || !instantiator.isFor(factoryMethod)) {
+				instantiator = createInstantiator(factoryMethod);
+				bd.resolvedInstantiator = instantiator;
+			}
+			if (instantiator.handle != null) {
+				try {
+					return instantiator.invoke(factoryBean, args);
+				}
+				catch (Throwable ex) {
+					// Target and arguments checked upfront: thrown by the factory method itself
+					throw new InvocationTargetException(ex);
+				}
+			}
+		}
+		return super.invokeFactoryMethod(bd, factoryBean, factoryMethod, args);
+	}
+
+
+	@Nullable
+	private static Instantiator getInstantiator(RootBeanDefinition bd) {
+		Object instantiator = bd.resolvedInstantiator;
+		return (instantiator instanceof Instantiator ? (Instantiator) instantiator : null);
+	}
+
+	/**
+	 * Determine whether the given constructor or factory method can be invoked
+	 * through a method handle with the given target and arguments: that is, the
+	 * target of an instance method is of the declaring class, all parameters are
+	 * provided and each argument is assignable to its parameter type.
+	 * <p>Mismatches are left to the reflective code paths, which report them as
+	 * {@link IllegalArgumentException} rather than as an exception thrown by the
+	 * constructor or factory method itself.
+	 */
+	private static boolean isApplicable(Executable executable, @Nullable Object target, Object[] args) {
+		if (System.getSecurityManager() != null || executable.getParameterCount() != args.length) {
+			return false;
+		}
+		if (executable instanceof Method && !Modifier.isStatic(executable.getModifiers()) &&
+				!executable.getDeclaringClass().isInstance(target)) {
+			return false;
+		}
+		Class<?>[] parameterTypes = executable.getParameterTypes();
+		for (int i = 0; i < args.length; i++) {
+			if (!ClassUtils.isAssignableValue(parameterTypes[i], args[i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Create an {@link Instantiator} for the given constructor or factory method.
+	 * <p>If no method handle can be obtained, or for Kotlin classes which need
+	 * reflective handling of optional parameters, the returned instantiator only
+	 * records the executable, so that the handle creation is not retried for
+	 * every invocation.
+	 */
+	private static Instantiator createInstantiator(Executable executable) {
+		if (KotlinDetector.isKotlinReflectPresent() && KotlinDetector.isKotlinType(executable.getDeclaringClass())) {
+			return new Instantiator(executable, null, null);
+		}
+		MethodHandles.Lookup lookup = MethodHandles.lookup();
+		try {
+			if (executable instanceof Constructor) {
+				ReflectionUtils.makeAccessible((Constructor<?>) executable);
+			}
+			else {
+				ReflectionUtils.makeAccessible((Method) executable);
+			}
+			int parameterCount = executable.getParameterCount();
+			MethodHandle handle;
+			if (executable instanceof Constructor) {
+				handle = lookup.unreflectConstructor((Constructor<?>) executable).asFixedArity();
+				handle = handle.asType(MethodType.genericMethodType(parameterCount));
+				handle = MethodHandles.dropArguments(handle, 0, Object.class);
+			}
+			else {
+				Method method = (Method) executable;
+				handle = lookup.unreflect(method).asFixedArity();
+				if (Modifier.isStatic(method.getModifiers())) {
+					handle = handle.asType(MethodType.genericMethodType(parameterCount));
+					handle = MethodHandles.dropArguments(handle, 0, Object.class);
+				}
+				else {
+					handle = handle.asType(MethodType.genericMethodType(parameterCount + 1));
+				}
+			}
+			handle = handle.asSpreader(Object[].class, parameterCount);
+			Supplier<Object> supplier = (executable instanceof Constructor && parameterCount == 0 ?
+					createSupplier(lookup, (Constructor<?>) executable) : null);
+			return new Instantiator(executable, handle, supplier);
+		}
+		catch (Throwable ex) {
+			return new Instantiator(executable, null, null);
+		}
+	}
+
+	/**
+	 * Bind the given default constructor to a {@link Supplier}, provided that the
+	 * constructor is public and its class is public and visible to this strategy.
+	 */
+	@Nullable
+	@SuppressWarnings("unchecked")
+	private static Supplier<Object> createSupplier(MethodHandles.Lookup lookup, Constructor<?> ctor) {
+		Class<?> clazz = ctor.getDeclaringClass();
+		if (!Modifier.isPublic(ctor.getModifiers()) || !Modifier.isPublic(clazz.getModifiers()) ||
+				Modifier.isAbstract(clazz.getModifiers()) ||
+				!ClassUtils.isVisible(clazz, MethodHandleInstantiationStrategy.class.getClassLoader())) {
+			return null;
+		}
+		try {
+			CallSite callSite = LambdaMetafactory.metafactory(lookup, "get", SUPPLIER_FACTORY_TYPE,
+					SUPPLIER_GET_TYPE, lookup.unreflectConstructor(ctor), MethodType.methodType(clazz));
+			return (Supplier<Object>) callSite.getTarget().invokeExact();
+		}
+		catch (Throwable ex) {
+			return null;
+		}
+	}
+
+
+	/**
+	 * Cached instantiation plan for a constructor or factory method.
+	 */
+	private static final class Instantiator {
+
+		private final Executable executable;
+
+		/** Handle of type {@code (Object target, Object[] args)Object}, if available. */
+		@Nullable
+		private final MethodHandle handle;
+
+		@Nullable
+		private final Supplier<Object> supplier;
+
+		Instantiator(Executable executable, @Nullable MethodHandle handle, @Nullable Supplier<Object> supplier) {
+			this.executable = executable;
+			this.handle = handle;
+			this.supplier = supplier;
+		}
+
+		boolean isFor(Executable executable) {
+			return (this.executable == executable || this.executable.equals(executable));
+		}
+
+		boolean isDefaultConstructorFor(Class<?> beanClass) {
+			return (this.handle != null && this.executable instanceof Constructor &&
+					this.executable.getParameterCount() == 0 && this.executable.getDeclaringClass() == beanClass);
+		}
+
+		Object instantiate(Object... args) {
+			try {
+				if (this.supplier != null) {
+					return this.supplier.get();
+				}
+				return invoke(null, args);
+			}
+			catch (Throwable ex) {
+				throw new BeanInstantiationException((Constructor<?>) this.executable, "Constructor threw exception", ex);
+			}
+		}
+
+		@Nullable
+		Object invoke(@Nullable Object target, Object[] args) throws Throwable {
+			MethodHandle handle = this.handle;
+			if (handle == null) {
+				throw new IllegalStateException("No method handle available for " + this.executable);
+			}
+			return (Object) handle.invokeExact(target, args);
+		}
+	}
+
+}
@@ -114,6 +114,10 @@ public class RootBeanDefinition extends AbstractBeanDefinition {
 	@Nullable
 	Object[] preparedConstructorArguments;
 
+	/** Package-visible field for caching a generated instantiator for the resolved constructor or factory method. */
+	@Nullable
+	volatile Object resolvedInstantiator;
+
 	/** Common lock for the two post-processing fields below. */
 	final Object postProcessingLock = new Object();
 
@@ -164,6 +164,28 @@ public class BeanWrapperTests extends AbstractPropertyAccessorTests {
 		assertThat(accessor.getPropertyDescriptor("spouse.name").getPropertyType()).isEqualTo(String.class);
 	}
 
+	@Test
+	public void propertyInvokersAreSharedAcrossAccessors() {
+		TestBean target1 = new TestBean();
+		TestBean target2 = new TestBean();
+		BeanWrapper accessor1 = createAccessor(target1);
+		BeanWrapper accessor2 = createAccessor(target2);
+		accessor1.setPropertyValue("age", "1");
+		accessor2.setPropertyValue("age", "2");
+		accessor2.setPropertyValue("age", "3");
+		assertThat(target1.getAge()).isEqualTo(1);
+		assertThat(target2.getAge()).isEqualTo(3);
+		assertThat(accessor1.getPropertyValue("age")).isEqualTo(1);
+		assertThat(accessor2.getPropertyValue("age")).isEqualTo(3);
+
+		CachedIntrospectionResults results = CachedIntrospectionResults.forClass(TestBean.class);
+		BeanPropertyInvoker invoker = results.getPropertyInvoker("age");
+		assertThat(invoker).isSameAs(results.getPropertyInvoker("age"));
+		assertThat(invoker.getTypeDescriptor()).isSameAs(accessor1.getPropertyTypeDescriptor("age"));
+		assertThat(invoker.getTypeDescriptor().getType()).isEqualTo(int.class);
+		assertThat(results.getPropertyInvoker("unknown")).isNull();
+	}
+
 	@Test
 	@SuppressWarnings("unchecked")
 	public void getPropertyWithOptional() {
@@ -19,6 +19,7 @@ package org.springframework.beans.factory;
 import java.io.Closeable;
 import java.io.Serializable;
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.net.MalformedURLException;
 import java.security.AccessControlContext;
 import java.security.AccessController;
@@ -26,6 +27,7 @@ import java.security.Principal;
 import java.security.PrivilegedAction;
 import java.text.NumberFormat;
 import java.text.ParseException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -48,6 +50,7 @@ import org.apache.commons.logging.LogFactory;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
 
+import org.springframework.beans.BeanInstantiationException;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.MutablePropertyValues;
 import org.springframework.beans.NotWritablePropertyException;
@@ -75,6 +78,7 @@ import org.springframework.beans.factory.support.BeanDefinitionOverrideException
 import org.springframework.beans.factory.support.ChildBeanDefinition;
 import org.springframework.beans.factory.support.DefaultListableBeanFactory;
 import org.springframework.beans.factory.support.ManagedList;
+import org.springframework.beans.factory.support.MethodHandleInstantiationStrategy;
 import org.springframework.beans.factory.support.PropertiesBeanDefinitionReader;
 import org.springframework.beans.factory.support.RootBeanDefinition;
 import org.springframework.beans.factory.xml.ConstructorDependenciesBean;
@@ -1463,6 +1467,34 @@ class DefaultListableBeanFactoryTests {
 		assertThat(lbf.containsSingleton("bd1")).isFalse();
 	}
 
+	@Test
+	void getBeanByTypeWithFrozenConfiguration() {
+		lbf.registerBeanDefinition("bd1", new RootBeanDefinition(TestBean.class));
+		RootBeanDefinition prototype = new RootBeanDefinition(NestedTestBean.class);
+		prototype.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+		lbf.registerBeanDefinition("prototype", prototype);
+		lbf.freezeConfiguration();
+		lbf.preInstantiateSingletons();
+
+		TestBean bean = lbf.getBean(TestBean.class);
+		ObjectProvider<TestBean> provider = lbf.getBeanProvider(TestBean.class);
+		assertThat(lbf.getBean(TestBean.class)).isSameAs(bean);
+		assertThat(provider.getObject()).isSameAs(bean);
+		assertThat(provider.getIfUnique()).isSameAs(bean);
+		assertThat(lbf.getBean(NestedTestBean.class)).isNotSameAs(lbf.getBean(NestedTestBean.class));
+
+		lbf.destroySingleton("bd1");
+		TestBean recreated = lbf.getBean(TestBean.class);
+		assertThat(recreated).isNotSameAs(bean);
+		assertThat(provider.getIfAvailable()).isSameAs(recreated);
+
+		RootBeanDefinition bd2 = new RootBeanDefinition(TestBean.class);
+		bd2.setPrimary(true);
+		lbf.registerBeanDefinition("bd2", bd2);
+		assertThat(lbf.getBean(TestBean.class).getBeanName()).isEqualTo("bd2");
+		assertThat(provider.getObject().getBeanName()).isEqualTo("bd2");
+	}
+
 	@Test
 	@SuppressWarnings("rawtypes")
 	void getFactoryBeanByTypeWithPrimary() {
@@ -1900,6 +1932,58 @@ class DefaultListableBeanFactoryTests {
 		assertThat(beanNames[0]).isEqualTo("&factoryBean");
 	}
 
+	@Test
+	void getBeanNamesForTypeBeforeFreezeReflectsDefinitionChanges() {
+		lbf.registerBeanDefinition("tb1", new RootBeanDefinition(TestBean.class));
+		lbf.registerBeanDefinition("tb2", new RootBeanDefinition(DerivedTestBean.class));
+		lbf.registerBeanDefinition("ntb", new RootBeanDefinition(NestedTestBean.class));
+		assertThat(lbf.getBeanNamesForType(ITestBean.class)).containsExactly("tb1", "tb2");
+		assertThat(lbf.getBeanNamesForType(NestedTestBean.class)).containsExactly("ntb");
+
+		lbf.registerBeanDefinition("tb1", new RootBeanDefinition(NestedTestBean.class));
+		assertThat(lbf.getBeanNamesForType(ITestBean.class)).containsExactly("tb2");
+		assertThat(lbf.getBeanNamesForType(NestedTestBean.class)).containsExactly("tb1", "ntb");
+
+		lbf.removeBeanDefinition("ntb");
+		lbf.registerBeanDefinition("tb3", new RootBeanDefinition(TestBean.class));
+		assertThat(lbf.getBeanNamesForType(NestedTestBean.class)).containsExactly("tb1");
+		assertThat(lbf.getBeanNamesForType(ITestBean.class)).containsExactly("tb2", "tb3");
+
+		lbf.getBean("tb2");
+		lbf.registerSingleton("tb4", new TestBean());
+		assertThat(lbf.getBeanNamesForType(TestBean.class)).containsExactly("tb2", "tb3", "tb4");
+	}
+
+	@Test
+	void getBeanNamesForTypeBeforeFreezeWithFactoryBeanObjectTypeAttribute() {
+		RootBeanDefinition bd = new RootBeanDefinition(FactoryBeanThatShouldntBeCalled.class);
+		bd.setLazyInit(true);
+		bd.setAttribute(FactoryBean.OBJECT_TYPE_ATTRIBUTE, TestBean.class);
+		lbf.registerBeanDefinition("factoryBean", bd);
+		lbf.registerBeanDefinition("tb", new RootBeanDefinition(TestBean.class));
+		assertThat(lbf.getBeanNamesForType(ITestBean.class, true, false)).containsExactly("factoryBean", "tb");
+		assertThat(lbf.getBeanNamesForType(Runnable.class, true, false)).containsExactly("&factoryBean");
+
+		bd.removeAttribute(FactoryBean.OBJECT_TYPE_ATTRIBUTE);
+		lbf.registerBeanDefinition("factoryBean", bd);
+		assertThat(lbf.getBeanNamesForType(ITestBean.class, true, false)).containsExactly("tb");
+	}
+
+	@Test
+	void getBeanNamesForArrayTypeBeforeFreeze() {
+		RootBeanDefinition strings = new RootBeanDefinition(ArrayFactory.class);
+		strings.setFactoryMethodName("strings");
+		lbf.registerBeanDefinition("strings", strings);
+		RootBeanDefinition numbers = new RootBeanDefinition(ArrayFactory.class);
+		numbers.setFactoryMethodName("numbers");
+		lbf.registerBeanDefinition("numbers", numbers);
+		lbf.registerBeanDefinition("tb", new RootBeanDefinition(TestBean.class));
+		assertThat(lbf.getBeanNamesForType(String[].class)).containsExactly("strings");
+		assertThat(lbf.getBeanNamesForType(Number[].class)).containsExactly("numbers");
+		assertThat(lbf.getBeanNamesForType(Object[].class)).containsExactly("strings", "numbers");
+		assertThat(lbf.getBeanNamesForType(Serializable[].class)).containsExactly("strings", "numbers");
+	}
+
 	/**
 	 * Verifies that a dependency on a {@link FactoryBean} can <strong>not</strong>
 	 * be autowired <em>by name</em>, as &amp; is an illegal character in
@@ -2157,6 +2241,139 @@ class DefaultListableBeanFactoryTests {
 		}
 	}
 
+	@Test
+	void parallelPreInstantiationWithBeanReferences() {
+		lbf.setPreInstantiationParallelism(4);
+		for (int i = 0; i < 100; i++) {
+			RootBeanDefinition bd = new RootBeanDefinition(TestBean.class);
+			if (i > 0) {
+				bd.getPropertyValues().add("spouse", new RuntimeBeanReference("bean" + (i / 2)));
+			}
+			lbf.registerBeanDefinition("bean" + i, bd);
+		}
+		lbf.preInstantiateSingletons();
+		for (int i = 1; i < 100; i++) {
+			TestBean bean = (TestBean) lbf.getBean("bean" + i);
+			assertThat(bean.getSpouse()).isSameAs(lbf.getBean("bean" + (i / 2)));
+		}
+	}
+
+	@Test
+	void parallelPreInstantiationWithAutowiring() {
+		lbf.setPreInstantiationParallelism(4);
+		for (int i = 0; i < 50; i++) {
+			RootBeanDefinition bd = new RootBeanDefinition(TestBean.class);
+			bd.setAutowireMode(RootBeanDefinition.AUTOWIRE_BY_NAME);
+			lbf.registerBeanDefinition("bean" + i, bd);
+		}
+		lbf.registerBeanDefinition("spouse", new RootBeanDefinition(TestBean.class));
+		lbf.preInstantiateSingletons();
+		for (int i = 0; i < 50; i++) {
+			TestBean bean = (TestBean) lbf.getBean("bean" + i);
+			assertThat(bean.getSpouse()).isSameAs(lbf.getBean("spouse"));
+		}
+	}
+
+	@Test
+	void parallelPreInstantiationWithCircularReference() {
+		lbf.setPreInstantiationParallelism(4);
+		for (int i = 0; i < 100; i++) {
+			RootBeanDefinition bd = new RootBeanDefinition(TestBean.class);
+			bd.getPropertyValues().add("spouse", new RuntimeBeanReference("bean" + (i < 99 ? i + 1 : 0)));
+			lbf.registerBeanDefinition("bean" + i, bd);
+		}
+		lbf.preInstantiateSingletons();
+		for (int i = 0; i < 100; i++) {
+			TestBean bean = (TestBean) lbf.getBean("bean" + i);
+			assertThat(bean.getSpouse()).isSameAs(lbf.getBean("bean" + (i < 99 ? i + 1 : 0)));
+		}
+	}
+
+	@Test
+	void parallelPreInstantiationWithFailingBean() {
+		lbf.setPreInstantiationParallelism(4);
+		lbf.registerBeanDefinition("bean", new RootBeanDefinition(TestBean.class));
+		RootBeanDefinition bd = new RootBeanDefinition(TestBean.class);
+		bd.setInitMethodName("nonExistingInitMethod");
+		lbf.registerBeanDefinition("failing", bd);
+		assertThatExceptionOfType(BeanCreationException.class).isThrownBy(
+				lbf::preInstantiateSingletons)
+			.satisfies(ex -> assertThat(ex.getBeanName()).isEqualTo("failing"));
+		assertThat(lbf.containsSingleton("bean")).isTrue();
+	}
+
+	@Test
+	void methodHandleInstantiationOfPrototypes() {
+		lbf.setInstantiationStrategy(new MethodHandleInstantiationStrategy());
+		RootBeanDefinition bd = new RootBeanDefinition(TestBean.class);
+		bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+		bd.getPropertyValues().add("name", "juergen");
+		lbf.registerBeanDefinition("test", bd);
+		RootBeanDefinition bd2 = new RootBeanDefinition(NoDependencies.class);
+		bd2.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+		lbf.registerBeanDefinition("noDependencies", bd2);
+		for (int i = 0; i < 3; i++) {
+			TestBean tb = (TestBean) lbf.getBean("test");
+			assertThat(tb.getName()).isEqualTo("juergen");
+			assertThat(tb).isNotSameAs(lbf.getBean("test"));
+			assertThat(lbf.getBean("noDependencies")).isInstanceOf(NoDependencies.class);
+		}
+	}
+
+	@Test
+	void methodHandleInstantiationWithConstructorAndFactoryMethodArguments() {
+		lbf.setInstantiationStrategy(new MethodHandleInstantiationStrategy());
+		RootBeanDefinition bd = new RootBeanDefinition(TestBean.class);
+		bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+		bd.getConstructorArgumentValues().addGenericArgumentValue("juergen");
+		bd.getConstructorArgumentValues().addGenericArgumentValue("99");
+		lbf.registerBeanDefinition("test", bd);
+		lbf.registerBeanDefinition("factory", new RootBeanDefinition(BeanWithFactoryMethod.class));
+		RootBeanDefinition fbd = new RootBeanDefinition();
+		fbd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+		fbd.setFactoryBeanName("factory");
+		fbd.setFactoryMethodName("createWithArgs");
+		fbd.getConstructorArgumentValues().addGenericArgumentValue("arg");
+		lbf.registerBeanDefinition("fromFactory", fbd);
+		RootBeanDefinition sbd = new RootBeanDefinition(TestBeanFactory.class);
+		sbd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+		sbd.setFactoryMethodName("createTestBean");
+		lbf.registerBeanDefinition("fromStaticFactory", sbd);
+		for (int i = 0; i < 3; i++) {
+			TestBean tb = (TestBean) lbf.getBean("test");
+			assertThat(tb.getName()).isEqualTo("juergen");
+			assertThat(tb.getAge()).isEqualTo(99);
+			assertThat(((TestBean) lbf.getBean("fromFactory")).getName()).isEqualTo("arg");
+			assertThat(lbf.getBean("fromStaticFactory")).isInstanceOf(TestBean.class);
+		}
+	}
+
+	@Test
+	void methodHandleInstantiationWithFailingConstructor() {
+		lbf.setInstantiationStrategy(new MethodHandleInstantiationStrategy());
+		RootBeanDefinition bd = new RootBeanDefinition(FailingConstructorBean.class);
+		bd.getConstructorArgumentValues().addGenericArgumentValue("fail");
+		lbf.registerBeanDefinition("test", bd);
+		assertThatExceptionOfType(BeanCreationException.class).isThrownBy(() ->
+				lbf.getBean("test"))
+			.satisfies(ex -> assertThat(ex.getMostSpecificCause()).isInstanceOf(IllegalStateException.class));
+	}
+
+	@Test
+	void methodHandleInstantiationWithMismatchedFactoryMethodArguments() throws Exception {
+		MethodHandleInstantiationStrategy strategy = new MethodHandleInstantiationStrategy();
+		RootBeanDefinition bd = new RootBeanDefinition();
+		Method factoryMethod = BeanWithFactoryMethod.class.getMethod("createWithArgs", String.class);
+		assertThatExceptionOfType(BeanInstantiationException.class).isThrownBy(() ->
+				strategy.instantiate(bd, "test", lbf, new BeanWithFactoryMethod(), factoryMethod, 42))
+			.withMessageContaining("Illegal arguments to factory method")
+			.withCauseInstanceOf(IllegalArgumentException.class);
+		assertThatExceptionOfType(BeanInstantiationException.class).isThrownBy(() ->
+				strategy.instantiate(bd, "test", lbf, new Object(), factoryMethod, "arg"))
+			.withMessageContaining("Illegal arguments to factory method")
+			.withCauseInstanceOf(IllegalArgumentException.class);
+	}
+
 	@Test
 	void circularReferenceThroughAutowiring() {
 		RootBeanDefinition bd = new RootBeanDefinition(ConstructorDependencyBean.class);
@@ -2537,6 +2754,66 @@ class DefaultListableBeanFactoryTests {
 		assertThat(mergedBeanDefinition2).as("Destroy methods invoked").isEqualTo(mergedBeanDefinition2);
 	}
 
+	@Test
+	void beanPostProcessorNotApplicableToBeanType() {
+		lbf.registerBeanDefinition("test", new RootBeanDefinition(TestBean.class));
+		lbf.registerBeanDefinition("other", new RootBeanDefinition(NestedTestBean.class));
+		List<String> processed = new ArrayList<>();
+		lbf.addBeanPostProcessor(new InstantiationAwareBeanPostProcessorAdapter() {
+			@Override
+			public boolean isApplicableTo(Class<?> beanType) {
+				return TestBean.class.isAssignableFrom(beanType);
+			}
+			@Override
+			public boolean postProcessAfterInstantiation(Object bean, String beanName) {
+				processed.add(beanName);
+				return true;
+			}
+			@Override
+			public Object postProcessBeforeInitialization(Object bean, String beanName) {
+				processed.add(beanName);
+				return bean;
+			}
+		});
+		lbf.preInstantiateSingletons();
+		assertThat(processed).containsExactly("test", "test");
+	}
+
+	@Test
+	void beanPostProcessorsReselectedForReplacedBean() {
+		lbf.registerBeanDefinition("test", new RootBeanDefinition(TestBean.class));
+		List<String> processed = new ArrayList<>();
+		lbf.addBeanPostProcessor(new TypeRecordingBeanPostProcessor(NestedTestBean.class, "nestedBefore", processed));
+		lbf.addBeanPostProcessor(new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				return new NestedTestBean("replaced");
+			}
+		});
+		lbf.addBeanPostProcessor(new TypeRecordingBeanPostProcessor(TestBean.class, "testAfter", processed));
+		lbf.addBeanPostProcessor(new TypeRecordingBeanPostProcessor(NestedTestBean.class, "nestedAfter", processed));
+		assertThat(lbf.getBean("test")).isInstanceOf(NestedTestBean.class);
+		assertThat(processed).containsExactly("nestedAfter");
+	}
+
+	@Test
+	void beanPostProcessorsModifiedThroughList() {
+		RootBeanDefinition bd = new RootBeanDefinition(TestBean.class);
+		bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+		lbf.registerBeanDefinition("test", bd);
+		lbf.getBean("test");
+		lbf.getBeanPostProcessors().add(new BeanPostProcessor() {
+			@Override
+			public Object postProcessBeforeInitialization(Object bean, String beanName) {
+				((TestBean) bean).setName("processed");
+				return bean;
+			}
+		});
+		assertThat(((TestBean) lbf.getBean("test")).getName()).isEqualTo("processed");
+		lbf.getBeanPostProcessors().clear();
+		assertThat(((TestBean) lbf.getBean("test")).getName()).isNull();
+	}
+
 	@Test
 	void destroyMethodOnInnerBean() {
 		RootBeanDefinition innerBd = new RootBeanDefinition(BeanWithDestroyMethod.class);
@@ -2885,6 +3162,53 @@ class DefaultListableBeanFactoryTests {
 	}
 
 
+	public static class ArrayFactory {
+
+		public static String[] strings() {
+			return new String[] {"a", "b"};
+		}
+
+		public static Integer[] numbers() {
+			return new Integer[] {1, 2};
+		}
+	}
+
+
+	private static class TypeRecordingBeanPostProcessor implements BeanPostProcessor {
+
+		private final Class<?> beanType;
+
+		private final String name;
+
+		private final List<String> processed;
+
+		TypeRecordingBeanPostProcessor(Class<?> beanType, String name, List<String> processed) {
+			this.beanType = beanType;
+			this.name = name;
+			this.processed = processed;
+		}
+
+		@Override
+		public boolean isApplicableTo(Class<?> beanType) {
+			return this.beanType.isAssignableFrom(beanType);
+		}
+
+		@Override
+		public Object postProcessAfterInitialization(Object bean, String beanName) {
+			this.processed.add(this.name);
+			return bean;
+		}
+	}
+
+
+	public static class FailingConstructorBean {
+
+		public FailingConstructorBean(String message) {
+			throw new IllegalStateException(message);
+		}
+	}
+
+
 	public static class ConstructorDependency implements BeanNameAware {
 
 		public TestBean spouse;
@@ -134,6 +134,31 @@ public class AutowiredAnnotationBeanPostProcessorTests {
 		assertThat(bean.getTestBean2()).isSameAs(tb);
 	}
 
+	@Test
+	public void testResourceInjectionAfterTrimmingMetadataCaches() {
+		bf.registerBeanDefinition("annotatedBean", new RootBeanDefinition(ResourceInjectionBean.class));
+		RootBeanDefinition bd = new RootBeanDefinition(ResourceInjectionBean.class);
+		bd.setScope(RootBeanDefinition.SCOPE_PROTOTYPE);
+		bf.registerBeanDefinition("annotatedPrototype", bd);
+		TestBean tb = new TestBean();
+		bf.registerSingleton("testBean", tb);
+		bf.preInstantiateSingletons();
+		bf.getBean("annotatedPrototype");
+
+		assertThat(bf.trimMetadataCaches()).isGreaterThanOrEqualTo(1);
+		assertThat(bpp.releaseSingletonMetadata(
+				(RootBeanDefinition) bf.getMergedBeanDefinition("annotatedBean"), "annotatedBean")).isEqualTo(0);
+		assertThat(bpp.releaseSingletonMetadata(
+				(RootBeanDefinition) bf.getMergedBeanDefinition("annotatedPrototype"), "annotatedPrototype")).isEqualTo(1);
+
+		ResourceInjectionBean bean = (ResourceInjectionBean) bf.getBean("annotatedPrototype");
+		assertThat(bean.getTestBean()).isSameAs(tb);
+		assertThat(bean.getTestBean2()).isSameAs(tb);
+		bean = (ResourceInjectionBean) bf.getBean("annotatedBean");
+		assertThat(bean.getTestBean()).isSameAs(tb);
+		assertThat(bean.getTestBean2()).isSameAs(tb);
+	}
+
 	@Test
 	public void testExtendedResourceInjection() {
 		RootBeanDefinition bd = new RootBeanDefinition(TypedExtendedResourceInjectionBean.class);
@@ -166,6 +191,28 @@ public class AutowiredAnnotationBeanPostProcessorTests {
 		assertThat(depBeans[1]).isEqualTo("nestedTestBean");
 	}
 
+	@Test
+	public void testExtendedResourceInjectionWithMethodHandles() {
+		bpp.setUseMethodHandles(true);
+		RootBeanDefinition bd = new RootBeanDefinition(TypedExtendedResourceInjectionBean.class);
+		bd.setScope(RootBeanDefinition.SCOPE_PROTOTYPE);
+		bf.registerBeanDefinition("annotatedBean", bd);
+		TestBean tb = new TestBean();
+		bf.registerSingleton("testBean", tb);
+		NestedTestBean ntb = new NestedTestBean();
+		bf.registerSingleton("nestedTestBean", ntb);
+
+		for (int i = 0; i < 3; i++) {
+			TypedExtendedResourceInjectionBean bean = (TypedExtendedResourceInjectionBean) bf.getBean("annotatedBean");
+			assertThat(bean.getTestBean()).isSameAs(tb);
+			assertThat(bean.getTestBean2()).isSameAs(tb);
+			assertThat(bean.getTestBean3()).isSameAs(tb);
+			assertThat(bean.getTestBean4()).isSameAs(tb);
+			assertThat(bean.getNestedTestBean()).isSameAs(ntb);
+			assertThat(bean.getBeanFactory()).isSameAs(bf);
+		}
+	}
+
 	@Test
 	public void testExtendedResourceInjectionWithDestruction() {
 		bf.registerBeanDefinition("annotatedBean", new RootBeanDefinition(TypedExtendedResourceInjectionBean.class));
@@ -0,0 +1,429 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.index.processor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+
+/**
+ * Encodes the class metadata of a {@link TypeElement} and its member types,
+ * mirroring what Spring's ASM-based metadata reader extracts from the
+ * corresponding class files: class structure, runtime-visible annotations
+ * with their explicitly declared attribute values, and annotated methods.
+ *
+ * @since 5.2.1
+ * @see ClassMetadataMarshaller
+ */
+class ClassMetadataEncoder {
+
+	// Access flags as found in class files
+
+	private static final int ACC_PUBLIC = 0x0001;
+
+	private static final int ACC_PRIVATE = 0x0002;
+
+	private static final int ACC_PROTECTED = 0x0004;
+
+	private static final int ACC_STATIC = 0x0008;
+
+	private static final int ACC_FINAL = 0x0010;
+
+	private static final int ACC_SUPER = 0x0020;
+
+	private static final int ACC_SYNCHRONIZED = 0x0020;
+
+	private static final int ACC_VARARGS = 0x0080;
+
+	private static final int ACC_NATIVE = 0x0100;
+
+	private static final int ACC_INTERFACE = 0x0200;
+
+	private static final int ACC_ABSTRACT = 0x0400;
+
+	private static final int ACC_STRICT = 0x0800;
+
+	private static final int ACC_ANNOTATION = 0x2000;
+
+	private static final int ACC_ENUM = 0x4000;
+
+
+	private final Elements elements;
+
+	private final Types types;
+
+
+	public ClassMetadataEncoder(ProcessingEnvironment env) {
+		this.elements = env.getElementUtils();
+		this.types = env.getTypeUtils();
+	}
+
+
+	/**
+	 * Encode the metadata of the given type and, recursively, of its member types.
+	 * @param type the type to encode
+	 * @return the metadata items, starting with the given type
+	 */
+	public List<ClassMetadataItem> encode(TypeElement type) {
+		List<ClassMetadataItem> items = new ArrayList<>();
+		encode(type, getSourceType(type), items);
+		return items;
+	}
+
+	private void encode(TypeElement type, String sourceType, List<ClassMetadataItem> items) {
+		try {
+			items.add(new ClassMetadataItem(getBinaryName(type), sourceType, encodeClass(type)));
+		}
+		catch (IOException ex) {
+			throw new IllegalStateException("Failed to encode metadata for " + type, ex);
+		}
+		for (TypeElement memberType : getMemberTypes(type)) {
+			encode(memberType, sourceType, items);
+		}
+	}
+
+	private byte[] encodeClass(TypeElement type) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.writeInt(getClassAccess(type));
+		Element enclosingElement = type.getEnclosingElement();
+		boolean member = (enclosingElement instanceof TypeElement);
+		writeNullableString(out, (member ? getBinaryName((TypeElement) enclosingElement) : null));
+		writeNullableString(out, getSuperClassName(type));
+		out.writeBoolean(member && (type.getModifiers().contains(Modifier.STATIC) ||
+				type.getKind() != ElementKind.CLASS));
+		List<String> interfaceNames = new ArrayList<>();
+		for (TypeMirror interfaceType : type.getInterfaces()) {
+			interfaceNames.add(getClassName(interfaceType));
+		}
+		writeStrings(out, interfaceNames);
+		// Same order as the InnerClasses attribute written by javac
+		List<String> memberClassNames = new ArrayList<>();
+		for (TypeElement memberType : getMemberTypes(type)) {
+			memberClassNames.add(0, getBinaryName(memberType));
+		}
+		writeStrings(out, memberClassNames);
+		writeAnnotations(out, getRuntimeVisibleAnnotations(type));
+		List<ExecutableElement> annotatedMethods = new ArrayList<>();
+		for (Element element : type.getEnclosedElements()) {
+			if ((element.getKind() == ElementKind.METHOD || element.getKind() == ElementKind.CONSTRUCTOR) &&
+					!getRuntimeVisibleAnnotations(element).isEmpty()) {
+				annotatedMethods.add((ExecutableElement) element);
+			}
+		}
+		out.writeInt(annotatedMethods.size());
+		for (ExecutableElement method : annotatedMethods) {
+			ClassMetadataMarshaller.writeString(out, (method.getKind() == ElementKind.CONSTRUCTOR ?
+					"<init>" : method.getSimpleName().toString()));
+			out.writeInt(getMethodAccess(method));
+			ClassMetadataMarshaller.writeString(out, getDescriptor(method));
+			writeAnnotations(out, getRuntimeVisibleAnnotations(method));
+		}
+		out.flush();
+		return bytes.toByteArray();
+	}
+
+	private void writeAnnotations(DataOutputStream out, List<AnnotationMirror> annotations) throws IOException {
+		out.writeInt(annotations.size());
+		for (AnnotationMirror annotation : annotations) {
+			writeAnnotation(out, annotation);
+		}
+	}
+
+	private void writeAnnotation(DataOutputStream out, AnnotationMirror annotation) throws IOException {
+		ClassMetadataMarshaller.writeString(out, getClassName(annotation.getAnnotationType()));
+		Map<? extends ExecutableElement, ? extends AnnotationValue> values = annotation.getElementValues();
+		out.writeInt(values.size());
+		for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : values.entrySet()) {
+			ClassMetadataMarshaller.writeString(out, entry.getKey().getSimpleName().toString());
+			writeValue(out, entry.getKey().getReturnType(), entry.getValue());
+		}
+	}
+
+	private void writeValue(DataOutputStream out, TypeMirror valueType, AnnotationValue annotationValue)
+			throws IOException {
+
+		Object value = annotationValue.getValue();
+		if (value instanceof List) {
+			List<?> elements = (List<?>) value;
+			TypeMirror componentType = (valueType.getKind() == TypeKind.ARRAY ?
+					((ArrayType) valueType).getComponentType() : valueType);
+			out.writeByte('[');
+			if (componentType.getKind().isPrimitive()) {
+				char tag = getPrimitiveTag(componentType.getKind());
+				out.writeByte(tag);
+				out.writeInt(elements.size());
+				for (Object element : elements) {
+					writePrimitive(out, tag, ((AnnotationValue) element).getValue());
+				}
+			}
+			else {
+				out.writeByte('L');
+				out.writeInt(elements.size());
+				for (Object element : elements) {
+					writeValue(out, componentType, (AnnotationValue) element);
+				}
+			}
+		}
+		else if (value instanceof String) {
+			out.writeByte('s');
+			ClassMetadataMarshaller.writeString(out, (String) value);
+		}
+		else if (value instanceof TypeMirror) {
+			out.writeByte('c');
+			ClassMetadataMarshaller.writeString(out, getClassName((TypeMirror) value));
+		}
+		else if (value instanceof VariableElement) {
+			VariableElement enumConstant = (VariableElement) value;
+			out.writeByte('e');
+			ClassMetadataMarshaller.writeString(out, getClassName(enumConstant.asType()));
+			ClassMetadataMarshaller.writeString(out, enumConstant.getSimpleName().toString());
+		}
+		else if (value instanceof AnnotationMirror) {
+			out.writeByte('@');
+			writeAnnotation(out, (AnnotationMirror) value);
+		}
+		else {
+			char tag = getPrimitiveTag(value);
+			out.writeByte(tag);
+			writePrimitive(out, tag, value);
+		}
+	}
+
+	private void writePrimitive(DataOutputStream out, char tag, Object value) throws IOException {
+		switch (tag) {
+			case 'Z': out.writeBoolean((Boolean) value); break;
+			case 'B': out.writeByte((Byte) value); break;
+			case 'C': out.writeChar((Character) value); break;
+			case 'S': out.writeShort((Short) value); break;
+			case 'I': out.writeInt((Integer) value); break;
+			case 'J': out.writeLong((Long) value); break;
+			case 'F': out.writeFloat((Float) value); break;
+			case 'D': out.writeDouble((Double) value); break;
+			default: throw new IllegalArgumentException("Unsupported primitive tag '" + tag + "'");
+		}
+	}
+
+	private char getPrimitiveTag(Object value) {
+		if (value instanceof Boolean) {
+			return 'Z';
+		}
+		if (value instanceof Byte) {
+			return 'B';
+		}
+		if (value instanceof Character) {
+			return 'C';
+		}
+		if (value instanceof Short) {
+			return 'S';
+		}
+		if (value instanceof Integer) {
+			return 'I';
+		}
+		if (value instanceof Long) {
+			return 'J';
+		}
+		if (value instanceof Float) {
+			return 'F';
+		}
+		if (value instanceof Double) {
+			return 'D';
+		}
+		throw new IllegalArgumentException("Unsupported annotation value: " + value);
+	}
+
+	private char getPrimitiveTag(TypeKind kind) {
+		switch (kind) {
+			case BOOLEAN: return 'Z';
+			case BYTE: return 'B';
+			case CHAR: return 'C';
+			case SHORT: return 'S';
+			case INT: return 'I';
+			case LONG: return 'J';
+			case FLOAT: return 'F';
+			case DOUBLE: return 'D';
+			default: throw new IllegalArgumentException("Not a primitive type: " + kind);
+		}
+	}
+
+	private List<AnnotationMirror> getRuntimeVisibleAnnotations(Element element) {
+		List<AnnotationMirror> annotations = new ArrayList<>();
+		for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+			Retention retention = annotation.getAnnotationType().asElement().getAnnotation(Retention.class);
+			if (retention != null && retention.value() == RetentionPolicy.RUNTIME) {
+				annotations.add(annotation);
+			}
+		}
+		return annotations;
+	}
+
+	private List<TypeElement> getMemberTypes(TypeElement type) {
+		List<TypeElement> memberTypes = new ArrayList<>();
+		for (Element element : type.getEnclosedElements()) {
+			if (element.getKind().isClass() || element.getKind().isInterface()) {
+				memberTypes.add((TypeElement) element);
+			}
+		}
+		return memberTypes;
+	}
+
+	private int getClassAccess(TypeElement type) {
+		Set<Modifier> modifiers = type.getModifiers();
+		// Member types are public or package-private at the class file level
+		int access = (modifiers.contains(Modifier.PUBLIC) || modifiers.contains(Modifier.PROTECTED) ?
+				ACC_PUBLIC : 0);
+		if (modifiers.contains(Modifier.FINAL)) {
+			access |= ACC_FINAL;
+		}
+		switch (type.getKind()) {
+			case ANNOTATION_TYPE:
+				return access | ACC_ANNOTATION | ACC_INTERFACE | ACC_ABSTRACT;
+			case INTERFACE:
+				return access | ACC_INTERFACE | ACC_ABSTRACT;
+			case ENUM:
+				return access | ACC_ENUM | ACC_SUPER;
+			default:
+				return access | ACC_SUPER | (modifiers.contains(Modifier.ABSTRACT) ? ACC_ABSTRACT : 0);
+		}
+	}
+
+	private int getMethodAccess(ExecutableElement method) {
+		int access = 0;
+		for (Modifier modifier : method.getModifiers()) {
+			switch (modifier) {
+				case PUBLIC: access |= ACC_PUBLIC; break;
+				case PRIVATE: access |= ACC_PRIVATE; break;
+				case PROTECTED: access |= ACC_PROTECTED; break;
+				case STATIC: access |= ACC_STATIC; break;
+				case FINAL: access |= ACC_FINAL; break;
+				case SYNCHRONIZED: access |= ACC_SYNCHRONIZED; break;
+				case NATIVE: access |= ACC_NATIVE; break;
+				case ABSTRACT: access |= ACC_ABSTRACT; break;
+				case STRICTFP: access |= ACC_STRICT; break;
+				default: break;
+			}
+		}
+		return (method.isVarArgs() ? access | ACC_VARARGS : access);
+	}
+
+	private String getDescriptor(ExecutableElement method) {
+		StringBuilder descriptor = new StringBuilder("(");
+		for (VariableElement parameter : method.getParameters()) {
+			appendDescriptor(descriptor, parameter.asType());
+		}
+		descriptor.append(')');
+		appendDescriptor(descriptor, method.getReturnType());
+		return descriptor.toString();
+	}
+
+	private void appendDescriptor(StringBuilder descriptor, TypeMirror type) {
+		TypeMirror erasure = this.types.erasure(type);
+		switch (erasure.getKind()) {
+			case VOID: descriptor.append('V'); break;
+			case ARRAY:
+				descriptor.append('[');
+				appendDescriptor(descriptor, ((ArrayType) erasure).getComponentType());
+				break;
+			case DECLARED:
+				descriptor.append('L').append(getClassName(erasure).replace('.', '/')).append(';');
+				break;
+			default:
+				if (erasure.getKind().isPrimitive()) {
+					descriptor.append(getPrimitiveTag(erasure.getKind()));
+				}
+				else {
+					descriptor.append("Ljava/lang/Object;");
+				}
+		}
+	}
+
+	/**
+	 * Return the class name for the given type, as exposed for class files.
+	 */
+	private String getClassName(TypeMirror type) {
+		TypeMirror erasure = this.types.erasure(type);
+		if (erasure.getKind() == TypeKind.DECLARED) {
+			return getBinaryName((TypeElement) ((DeclaredType) erasure).asElement());
+		}
+		if (erasure.getKind() == TypeKind.ARRAY) {
+			return getClassName(((ArrayType) erasure).getComponentType()) + "[]";
+		}
+		if (erasure.getKind().isPrimitive() || erasure.getKind() == TypeKind.VOID) {
+			return erasure.getKind().name().toLowerCase();
+		}
+		return erasure.toString();
+	}
+
+	private String getSuperClassName(TypeElement type) {
+		if (type.getKind().isInterface()) {
+			return null;
+		}
+		TypeMirror superclass = type.getSuperclass();
+		return (superclass.getKind() == TypeKind.DECLARED ? getClassName(superclass) : null);
+	}
+
+	private String getBinaryName(TypeElement type) {
+		return this.elements.getBinaryName(type).toString();
+	}
+
+	private String getSourceType(TypeElement type) {
+		TypeElement sourceType = type;
+		while (!(sourceType.getEnclosingElement() instanceof PackageElement) &&
+				sourceType.getEnclosingElement() instanceof TypeElement) {
+			sourceType = (TypeElement) sourceType.getEnclosingElement();
+		}
+		return sourceType.getQualifiedName().toString();
+	}
+
+	private static void writeNullableString(DataOutputStream out, String value) throws IOException {
+		out.writeBoolean(value != null);
+		if (value != null) {
+			ClassMetadataMarshaller.writeString(out, value);
+		}
+	}
+
+	private static void writeStrings(DataOutputStream out, List<String> values) throws IOException {
+		out.writeInt(values.size());
+		for (String value : values) {
+			ClassMetadataMarshaller.writeString(out, value);
+		}
+	}
+
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.index.processor;
+
+/**
+ * Represents the class metadata of one indexed type, in the binary form read
+ * by {@code org.springframework.core.type.classreading.SimpleMetadataReaderFactory}.
+ * The source type is the top-level type that the metadata was generated from,
+ * used to merge the metadata of an incremental build.
+ *
+ * @since 5.2.1
+ */
+class ClassMetadataItem {
+
+	private final String type;
+
+	private final String sourceType;
+
+	private final byte[] metadata;
+
+
+	public ClassMetadataItem(String type, String sourceType, byte[] metadata) {
+		this.type = type;
+		this.sourceType = sourceType;
+		this.metadata = metadata;
+	}
+
+
+	public String getType() {
+		return this.type;
+	}
+
+	public String getSourceType() {
+		return this.sourceType;
+	}
+
+	public byte[] getMetadata() {
+		return this.metadata;
+	}
+
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.index.processor;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Marshaller to write {@link ClassMetadataItem class metadata} in the binary
+ * format read by {@code org.springframework.core.type.classreading.ClassMetadataIndex}.
+ *
+ * <p>The format starts with a magic number and a version, followed by the
+ * number of entries and, for each entry, the class name, the source type and
+ * the length-prefixed metadata. Strings are written as length-prefixed UTF-8.
+ *
+ * @since 5.2.1
+ */
+abstract class ClassMetadataMarshaller {
+
+	/** Marker at the start of the file: "SPCM". */
+	static final int MAGIC = 0x5350434D;
+
+	/** Version of the format. */
+	static final int VERSION = 1;
+
+
+	public static void write(Collection<ClassMetadataItem> items, OutputStream out) throws IOException {
+		DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+		data.writeInt(MAGIC);
+		data.writeByte(VERSION);
+		data.writeInt(items.size());
+		for (ClassMetadataItem item : items) {
+			writeString(data, item.getType());
+			writeString(data, item.getSourceType());
+			data.writeInt(item.getMetadata().length);
+			data.write(item.getMetadata());
+		}
+		data.flush();
+	}
+
+	public static List<ClassMetadataItem> read(InputStream in) throws IOException {
+		DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+		List<ClassMetadataItem> result = new ArrayList<>();
+		if (data.readInt() != MAGIC || data.readByte() != VERSION) {
+			// Unknown format -> regenerate from scratch.
+			return result;
+		}
+		int count = data.readInt();
+		for (int i = 0; i < count; i++) {
+			String type = readString(data);
+			String sourceType = readString(data);
+			byte[] metadata = new byte[data.readInt()];
+			data.readFully(metadata);
+			result.add(new ClassMetadataItem(type, sourceType, metadata));
+		}
+		return result;
+	}
+
+	static void writeString(DataOutputStream out, String value) throws IOException {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static String readString(DataInputStream in) throws IOException {
+		byte[] bytes = new byte[in.readInt()];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+}
@@ -17,8 +17,11 @@
 package org.springframework.context.index.processor;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import javax.annotation.processing.ProcessingEnvironment;
@@ -36,10 +39,14 @@ class MetadataCollector {
 
 	private final List<ItemMetadata> metadataItems = new ArrayList<>();
 
+	private final Map<String, ClassMetadataItem> classMetadataItems = new LinkedHashMap<>();
+
 	private final ProcessingEnvironment processingEnvironment;
 
 	private final CandidateComponentsMetadata previousMetadata;
 
+	private final List<ClassMetadataItem> previousClassMetadata;
+
 	private final TypeHelper typeHelper;
 
 	private final Set<String> processedSourceTypes = new HashSet<>();
@@ -53,8 +60,22 @@ class MetadataCollector {
 	public MetadataCollector(ProcessingEnvironment processingEnvironment,
 			CandidateComponentsMetadata previousMetadata) {
 
+		this(processingEnvironment, previousMetadata, null);
+	}
+
+	/**
+	 * Create a new {@code MetadataProcessor} instance.
+	 * @param processingEnvironment the processing environment of the build
+	 * @param previousMetadata any previous metadata or {@code null}
+	 * @param previousClassMetadata any previous class metadata or {@code null}
+	 * @since 5.2.1
+	 */
+	public MetadataCollector(ProcessingEnvironment processingEnvironment,
+			CandidateComponentsMetadata previousMetadata, List<ClassMetadataItem> previousClassMetadata) {
+
 		this.processingEnvironment = processingEnvironment;
 		this.previousMetadata = previousMetadata;
+		this.previousClassMetadata = previousClassMetadata;
 		this.typeHelper = new TypeHelper(processingEnvironment);
 	}
 
@@ -75,6 +96,12 @@ class MetadataCollector {
 		this.metadataItems.add(metadata);
 	}
 
+	public void addClassMetadata(List<ClassMetadataItem> items) {
+		for (ClassMetadataItem item : items) {
+			this.classMetadataItems.put(item.getType(), item);
+		}
+	}
+
 	public CandidateComponentsMetadata getMetadata() {
 		CandidateComponentsMetadata metadata = new CandidateComponentsMetadata();
 		for (ItemMetadata item : this.metadataItems) {
@@ -91,8 +118,23 @@ class MetadataCollector {
 		return metadata;
 	}
 
+	public Collection<ClassMetadataItem> getClassMetadata() {
+		Map<String, ClassMetadataItem> items = new LinkedHashMap<>(this.classMetadataItems);
+		if (this.previousClassMetadata != null) {
+			for (ClassMetadataItem item : this.previousClassMetadata) {
+				if (shouldBeMerged(item.getSourceType())) {
+					items.putIfAbsent(item.getType(), item);
+				}
+			}
+		}
+		return items.values();
+	}
+
 	private boolean shouldBeMerged(ItemMetadata itemMetadata) {
-		String sourceType = itemMetadata.getType();
+		return shouldBeMerged(itemMetadata.getType());
+	}
+
+	private boolean shouldBeMerged(String sourceType) {
 		return (sourceType != null && !deletedInCurrentBuild(sourceType)
 				&& !processedInCurrentBuild(sourceType));
 	}
@@ -19,7 +19,12 @@ package org.springframework.context.index.processor;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
 import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import javax.annotation.ManagedBean;
 import javax.inject.Named;
@@ -36,6 +41,7 @@ import org.junit.jupiter.api.io.TempDir;
 import org.springframework.context.index.sample.AbstractController;
 import org.springframework.context.index.sample.MetaControllerIndexed;
 import org.springframework.context.index.sample.SampleComponent;
+import org.springframework.context.index.sample.SampleConfiguration;
 import org.springframework.context.index.sample.SampleController;
 import org.springframework.context.index.sample.SampleEmbedded;
 import org.springframework.context.index.sample.SampleMetaController;
@@ -58,6 +64,11 @@ import org.springframework.context.index.sample.type.SampleSpecializedRepo;
 import org.springframework.context.index.sample.type.SmartRepo;
 import org.springframework.context.index.sample.type.SpecializedRepo;
 import org.springframework.context.index.test.TestCompiler;
+import org.springframework.core.io.Resource;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.core.type.MethodMetadata;
+import org.springframework.core.type.classreading.MetadataReader;
+import org.springframework.core.type.classreading.SimpleMetadataReaderFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.util.ClassUtils;
 
@@ -218,6 +229,55 @@ class CandidateComponentsIndexerTests {
 		assertThat(metadata.getItems()).hasSize(0);
 	}
 
+	@Test
+	void classMetadataIsIndexed() throws IOException {
+		compile(SampleConfiguration.class, SampleController.class);
+		List<ClassMetadataItem> items = readGeneratedClassMetadata(this.compiler.getOutputLocation());
+		assertThat(items).extracting(ClassMetadataItem::getType).containsOnly(
+				SampleConfiguration.class.getName(), SampleConfiguration.NestedConfiguration.class.getName(),
+				SampleController.class.getName());
+		assertThat(items).extracting(ClassMetadataItem::getSourceType).containsOnly(
+				SampleConfiguration.class.getName(), SampleController.class.getName());
+
+		URL[] urls = new URL[] {this.compiler.getOutputLocation().toURI().toURL()};
+		try (URLClassLoader classLoader = new URLClassLoader(urls, getClass().getClassLoader())) {
+			SimpleMetadataReaderFactory indexedFactory = new SimpleMetadataReaderFactory(classLoader);
+			SimpleMetadataReaderFactory classFileFactory = new SimpleMetadataReaderFactory(classLoader);
+			for (ClassMetadataItem item : items) {
+				MetadataReader indexedReader = indexedFactory.getMetadataReader(item.getType());
+				Resource resource = indexedReader.getResource();
+				assertThat(resource.exists()).isTrue();
+				MetadataReader classFileReader = classFileFactory.getMetadataReader(resource);
+				assertSameMetadata(indexedReader.getAnnotationMetadata(), classFileReader.getAnnotationMetadata());
+			}
+		}
+	}
+
+	private void assertSameMetadata(AnnotationMetadata actual, AnnotationMetadata expected) {
+		assertThat(actual.getClassName()).isEqualTo(expected.getClassName());
+		assertThat(actual.isIndependent()).isEqualTo(expected.isIndependent());
+		assertThat(actual.isAbstract()).isEqualTo(expected.isAbstract());
+		assertThat(actual.getEnclosingClassName()).isEqualTo(expected.getEnclosingClassName());
+		assertThat(actual.getSuperClassName()).isEqualTo(expected.getSuperClassName());
+		assertThat(actual.getInterfaceNames()).isEqualTo(expected.getInterfaceNames());
+		assertThat(actual.getMemberClassNames()).containsExactlyInAnyOrder(expected.getMemberClassNames());
+		assertThat(actual.getAnnotationTypes()).isEqualTo(expected.getAnnotationTypes());
+		for (String annotationType : expected.getAnnotationTypes()) {
+			assertThat(String.valueOf(actual.getAnnotationAttributes(annotationType, true)))
+					.isEqualTo(String.valueOf(expected.getAnnotationAttributes(annotationType, true)));
+			assertThat(actual.getMetaAnnotationTypes(annotationType))
+					.isEqualTo(expected.getMetaAnnotationTypes(annotationType));
+			assertThat(describe(actual.getAnnotatedMethods(annotationType), annotationType))
+					.isEqualTo(describe(expected.getAnnotatedMethods(annotationType), annotationType));
+		}
+	}
+
+	private List<String> describe(Set<MethodMetadata> methods, String annotationType) {
+		return methods.stream().map(method -> method.getMethodName() + ":" + method.getReturnTypeName() +
+				":" + method.isStatic() + ":" + method.getAnnotationAttributes(annotationType, true))
+				.sorted().collect(Collectors.toList());
+	}
+
 	private void testComponent(Class<?>... classes) {
 		CandidateComponentsMetadata metadata = compile(classes);
 		for (Class<?> c : classes) {
@@ -244,6 +304,17 @@ class CandidateComponentsIndexerTests {
 		return readGeneratedMetadata(this.compiler.getOutputLocation());
 	}
 
+	private List<ClassMetadataItem> readGeneratedClassMetadata(File outputLocation) {
+		File metadataFile = new File(outputLocation, MetadataStore.CLASS_METADATA_PATH);
+		assertThat(metadataFile).isFile();
+		try (FileInputStream fileInputStream = new FileInputStream(metadataFile)) {
+			return ClassMetadataMarshaller.read(fileInputStream);
+		}
+		catch (IOException ex) {
+			throw new IllegalStateException("Failed to read class metadata from disk", ex);
+		}
+	}
+
 	private CandidateComponentsMetadata readGeneratedMetadata(File outputLocation) {
 		File metadataFile = new File(outputLocation, MetadataStore.METADATA_PATH);
 		if (metadataFile.isFile()) {
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.index.sample;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Scope;
+import org.springframework.context.annotation.ScopedProxyMode;
+
+/**
+ * Test candidate for a {@link Configuration} class with bean methods
+ * and nested configuration.
+ */
+@Configuration
+@Import({SampleComponent.class, SampleService.class})
+@Lazy
+public class SampleConfiguration {
+
+	@Bean(name = {"sample", "sampleAlias"}, initMethod = "init")
+	@Scope(proxyMode = ScopedProxyMode.TARGET_CLASS)
+	public SampleComponent sampleComponent(SampleService service, int[] order) {
+		return new SampleComponent();
+	}
+
+	@Bean
+	static SampleService sampleService() {
+		return new SampleService();
+	}
+
+	@Configuration
+	public static class NestedConfiguration {
+
+		@Bean
+		public SampleRepository sampleRepository() {
+			return new SampleRepository();
+		}
+	}
+
+}
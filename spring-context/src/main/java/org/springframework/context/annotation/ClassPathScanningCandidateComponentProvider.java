@@ -18,11 +18,16 @@ package org.springframework.context.annotation;
 
 import java.io.IOException;
 import java.lang.annotation.Annotation;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -94,6 +99,8 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 
 	private String resourcePattern = DEFAULT_RESOURCE_PATTERN;
 
+	private int scanParallelism = 1;
+
 	private final List<TypeFilter> includeFilters = new LinkedList<>();
 
 	private final List<TypeFilter> excludeFilters = new LinkedList<>();
@@ -162,6 +169,33 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 		this.resourcePattern = resourcePattern;
 	}
 
+	/**
+	 * Specify the number of threads to use when scanning the classpath.
+	 * <p>Default is 1, reading candidate classes sequentially. A higher value
+	 * reads the metadata of candidate classes concurrently on a dedicated
+	 * {@link ForkJoinPool} per scan; filters are still applied sequentially,
+	 * in the order of the scanned resources.
+	 * <p>If the underlying {@link ResourcePatternResolver} is a
+	 * {@link PathMatchingResourcePatternResolver}, the given value is applied
+	 * to its {@link PathMatchingResourcePatternResolver#setScanParallelism
+	 * directory and jar file search} as well.
+	 * @param scanParallelism the number of threads to scan with
+	 * @since 5.2.1
+	 */
+	public void setScanParallelism(int scanParallelism) {
+		Assert.isTrue(scanParallelism > 0, "Scan parallelism must be greater than 0");
+		this.scanParallelism = scanParallelism;
+		applyScanParallelism();
+	}
+
+	/**
+	 * Return the number of threads to use when scanning the classpath.
+	 * @since 5.2.1
+	 */
+	public int getScanParallelism() {
+		return this.scanParallelism;
+	}
+
 	/**
 	 * Add an include type filter to the <i>end</i> of the inclusion list.
 	 */
@@ -263,6 +297,7 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 	@Override
 	public void setResourceLoader(@Nullable ResourceLoader resourceLoader) {
 		this.resourcePatternResolver = ResourcePatternUtils.getResourcePatternResolver(resourceLoader);
+		applyScanParallelism();
 		this.metadataReaderFactory = new CachingMetadataReaderFactory(resourceLoader);
 		this.componentsIndex = CandidateComponentsIndexLoader.loadIndex(this.resourcePatternResolver.getClassLoader());
 	}
@@ -277,10 +312,17 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 	private ResourcePatternResolver getResourcePatternResolver() {
 		if (this.resourcePatternResolver == null) {
 			this.resourcePatternResolver = new PathMatchingResourcePatternResolver();
+			applyScanParallelism();
 		}
 		return this.resourcePatternResolver;
 	}
 
+	private void applyScanParallelism() {
+		if (this.scanParallelism > 1 && this.resourcePatternResolver instanceof PathMatchingResourcePatternResolver) {
+			((PathMatchingResourcePatternResolver) this.resourcePatternResolver).setScanParallelism(this.scanParallelism);
+		}
+	}
+
 	/**
 	 * Set the {@link MetadataReaderFactory} to use.
 	 * <p>Default is a {@link CachingMetadataReaderFactory} for the specified
@@ -419,16 +461,23 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 			String packageSearchPath = ResourcePatternResolver.CLASSPATH_ALL_URL_PREFIX +
 					resolveBasePackage(basePackage) + '/' + this.resourcePattern;
 			Resource[] resources = getResourcePatternResolver().getResources(packageSearchPath);
+			List<CompletableFuture<MetadataReader>> metadataReaders =
+					(this.scanParallelism > 1 && resources.length > 1 ? readMetadataInParallel(resources) : null);
 			boolean traceEnabled = logger.isTraceEnabled();
 			boolean debugEnabled = logger.isDebugEnabled();
-			for (Resource resource : resources) {
+			for (int i = 0; i < resources.length; i++) {
+				Resource resource = resources[i];
 				if (traceEnabled) {
 					logger.trace("Scanning " + resource);
 				}
 				if (resource.isReadable()) {
 					try {
 						// 底层使用 ASM ，读取 .class
-						MetadataReader metadataReader = getMetadataReaderFactory().getMetadataReader(resource);
+						MetadataReader metadataReader =
+								(metadataReaders != null ? joinMetadataReader(metadataReaders.get(i)) : null);
+						if (metadataReader == null) {
+							metadataReader = getMetadataReaderFactory().getMetadataReader(resource);
+						}
 						if (isCandidateComponent(metadataReader)) {
 							ScannedGenericBeanDefinition sbd = new ScannedGenericBeanDefinition(metadataReader);
 							// 这个 BeanDefinition 来自哪个资源（比如哪个 .class 文件）
@@ -470,6 +519,52 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 		return candidates;
 	}
 
+	/**
+	 * Read the metadata of all readable resources concurrently,
+	 * according to the {@link #setScanParallelism scan parallelism}.
+	 * @param resources the scanned resources
+	 * @return the metadata readers, in the order of the given resources
+	 * (completing with {@code null} for resources that are not readable)
+	 */
+	private List<CompletableFuture<MetadataReader>> readMetadataInParallel(Resource[] resources) {
+		ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+		ForkJoinPool pool = new ForkJoinPool(this.scanParallelism, fjp -> {
+			ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(fjp);
+			thread.setName("component-scan-" + thread.getPoolIndex());
+			thread.setContextClassLoader(classLoader);
+			return thread;
+		}, null, false);
+		try {
+			MetadataReaderFactory metadataReaderFactory = getMetadataReaderFactory();
+			List<CompletableFuture<MetadataReader>> metadataReaders = new ArrayList<>(resources.length);
+			for (Resource resource : resources) {
+				metadataReaders.add(CompletableFuture.supplyAsync(() -> {
+					try {
+						return (resource.isReadable() ? metadataReaderFactory.getMetadataReader(resource) : null);
+					}
+					catch (IOException ex) {
+						throw new CompletionException(ex);
+					}
+				}, pool));
+			}
+			return metadataReaders;
+		}
+		finally {
+			// Previously submitted tasks are still executed
+			pool.shutdown();
+		}
+	}
+
+	@Nullable
+	private MetadataReader joinMetadataReader(CompletableFuture<MetadataReader> metadataReader) throws Throwable {
+		try {
+			return metadataReader.join();
+		}
+		catch (CompletionException ex) {
+			throw (ex.getCause() != null ? ex.getCause() : ex);
+		}
+	}
+
 
 	/**
 	 * Resolve the specified base package into a pattern specification for
@@ -317,6 +317,17 @@ public class CommonAnnotationBeanPostProcessor extends InitDestroyAnnotationBean
 		this.injectionMetadataCache.remove(beanName);
 	}
 
+	@Override
+	public int releaseSingletonMetadata(RootBeanDefinition beanDefinition, String beanName) {
+		InjectionMetadata metadata = this.injectionMetadataCache.remove(beanName);
+		if (metadata == null) {
+			return 0;
+		}
+		// Allow for rebuilt metadata to inject the properties processed so far.
+		metadata.clear(beanDefinition.getPropertyValues());
+		return 1;
+	}
+
 	@Override
 	public Object postProcessBeforeInstantiation(Class<?> beanClass, String beanName) {
 		return null;
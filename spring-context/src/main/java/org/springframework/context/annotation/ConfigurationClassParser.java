@@ -43,6 +43,7 @@ import org.springframework.beans.factory.BeanDefinitionStoreException;
 import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.config.BeanDefinitionHolder;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.beans.factory.parsing.Location;
 import org.springframework.beans.factory.parsing.Problem;
 import org.springframework.beans.factory.parsing.ProblemReporter;
@@ -69,6 +70,8 @@ import org.springframework.core.io.support.DefaultPropertySourceFactory;
 import org.springframework.core.io.support.EncodedResource;
 import org.springframework.core.io.support.PropertySourceFactory;
 import org.springframework.core.io.support.ResourcePropertySource;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
 import org.springframework.core.type.AnnotationMetadata;
 import org.springframework.core.type.MethodMetadata;
 import org.springframework.core.type.StandardAnnotationMetadata;
@@ -130,6 +133,8 @@ class ConfigurationClassParser {
 
 	private final ConditionEvaluator conditionEvaluator;
 
+	private final ApplicationStartup applicationStartup;
+
 	private final Map<ConfigurationClass, ConfigurationClass> configurationClasses = new LinkedHashMap<>();
 
 	private final Map<String, ConfigurationClass> knownSuperclasses = new HashMap<>();
@@ -160,6 +165,8 @@ class ConfigurationClassParser {
 		this.componentScanParser = new ComponentScanAnnotationParser(
 				environment, resourceLoader, componentScanBeanNameGenerator, registry);
 		this.conditionEvaluator = new ConditionEvaluator(registry, environment, resourceLoader);
+		this.applicationStartup = (registry instanceof ConfigurableBeanFactory ?
+				((ConfigurableBeanFactory) registry).getApplicationStartup() : ApplicationStartup.DEFAULT);
 	}
 
 
@@ -243,11 +250,18 @@ class ConfigurationClassParser {
 
 		// Recursively process the configuration class and its superclass hierarchy.
 		// （译：递归处理配置类及其超类层次结构。）
-		SourceClass sourceClass = asSourceClass(configClass);
-		do {
-			sourceClass = doProcessConfigurationClass(configClass, sourceClass);
+		StartupStep processConfigClass = this.applicationStartup.start("spring.context.config-classes.process")
+				.tag("className", configClass.getMetadata()::getClassName);
+		try {
+			SourceClass sourceClass = asSourceClass(configClass);
+			do {
+				sourceClass = doProcessConfigurationClass(configClass, sourceClass);
+			}
+			while (sourceClass != null);
+		}
+		finally {
+			processConfigClass.end();
 		}
-		while (sourceClass != null);
 
 		this.configurationClasses.put(configClass, configClass);
 	}
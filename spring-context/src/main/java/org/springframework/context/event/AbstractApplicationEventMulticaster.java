@@ -18,6 +18,7 @@ package org.springframework.context.event;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -49,6 +50,10 @@ import org.springframework.util.ObjectUtils;
  * ApplicationListener objects can be overridden through the "collectionClass"
  * bean property.
  *
+ * <p>Registered listeners are kept in an immutable snapshot that gets replaced on
+ * each registration change, so that event publication never has to lock. Matching
+ * listeners are cached per event type and source type.
+ *
  * <p>Implementing ApplicationEventMulticaster's actual {@link #multicastEvent} method
  * is left to subclasses. {@link SimpleApplicationEventMulticaster} simply multicasts
  * all events to all registered listeners, invoking them in the calling thread.
@@ -63,7 +68,7 @@ import org.springframework.util.ObjectUtils;
 public abstract class AbstractApplicationEventMulticaster
 		implements ApplicationEventMulticaster, BeanClassLoaderAware, BeanFactoryAware {
 
-	private final ListenerRetriever defaultRetriever = new ListenerRetriever(false);
+	private volatile ListenerRetriever defaultRetriever = new ListenerRetriever(null);
 
 	final Map<ListenerCacheKey, ListenerRetriever> retrieverCache = new ConcurrentHashMap<>(64);
 
@@ -73,7 +78,7 @@ public abstract class AbstractApplicationEventMulticaster
 	@Nullable
 	private ConfigurableBeanFactory beanFactory;
 
-	private Object retrievalMutex = this.defaultRetriever;
+	private Object retrievalMutex = new Object();
 
 
 	@Override
@@ -105,50 +110,61 @@ public abstract class AbstractApplicationEventMulticaster
 	@Override
 	public void addApplicationListener(ApplicationListener<?> listener) {
 		synchronized (this.retrievalMutex) {
+			ListenerRetriever retriever = new ListenerRetriever(this.defaultRetriever);
 			// Explicitly remove target for a proxy, if registered already,
 			// in order to avoid double invocations of the same listener.
 			Object singletonTarget = AopProxyUtils.getSingletonTarget(listener);
 			if (singletonTarget instanceof ApplicationListener) {
-				this.defaultRetriever.applicationListeners.remove(singletonTarget);
+				retriever.applicationListeners.remove(singletonTarget);
 			}
-			this.defaultRetriever.applicationListeners.add(listener);
-			this.retrieverCache.clear();
+			retriever.applicationListeners.add(listener);
+			updateDefaultRetriever(retriever);
 		}
 	}
 
 	@Override
 	public void addApplicationListenerBean(String listenerBeanName) {
 		synchronized (this.retrievalMutex) {
-			this.defaultRetriever.applicationListenerBeans.add(listenerBeanName);
-			this.retrieverCache.clear();
+			ListenerRetriever retriever = new ListenerRetriever(this.defaultRetriever);
+			retriever.applicationListenerBeans.add(listenerBeanName);
+			updateDefaultRetriever(retriever);
 		}
 	}
 
 	@Override
 	public void removeApplicationListener(ApplicationListener<?> listener) {
 		synchronized (this.retrievalMutex) {
-			this.defaultRetriever.applicationListeners.remove(listener);
-			this.retrieverCache.clear();
+			ListenerRetriever retriever = new ListenerRetriever(this.defaultRetriever);
+			retriever.applicationListeners.remove(listener);
+			updateDefaultRetriever(retriever);
 		}
 	}
 
 	@Override
 	public void removeApplicationListenerBean(String listenerBeanName) {
 		synchronized (this.retrievalMutex) {
-			this.defaultRetriever.applicationListenerBeans.remove(listenerBeanName);
-			this.retrieverCache.clear();
+			ListenerRetriever retriever = new ListenerRetriever(this.defaultRetriever);
+			retriever.applicationListenerBeans.remove(listenerBeanName);
+			updateDefaultRetriever(retriever);
 		}
 	}
 
 	@Override
 	public void removeAllListeners() {
 		synchronized (this.retrievalMutex) {
-			this.defaultRetriever.applicationListeners.clear();
-			this.defaultRetriever.applicationListenerBeans.clear();
-			this.retrieverCache.clear();
+			updateDefaultRetriever(new ListenerRetriever(null));
 		}
 	}
 
+	/**
+	 * Publish a new snapshot of registered listeners, invalidating all
+	 * pre-filtered listener retrievers built from previous snapshots.
+	 */
+	private void updateDefaultRetriever(ListenerRetriever retriever) {
+		this.defaultRetriever = retriever;
+		this.retrieverCache.clear();
+	}
+
 
 	/**
 	 * Return a Collection containing all ApplicationListeners.
@@ -156,9 +172,7 @@ public abstract class AbstractApplicationEventMulticaster
 	 * @see org.springframework.context.ApplicationListener
 	 */
 	protected Collection<ApplicationListener<?>> getApplicationListeners() {
-		synchronized (this.retrievalMutex) {
-			return this.defaultRetriever.getApplicationListeners();
-		}
+		return this.defaultRetriever.getApplicationListeners();
 	}
 
 	/**
@@ -167,7 +181,8 @@ public abstract class AbstractApplicationEventMulticaster
 	 * @param event the event to be propagated. Allows for excluding
 	 * non-matching listeners early, based on cached matching information.
 	 * @param eventType the event type
-	 * @return a Collection of ApplicationListeners
+	 * @return a Collection of ApplicationListeners (not to be modified,
+	 * potentially shared with other invocations for the same event type)
 	 * @see org.springframework.context.ApplicationListener
 	 */
 	protected Collection<ApplicationListener<?>> getApplicationListeners(
@@ -182,51 +197,46 @@ public abstract class AbstractApplicationEventMulticaster
 
 		// Quick check for existing entry on ConcurrentHashMap...
 		// 使用 ListenerRetriever 来封装集合，缓存里存的是 ListenerRetriever 对象。
+		ListenerRetriever defaultRetriever = this.defaultRetriever;
 		ListenerRetriever retriever = this.retrieverCache.get(cacheKey);
-		if (retriever != null) {
+		if (retriever != null && retriever.isBasedOn(defaultRetriever)) {
 			return retriever.getApplicationListeners();
 		}
 
 		if (this.beanClassLoader == null ||
 				(ClassUtils.isCacheSafe(event.getClass(), this.beanClassLoader) &&
 						(sourceType == null || ClassUtils.isCacheSafe(sourceType, this.beanClassLoader)))) {
-			// Fully synchronized building and caching of a ListenerRetriever
-			synchronized (this.retrievalMutex) {
-				retriever = this.retrieverCache.get(cacheKey);
-				if (retriever != null) {
-					return retriever.getApplicationListeners();
-				}
-				retriever = new ListenerRetriever(true);
-				Collection<ApplicationListener<?>> listeners =
-						retrieveApplicationListeners(eventType, sourceType, retriever);
-				this.retrieverCache.put(cacheKey, retriever);
-				return listeners;
-			}
+			// Lock-free building and caching of a ListenerRetriever: concurrent callers
+			// may build the same retriever, and retrievers built from an outdated
+			// snapshot of registered listeners get ignored on lookup.
+			retriever = new ListenerRetriever(defaultRetriever, true);
+			Collection<ApplicationListener<?>> listeners =
+					retrieveApplicationListeners(defaultRetriever, eventType, sourceType, retriever);
+			this.retrieverCache.put(cacheKey, retriever);
+			return listeners;
 		}
 		else {
-			// No ListenerRetriever caching -> no synchronization necessary
-			return retrieveApplicationListeners(eventType, sourceType, null);
+			// No ListenerRetriever caching
+			return retrieveApplicationListeners(defaultRetriever, eventType, sourceType, null);
 		}
 	}
 
 	/**
 	 * Actually retrieve the application listeners for the given event and source type.
+	 * @param defaultRetriever the current snapshot of registered listeners
 	 * @param eventType the event type
 	 * @param sourceType the event source type
 	 * @param retriever the ListenerRetriever, if supposed to populate one (for caching purposes)
 	 * @return the pre-filtered list of application listeners for the given event and source type
 	 */
 	// 根据事件类型，事件中携带的源类型（可空），来查找匹配合适的监听器
-	private Collection<ApplicationListener<?>> retrieveApplicationListeners(
+	private Collection<ApplicationListener<?>> retrieveApplicationListeners(ListenerRetriever defaultRetriever,
 			ResolvableType eventType, @Nullable Class<?> sourceType, @Nullable ListenerRetriever retriever) {
 
 		List<ApplicationListener<?>> allListeners = new ArrayList<>();
-		Set<ApplicationListener<?>> listeners;
-		Set<String> listenerBeans;
-		synchronized (this.retrievalMutex) {
-			listeners = new LinkedHashSet<>(this.defaultRetriever.applicationListeners);
-			listenerBeans = new LinkedHashSet<>(this.defaultRetriever.applicationListenerBeans);
-		}
+		// Immutable once published, so no copies needed here
+		Set<ApplicationListener<?>> listeners = defaultRetriever.applicationListeners;
+		Set<String> listenerBeans = defaultRetriever.applicationListenerBeans;
 
 		// Add programmatically registered listeners, including ones coming
 		// from ApplicationListenerDetector (singleton beans and inner beans).
@@ -283,6 +293,9 @@ public abstract class AbstractApplicationEventMulticaster
 		if (retriever != null && retriever.applicationListenerBeans.isEmpty()) {
 			retriever.applicationListeners.clear();
 			retriever.applicationListeners.addAll(allListeners);
+			List<ApplicationListener<?>> preFilteredListeners = Collections.unmodifiableList(allListeners);
+			retriever.preFilteredListeners = preFilteredListeners;
+			return preFilteredListeners;
 		}
 		return allListeners;
 	}
@@ -424,17 +437,51 @@ public abstract class AbstractApplicationEventMulticaster
 	 */
 	private class ListenerRetriever {
 
-		public final Set<ApplicationListener<?>> applicationListeners = new LinkedHashSet<>();
+		public final Set<ApplicationListener<?>> applicationListeners;
 
-		public final Set<String> applicationListenerBeans = new LinkedHashSet<>();
+		public final Set<String> applicationListenerBeans;
 
 		private final boolean preFiltered;
 
-		public ListenerRetriever(boolean preFiltered) {
+		@Nullable
+		private final ListenerRetriever basedOn;
+
+		@Nullable
+		private volatile List<ApplicationListener<?>> preFilteredListeners;
+
+		/**
+		 * Create a snapshot of registered listeners, initialized with
+		 * the listeners of the given previous snapshot (if any).
+		 */
+		public ListenerRetriever(@Nullable ListenerRetriever original) {
+			this.applicationListeners = (original != null ?
+					new LinkedHashSet<>(original.applicationListeners) : new LinkedHashSet<>());
+			this.applicationListenerBeans = (original != null ?
+					new LinkedHashSet<>(original.applicationListenerBeans) : new LinkedHashSet<>());
+			this.preFiltered = false;
+			this.basedOn = null;
+		}
+
+		/**
+		 * Create an empty retriever to be populated from the given snapshot.
+		 */
+		public ListenerRetriever(ListenerRetriever basedOn, boolean preFiltered) {
+			this.applicationListeners = new LinkedHashSet<>();
+			this.applicationListenerBeans = new LinkedHashSet<>();
 			this.preFiltered = preFiltered;
+			this.basedOn = basedOn;
+		}
+
+		public boolean isBasedOn(ListenerRetriever defaultRetriever) {
+			return (this.basedOn == defaultRetriever);
 		}
 
 		public Collection<ApplicationListener<?>> getApplicationListeners() {
+			List<ApplicationListener<?>> preFilteredListeners = this.preFilteredListeners;
+			if (preFilteredListeners != null) {
+				// Pre-filtered singleton listeners only: no need to copy and re-sort
+				return preFilteredListeners;
+			}
 			List<ApplicationListener<?>> allListeners = new ArrayList<>(
 					this.applicationListeners.size() + this.applicationListenerBeans.size());
 			allListeners.addAll(this.applicationListeners);
@@ -40,6 +40,7 @@ import org.springframework.core.BridgeMethodResolver;
 import org.springframework.core.ReactiveAdapter;
 import org.springframework.core.ReactiveAdapterRegistry;
 import org.springframework.core.ResolvableType;
+import org.springframework.core.ResolvableTypeProvider;
 import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.core.annotation.Order;
 import org.springframework.lang.Nullable;
@@ -83,6 +84,9 @@ public class ApplicationListenerMethodAdapter implements GenericApplicationListe
 
 	private final List<ResolvableType> declaredEventTypes;
 
+	@Nullable
+	private final Class<?>[] declaredEventClasses;
+
 	@Nullable
 	private final String condition;
 
@@ -104,8 +108,10 @@ public class ApplicationListenerMethodAdapter implements GenericApplicationListe
 
 		EventListener ann = AnnotatedElementUtils.findMergedAnnotation(this.targetMethod, EventListener.class);
 		this.declaredEventTypes = resolveDeclaredEventTypes(method, ann);
+		this.declaredEventClasses = resolveDeclaredEventClasses(this.declaredEventTypes);
 		this.condition = (ann != null ? ann.condition() : null);
 		this.order = resolveOrder(this.targetMethod);
+		ReflectionUtils.makeAccessible(this.method);
 	}
 
 	private static List<ResolvableType> resolveDeclaredEventTypes(Method method, @Nullable EventListener ann) {
@@ -133,6 +139,25 @@ public class ApplicationListenerMethodAdapter implements GenericApplicationListe
 		return Collections.singletonList(ResolvableType.forMethodParameter(method, 0));
 	}
 
+	/**
+	 * Return the plain classes of the declared event types if none of them involves
+	 * generics, allowing for matching events and payloads through simple instance
+	 * checks instead of {@link ResolvableType} assignability checks.
+	 */
+	@Nullable
+	private static Class<?>[] resolveDeclaredEventClasses(List<ResolvableType> declaredEventTypes) {
+		Class<?>[] classes = new Class<?>[declaredEventTypes.size()];
+		for (int i = 0; i < classes.length; i++) {
+			ResolvableType declaredEventType = declaredEventTypes.get(i);
+			if (!(declaredEventType.getType() instanceof Class) ||
+					((Class<?>) declaredEventType.getType()).isPrimitive()) {
+				return null;
+			}
+			classes[i] = (Class<?>) declaredEventType.getType();
+		}
+		return classes;
+	}
+
 	private static int resolveOrder(Method method) {
 		Order ann = AnnotatedElementUtils.findMergedAnnotation(method, Order.class);
 		return (ann != null ? ann.value() : 0);
@@ -295,7 +320,6 @@ public class ApplicationListenerMethodAdapter implements GenericApplicationListe
 	@Nullable
 	protected Object doInvoke(Object... args) {
 		Object bean = getTargetBean();
-		ReflectionUtils.makeAccessible(this.method);
 		try {
 			// 反射调用
 			return this.method.invoke(bean, args);
@@ -389,6 +413,24 @@ public class ApplicationListenerMethodAdapter implements GenericApplicationListe
 
 	@Nullable
 	private ResolvableType getResolvableType(ApplicationEvent event) {
+		Class<?>[] declaredEventClasses = this.declaredEventClasses;
+		if (declaredEventClasses != null) {
+			Object payload = (event instanceof PayloadApplicationEvent ?
+					((PayloadApplicationEvent<?>) event).getPayload() : null);
+			if (!(payload instanceof ResolvableTypeProvider)) {
+				// Plain declared event classes: no need to resolve generic payload types
+				for (int i = 0; i < declaredEventClasses.length; i++) {
+					Class<?> eventClass = declaredEventClasses[i];
+					if (!ApplicationEvent.class.isAssignableFrom(eventClass) && eventClass.isInstance(payload)) {
+						return this.declaredEventTypes.get(i);
+					}
+					if (eventClass.isInstance(event)) {
+						return this.declaredEventTypes.get(i);
+					}
+				}
+				return null;
+			}
+		}
 		ResolvableType payloadType = null;
 		if (event instanceof PayloadApplicationEvent) {
 			PayloadApplicationEvent<?> payloadEvent = (PayloadApplicationEvent<?>) event;
@@ -17,6 +17,8 @@
 package org.springframework.context.event;
 
 import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -27,12 +29,25 @@ import org.springframework.context.expression.BeanFactoryResolver;
 import org.springframework.context.expression.CachedExpressionEvaluator;
 import org.springframework.context.expression.MethodBasedEvaluationContext;
 import org.springframework.expression.Expression;
+import org.springframework.expression.MethodResolver;
+import org.springframework.expression.PropertyAccessor;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.ReflectiveMethodResolver;
+import org.springframework.expression.spel.support.ReflectivePropertyAccessor;
 import org.springframework.lang.Nullable;
 
 /**
  * Utility class for handling SpEL expression parsing for application events.
  * <p>Meant to be used as a reusable, thread-safe component.
  *
+ * <p>Condition expressions are compiled according to the SpEL compiler mode
+ * configured through the {@code "spring.expression.compiler.mode"} property,
+ * e.g. {@code "mixed"} in order to compile hot conditions to bytecode.
+ * Reflective property accessors and method resolvers are shared across
+ * evaluations, so that interpreted expressions do not have to re-introspect
+ * the event on each call.
+ *
  * @author Stephane Nicoll
  * @since 4.2
  * @see CachedExpressionEvaluator
@@ -41,6 +56,31 @@ class EventExpressionEvaluator extends CachedExpressionEvaluator {
 
 	private final Map<ExpressionKey, Expression> conditionCache = new ConcurrentHashMap<>(64);
 
+	private final List<PropertyAccessor> propertyAccessors =
+			Collections.singletonList(new ReflectivePropertyAccessor());
+
+	private final List<MethodResolver> methodResolvers =
+			Collections.singletonList(new ReflectiveMethodResolver());
+
+
+	/**
+	 * Create a new instance with the default {@link SpelParserConfiguration},
+	 * applying the globally configured SpEL compiler mode.
+	 */
+	EventExpressionEvaluator() {
+		this(new SpelParserConfiguration(null, null));
+	}
+
+	/**
+	 * Create a new instance with the specified {@link SpelParserConfiguration}.
+	 * @param configuration the parser configuration, e.g. with a specific
+	 * {@link org.springframework.expression.spel.SpelCompilerMode}
+	 * @since 5.2.1
+	 */
+	EventExpressionEvaluator(SpelParserConfiguration configuration) {
+		super(new SpelExpressionParser(configuration));
+	}
+
 
 	/**
 	 * Determine if the condition defined by the specified expression evaluates
@@ -52,6 +92,8 @@ class EventExpressionEvaluator extends CachedExpressionEvaluator {
 		EventExpressionRootObject root = new EventExpressionRootObject(event, args);
 		MethodBasedEvaluationContext evaluationContext = new MethodBasedEvaluationContext(
 				root, targetMethod, args, getParameterNameDiscoverer());
+		evaluationContext.setPropertyAccessors(this.propertyAccessors);
+		evaluationContext.setMethodResolvers(this.methodResolvers);
 		if (beanFactory != null) {
 			evaluationContext.setBeanResolver(new BeanFactoryResolver(beanFactory));
 		}
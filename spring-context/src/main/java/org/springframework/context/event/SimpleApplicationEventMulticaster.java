@@ -130,9 +130,9 @@ public class SimpleApplicationEventMulticaster extends AbstractApplicationEventM
 	@Override
 	public void multicastEvent(final ApplicationEvent event, @Nullable ResolvableType eventType) {
 		ResolvableType type = (eventType != null ? eventType : resolveDefaultEventType(event));
-		Executor executor = getTaskExecutor();
 		// 获取当前事件支持的 listener
 		for (ApplicationListener<?> listener : getApplicationListeners(event, type)) {
+			Executor executor = determineTaskExecutor(listener);
 			if (executor != null) {
 				// 有两种方式可以实现异步：
 				// （全局的，全部走线程池）1、给这个类设置一个线程池，可以继承这个类，然后设置。
@@ -150,6 +150,24 @@ public class SimpleApplicationEventMulticaster extends AbstractApplicationEventM
 		return ResolvableType.forInstance(event);
 	}
 
+	/**
+	 * Determine the executor to invoke the given listener with.
+	 * <p>The default implementation returns the {@link #getTaskExecutor() task executor}
+	 * of this multicaster for all listeners. Subclasses may isolate specific (e.g. slow)
+	 * listeners by returning a dedicated executor for them, typically a thread pool
+	 * with a bounded queue and a caller-runs rejection policy in order to apply
+	 * backpressure to publishers instead of queueing events without limit.
+	 * @param listener the ApplicationListener to invoke
+	 * @return the executor to use, or {@code null} for invoking the listener
+	 * in the calling thread
+	 * @since 5.2.1
+	 * @see #setTaskExecutor
+	 */
+	@Nullable
+	protected Executor determineTaskExecutor(ApplicationListener<?> listener) {
+		return getTaskExecutor();
+	}
+
 	/**
 	 * Invoke the given listener with the given event.
 	 * @param listener the ApplicationListener to invoke
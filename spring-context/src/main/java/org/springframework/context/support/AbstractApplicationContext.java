@@ -31,6 +31,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import org.springframework.aop.support.AdvisorIndex;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.CachedIntrospectionResults;
 import org.springframework.beans.factory.BeanFactory;
@@ -67,6 +68,7 @@ import org.springframework.context.expression.StandardBeanExpressionResolver;
 import org.springframework.context.weaving.LoadTimeWeaverAware;
 import org.springframework.context.weaving.LoadTimeWeaverAwareProcessor;
 import org.springframework.core.ResolvableType;
+import org.springframework.core.SpringProperties;
 import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.core.env.ConfigurableEnvironment;
@@ -77,6 +79,8 @@ import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
 import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ObjectUtils;
@@ -151,6 +155,14 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 	 */
 	public static final String APPLICATION_EVENT_MULTICASTER_BEAN_NAME = "applicationEventMulticaster";
 
+	/**
+	 * System property that instructs Spring to release bean metadata which has
+	 * only been needed for creating singletons at the end of the refresh: {@value}.
+	 * @since 5.2.1
+	 * @see #trimMetadataCaches()
+	 */
+	public static final String TRIM_METADATA_CACHES_PROPERTY_NAME = "spring.context.metadata.trim";
+
 
 	static {
 		// Eagerly load the ContextClosedEvent class to avoid weird classloader issues
@@ -176,6 +188,9 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 	@Nullable
 	private ConfigurableEnvironment environment;
 
+	/** Application startup metrics. */
+	private ApplicationStartup applicationStartup = ApplicationStartup.DEFAULT;
+
 	/** BeanFactoryPostProcessors to apply on refresh. */
 	private final List<BeanFactoryPostProcessor> beanFactoryPostProcessors = new ArrayList<>();
 
@@ -320,6 +335,17 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 		return this.environment;
 	}
 
+	@Override
+	public void setApplicationStartup(ApplicationStartup applicationStartup) {
+		Assert.notNull(applicationStartup, "applicationStartup should not be null");
+		this.applicationStartup = applicationStartup;
+	}
+
+	@Override
+	public ApplicationStartup getApplicationStartup() {
+		return this.applicationStartup;
+	}
+
 	/**
 	 * Create and return a new {@link StandardEnvironment}.
 	 * <p>Subclasses may override this method in order to supply
@@ -518,6 +544,8 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 	@Override
 	public void refresh() throws BeansException, IllegalStateException {
 		synchronized (this.startupShutdownMonitor) {
+			StartupStep contextRefresh = this.applicationStartup.start("spring.context.refresh");
+
 			// Prepare this context for refreshing.
 			// 准备此上下文以进行刷新。
 			prepareRefresh();
@@ -534,16 +562,22 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 				// Allows post-processing of the bean factory in context subclasses.
 				// 允许在Context子类中对bean工厂进行后处理。
 				// （给子类一个机会，对BeanFactory做一些处理，上面一步prepareBeanFactory也是protected级别的，这一步其实也是可以重写的）
-				postProcessBeanFactory(beanFactory);
+				StartupStep beanPostProcess = this.applicationStartup.start("spring.context.beans.post-process");
+				try {
+					postProcessBeanFactory(beanFactory);
 
-				// Invoke factory processors registered as beans in the context.
-				// 调用在上下文中注册为bean的工厂处理器。这个是留给用户的扩展点。
-				invokeBeanFactoryPostProcessors(beanFactory);
+					// Invoke factory processors registered as beans in the context.
+					// 调用在上下文中注册为bean的工厂处理器。这个是留给用户的扩展点。
+					invokeBeanFactoryPostProcessors(beanFactory);
 
-				// Register bean processors that intercept bean creation.
-				// 注册拦截Bean创建的Bean处理器。
-				// 实例化BeanPostProcessor，并注册到BeanFactory中去。（也当成 Bean 来用）
-				registerBeanPostProcessors(beanFactory);
+					// Register bean processors that intercept bean creation.
+					// 注册拦截Bean创建的Bean处理器。
+					// 实例化BeanPostProcessor，并注册到BeanFactory中去。（也当成 Bean 来用）
+					registerBeanPostProcessors(beanFactory);
+				}
+				finally {
+					beanPostProcess.end();
+				}
 
 				// Initialize message source for this context.
 				initMessageSource();
@@ -559,7 +593,13 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 				registerListeners();
 
 				// Instantiate all remaining (non-lazy-init) singletons.  （实例化所有剩余的（非延迟初始化）单例。）
-				finishBeanFactoryInitialization(beanFactory);
+				StartupStep singletonInstantiation = this.applicationStartup.start("spring.context.singletons.instantiate");
+				try {
+					finishBeanFactoryInitialization(beanFactory);
+				}
+				finally {
+					singletonInstantiation.end();
+				}
 
 				// Last step: publish corresponding event.  （最后一步，发布相应的事件）
 				// 最后再给子类一个机会，去干一些时间，比如SpringBoot启动Tomcat就在这一步。
@@ -586,6 +626,7 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 				// Reset common introspection caches in Spring's core, since we
 				// might not ever need metadata for singleton beans anymore...
 				resetCommonCaches();
+				contextRefresh.end();
 			}
 		}
 	}
@@ -610,6 +651,12 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 			}
 		}
 
+		// Let a frozen annotation cache pick up this context's types again
+		// until it gets frozen at the end of the refresh.
+		if (SpringProperties.getFlag(AnnotationUtils.CACHE_FREEZE_PROPERTY_NAME)) {
+			AnnotationUtils.unfreezeCache();
+		}
+
 		// Initialize any placeholder property sources in the context environment.
 		// 在上下文环境中初始化任何占位符属性源。
 		initPropertySources();
@@ -670,6 +717,7 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 		// Tell the internal bean factory to use the context's class loader etc.
 		// 给beanFactory设置一个类加载器，用于加载bean的class
 		beanFactory.setBeanClassLoader(getClassLoader());
+		beanFactory.setApplicationStartup(getApplicationStartup());
 		// 给beanFactory设置一个bean表达式解析器（SpEL表达式？）
 		beanFactory.setBeanExpressionResolver(new StandardBeanExpressionResolver(beanFactory.getBeanClassLoader()));
 		beanFactory.addPropertyEditorRegistrar(new ResourceEditorRegistrar(this, getEnvironment()));
@@ -717,6 +765,9 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 		if (!beanFactory.containsLocalBean(SYSTEM_ENVIRONMENT_BEAN_NAME)) {
 			beanFactory.registerSingleton(SYSTEM_ENVIRONMENT_BEAN_NAME, getEnvironment().getSystemEnvironment());
 		}
+		if (!beanFactory.containsLocalBean(APPLICATION_STARTUP_BEAN_NAME)) {
+			beanFactory.registerSingleton(APPLICATION_STARTUP_BEAN_NAME, getApplicationStartup());
+		}
 	}
 
 	/**
@@ -962,10 +1013,32 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 		// Publish the final event.
 		publishEvent(new ContextRefreshedEvent(this));
 
+		// Release metadata only needed for creating singletons, if requested.
+		if (SpringProperties.getFlag(TRIM_METADATA_CACHES_PROPERTY_NAME)) {
+			trimMetadataCaches();
+		}
+
 		// Participate in LiveBeansView MBean, if active.
 		LiveBeansView.registerApplicationContext(this);
 	}
 
+	/**
+	 * Release bean metadata which has only been needed for creating the
+	 * singletons of this context, such as the injection metadata of annotation
+	 * post-processors, and log the number of released cache entries.
+	 * <p>Called at the end of {@link #finishRefresh()} if the
+	 * {@link #TRIM_METADATA_CACHES_PROPERTY_NAME} flag is set.
+	 * @since 5.2.1
+	 * @see ConfigurableListableBeanFactory#trimMetadataCaches()
+	 */
+	protected void trimMetadataCaches() {
+		int released = getBeanFactory().trimMetadataCaches();
+		if (logger.isDebugEnabled()) {
+			logger.debug("Released " + released + " bean metadata cache entries after refresh of " +
+					getDisplayName());
+		}
+	}
+
 	/**
 	 * Cancel this context's refresh attempt, resetting the {@code active} flag
 	 * after an exception got thrown.
@@ -977,18 +1050,31 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 
 	/**
 	 * Reset Spring's common reflection metadata caches, in particular the
-	 * {@link ReflectionUtils}, {@link AnnotationUtils}, {@link ResolvableType}
-	 * and {@link CachedIntrospectionResults} caches.
+	 * {@link ReflectionUtils}, {@link AnnotationUtils}, {@link ResolvableType},
+	 * {@link AdvisorIndex} and {@link CachedIntrospectionResults} caches.
+	 * <p>The {@link AnnotationUtils} cache gets frozen instead of cleared
+	 * if the {@link AnnotationUtils#CACHE_FREEZE_PROPERTY_NAME} flag is set,
+	 * and unfrozen again when the next refresh begins. It is cleared in any
+	 * case when the context is closed.
 	 * @since 4.2
 	 * @see ReflectionUtils#clearCache()
 	 * @see AnnotationUtils#clearCache()
+	 * @see AnnotationUtils#freezeCache()
+	 * @see AnnotationUtils#unfreezeCache()
 	 * @see ResolvableType#clearCache()
+	 * @see AdvisorIndex#clearCache()
 	 * @see CachedIntrospectionResults#clearClassLoader(ClassLoader)
 	 */
 	protected void resetCommonCaches() {
 		ReflectionUtils.clearCache();
-		AnnotationUtils.clearCache();
+		if (SpringProperties.getFlag(AnnotationUtils.CACHE_FREEZE_PROPERTY_NAME)) {
+			AnnotationUtils.freezeCache();
+		}
+		else {
+			AnnotationUtils.clearCache();
+		}
 		ResolvableType.clearCache();
+		AdvisorIndex.clearCache();
 		CachedIntrospectionResults.clearClassLoader(getClassLoader());
 	}
 
@@ -1100,6 +1186,9 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 			// Let subclasses do some final clean-up if they wish...
 			onClose();
 
+			// Release annotation metadata, which may pin this context's class loader.
+			AnnotationUtils.clearCache();
+
 			// Reset local application listeners to pre-refresh state.
 			if (this.earlyApplicationListeners != null) {
 				this.applicationListeners.clear();
@@ -76,6 +76,16 @@ class ApplicationContextAwareProcessor implements BeanPostProcessor {
 	}
 
 
+	@Override
+	public boolean isApplicableTo(Class<?> beanType) {
+		return (EnvironmentAware.class.isAssignableFrom(beanType) ||
+				EmbeddedValueResolverAware.class.isAssignableFrom(beanType) ||
+				ResourceLoaderAware.class.isAssignableFrom(beanType) ||
+				ApplicationEventPublisherAware.class.isAssignableFrom(beanType) ||
+				MessageSourceAware.class.isAssignableFrom(beanType) ||
+				ApplicationContextAware.class.isAssignableFrom(beanType));
+	}
+
 	@Override
 	@Nullable
 	public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
@@ -22,8 +22,10 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -146,6 +148,12 @@ public class DataBinder implements PropertyEditorRegistry, TypeConverter {
 	@Nullable
 	private String[] disallowedFields;
 
+	@Nullable
+	private FieldPatterns allowedFieldPatterns;
+
+	@Nullable
+	private FieldPatterns disallowedFieldPatterns;
+
 	@Nullable
 	private String[] requiredFields;
 
@@ -427,6 +435,7 @@ public class DataBinder implements PropertyEditorRegistry, TypeConverter {
 	 */
 	public void setAllowedFields(@Nullable String... allowedFields) {
 		this.allowedFields = PropertyAccessorUtils.canonicalPropertyNames(allowedFields);
+		this.allowedFieldPatterns = FieldPatterns.compile(this.allowedFields);
 	}
 
 	/**
@@ -451,6 +460,7 @@ public class DataBinder implements PropertyEditorRegistry, TypeConverter {
 	 */
 	public void setDisallowedFields(@Nullable String... disallowedFields) {
 		this.disallowedFields = PropertyAccessorUtils.canonicalPropertyNames(disallowedFields);
+		this.disallowedFieldPatterns = FieldPatterns.compile(this.disallowedFields);
 	}
 
 	/**
@@ -783,8 +793,15 @@ public class DataBinder implements PropertyEditorRegistry, TypeConverter {
 	protected boolean isAllowed(String field) {
 		String[] allowed = getAllowedFields();
 		String[] disallowed = getDisallowedFields();
-		return ((ObjectUtils.isEmpty(allowed) || PatternMatchUtils.simpleMatch(allowed, field)) &&
-				(ObjectUtils.isEmpty(disallowed) || !PatternMatchUtils.simpleMatch(disallowed, field)));
+		return ((ObjectUtils.isEmpty(allowed) || matches(allowed, this.allowedFieldPatterns, field)) &&
+				(ObjectUtils.isEmpty(disallowed) || !matches(disallowed, this.disallowedFieldPatterns, field)));
+	}
+
+	private static boolean matches(String[] fields, @Nullable FieldPatterns patterns, String field) {
+		// Only use the pre-compiled patterns if getAllowedFields/getDisallowedFields
+		// have not been overridden to return something else.
+		return (patterns != null && patterns.isCompiledFrom(fields) ?
+				patterns.matches(field) : PatternMatchUtils.simpleMatch(fields, field));
 	}
 
 	/**
@@ -834,7 +851,9 @@ public class DataBinder implements PropertyEditorRegistry, TypeConverter {
 	 * Apply given property values to the target object.
 	 * <p>Default implementation applies all of the supplied property
 	 * values as bean property values. By default, unknown fields will
-	 * be ignored.
+	 * be ignored: copies of the given property values are marked as
+	 * {@link PropertyValue#setOptional optional} in that case, so that
+	 * they can be skipped without an exception for each unknown field.
 	 * @param mpvs the property values to be bound (can be modified)
 	 * @see #getTarget
 	 * @see #getPropertyAccessor
@@ -843,9 +862,21 @@ public class DataBinder implements PropertyEditorRegistry, TypeConverter {
 	 * @see BindingErrorProcessor#processPropertyAccessException
 	 */
 	protected void applyPropertyValues(MutablePropertyValues mpvs) {
+		MutablePropertyValues pvsToApply = mpvs;
+		if (isIgnoreUnknownFields()) {
+			// Do not modify the caller's PropertyValue instances, which may get reused.
+			List<PropertyValue> pvList = mpvs.getPropertyValueList();
+			List<PropertyValue> optionalPvList = new ArrayList<>(pvList.size());
+			for (PropertyValue pv : pvList) {
+				PropertyValue optionalPv = new PropertyValue(pv);
+				optionalPv.setOptional(true);
+				optionalPvList.add(optionalPv);
+			}
+			pvsToApply = new MutablePropertyValues(optionalPvList);
+		}
 		try {
 			// Bind request parameters onto target object.
-			getPropertyAccessor().setPropertyValues(mpvs, isIgnoreUnknownFields(), isIgnoreInvalidFields());
+			getPropertyAccessor().setPropertyValues(pvsToApply, isIgnoreUnknownFields(), isIgnoreInvalidFields());
 		}
 		catch (PropertyBatchUpdateException ex) {
 			// Use bind error processor to create FieldErrors.
@@ -908,4 +939,50 @@ public class DataBinder implements PropertyEditorRegistry, TypeConverter {
 		return getBindingResult().getModel();
 	}
 
+
+	/**
+	 * Pre-processed form of an allowed/disallowed fields array: plain field
+	 * names are checked by hash lookup, leaving only actual "xxx*", "*xxx"
+	 * and "*xxx*" patterns for {@link PatternMatchUtils#simpleMatch}.
+	 */
+	private static final class FieldPatterns {
+
+		private final String[] source;
+
+		private final Set<String> names;
+
+		private final String[] patterns;
+
+		private FieldPatterns(String[] source) {
+			this.source = source;
+			this.names = new HashSet<>(source.length * 2);
+			List<String> patterns = new ArrayList<>();
+			for (String field : source) {
+				if (field != null) {
+					if (field.indexOf('*') != -1) {
+						patterns.add(field);
+					}
+					else {
+						this.names.add(field);
+					}
+				}
+			}
+			this.patterns = StringUtils.toStringArray(patterns);
+		}
+
+		boolean isCompiledFrom(String[] fields) {
+			return (this.source == fields);
+		}
+
+		boolean matches(String field) {
+			return (this.names.contains(field) ||
+					(this.patterns.length > 0 && PatternMatchUtils.simpleMatch(this.patterns, field)));
+		}
+
+		@Nullable
+		static FieldPatterns compile(@Nullable String[] fields) {
+			return (!ObjectUtils.isEmpty(fields) ? new FieldPatterns(fields) : null);
+		}
+	}
+
 }
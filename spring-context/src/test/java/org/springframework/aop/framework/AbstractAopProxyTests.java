@@ -860,6 +860,30 @@ public abstract class AbstractAopProxyTests {
 		assertThat(advised.getAdvisors().length).isEqualTo(0);
 	}
 
+	@Test
+	public void testInvocationWhenFrozen() throws Throwable {
+		TestBean target = new TestBean();
+		target.setAge(21);
+		ProxyFactory pc = new ProxyFactory(target);
+		pc.setInterfaces(ITestBean.class);
+		NopInterceptor nop = new NopInterceptor();
+		pc.addAdvisor(new DefaultPointcutAdvisor(
+				new NameMatchMethodPointcut().addMethodName("getAge").addMethodName("exceptional"), nop));
+		pc.setFrozen(true);
+		ITestBean proxied = (ITestBean) createProxy(pc);
+
+		assertThat(proxied.getAge()).isEqualTo(21);
+		assertThat(proxied.getAge()).isEqualTo(21);
+		assertThat(nop.getCount()).isEqualTo(2);
+		proxied.setName("frozen");
+		assertThat(target.getName()).isEqualTo("frozen");
+		assertThat(proxied.getName()).isEqualTo("frozen");
+		assertThat(nop.getCount()).isEqualTo(2);
+		assertThatExceptionOfType(FileNotFoundException.class).isThrownBy(() ->
+				proxied.exceptional(new FileNotFoundException()));
+		assertThat(nop.getCount()).isEqualTo(3);
+	}
+
 	@Test
 	public void testUseAsHashKey() {
 		TestBean target1 = new TestBean();
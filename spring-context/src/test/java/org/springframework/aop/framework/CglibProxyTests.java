@@ -28,6 +28,7 @@ import org.springframework.aop.MethodMatcher;
 import org.springframework.aop.Pointcut;
 import org.springframework.aop.support.AopUtils;
 import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.NameMatchMethodPointcutAdvisor;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextException;
 import org.springframework.context.support.ClassPathXmlApplicationContext;
@@ -232,6 +233,28 @@ public class CglibProxyTests extends AbstractAopProxyTests implements Serializab
 		return (ITestBean) pf.getProxy();
 	}
 
+	@Test
+	public void testMultipleProxiesWithDifferentAdvisors() {
+		ProxyFactory pf1 = new ProxyFactory(new TestBean());
+		pf1.setProxyTargetClass(true);
+		pf1.addAdvice(new NopInterceptor());
+		ProxyFactory pf2 = new ProxyFactory(new TestBean());
+		pf2.setProxyTargetClass(true);
+		CountingBeforeAdvice advice = new CountingBeforeAdvice();
+		NameMatchMethodPointcutAdvisor advisor = new NameMatchMethodPointcutAdvisor(advice);
+		advisor.setMappedName("getAge");
+		pf2.addAdvisor(advisor);
+
+		ITestBean proxy1 = (ITestBean) pf1.getProxy();
+		ITestBean proxy2 = (ITestBean) pf2.getProxy();
+		assertThat(proxy2.getClass()).as("Proxy class should be shared").isSameAs(proxy1.getClass());
+		proxy1.getAge();
+		assertThat(advice.getCalls()).isEqualTo(0);
+		proxy2.getAge();
+		proxy2.getName();
+		assertThat(advice.getCalls()).isEqualTo(1);
+	}
+
 	@Test
 	public void testMultipleProxiesForIntroductionAdvisor() {
 		TestBean target1 = new TestBean();
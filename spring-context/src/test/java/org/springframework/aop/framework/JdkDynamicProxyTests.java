@@ -22,13 +22,17 @@ import org.aopalliance.intercept.MethodInterceptor;
 import org.aopalliance.intercept.MethodInvocation;
 import org.junit.jupiter.api.Test;
 
+import org.springframework.aop.AopInvocationException;
 import org.springframework.aop.interceptor.ExposeInvocationInterceptor;
 import org.springframework.aop.support.AopUtils;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.NameMatchMethodPointcut;
 import org.springframework.tests.sample.beans.IOther;
 import org.springframework.tests.sample.beans.ITestBean;
 import org.springframework.tests.sample.beans.TestBean;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 
 /**
@@ -89,6 +93,35 @@ public class JdkDynamicProxyTests extends AbstractAopProxyTests implements Seria
 		assertThat(tb.getAge()).as("correct return value").isEqualTo(age);
 	}
 
+	@Test
+	public void testInvocationWhenFrozenWithMismatchedArguments() throws Throwable {
+		TestBean target = new TestBean();
+		ProxyFactory pc = new ProxyFactory(target);
+		pc.setInterfaces(ITestBean.class);
+		pc.addAdvisor(new DefaultPointcutAdvisor(new NameMatchMethodPointcut().addMethodName("setName"),
+				(MethodInterceptor) invocation -> {
+					invocation.getArguments()[0] = 42;
+					return invocation.proceed();
+				}));
+		pc.setFrozen(true);
+		ITestBean proxied = (ITestBean) createProxy(pc);
+
+		assertThatExceptionOfType(AopInvocationException.class).isThrownBy(() ->
+				proxied.setName("frozen"));
+		assertThatExceptionOfType(ClassCastException.class).isThrownBy(() ->
+				proxied.exceptional(new ClassCastException()));
+	}
+
+	@Test
+	public void testInvocationWhenFrozenWithMismatchedTarget() {
+		ProxyFactory pc = new ProxyFactory(new Object());
+		pc.setInterfaces(ITestBean.class);
+		pc.setFrozen(true);
+		ITestBean proxied = (ITestBean) createProxy(pc);
+
+		assertThatExceptionOfType(AopInvocationException.class).isThrownBy(proxied::getAge);
+	}
+
 	@Test
 	public void testTargetCanGetInvocationWithPrivateClass() {
 		final ExposedInvocationTestBean expectedTarget = new ExposedInvocationTestBean() {
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.annotation;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.InputStream;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.cglib.core.PregeneratedClassSupport;
+import org.springframework.core.OverridingClassLoader;
+import org.springframework.core.SpringProperties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for pregenerated CGLIB classes of configuration classes and AOP proxies.
+ *
+ * @see PregeneratedClassSupport
+ */
+class PregeneratedCglibClassTests {
+
+	@TempDir
+	File directory;
+
+
+	@AfterEach
+	void clearProperties() {
+		SpringProperties.setProperty(PregeneratedClassSupport.LOCATION_PROPERTY_NAME, null);
+		SpringProperties.setProperty(PregeneratedClassSupport.ENABLED_PROPERTY_NAME, null);
+	}
+
+
+	@Test
+	void configurationClassAndProxyAreWrittenAndLoaded() throws Exception {
+		SpringProperties.setProperty(PregeneratedClassSupport.LOCATION_PROPERTY_NAME, this.directory.getPath());
+		PregeneratedClassLoader classLoader = new PregeneratedClassLoader(this.directory);
+		Set<String> classNames = refreshContext(classLoader);
+		assertThat(classNames).hasSize(2);
+		for (String className : classNames) {
+			assertThat(new File(this.directory, className.replace('.', File.separatorChar) + ".class")).isFile();
+		}
+		assertThat(classLoader.loadedClassNames).isEmpty();
+
+		SpringProperties.setProperty(PregeneratedClassSupport.LOCATION_PROPERTY_NAME, null);
+		SpringProperties.setFlag(PregeneratedClassSupport.ENABLED_PROPERTY_NAME);
+		classLoader = new PregeneratedClassLoader(this.directory);
+		assertThat(refreshContext(classLoader)).isEqualTo(classNames);
+		assertThat(classLoader.loadedClassNames).isEqualTo(classNames);
+	}
+
+	@Test
+	void configurationClassAndProxyAreGeneratedWithoutPregeneratedClasses() throws Exception {
+		SpringProperties.setFlag(PregeneratedClassSupport.ENABLED_PROPERTY_NAME);
+		PregeneratedClassLoader classLoader = new PregeneratedClassLoader(this.directory);
+		assertThat(refreshContext(classLoader)).hasSize(2);
+		assertThat(classLoader.loadedClassNames).isEmpty();
+		assertThat(this.directory.list()).isEmpty();
+	}
+
+	/**
+	 * Refresh a context for {@link Config} loaded through the given class loader,
+	 * returning the names of the configuration class and proxy class used.
+	 */
+	private Set<String> refreshContext(ClassLoader classLoader) throws Exception {
+		Class<?> configClass = classLoader.loadClass(Config.class.getName());
+		try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+			context.setClassLoader(classLoader);
+			context.register(configClass);
+			context.refresh();
+			Object config = context.getBean(configClass);
+			Supplier<?> target = context.getBean("target", Supplier.class);
+			assertThat(target.get()).isEqualTo("advised target");
+			Set<String> classNames = new HashSet<>();
+			classNames.add(config.getClass().getName());
+			classNames.add(target.getClass().getName());
+			assertThat(classNames).allMatch(name -> name.contains("$$"));
+			return classNames;
+		}
+	}
+
+
+	@Configuration
+	public static class Config {
+
+		@Bean
+		public Supplier<?> target() {
+			ProxyFactory proxyFactory = new ProxyFactory(new Target());
+			proxyFactory.setProxyTargetClass(true);
+			proxyFactory.addAdvice((MethodInterceptor) invocation -> "advised " + invocation.proceed());
+			return (Supplier<?>) proxyFactory.getProxy(getClass().getClassLoader());
+		}
+	}
+
+
+	public static class Target implements Supplier<String> {
+
+		@Override
+		public String get() {
+			return "target";
+		}
+	}
+
+
+	/**
+	 * Loads {@link Config} and {@link Target} as well as their subclasses in
+	 * isolation, picking up pregenerated subclasses from the given directory.
+	 */
+	private static class PregeneratedClassLoader extends OverridingClassLoader {
+
+		private final File directory;
+
+		final Set<String> loadedClassNames = new HashSet<>();
+
+		PregeneratedClassLoader(File directory) {
+			super(PregeneratedCglibClassTests.class.getClassLoader());
+			this.directory = directory;
+		}
+
+		@Override
+		protected boolean isEligibleForOverriding(String className) {
+			return (className.startsWith(Config.class.getName()) || className.startsWith(Target.class.getName()));
+		}
+
+		@Override
+		protected InputStream openStreamForClass(String name) {
+			File file = new File(this.directory, name.replace('.', File.separatorChar) + ".class");
+			if (file.isFile()) {
+				try {
+					InputStream is = new FileInputStream(file);
+					this.loadedClassNames.add(name);
+					return is;
+				}
+				catch (FileNotFoundException ex) {
+					return null;
+				}
+			}
+			return super.openStreamForClass(name);
+		}
+	}
+
+}
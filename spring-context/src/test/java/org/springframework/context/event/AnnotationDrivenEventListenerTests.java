@@ -579,6 +579,20 @@ public class AnnotationDrivenEventListenerTests {
 		this.eventCollector.assertTotalEventsCount(4);
 	}
 
+	@Test
+	public void conditionMatchAfterRepeatedEvaluation() {
+		load(ConditionalEventListener.class);
+		ConditionalEventInterface listener = this.context.getBean(ConditionalEventInterface.class);
+
+		// Enough evaluations for the condition to get compiled in mixed mode
+		for (int i = 0; i < 300; i++) {
+			this.context.publishEvent((i % 2 == 0 ? "OK-" : "KO-") + i);
+			this.context.publishEvent(new TestEvent(this, (i % 3 == 0 ? "OK" : "KO")));
+		}
+		this.eventCollector.assertTotalEventsCount(250);
+		assertThat(this.eventCollector.getEvents(listener)).hasSize(250);
+	}
+
 	@Test
 	public void conditionDoesNotMatch() {
 		long maxLong = Long.MAX_VALUE;
@@ -16,6 +16,8 @@
 
 package org.springframework.context.event;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
@@ -54,6 +56,7 @@ import static org.mockito.ArgumentMatchers.isA;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.willThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -180,6 +183,53 @@ public class ApplicationContextEventTests extends AbstractApplicationEventListen
 		smc.multicastEvent(evt);
 	}
 
+	@Test
+	public void simpleApplicationEventMulticasterWithListenerSpecificExecutor() {
+		@SuppressWarnings("unchecked")
+		ApplicationListener<ApplicationEvent> listener1 = mock(ApplicationListener.class);
+		@SuppressWarnings("unchecked")
+		ApplicationListener<ApplicationEvent> listener2 = mock(ApplicationListener.class);
+		ApplicationEvent evt = new ContextClosedEvent(new StaticApplicationContext());
+		List<Runnable> tasks = new ArrayList<>();
+
+		SimpleApplicationEventMulticaster smc = new SimpleApplicationEventMulticaster() {
+			@Override
+			protected Executor determineTaskExecutor(ApplicationListener<?> listener) {
+				return (listener == listener2 ? tasks::add : null);
+			}
+		};
+		smc.addApplicationListener(listener1);
+		smc.addApplicationListener(listener2);
+
+		smc.multicastEvent(evt);
+		verify(listener1).onApplicationEvent(evt);
+		verify(listener2, never()).onApplicationEvent(evt);
+		assertThat(tasks).hasSize(1);
+		tasks.get(0).run();
+		verify(listener2).onApplicationEvent(evt);
+	}
+
+	@Test
+	public void listenersForCachedEventTypeAreSharedUntilRegistrationChanges() {
+		MyOrderedListener1 listener1 = new MyOrderedListener1();
+		MyOrderedListener2 listener2 = new MyOrderedListener2(listener1);
+		MyEvent event = new MyEvent(this);
+		ResolvableType eventType = ResolvableType.forInstance(event);
+
+		SimpleApplicationEventMulticaster smc = new SimpleApplicationEventMulticaster();
+		smc.addApplicationListener(listener1);
+		Collection<ApplicationListener<?>> listeners = smc.getApplicationListeners(event, eventType);
+		assertThat(listeners).containsExactly(listener1);
+		assertThat(smc.getApplicationListeners(event, eventType)).isSameAs(listeners);
+
+		smc.addApplicationListener(listener2);
+		assertThat(smc.getApplicationListeners(event, eventType)).containsExactly(listener1, listener2);
+		smc.removeApplicationListener(listener1);
+		assertThat(smc.getApplicationListeners(event, eventType)).containsExactly(listener2);
+		smc.removeAllListeners();
+		assertThat(smc.getApplicationListeners(event, eventType)).isEmpty();
+	}
+
 	@Test
 	public void orderedListeners() {
 		MyOrderedListener1 listener1 = new MyOrderedListener1();
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.event;
+
+import java.lang.reflect.Method;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.PayloadApplicationEvent;
+import org.springframework.context.expression.AnnotatedElementKey;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelEvaluationException;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.util.ReflectionUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Tests for {@link EventExpressionEvaluator}.
+ */
+class EventExpressionEvaluatorTests {
+
+	private final Method method = ReflectionUtils.findMethod(getClass(), "handle", Object.class);
+
+	private final AnnotatedElementKey methodKey = new AnnotatedElementKey(this.method, getClass());
+
+
+	@Test
+	void conditionInterpretedByDefault() {
+		EventExpressionEvaluator evaluator = new EventExpressionEvaluator();
+		assertThat(condition(evaluator, "test")).isTrue();
+		assertThat(condition(evaluator, "test")).isTrue();
+		assertThat(condition(evaluator, 42)).isFalse();
+	}
+
+	@Test
+	void conditionCompiledWithImmediateCompilerMode() {
+		EventExpressionEvaluator evaluator = new EventExpressionEvaluator(
+				new SpelParserConfiguration(SpelCompilerMode.IMMEDIATE, getClass().getClassLoader()));
+		assertThat(condition(evaluator, "test")).isTrue();
+		assertThat(condition(evaluator, "test")).isTrue();
+		// The compiled condition expects a String argument and does not fall back
+		assertThatExceptionOfType(SpelEvaluationException.class).isThrownBy(() ->
+				condition(evaluator, 42));
+	}
+
+	private boolean condition(EventExpressionEvaluator evaluator, Object payload) {
+		ApplicationEvent event = new PayloadApplicationEvent<>(this, payload);
+		return evaluator.condition("#p0 == 'test'", event, this.method, this.methodKey,
+				new Object[] {payload}, null);
+	}
+
+
+	@SuppressWarnings("unused")
+	private void handle(Object payload) {
+	}
+
+}
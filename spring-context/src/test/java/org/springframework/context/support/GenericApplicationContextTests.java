@@ -18,10 +18,18 @@ package org.springframework.context.support;
 
 import org.junit.jupiter.api.Test;
 
+import org.springframework.beans.FatalBeanException;
 import org.springframework.beans.factory.NoUniqueBeanDefinitionException;
 import org.springframework.beans.factory.support.RootBeanDefinition;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.SpringProperties;
+import org.springframework.core.annotation.AnnotationCacheStatistics;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.core.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.util.ObjectUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -93,6 +101,57 @@ public class GenericApplicationContextTests {
 		});
 	}
 
+	@Test
+	public void frozenAnnotationCacheClearedOnClose() {
+		SpringProperties.setFlag(AnnotationUtils.CACHE_FREEZE_PROPERTY_NAME);
+		try {
+			GenericApplicationContext context = new GenericApplicationContext();
+			context.registerBean(BeanB.class);
+			context.refresh();
+			assertThat(AnnotationUtils.getCacheStatistics()).allMatch(AnnotationCacheStatistics::isFrozen);
+
+			context.close();
+			assertThat(AnnotationUtils.getCacheStatistics()).noneMatch(AnnotationCacheStatistics::isFrozen);
+			assertThat(AnnotationUtils.getCacheStatistics()).allMatch(statistics -> statistics.getSize() == 0);
+		}
+		finally {
+			SpringProperties.setProperty(AnnotationUtils.CACHE_FREEZE_PROPERTY_NAME, null);
+		}
+	}
+
+	@Test
+	public void frozenAnnotationCacheUnfrozenOnRefresh() {
+		SpringProperties.setFlag(AnnotationUtils.CACHE_FREEZE_PROPERTY_NAME);
+		try (AnnotationConfigApplicationContext context1 = new AnnotationConfigApplicationContext(FirstConfig.class)) {
+			int size = getAnnotationCacheSize();
+			try (AnnotationConfigApplicationContext context2 = new AnnotationConfigApplicationContext(SecondConfig.class)) {
+				assertThat(getAnnotationCacheSize()).isGreaterThan(size);
+				assertThat(AnnotationUtils.getCacheStatistics()).allMatch(AnnotationCacheStatistics::isFrozen);
+			}
+		}
+		finally {
+			SpringProperties.setProperty(AnnotationUtils.CACHE_FREEZE_PROPERTY_NAME, null);
+		}
+	}
+
+	private static int getAnnotationCacheSize() {
+		return AnnotationUtils.getCacheStatistics().stream().mapToInt(AnnotationCacheStatistics::getSize).sum();
+	}
+
+	@Test
+	public void startupStepsEndedOnFailedRefresh() {
+		BufferingApplicationStartup applicationStartup = new BufferingApplicationStartup(100);
+		GenericApplicationContext context = new GenericApplicationContext();
+		context.setApplicationStartup(applicationStartup);
+		context.addBeanFactoryPostProcessor(beanFactory -> {
+			throw new FatalBeanException("Failed post-processing");
+		});
+		assertThatExceptionOfType(FatalBeanException.class).isThrownBy(context::refresh);
+
+		assertThat(applicationStartup.getBufferedTimeline().getEvents("spring.context.beans.post-process")).hasSize(1);
+		assertThat(applicationStartup.start("next").getParentId()).isNull();
+	}
+
 	@Test
 	public void individualBeans() {
 		GenericApplicationContext context = new GenericApplicationContext();
@@ -227,4 +286,24 @@ public class GenericApplicationContextTests {
 
 	static class BeanC {}
 
+
+	@Configuration
+	static class FirstConfig {
+
+		@Bean
+		public BeanB firstBean() {
+			return new BeanB();
+		}
+	}
+
+
+	@Configuration
+	static class SecondConfig {
+
+		@Bean
+		public BeanC secondBean() {
+			return new BeanC();
+		}
+	}
+
 }
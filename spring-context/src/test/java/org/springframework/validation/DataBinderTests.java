@@ -39,11 +39,13 @@ import java.util.TreeSet;
 import org.junit.jupiter.api.Test;
 
 import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
 import org.springframework.beans.InvalidPropertyException;
 import org.springframework.beans.MethodInvocationException;
 import org.springframework.beans.MutablePropertyValues;
 import org.springframework.beans.NotWritablePropertyException;
 import org.springframework.beans.NullValueInNestedPathException;
+import org.springframework.beans.PropertyValue;
 import org.springframework.beans.TypeMismatchException;
 import org.springframework.beans.propertyeditors.CustomCollectionEditor;
 import org.springframework.beans.propertyeditors.CustomNumberEditor;
@@ -759,6 +761,77 @@ public class DataBinderTests {
 		assertThat(tb.equals(rod)).as("Same object").isTrue();
 	}
 
+	@Test
+	public void testBindingWithAllowedFieldNamesAndPatternsAndUnknownFields() throws BindException {
+		TestBean rod = new TestBean();
+		rod.setSpouse(new TestBean());
+		DataBinder binder = new DataBinder(rod, "person");
+		binder.setAllowedFields("name", "*ouchy", "unknown", "spouse.*");
+		binder.setDisallowedFields("spouse.age", "*Map*");
+
+		MutablePropertyValues pvs = new MutablePropertyValues();
+		pvs.add("name", "Rod");
+		pvs.add("touchy", "Rod");
+		pvs.add("age", "32");
+		pvs.add("unknown", "value");
+		pvs.add("spouse.name", "Kerry");
+		pvs.add("spouse.age", "34");
+		pvs.add("someMap[key1]", "value1");
+
+		binder.bind(pvs);
+		binder.close();
+
+		assertThat(rod.getName()).isEqualTo("Rod");
+		assertThat(rod.getTouchy()).isEqualTo("Rod");
+		assertThat(rod.getAge()).isEqualTo(0);
+		assertThat(rod.getSpouse().getName()).isEqualTo("Kerry");
+		assertThat(rod.getSpouse().getAge()).isEqualTo(0);
+		assertThat(rod.getSomeMap()).isEmpty();
+		assertThat(binder.getBindingResult().getSuppressedFields())
+				.containsExactlyInAnyOrder("age", "spouse.age", "someMap[key1]");
+	}
+
+	@Test
+	public void testBindingWithUnknownFieldsDoesNotModifyPropertyValues() throws BindException {
+		TestBean rod = new TestBean();
+		DataBinder binder = new DataBinder(rod, "person");
+
+		MutablePropertyValues pvs = new MutablePropertyValues();
+		pvs.add("name", "Rod");
+		pvs.add("unknown", "value");
+
+		binder.bind(pvs);
+		binder.close();
+
+		assertThat(rod.getName()).isEqualTo("Rod");
+		assertThat(pvs.getPropertyValues()).noneMatch(PropertyValue::isOptional);
+		BeanWrapper bw = new BeanWrapperImpl(new TestBean());
+		assertThatExceptionOfType(NotWritablePropertyException.class).isThrownBy(() ->
+				bw.setPropertyValues(pvs));
+	}
+
+	@Test
+	public void testBindingWithOverriddenAllowedFields() throws BindException {
+		TestBean rod = new TestBean();
+		DataBinder binder = new DataBinder(rod, "person") {
+			@Override
+			public String[] getAllowedFields() {
+				return new String[] {"age"};
+			}
+		};
+		binder.setAllowedFields("name");
+
+		MutablePropertyValues pvs = new MutablePropertyValues();
+		pvs.add("name", "Rod");
+		pvs.add("age", "32");
+
+		binder.bind(pvs);
+		binder.close();
+
+		assertThat(rod.getName()).isNull();
+		assertThat(rod.getAge()).isEqualTo(32);
+	}
+
 	@Test
 	public void testBindingWithAllowedAndDisallowedMapFields() throws BindException {
 		TestBean rod = new TestBean();
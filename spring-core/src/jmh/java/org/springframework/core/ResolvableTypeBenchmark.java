@@ -0,0 +1,93 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for {@link ResolvableType} creation, generics resolution
+ * and assignability checks.
+ *
+ * @since 5.2.1
+ */
+@BenchmarkMode(Mode.Throughput)
+public class ResolvableTypeBenchmark {
+
+	@Benchmark
+	public void forFieldResolveGeneric(BenchmarkData data, Blackhole bh) {
+		ResolvableType type = ResolvableType.forField(data.field);
+		bh.consume(type.resolveGeneric(1, 0));
+	}
+
+	@Benchmark
+	public void forMethodReturnTypeResolveGeneric(BenchmarkData data, Blackhole bh) {
+		ResolvableType type = ResolvableType.forMethodReturnType(data.method);
+		bh.consume(type.resolveGeneric(0));
+	}
+
+	@Benchmark
+	public void forClassWithGenericsIsAssignableFrom(BenchmarkData data, Blackhole bh) {
+		ResolvableType target = ResolvableType.forClassWithGenerics(List.class, String.class);
+		bh.consume(target.isAssignableFrom(data.sourceType));
+	}
+
+	@Benchmark
+	public void asSuperTypeResolveGeneric(BenchmarkData data, Blackhole bh) {
+		bh.consume(data.sourceType.as(Iterable.class).resolveGeneric());
+	}
+
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkData {
+
+		public Field field;
+
+		public Method method;
+
+		public ResolvableType sourceType;
+
+		@Setup(Level.Trial)
+		public void setup() throws Exception {
+			this.field = Holder.class.getField("mapping");
+			this.method = Holder.class.getMethod("names");
+			this.sourceType = ResolvableType.forMethodReturnType(this.method);
+		}
+	}
+
+
+	public static class Holder {
+
+		public Map<String, List<Integer>> mapping;
+
+		public List<String> names() {
+			return null;
+		}
+	}
+
+}
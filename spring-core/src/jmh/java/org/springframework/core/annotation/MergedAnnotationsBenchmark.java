@@ -0,0 +1,136 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.reflect.Method;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.core.annotation.MergedAnnotations.SearchStrategy;
+
+/**
+ * Benchmarks for {@link MergedAnnotations} lookups, exercising {@link AnnotationsScanner}
+ * and {@link TypeMappedAnnotations} on classes and methods with a type hierarchy.
+ *
+ * @since 5.2.1
+ */
+@BenchmarkMode(Mode.Throughput)
+public class MergedAnnotationsBenchmark {
+
+	@Benchmark
+	public void isPresentOnClassDirect(BenchmarkData data, Blackhole bh) {
+		bh.consume(MergedAnnotations.from(data.type, SearchStrategy.DIRECT).isPresent(Mapping.class));
+	}
+
+	@Benchmark
+	public void isPresentOnClassTypeHierarchy(BenchmarkData data, Blackhole bh) {
+		bh.consume(MergedAnnotations.from(data.type, SearchStrategy.TYPE_HIERARCHY).isPresent(Mapping.class));
+	}
+
+	@Benchmark
+	public void getOnMethodTypeHierarchy(BenchmarkData data, Blackhole bh) {
+		MergedAnnotation<Mapping> mapping =
+				MergedAnnotations.from(data.method, SearchStrategy.TYPE_HIERARCHY).get(Mapping.class);
+		bh.consume(mapping.getStringArray("path"));
+	}
+
+	@Benchmark
+	public void synthesizeOnMethod(BenchmarkData data, Blackhole bh) {
+		Mapping mapping = AnnotatedElementUtils.findMergedAnnotation(data.method, Mapping.class);
+		bh.consume(mapping.path());
+	}
+
+	@Benchmark
+	public void isAnnotatedOnPlainMethod(BenchmarkData data, Blackhole bh) {
+		bh.consume(AnnotatedElementUtils.hasAnnotation(data.plainMethod, Mapping.class));
+	}
+
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkData {
+
+		public Class<?> type;
+
+		public Method method;
+
+		public Method plainMethod;
+
+		@Setup(Level.Trial)
+		public void setup() throws Exception {
+			this.type = ConcreteController.class;
+			this.method = ConcreteController.class.getMethod("handle", String.class);
+			this.plainMethod = ConcreteController.class.getMethod("toString");
+		}
+	}
+
+
+	@Retention(RetentionPolicy.RUNTIME)
+	@Target({ElementType.TYPE, ElementType.METHOD, ElementType.ANNOTATION_TYPE})
+	@Inherited
+	public @interface Mapping {
+
+		@AliasFor("path")
+		String[] value() default {};
+
+		@AliasFor("value")
+		String[] path() default {};
+	}
+
+
+	@Retention(RetentionPolicy.RUNTIME)
+	@Target({ElementType.TYPE, ElementType.METHOD})
+	@Mapping
+	public @interface GetMapping {
+
+		@AliasFor(annotation = Mapping.class)
+		String[] path() default {};
+	}
+
+
+	@Mapping("/api")
+	public interface ControllerApi {
+
+		@GetMapping(path = "/{name}")
+		String handle(String name);
+	}
+
+
+	public abstract static class AbstractController implements ControllerApi {
+	}
+
+
+	public static class ConcreteController extends AbstractController {
+
+		@Override
+		public String handle(String name) {
+			return name;
+		}
+	}
+
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.convert.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.core.convert.TypeDescriptor;
+
+/**
+ * Benchmarks for {@link GenericConversionService}, using the converters
+ * registered by {@link DefaultConversionService}.
+ *
+ * @since 5.2.1
+ */
+@BenchmarkMode(Mode.Throughput)
+public class GenericConversionServiceBenchmark {
+
+	@Benchmark
+	public void convertStringToInteger(BenchmarkData data, Blackhole bh) {
+		bh.consume(data.conversionService.convert("42", Integer.class));
+	}
+
+	@Benchmark
+	public void convertListOfStringsToSetOfIntegers(BenchmarkData data, Blackhole bh) {
+		bh.consume(data.conversionService.convert(data.source, data.sourceType, data.targetType));
+	}
+
+	@Benchmark
+	public void convertCommaDelimitedStringToIntArray(BenchmarkData data, Blackhole bh) {
+		bh.consume(data.conversionService.convert(data.delimitedSource, int[].class));
+	}
+
+	@Benchmark
+	public void convertStringArrayToListOfIntegers(BenchmarkData data, Blackhole bh) {
+		bh.consume(data.conversionService.convert(data.arraySource, data.arraySourceType, data.listTargetType));
+	}
+
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkData {
+
+		@Param({"100"})
+		public int size;
+
+		public GenericConversionService conversionService;
+
+		public List<String> source;
+
+		public String delimitedSource;
+
+		public String[] arraySource;
+
+		public TypeDescriptor sourceType;
+
+		public TypeDescriptor targetType;
+
+		public TypeDescriptor arraySourceType;
+
+		public TypeDescriptor listTargetType;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			this.conversionService = new DefaultConversionService();
+			this.source = new ArrayList<>(this.size);
+			for (int i = 0; i < this.size; i++) {
+				this.source.add(Integer.toString(i));
+			}
+			this.delimitedSource = String.join(",", this.source);
+			this.arraySource = this.source.toArray(new String[0]);
+			this.sourceType = TypeDescriptor.collection(List.class, TypeDescriptor.valueOf(String.class));
+			this.targetType = TypeDescriptor.collection(Set.class, TypeDescriptor.valueOf(Integer.class));
+			this.arraySourceType = TypeDescriptor.valueOf(String[].class);
+			this.listTargetType = TypeDescriptor.collection(List.class, TypeDescriptor.valueOf(Integer.class));
+		}
+	}
+
+}
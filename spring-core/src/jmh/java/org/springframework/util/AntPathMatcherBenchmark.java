@@ -0,0 +1,87 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.util;
+
+import java.util.Map;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for {@link AntPathMatcher}, using request paths and patterns
+ * typical of a web application's handler mappings.
+ *
+ * @since 5.2.1
+ */
+@BenchmarkMode(Mode.Throughput)
+public class AntPathMatcherBenchmark {
+
+	@Benchmark
+	public void matchAllPatterns(BenchmarkData data, Blackhole bh) {
+		for (String path : data.paths) {
+			for (String pattern : data.patterns) {
+				bh.consume(data.pathMatcher.match(pattern, path));
+			}
+		}
+	}
+
+	@Benchmark
+	public void extractUriTemplateVariables(BenchmarkData data, Blackhole bh) {
+		for (String path : data.variablePaths) {
+			Map<String, String> variables =
+					data.pathMatcher.extractUriTemplateVariables("/api/{version}/users/{id}/**", path);
+			bh.consume(variables);
+		}
+	}
+
+	@Benchmark
+	public void combinePatterns(BenchmarkData data, Blackhole bh) {
+		for (String pattern : data.patterns) {
+			bh.consume(data.pathMatcher.combine("/context/*", pattern));
+		}
+	}
+
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkData {
+
+		public final String[] patterns = {
+				"/", "/static/**", "/api/{version}/users", "/api/{version}/users/{id}",
+				"/api/{version}/users/{id}/**", "/api/*/orders/{orderId:[0-9]+}", "/**/*.html"};
+
+		public final String[] paths = {
+				"/", "/static/css/main.css", "/api/v1/users", "/api/v1/users/42",
+				"/api/v2/users/42/preferences/display", "/api/v2/orders/1234", "/docs/index.html"};
+
+		public final String[] variablePaths = {
+				"/api/v1/users/42", "/api/v2/users/42/preferences", "/api/v2/users/42/preferences/display"};
+
+		public AntPathMatcher pathMatcher;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			this.pathMatcher = new AntPathMatcher();
+		}
+	}
+
+}
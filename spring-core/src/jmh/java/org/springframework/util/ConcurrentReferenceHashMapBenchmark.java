@@ -0,0 +1,149 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for {@link ConcurrentReferenceHashMap}, compared with a plain
+ * {@link ConcurrentHashMap} for the read-mostly access pattern of framework caches.
+ * The {@code referenceMapReadWrite} group measures reads while another thread
+ * keeps updating the map, and therefore purging it.
+ *
+ * @since 5.2.1
+ */
+@BenchmarkMode(Mode.Throughput)
+public class ConcurrentReferenceHashMapBenchmark {
+
+	@Benchmark
+	public void referenceMapGet(BenchmarkData data, Blackhole bh) {
+		for (String key : data.keys) {
+			bh.consume(data.referenceMap.get(key));
+		}
+	}
+
+	@Benchmark
+	@Threads(8)
+	public void referenceMapGetConcurrently(BenchmarkData data, Blackhole bh) {
+		for (String key : data.keys) {
+			bh.consume(data.referenceMap.get(key));
+		}
+	}
+
+	@Benchmark
+	@Threads(Threads.MAX)
+	public void referenceMapGetOnAllCores(BenchmarkData data, Blackhole bh) {
+		for (String key : data.keys) {
+			bh.consume(data.referenceMap.get(key));
+		}
+	}
+
+	@Benchmark
+	@Group("referenceMapReadWrite")
+	@GroupThreads(7)
+	public void referenceMapRead(BenchmarkData data, Blackhole bh) {
+		for (String key : data.keys) {
+			bh.consume(data.referenceMap.get(key));
+		}
+	}
+
+	@Benchmark
+	@Group("referenceMapReadWrite")
+	@GroupThreads(1)
+	public void referenceMapWrite(BenchmarkData data, Blackhole bh) {
+		for (String key : data.keys) {
+			bh.consume(data.referenceMap.put(key, key));
+		}
+	}
+
+	@Benchmark
+	public void referenceMapComputeIfAbsent(BenchmarkData data, Blackhole bh) {
+		for (String key : data.keys) {
+			bh.consume(data.referenceMap.computeIfAbsent(key, k -> k));
+		}
+	}
+
+	@Benchmark
+	public void concurrentHashMapGet(BenchmarkData data, Blackhole bh) {
+		for (String key : data.keys) {
+			bh.consume(data.concurrentMap.get(key));
+		}
+	}
+
+	@Benchmark
+	@Threads(8)
+	public void concurrentHashMapGetConcurrently(BenchmarkData data, Blackhole bh) {
+		for (String key : data.keys) {
+			bh.consume(data.concurrentMap.get(key));
+		}
+	}
+
+	@Benchmark
+	@Threads(Threads.MAX)
+	public void concurrentHashMapGetOnAllCores(BenchmarkData data, Blackhole bh) {
+		for (String key : data.keys) {
+			bh.consume(data.concurrentMap.get(key));
+		}
+	}
+
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkData {
+
+		@Param({"500"})
+		public int capacity;
+
+		@Param({"SOFT", "WEAK"})
+		public ConcurrentReferenceHashMap.ReferenceType referenceType;
+
+		public List<String> keys;
+
+		public Map<String, String> referenceMap;
+
+		public Map<String, String> concurrentMap;
+
+		@Setup(Level.Iteration)
+		public void setup() {
+			this.keys = new ArrayList<>(this.capacity);
+			this.referenceMap = new ConcurrentReferenceHashMap<>(16, this.referenceType);
+			this.concurrentMap = new ConcurrentHashMap<>(16);
+			for (int i = 0; i < this.capacity; i++) {
+				String key = "key" + i;
+				this.keys.add(key);
+				this.referenceMap.put(key, key);
+				this.concurrentMap.put(key, key);
+			}
+		}
+	}
+
+}
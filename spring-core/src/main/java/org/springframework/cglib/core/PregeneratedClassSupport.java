@@ -0,0 +1,228 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cglib.core;
+
+import java.io.File;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.asm.ClassReader;
+import org.springframework.asm.Type;
+import org.springframework.cglib.proxy.CallbackFilter;
+import org.springframework.cglib.proxy.Enhancer;
+import org.springframework.core.SpringProperties;
+import org.springframework.lang.Nullable;
+import org.springframework.util.DigestUtils;
+
+/**
+ * Support for CGLIB classes generated ahead of time, typically during a
+ * training run of the application, and loaded from the classpath at runtime
+ * instead of being generated again.
+ *
+ * <p>Set the {@value #LOCATION_PROPERTY_NAME} property to a directory in order
+ * to write every class generated by a {@link #configure configured}
+ * {@link Enhancer} to that directory. Put that directory on the classpath and
+ * set the {@value #ENABLED_PROPERTY_NAME} flag in order to load these classes
+ * instead of generating them.
+ *
+ * <p>Generated class names are derived from a digest of the superclass, the
+ * interfaces, the callback types and the callback assigned to each intercepted
+ * method. A pregenerated class that does not match the current signature of its
+ * superclass is therefore never loaded: the class gets generated dynamically,
+ * just like without pregenerated classes.
+ *
+ * @since 5.2.1
+ * @see AbstractClassGenerator#setAttemptLoad
+ */
+public abstract class PregeneratedClassSupport {
+
+	/**
+	 * System property that instructs Spring to load CGLIB classes from the
+	 * classpath before generating them: {@value}.
+	 */
+	public static final String ENABLED_PROPERTY_NAME = "spring.cglib.pregenerated";
+
+	/**
+	 * System property that specifies the directory to write generated CGLIB
+	 * classes to: {@value}.
+	 */
+	public static final String LOCATION_PROPERTY_NAME = "spring.cglib.pregenerated.location";
+
+
+	/**
+	 * Return whether pregenerated classes are written or loaded.
+	 */
+	public static boolean isEnabled() {
+		return (getLocation() != null || SpringProperties.getFlag(ENABLED_PROPERTY_NAME));
+	}
+
+	@Nullable
+	private static String getLocation() {
+		return SpringProperties.getProperty(LOCATION_PROPERTY_NAME);
+	}
+
+	/**
+	 * Configure the given {@link Enhancer} for pregenerated classes, if enabled.
+	 * <p>Must be invoked once the {@link GeneratorStrategy} of the enhancer has
+	 * been set, with the same arguments that the enhancer has been configured with.
+	 * @param enhancer the enhancer to configure
+	 * @param generator the component requesting the class, distinguishing
+	 * enhancers that generate different code for the same arguments
+	 * @param superclass the superclass of the generated class
+	 * @param interfaces the interfaces of the generated class, or {@code null}
+	 * @param filter the callback filter, or {@code null} for a single callback
+	 * @param callbackTypes the callback types
+	 */
+	public static void configure(Enhancer enhancer, Class<?> generator, Class<?> superclass,
+			Class<?>[] interfaces, CallbackFilter filter, Class<?>[] callbackTypes) {
+
+		String location = getLocation();
+		if (location == null && !SpringProperties.getFlag(ENABLED_PROPERTY_NAME)) {
+			return;
+		}
+		String signature = getSignature(generator, superclass, interfaces, filter, callbackTypes);
+		enhancer.setNamingPolicy(new SignatureNamingPolicy(signature));
+		enhancer.setAttemptLoad(true);
+		if (location != null) {
+			enhancer.setStrategy(new WritingGeneratorStrategy(enhancer.getStrategy(), new File(location)));
+		}
+	}
+
+	private static String getSignature(Class<?> generator, Class<?> superclass,
+			Class<?>[] interfaces, CallbackFilter filter, Class<?>[] callbackTypes) {
+
+		StringBuilder signature = new StringBuilder(generator.getName());
+		signature.append(';').append(superclass.getName());
+		List<String> members = new ArrayList<>();
+		for (Constructor<?> constructor : superclass.getDeclaredConstructors()) {
+			members.add(constructor.getModifiers() + Type.getConstructorDescriptor(constructor));
+		}
+		Collections.sort(members);
+		signature.append(members);
+		if (interfaces != null) {
+			for (Class<?> ifc : interfaces) {
+				signature.append(';').append(ifc.getName());
+			}
+		}
+		for (Class<?> callbackType : callbackTypes) {
+			signature.append(';').append(callbackType.getName());
+		}
+		List<Method> methods = new ArrayList<>();
+		Enhancer.getMethods(superclass, interfaces, methods);
+		members.clear();
+		for (Method method : methods) {
+			members.add(method.getDeclaringClass().getName() + '.' + method.getName() +
+					Type.getMethodDescriptor(method) + method.getModifiers() + '=' +
+					(filter != null ? filter.accept(method) : 0));
+		}
+		// Declared methods come in no particular order
+		Collections.sort(members);
+		signature.append(members);
+		return DigestUtils.md5DigestAsHex(signature.toString().getBytes(StandardCharsets.UTF_8)).substring(0, 16);
+	}
+
+
+	/**
+	 * {@link NamingPolicy} that uses a signature digest rather than the hash code
+	 * of the generator key, which is not stable across JVM runs.
+	 */
+	private static class SignatureNamingPolicy extends SpringNamingPolicy {
+
+		private final String signature;
+
+		SignatureNamingPolicy(String signature) {
+			this.signature = signature;
+		}
+
+		@Override
+		public String getClassName(String prefix, String source, Object key, Predicate names) {
+			if (prefix == null) {
+				prefix = "org.springframework.cglib.empty.Object";
+			}
+			else if (prefix.startsWith("java")) {
+				prefix = "$" + prefix;
+			}
+			String base = prefix + "$$" + source.substring(source.lastIndexOf('.') + 1) +
+					getTag() + "$$" + this.signature;
+			String attempt = base;
+			int index = 2;
+			while (names.evaluate(attempt)) {
+				attempt = base + "_" + index++;
+			}
+			return attempt;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			return (this == other || (other instanceof SignatureNamingPolicy &&
+					this.signature.equals(((SignatureNamingPolicy) other).signature)));
+		}
+
+		@Override
+		public int hashCode() {
+			return this.signature.hashCode();
+		}
+	}
+
+
+	/**
+	 * {@link GeneratorStrategy} that writes classes generated by an {@link Enhancer}
+	 * to a directory.
+	 */
+	private static class WritingGeneratorStrategy implements GeneratorStrategy {
+
+		private final GeneratorStrategy delegate;
+
+		private final File directory;
+
+		WritingGeneratorStrategy(GeneratorStrategy delegate, File directory) {
+			this.delegate = delegate;
+			this.directory = directory;
+		}
+
+		@Override
+		public byte[] generate(ClassGenerator cg) throws Exception {
+			byte[] bytes = this.delegate.generate(cg);
+			if (!(cg instanceof Enhancer)) {
+				// FastClass helpers are generated lazily, outside of the enhancer's naming policy
+				return bytes;
+			}
+			String className = ClassNameReader.getClassName(new ClassReader(bytes));
+			File file = new File(this.directory, className.replace('.', File.separatorChar) + ".class");
+			Files.createDirectories(file.getParentFile().toPath());
+			Files.write(file.toPath(), bytes);
+			return bytes;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			return (this == other || (other instanceof WritingGeneratorStrategy &&
+					this.delegate.equals(((WritingGeneratorStrategy) other).delegate)));
+		}
+
+		@Override
+		public int hashCode() {
+			return this.delegate.hashCode();
+		}
+	}
+
+}
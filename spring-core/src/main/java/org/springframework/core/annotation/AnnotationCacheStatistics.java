@@ -0,0 +1,117 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.annotation;
+
+/**
+ * Snapshot of the statistics of an internal annotation metadata cache.
+ *
+ * <p>Hit, miss and eviction counts are cumulative: they are not reset when
+ * the cache is {@linkplain AnnotationUtils#clearCache() cleared}.
+ *
+ * @since 5.2.1
+ * @see AnnotationUtils#getCacheStatistics()
+ */
+public final class AnnotationCacheStatistics {
+
+	private final String name;
+
+	private final int size;
+
+	private final int limit;
+
+	private final long hitCount;
+
+	private final long missCount;
+
+	private final long evictionCount;
+
+	private final boolean frozen;
+
+
+	AnnotationCacheStatistics(String name, int size, int limit,
+			long hitCount, long missCount, long evictionCount, boolean frozen) {
+
+		this.name = name;
+		this.size = size;
+		this.limit = limit;
+		this.hitCount = hitCount;
+		this.missCount = missCount;
+		this.evictionCount = evictionCount;
+		this.frozen = frozen;
+	}
+
+
+	/**
+	 * Return the name of the cache.
+	 */
+	public String getName() {
+		return this.name;
+	}
+
+	/**
+	 * Return the number of entries in the cache.
+	 */
+	public int getSize() {
+		return this.size;
+	}
+
+	/**
+	 * Return the maximum number of entries in the cache, or {@code 0}
+	 * if the cache is not bounded.
+	 */
+	public int getLimit() {
+		return this.limit;
+	}
+
+	/**
+	 * Return the number of lookups that found a cached entry.
+	 */
+	public long getHitCount() {
+		return this.hitCount;
+	}
+
+	/**
+	 * Return the number of lookups that did not find a cached entry.
+	 */
+	public long getMissCount() {
+		return this.missCount;
+	}
+
+	/**
+	 * Return the number of entries evicted to honor the limit.
+	 */
+	public long getEvictionCount() {
+		return this.evictionCount;
+	}
+
+	/**
+	 * Return whether the cache is frozen.
+	 * @see AnnotationUtils#freezeCache()
+	 */
+	public boolean isFrozen() {
+		return this.frozen;
+	}
+
+
+	@Override
+	public String toString() {
+		return this.name + " [size=" + this.size + ", limit=" + this.limit + ", hits=" + this.hitCount +
+				", misses=" + this.missCount + ", evictions=" + this.evictionCount +
+				", frozen=" + this.frozen + "]";
+	}
+
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.annotation;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import org.springframework.core.SpringProperties;
+import org.springframework.lang.Nullable;
+
+/**
+ * Bounded cache for annotation metadata, used by the {@link AnnotationsScanner}
+ * and {@link AnnotationTypeMappings} instead of soft-referenced maps, so that
+ * cached metadata does not get discarded and recomputed under memory pressure.
+ *
+ * <p>Entries are held strongly, along with the class loaders of their keys,
+ * and evicted in insertion order once the configured
+ * {@linkplain AnnotationUtils#CACHE_LIMIT_PROPERTY_NAME limit} is reached.
+ * A {@linkplain #freeze() frozen} cache keeps serving its entries but stops
+ * caching new ones: metadata for further keys is computed on demand.
+ *
+ * <p>Hits, misses and evictions are counted and exposed as
+ * {@link AnnotationCacheStatistics}.
+ *
+ * @since 5.2.1
+ * @param <K> the key type
+ * @param <V> the value type
+ * @see AnnotationUtils#getCacheStatistics()
+ */
+final class AnnotationMetadataCache<K, V> {
+
+	/**
+	 * Default maximum number of entries per cache.
+	 */
+	static final int DEFAULT_LIMIT = 16384;
+
+	private static final int limitFromProperties = resolveLimit();
+
+
+	private final String name;
+
+	private final int limit;
+
+	private final Map<K, V> entries = new ConcurrentHashMap<>(256);
+
+	private final Queue<K> insertionOrder = new ConcurrentLinkedQueue<>();
+
+	private final LongAdder hitCount = new LongAdder();
+
+	private final LongAdder missCount = new LongAdder();
+
+	private final LongAdder evictionCount = new LongAdder();
+
+	private volatile boolean frozen;
+
+
+	/**
+	 * Create a new cache with the configured limit.
+	 * @param name the name of the cache
+	 */
+	AnnotationMetadataCache(String name) {
+		this(name, limitFromProperties);
+	}
+
+	/**
+	 * Create a new cache with the given limit.
+	 * @param name the name of the cache
+	 * @param limit the maximum number of entries, or {@code 0} for no limit
+	 */
+	AnnotationMetadataCache(String name, int limit) {
+		this.name = name;
+		this.limit = limit;
+	}
+
+
+	/**
+	 * Return the cached value for the given key.
+	 * @param key the key to look up
+	 * @return the cached value, or {@code null} if none
+	 */
+	@Nullable
+	V get(K key) {
+		V value = this.entries.get(key);
+		if (value != null) {
+			this.hitCount.increment();
+		}
+		else {
+			this.missCount.increment();
+		}
+		return value;
+	}
+
+	/**
+	 * Cache the given value, unless this cache is frozen.
+	 * @param key the key to cache the value for
+	 * @param value the value to cache
+	 * @return {@code true} if the value has been cached
+	 */
+	boolean put(K key, V value) {
+		if (this.frozen) {
+			return false;
+		}
+		if (this.entries.put(key, value) == null && this.limit > 0) {
+			this.insertionOrder.add(key);
+			while (this.entries.size() > this.limit) {
+				K eldest = this.insertionOrder.poll();
+				if (eldest == null) {
+					break;
+				}
+				if (this.entries.remove(eldest) != null) {
+					this.evictionCount.increment();
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Return the cached value for the given key, computing and caching it
+	 * if necessary. The value may be computed more than once if several
+	 * threads request the same key concurrently.
+	 * @param key the key to look up
+	 * @param mappingFunction the function to compute a missing value
+	 * @return the cached or computed value
+	 */
+	V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+		V value = get(key);
+		if (value == null) {
+			value = mappingFunction.apply(key);
+			put(key, value);
+		}
+		return value;
+	}
+
+	/**
+	 * Freeze this cache: keep the current entries without evicting them but
+	 * do not cache new ones.
+	 */
+	void freeze() {
+		this.frozen = true;
+	}
+
+	/**
+	 * Unfreeze this cache, keeping its current entries.
+	 */
+	void unfreeze() {
+		this.frozen = false;
+	}
+
+	/**
+	 * Return whether this cache is frozen.
+	 */
+	boolean isFrozen() {
+		return this.frozen;
+	}
+
+	/**
+	 * Remove all entries and unfreeze this cache. Statistics are retained.
+	 */
+	void clear() {
+		this.entries.clear();
+		this.insertionOrder.clear();
+		this.frozen = false;
+	}
+
+	/**
+	 * Return a snapshot of the statistics of this cache.
+	 */
+	AnnotationCacheStatistics getStatistics() {
+		return new AnnotationCacheStatistics(this.name, this.entries.size(), this.limit,
+				this.hitCount.sum(), this.missCount.sum(), this.evictionCount.sum(), this.frozen);
+	}
+
+
+	private static int resolveLimit() {
+		String limit = SpringProperties.getProperty(AnnotationUtils.CACHE_LIMIT_PROPERTY_NAME);
+		if (limit != null) {
+			try {
+				return Math.max(Integer.parseInt(limit.trim()), 0);
+			}
+			catch (NumberFormatException ex) {
+				throw new IllegalStateException("Invalid value '" + limit + "' for property '" +
+						AnnotationUtils.CACHE_LIMIT_PROPERTY_NAME + "'", ex);
+			}
+		}
+		return DEFAULT_LIMIT;
+	}
+
+}
@@ -22,9 +22,9 @@ import java.util.ArrayList;
 import java.util.Deque;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.lang.Nullable;
-import org.springframework.util.ConcurrentReferenceHashMap;
 
 /**
  * Provides {@link AnnotationTypeMapping} information for a single source
@@ -47,9 +47,11 @@ final class AnnotationTypeMappings {
 
 	private static final IntrospectionFailureLogger failureLogger = IntrospectionFailureLogger.DEBUG;
 
-	private static final Map<AnnotationFilter, Cache> standardRepeatablesCache = new ConcurrentReferenceHashMap<>();
+	private static final AnnotationMetadataCache<Class<? extends Annotation>, Map<AnnotationFilter, AnnotationTypeMappings>>
+			standardRepeatablesCache = new AnnotationMetadataCache<>("AnnotationTypeMappings.standardRepeatables");
 
-	private static final Map<AnnotationFilter, Cache> noRepeatablesCache = new ConcurrentReferenceHashMap<>();
+	private static final AnnotationMetadataCache<Class<? extends Annotation>, Map<AnnotationFilter, AnnotationTypeMappings>>
+			noRepeatablesCache = new AnnotationMetadataCache<>("AnnotationTypeMappings.noRepeatables");
 
 
 	private final RepeatableContainers repeatableContainers;
@@ -202,56 +204,50 @@ final class AnnotationTypeMappings {
 			AnnotationFilter annotationFilter) {
 
 		if (repeatableContainers == RepeatableContainers.standardRepeatables()) {
-			return standardRepeatablesCache.computeIfAbsent(annotationFilter,
-					key -> new Cache(repeatableContainers, key)).get(annotationType);
+			return getMappings(standardRepeatablesCache, repeatableContainers, annotationFilter, annotationType);
 		}
 		if (repeatableContainers == RepeatableContainers.none()) {
-			return noRepeatablesCache.computeIfAbsent(annotationFilter,
-					key -> new Cache(repeatableContainers, key)).get(annotationType);
+			return getMappings(noRepeatablesCache, repeatableContainers, annotationFilter, annotationType);
 		}
 		return new AnnotationTypeMappings(repeatableContainers, annotationFilter,
 				annotationType);
 	}
 
+	private static AnnotationTypeMappings getMappings(
+			AnnotationMetadataCache<Class<? extends Annotation>, Map<AnnotationFilter, AnnotationTypeMappings>> cache,
+			RepeatableContainers repeatableContainers, AnnotationFilter annotationFilter,
+			Class<? extends Annotation> annotationType) {
+
+		Map<AnnotationFilter, AnnotationTypeMappings> mappingsByFilter =
+				cache.computeIfAbsent(annotationType, key -> new ConcurrentHashMap<>(4));
+		AnnotationTypeMappings mappings = mappingsByFilter.get(annotationFilter);
+		if (mappings == null) {
+			mappings = new AnnotationTypeMappings(repeatableContainers, annotationFilter, annotationType);
+			if (!cache.isFrozen()) {
+				mappingsByFilter.put(annotationFilter, mappings);
+			}
+		}
+		return mappings;
+	}
+
 	static void clearCache() {
 		standardRepeatablesCache.clear();
 		noRepeatablesCache.clear();
 	}
 
+	static void freezeCache() {
+		standardRepeatablesCache.freeze();
+		noRepeatablesCache.freeze();
+	}
 
-	/**
-	 * Cache created per {@link AnnotationFilter}.
-	 */
-	private static class Cache {
-
-		private final RepeatableContainers repeatableContainers;
-
-		private final AnnotationFilter filter;
-
-		private final Map<Class<? extends Annotation>, AnnotationTypeMappings> mappings;
-
-		/**
-		 * Create a cache instance with the specified filter.
-		 * @param filter the annotation filter
-		 */
-		Cache(RepeatableContainers repeatableContainers, AnnotationFilter filter) {
-			this.repeatableContainers = repeatableContainers;
-			this.filter = filter;
-			this.mappings = new ConcurrentReferenceHashMap<>();
-		}
-
-		/**
-		 * Get or create {@link AnnotationTypeMappings} for the specified annotation type.
-		 * @param annotationType the annotation type
-		 * @return a new or existing {@link AnnotationTypeMappings} instance
-		 */
-		AnnotationTypeMappings get(Class<? extends Annotation> annotationType) {
-			return this.mappings.computeIfAbsent(annotationType, this::createMappings);
-		}
+	static void unfreezeCache() {
+		standardRepeatablesCache.unfreeze();
+		noRepeatablesCache.unfreeze();
+	}
 
-		AnnotationTypeMappings createMappings(Class<? extends Annotation> annotationType) {
-			return new AnnotationTypeMappings(this.repeatableContainers, this.filter, annotationType);
-		}
+	static void collectCacheStatistics(List<AnnotationCacheStatistics> statistics) {
+		statistics.add(standardRepeatablesCache.getStatistics());
+		statistics.add(noRepeatablesCache.getStatistics());
 	}
 
 }
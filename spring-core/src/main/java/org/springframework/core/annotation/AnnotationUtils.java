@@ -22,6 +22,7 @@ import java.lang.reflect.Array;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedHashMap;
@@ -109,6 +110,29 @@ public abstract class AnnotationUtils {
 	 */
 	public static final String VALUE = MergedAnnotation.VALUE;
 
+	/**
+	 * System property that specifies the maximum number of entries of each
+	 * internal annotation metadata cache, or {@code 0} for no limit: {@value}.
+	 * @since 5.2.1
+	 * @see #getCacheStatistics()
+	 */
+	public static final String CACHE_LIMIT_PROPERTY_NAME = "spring.annotations.cache.limit";
+
+	/**
+	 * System property that instructs application contexts to
+	 * {@linkplain #freezeCache() freeze} the internal annotation metadata cache
+	 * at the end of their refresh instead of clearing it: {@value}. Each refresh
+	 * unfreezes the cache first, so that the metadata of every context's own
+	 * types gets cached.
+	 * <p>Cached metadata holds strong references to the annotated classes and
+	 * methods, and therefore to their class loaders. Application contexts clear
+	 * the cache when they are closed; other uses of a frozen cache in an
+	 * environment with transient class loaders need to {@link #clearCache()}
+	 * explicitly in order to release them.
+	 * @since 5.2.1
+	 */
+	public static final String CACHE_FREEZE_PROPERTY_NAME = "spring.annotations.cache.freeze";
+
 	private static final AnnotationFilter JAVA_LANG_ANNOTATION_FILTER =
 			AnnotationFilter.packages("java.lang.annotation");
 
@@ -1284,6 +1308,43 @@ public abstract class AnnotationUtils {
 		AnnotationsScanner.clearCache();
 	}
 
+	/**
+	 * Freeze the internal annotation metadata cache, typically once the
+	 * application has been warmed up: cached metadata is kept and never
+	 * evicted, while metadata for further elements is computed on demand
+	 * without being cached. {@link #clearCache()} unfreezes the cache.
+	 * @since 5.2.1
+	 * @see #CACHE_FREEZE_PROPERTY_NAME
+	 * @see #unfreezeCache()
+	 */
+	public static void freezeCache() {
+		AnnotationTypeMappings.freezeCache();
+		AnnotationsScanner.freezeCache();
+	}
+
+	/**
+	 * Unfreeze the internal annotation metadata cache, keeping its current
+	 * entries and caching metadata for further elements again.
+	 * @since 5.2.1
+	 * @see #freezeCache()
+	 */
+	public static void unfreezeCache() {
+		AnnotationTypeMappings.unfreezeCache();
+		AnnotationsScanner.unfreezeCache();
+	}
+
+	/**
+	 * Return the statistics of the internal annotation metadata caches.
+	 * @since 5.2.1
+	 * @see #CACHE_LIMIT_PROPERTY_NAME
+	 */
+	public static List<AnnotationCacheStatistics> getCacheStatistics() {
+		List<AnnotationCacheStatistics> statistics = new ArrayList<>(4);
+		AnnotationTypeMappings.collectCacheStatistics(statistics);
+		AnnotationsScanner.collectCacheStatistics(statistics);
+		return statistics;
+	}
+
 
 	/**
 	 * Internal holder used to wrap default values.
@@ -22,7 +22,7 @@ import java.lang.reflect.Member;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.Arrays;
-import java.util.Map;
+import java.util.List;
 import java.util.function.BiPredicate;
 
 import org.springframework.core.BridgeMethodResolver;
@@ -30,7 +30,6 @@ import org.springframework.core.Ordered;
 import org.springframework.core.ResolvableType;
 import org.springframework.core.annotation.MergedAnnotations.SearchStrategy;
 import org.springframework.lang.Nullable;
-import org.springframework.util.ConcurrentReferenceHashMap;
 import org.springframework.util.ObjectUtils;
 import org.springframework.util.ReflectionUtils;
 
@@ -50,11 +49,11 @@ abstract class AnnotationsScanner {
 	private static final Method[] NO_METHODS = {};
 
 
-	private static final Map<AnnotatedElement, Annotation[]> declaredAnnotationCache =
-			new ConcurrentReferenceHashMap<>(256);
+	private static final AnnotationMetadataCache<AnnotatedElement, Annotation[]> declaredAnnotationCache =
+			new AnnotationMetadataCache<>("AnnotationsScanner.declaredAnnotations");
 
-	private static final Map<Class<?>, Method[]> baseTypeMethodsCache =
-			new ConcurrentReferenceHashMap<>(256);
+	private static final AnnotationMetadataCache<Class<?>, Method[]> baseTypeMethodsCache =
+			new AnnotationMetadataCache<>("AnnotationsScanner.baseTypeMethods");
 
 
 	private AnnotationsScanner() {
@@ -473,8 +472,7 @@ abstract class AnnotationsScanner {
 				}
 				annotations = (allIgnored ? NO_ANNOTATIONS : annotations);
 				if (source instanceof Class || source instanceof Member) {
-					declaredAnnotationCache.put(source, annotations);
-					cached = true;
+					cached = declaredAnnotationCache.put(source, annotations);
 				}
 			}
 		}
@@ -547,4 +545,19 @@ abstract class AnnotationsScanner {
 		baseTypeMethodsCache.clear();
 	}
 
+	static void freezeCache() {
+		declaredAnnotationCache.freeze();
+		baseTypeMethodsCache.freeze();
+	}
+
+	static void unfreezeCache() {
+		declaredAnnotationCache.unfreeze();
+		baseTypeMethodsCache.unfreeze();
+	}
+
+	static void collectCacheStatistics(List<AnnotationCacheStatistics> statistics) {
+		statistics.add(declaredAnnotationCache.getStatistics());
+		statistics.add(baseTypeMethodsCache.getStatistics());
+	}
+
 }
@@ -18,6 +18,7 @@ package org.springframework.core.annotation;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Array;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
@@ -50,6 +51,12 @@ final class SynthesizedMergedAnnotationInvocationHandler<A extends Annotation> i
 
 	private final AttributeMethods attributes;
 
+	/**
+	 * Attribute values resolved upfront, in {@link #attributes} order,
+	 * so that attribute access does not go through the merged annotation.
+	 */
+	private final Object[] values;
+
 	@Nullable
 	private volatile Integer hashCode;
 
@@ -61,14 +68,23 @@ final class SynthesizedMergedAnnotationInvocationHandler<A extends Annotation> i
 		this.annotation = annotation;
 		this.type = type;
 		this.attributes = AttributeMethods.forAnnotationType(type);
-		for (int i = 0; i < this.attributes.size(); i++) {
-			getAttributeValue(this.attributes.get(i));
+		this.values = new Object[this.attributes.size()];
+		for (int i = 0; i < this.values.length; i++) {
+			this.values[i] = getAttributeValue(this.attributes.get(i));
 		}
 	}
 
 
 	@Override
 	public Object invoke(Object proxy, Method method, Object[] args) {
+		// Attribute methods take no parameters and cannot be named hashCode(),
+		// toString() or annotationType(), but an equals() attribute is legal
+		if (method.getParameterCount() == 0) {
+			int index = this.attributes.indexOf(method.getName());
+			if (index != -1) {
+				return cloneArrayIfNecessary(this.values[index]);
+			}
+		}
 		if (ReflectionUtils.isEqualsMethod(method)) {
 			return annotationEquals(args[0]);
 		}
@@ -81,9 +97,6 @@ final class SynthesizedMergedAnnotationInvocationHandler<A extends Annotation> i
 		if (isAnnotationTypeMethod(method)) {
 			return this.type;
 		}
-		if (this.attributes.indexOf(method.getName()) != -1) {
-			return getAttributeValue(method);
-		}
 		throw new AnnotationConfigurationException(String.format(
 				"Method [%s] is unsupported for synthesized annotation type [%s]", method, this.type));
 	}
@@ -103,10 +116,11 @@ final class SynthesizedMergedAnnotationInvocationHandler<A extends Annotation> i
 		if (!this.type.isInstance(other)) {
 			return false;
 		}
+		SynthesizedMergedAnnotationInvocationHandler<?> otherHandler = getSynthesizedHandler(other);
 		for (int i = 0; i < this.attributes.size(); i++) {
-			Method attribute = this.attributes.get(i);
-			Object thisValue = getAttributeValue(attribute);
-			Object otherValue = ReflectionUtils.invokeMethod(attribute, other);
+			Object thisValue = this.values[i];
+			Object otherValue = (otherHandler != null ? otherHandler.values[i] :
+					ReflectionUtils.invokeMethod(this.attributes.get(i), other));
 			if (!ObjectUtils.nullSafeEquals(thisValue, otherValue)) {
 				return false;
 			}
@@ -130,8 +144,7 @@ final class SynthesizedMergedAnnotationInvocationHandler<A extends Annotation> i
 		int hashCode = 0;
 		for (int i = 0; i < this.attributes.size(); i++) {
 			Method attribute = this.attributes.get(i);
-			Object value = getAttributeValue(attribute);
-			hashCode += (127 * attribute.getName().hashCode()) ^ getValueHashCode(value);
+			hashCode += (127 * attribute.getName().hashCode()) ^ getValueHashCode(this.values[i]);
 		}
 		return hashCode;
 	}
@@ -169,6 +182,57 @@ final class SynthesizedMergedAnnotationInvocationHandler<A extends Annotation> i
 		return value.hashCode();
 	}
 
+	/**
+	 * Return the handler of the given synthesized annotation of the same type,
+	 * or {@code null} if the given annotation has not been synthesized by us.
+	 */
+	@Nullable
+	private SynthesizedMergedAnnotationInvocationHandler<?> getSynthesizedHandler(Object other) {
+		if (other instanceof SynthesizedAnnotation && Proxy.isProxyClass(other.getClass())) {
+			InvocationHandler handler = Proxy.getInvocationHandler(other);
+			if (handler instanceof SynthesizedMergedAnnotationInvocationHandler &&
+					((SynthesizedMergedAnnotationInvocationHandler<?>) handler).type == this.type) {
+				return (SynthesizedMergedAnnotationInvocationHandler<?>) handler;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Clone the given attribute value if it is a non-empty array,
+	 * protecting the resolved value from modifications by the caller.
+	 */
+	private Object cloneArrayIfNecessary(Object value) {
+		if (!value.getClass().isArray() || Array.getLength(value) == 0) {
+			return value;
+		}
+		if (value instanceof Object[]) {
+			return ((Object[]) value).clone();
+		}
+		if (value instanceof boolean[]) {
+			return ((boolean[]) value).clone();
+		}
+		if (value instanceof byte[]) {
+			return ((byte[]) value).clone();
+		}
+		if (value instanceof char[]) {
+			return ((char[]) value).clone();
+		}
+		if (value instanceof double[]) {
+			return ((double[]) value).clone();
+		}
+		if (value instanceof float[]) {
+			return ((float[]) value).clone();
+		}
+		if (value instanceof int[]) {
+			return ((int[]) value).clone();
+		}
+		if (value instanceof long[]) {
+			return ((long[]) value).clone();
+		}
+		return ((short[]) value).clone();
+	}
+
 	private Object getAttributeValue(Method method) {
 		String name = method.getName();
 		Class<?> type = ClassUtils.resolvePrimitiveIfNecessary(method.getReturnType());
@@ -72,17 +72,19 @@ final class ArrayToCollectionConverter implements ConditionalGenericConverter {
 		Collection<Object> target = CollectionFactory.createCollection(targetType.getType(),
 				(elementDesc != null ? elementDesc.getType() : null), length);
 
+		Object[] sourceArray = (source instanceof Object[] ? (Object[]) source : null);
 		if (elementDesc == null) {
 			for (int i = 0; i < length; i++) {
-				Object sourceElement = Array.get(source, i);
+				Object sourceElement = (sourceArray != null ? sourceArray[i] : Array.get(source, i));
 				target.add(sourceElement);
 			}
 		}
 		else {
+			ElementConversionPlan plan =
+					ElementConversionPlan.forElementsOf(this.conversionService, sourceType, elementDesc);
 			for (int i = 0; i < length; i++) {
-				Object sourceElement = Array.get(source, i);
-				Object targetElement = this.conversionService.convert(sourceElement,
-						sourceType.elementTypeDescriptor(sourceElement), elementDesc);
+				Object sourceElement = (sourceArray != null ? sourceArray[i] : Array.get(source, i));
+				Object targetElement = plan.convert(sourceElement);
 				target.add(targetElement);
 			}
 		}
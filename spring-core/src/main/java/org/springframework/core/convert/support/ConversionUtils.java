@@ -16,6 +16,8 @@
 
 package org.springframework.core.convert.support;
 
+import java.lang.reflect.Array;
+
 import org.springframework.core.convert.ConversionFailedException;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.core.convert.TypeDescriptor;
@@ -71,6 +73,35 @@ abstract class ConversionUtils {
 		return false;
 	}
 
+	/**
+	 * Set the given element in the given array, avoiding reflection for
+	 * object arrays and for the most common primitive arrays.
+	 * @param array the array to set the element in
+	 * @param index the index of the element
+	 * @param element the element (may be {@code null} for an object array)
+	 * @since 5.2.1
+	 */
+	public static void setArrayElement(Object array, int index, @Nullable Object element) {
+		if (array instanceof Object[]) {
+			((Object[]) array)[index] = element;
+		}
+		else if (array instanceof int[] && element instanceof Integer) {
+			((int[]) array)[index] = (Integer) element;
+		}
+		else if (array instanceof long[] && element instanceof Long) {
+			((long[]) array)[index] = (Long) element;
+		}
+		else if (array instanceof double[] && element instanceof Double) {
+			((double[]) array)[index] = (Double) element;
+		}
+		else if (array instanceof boolean[] && element instanceof Boolean) {
+			((boolean[]) array)[index] = (Boolean) element;
+		}
+		else {
+			Array.set(array, index, element);
+		}
+	}
+
 	public static Class<?> getEnumType(Class<?> targetType) {
 		Class<?> enumType = targetType;
 		while (enumType != null && !enumType.isEnum()) {
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.convert.support;
+
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.core.convert.converter.GenericConverter;
+import org.springframework.lang.Nullable;
+
+/**
+ * Plan for converting the elements of a collection, an array or a delimited
+ * String to a given target element type, used by the container converters
+ * of this package.
+ *
+ * <p>The source element type and, with a {@link GenericConversionService},
+ * the element converter are resolved once per element class rather than once
+ * per element. Null elements, as well as any conversion that needs special
+ * handling, go through the regular {@link ConversionService#convert} call.
+ *
+ * <p>A plan is meant to be used by a single conversion call and is not
+ * thread-safe.
+ *
+ * @since 5.2.1
+ */
+final class ElementConversionPlan {
+
+	private final ConversionService conversionService;
+
+	private final TypeDescriptor sourceType;
+
+	private final boolean narrowElementType;
+
+	private final TypeDescriptor targetElementType;
+
+	@Nullable
+	private Class<?> elementClass;
+
+	@Nullable
+	private TypeDescriptor elementType;
+
+	@Nullable
+	private GenericConverter converter;
+
+
+	private ElementConversionPlan(ConversionService conversionService, TypeDescriptor sourceType,
+			boolean narrowElementType, TypeDescriptor targetElementType) {
+
+		this.conversionService = conversionService;
+		this.sourceType = sourceType;
+		this.narrowElementType = narrowElementType;
+		this.targetElementType = targetElementType;
+	}
+
+
+	/**
+	 * Convert the given source element.
+	 * @param sourceElement the source element to convert (may be {@code null})
+	 * @return the converted element
+	 */
+	@Nullable
+	public Object convert(@Nullable Object sourceElement) {
+		if (sourceElement == null) {
+			return this.conversionService.convert(null, getSourceElementType(null), this.targetElementType);
+		}
+		if (sourceElement.getClass() != this.elementClass) {
+			prepare(sourceElement);
+		}
+		TypeDescriptor elementType = this.elementType;
+		GenericConverter converter = this.converter;
+		if (converter != null) {
+			Object targetElement = ConversionUtils.invokeConverter(
+					converter, sourceElement, elementType, this.targetElementType);
+			if (targetElement != null || !this.targetElementType.isPrimitive()) {
+				return targetElement;
+			}
+		}
+		return this.conversionService.convert(sourceElement, elementType, this.targetElementType);
+	}
+
+	private void prepare(Object sourceElement) {
+		TypeDescriptor elementType = getSourceElementType(sourceElement);
+		this.elementClass = sourceElement.getClass();
+		this.elementType = elementType;
+		this.converter = (elementType != null && this.conversionService instanceof GenericConversionService ?
+				((GenericConversionService) this.conversionService).getConverter(elementType, this.targetElementType) :
+				null);
+	}
+
+	@Nullable
+	private TypeDescriptor getSourceElementType(@Nullable Object sourceElement) {
+		return (this.narrowElementType ? this.sourceType.elementTypeDescriptor(sourceElement) : this.sourceType);
+	}
+
+
+	/**
+	 * Create a plan for the elements of the given collection or array type.
+	 * @param conversionService the conversion service to delegate to
+	 * @param sourceType the collection or array type to convert from
+	 * @param targetElementType the element type to convert to
+	 */
+	public static ElementConversionPlan forElementsOf(ConversionService conversionService,
+			TypeDescriptor sourceType, TypeDescriptor targetElementType) {
+
+		return new ElementConversionPlan(conversionService, sourceType, true, targetElementType);
+	}
+
+	/**
+	 * Create a plan for elements of the given source type.
+	 * @param conversionService the conversion service to delegate to
+	 * @param sourceElementType the element type to convert from
+	 * @param targetElementType the element type to convert to
+	 */
+	public static ElementConversionPlan forElementType(ConversionService conversionService,
+			TypeDescriptor sourceElementType, TypeDescriptor targetElementType) {
+
+		return new ElementConversionPlan(conversionService, sourceElementType, false, targetElementType);
+	}
+
+}
@@ -67,10 +67,12 @@ final class StringToArrayConverter implements ConditionalGenericConverter {
 		TypeDescriptor targetElementType = targetType.getElementTypeDescriptor();
 		Assert.state(targetElementType != null, "No target element type");
 		Object target = Array.newInstance(targetElementType.getType(), fields.length);
+		ElementConversionPlan plan =
+				ElementConversionPlan.forElementType(this.conversionService, sourceType, targetElementType);
 		for (int i = 0; i < fields.length; i++) {
 			String sourceElement = fields[i];
-			Object targetElement = this.conversionService.convert(sourceElement.trim(), sourceType, targetElementType);
-			Array.set(target, i, targetElement);
+			Object targetElement = plan.convert(sourceElement.trim());
+			ConversionUtils.setArrayElement(target, i, targetElement);
 		}
 		return target;
 	}
@@ -109,8 +109,7 @@ public abstract class AbstractEnvironment implements ConfigurableEnvironment {
 
 	private final MutablePropertySources propertySources = new MutablePropertySources();
 
-	private final ConfigurablePropertyResolver propertyResolver =
-			new PropertySourcesPropertyResolver(this.propertySources);
+	private final ConfigurablePropertyResolver propertyResolver = createPropertyResolver(this.propertySources);
 
 
 	/**
@@ -125,6 +124,21 @@ public abstract class AbstractEnvironment implements ConfigurableEnvironment {
 	}
 
 
+	/**
+	 * Factory method used to create the {@link ConfigurablePropertyResolver}
+	 * instance used by this {@code Environment}.
+	 * <p>The default implementation creates a {@link PropertySourcesPropertyResolver}.
+	 * Subclasses may return a {@link CachingPropertySourcesPropertyResolver} instead,
+	 * for applications that read properties on hot code paths.
+	 * <p>Note that this method is called during construction, before any
+	 * subclass state has been initialized.
+	 * @param propertySources the property sources of this environment
+	 * @since 5.2.1
+	 */
+	protected ConfigurablePropertyResolver createPropertyResolver(MutablePropertySources propertySources) {
+		return new PropertySourcesPropertyResolver(propertySources);
+	}
+
 	/**
 	 * Customize the set of {@link PropertySource} objects to be searched by this
 	 * {@code Environment} during calls to {@link #getProperty(String)} and related
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.env;
+
+import java.util.Map;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.ConcurrentReferenceHashMap;
+
+/**
+ * {@link PropertySourcesPropertyResolver} variant that caches resolved property
+ * values as well as the results of placeholder resolution, avoiding a search
+ * through all property sources for repeated lookups of the same key.
+ *
+ * <p>Cached values are kept in their unconverted form, with conversion to the
+ * requested target type still applied on each call. Keys that could not be
+ * found are cached as well.
+ *
+ * <p>If the underlying property sources are a {@link MutablePropertySources}
+ * instance, the cache is discarded whenever a property source is added, removed
+ * or {@linkplain MutablePropertySources#replace replaced}. Property sources whose
+ * contents change over time can signal an update by replacing themselves, or
+ * the cache can be discarded explicitly through {@link #clearCache()}.
+ *
+ * <p>This resolver is not used by default; it can be plugged into an environment
+ * through {@link AbstractEnvironment#createPropertyResolver}.
+ *
+ * @since 5.2.1
+ * @see AbstractEnvironment#createPropertyResolver
+ */
+public class CachingPropertySourcesPropertyResolver extends PropertySourcesPropertyResolver {
+
+	private static final Object NO_VALUE = new Object();
+
+
+	@Nullable
+	private final PropertySources propertySources;
+
+	private volatile CachedValues cachedValues;
+
+
+	/**
+	 * Create a new caching resolver against the given property sources.
+	 * @param propertySources the set of {@link PropertySource} objects to use
+	 */
+	public CachingPropertySourcesPropertyResolver(@Nullable PropertySources propertySources) {
+		super(propertySources);
+		this.propertySources = propertySources;
+		this.cachedValues = new CachedValues(getModificationCount());
+	}
+
+
+	@Override
+	public void setPlaceholderPrefix(String placeholderPrefix) {
+		super.setPlaceholderPrefix(placeholderPrefix);
+		clearCache();
+	}
+
+	@Override
+	public void setPlaceholderSuffix(String placeholderSuffix) {
+		super.setPlaceholderSuffix(placeholderSuffix);
+		clearCache();
+	}
+
+	@Override
+	public void setValueSeparator(@Nullable String valueSeparator) {
+		super.setValueSeparator(valueSeparator);
+		clearCache();
+	}
+
+	@Override
+	public void setIgnoreUnresolvableNestedPlaceholders(boolean ignoreUnresolvableNestedPlaceholders) {
+		super.setIgnoreUnresolvableNestedPlaceholders(ignoreUnresolvableNestedPlaceholders);
+		clearCache();
+	}
+
+	/**
+	 * Discard all cached property values and placeholder resolution results,
+	 * e.g. after the contents of a property source have changed.
+	 */
+	public void clearCache() {
+		this.cachedValues = new CachedValues(getModificationCount());
+	}
+
+	@Override
+	@Nullable
+	protected <T> T getProperty(String key, Class<T> targetValueType, boolean resolveNestedPlaceholders) {
+		CachedValues cachedValues = getCachedValues();
+		Map<String, Object> values = (resolveNestedPlaceholders ? cachedValues.resolved : cachedValues.raw);
+		Object value = values.get(key);
+		if (value == null) {
+			value = super.getProperty(key, Object.class, resolveNestedPlaceholders);
+			if (value == null) {
+				value = NO_VALUE;
+			}
+			values.put(key, value);
+		}
+		return (value != NO_VALUE ? convertValueIfNecessary(value, targetValueType) : null);
+	}
+
+	@Override
+	public String resolvePlaceholders(String text) {
+		Map<String, String> resolvedTexts = getCachedValues().resolvedTexts;
+		String resolved = resolvedTexts.get(text);
+		if (resolved == null) {
+			resolved = super.resolvePlaceholders(text);
+			resolvedTexts.put(text, resolved);
+		}
+		return resolved;
+	}
+
+	@Override
+	public String resolveRequiredPlaceholders(String text) throws IllegalArgumentException {
+		Map<String, String> resolvedTexts = getCachedValues().requiredResolvedTexts;
+		String resolved = resolvedTexts.get(text);
+		if (resolved == null) {
+			resolved = super.resolveRequiredPlaceholders(text);
+			resolvedTexts.put(text, resolved);
+		}
+		return resolved;
+	}
+
+	private CachedValues getCachedValues() {
+		CachedValues cachedValues = this.cachedValues;
+		int modificationCount = getModificationCount();
+		if (cachedValues.modificationCount != modificationCount) {
+			// Property sources changed: start over with a fresh cache, leaving
+			// the previous one to concurrent callers that are still using it.
+			cachedValues = new CachedValues(modificationCount);
+			this.cachedValues = cachedValues;
+		}
+		return cachedValues;
+	}
+
+	private int getModificationCount() {
+		return (this.propertySources instanceof MutablePropertySources ?
+				((MutablePropertySources) this.propertySources).getModificationCount() : 0);
+	}
+
+
+	/**
+	 * Cached values for a specific state of the underlying property sources.
+	 */
+	private static class CachedValues {
+
+		final int modificationCount;
+
+		final Map<String, Object> resolved = new ConcurrentReferenceHashMap<>();
+
+		final Map<String, Object> raw = new ConcurrentReferenceHashMap<>();
+
+		final Map<String, String> resolvedTexts = new ConcurrentReferenceHashMap<>();
+
+		final Map<String, String> requiredResolvedTexts = new ConcurrentReferenceHashMap<>();
+
+		CachedValues(int modificationCount) {
+			this.modificationCount = modificationCount;
+		}
+	}
+
+}
@@ -19,6 +19,7 @@ package org.springframework.core.io.support;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.net.JarURLConnection;
@@ -27,12 +28,18 @@ import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.net.URLConnection;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Enumeration;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.zip.ZipException;
@@ -184,6 +191,9 @@ public class PathMatchingResourcePatternResolver implements ResourcePatternResol
 
 	private static final Log logger = LogFactory.getLog(PathMatchingResourcePatternResolver.class);
 
+	/** Minimum number of jar file entries to match per task in a parallel scan. */
+	private static final int JAR_ENTRY_CHUNK_SIZE = 256;
+
 	@Nullable
 	private static Method equinoxResolveMethod;
 
@@ -205,6 +215,8 @@ public class PathMatchingResourcePatternResolver implements ResourcePatternResol
 
 	private PathMatcher pathMatcher = new AntPathMatcher();
 
+	private int scanParallelism = 1;
+
 
 	/**
 	 * Create a new PathMatchingResourcePatternResolver with a DefaultResourceLoader.
@@ -268,6 +280,28 @@ public class PathMatchingResourcePatternResolver implements ResourcePatternResol
 		return this.pathMatcher;
 	}
 
+	/**
+	 * Specify the number of threads to use for resolving location patterns.
+	 * <p>Default is 1, searching root directories and jar files sequentially.
+	 * A higher value searches each root directory, each subdirectory and chunks
+	 * of jar file entries as separate tasks on a dedicated {@link ForkJoinPool}
+	 * per pattern, merging the results in the same order as a sequential search.
+	 * @param scanParallelism the number of threads to search with
+	 * @since 5.2.1
+	 */
+	public void setScanParallelism(int scanParallelism) {
+		Assert.isTrue(scanParallelism > 0, "Scan parallelism must be greater than 0");
+		this.scanParallelism = scanParallelism;
+	}
+
+	/**
+	 * Return the number of threads to use for resolving location patterns.
+	 * @since 5.2.1
+	 */
+	public int getScanParallelism() {
+		return this.scanParallelism;
+	}
+
 
 	@Override
 	public Resource getResource(String location) {
@@ -489,28 +523,25 @@ public class PathMatchingResourcePatternResolver implements ResourcePatternResol
 	 * @see org.springframework.util.PathMatcher
 	 */
 	protected Resource[] findPathMatchingResources(String locationPattern) throws IOException {
+		if (this.scanParallelism > 1 && !isParallelScan()) {
+			return scanInParallel(() -> findPathMatchingResources(locationPattern));
+		}
 		String rootDirPath = determineRootDir(locationPattern);
 		String subPattern = locationPattern.substring(rootDirPath.length());
 		Resource[] rootDirResources = getResources(rootDirPath);
 		Set<Resource> result = new LinkedHashSet<>(16);
-		for (Resource rootDirResource : rootDirResources) {
-			rootDirResource = resolveRootDirResource(rootDirResource);
-			URL rootDirUrl = rootDirResource.getURL();
-			if (equinoxResolveMethod != null && rootDirUrl.getProtocol().startsWith("bundle")) {
-				URL resolvedUrl = (URL) ReflectionUtils.invokeMethod(equinoxResolveMethod, null, rootDirUrl);
-				if (resolvedUrl != null) {
-					rootDirUrl = resolvedUrl;
-				}
-				rootDirResource = new UrlResource(rootDirUrl);
-			}
-			if (rootDirUrl.getProtocol().startsWith(ResourceUtils.URL_PROTOCOL_VFS)) {
-				result.addAll(VfsResourceMatchingDelegate.findMatchingResources(rootDirUrl, subPattern, getPathMatcher()));
+		if (isParallelScan() && rootDirResources.length > 1) {
+			List<ForkJoinTask<Set<Resource>>> tasks = new ArrayList<>(rootDirResources.length);
+			for (Resource rootDirResource : rootDirResources) {
+				tasks.add(new ScanTask<>(() -> findPathMatchingResources(rootDirResource, subPattern)).fork());
 			}
-			else if (ResourceUtils.isJarURL(rootDirUrl) || isJarResource(rootDirResource)) {
-				result.addAll(doFindPathMatchingJarResources(rootDirResource, rootDirUrl, subPattern));
+			for (ForkJoinTask<Set<Resource>> task : tasks) {
+				result.addAll(ScanTask.join(task));
 			}
-			else {
-				result.addAll(doFindPathMatchingFileResources(rootDirResource, subPattern));
+		}
+		else {
+			for (Resource rootDirResource : rootDirResources) {
+				result.addAll(findPathMatchingResources(rootDirResource, subPattern));
 			}
 		}
 		if (logger.isTraceEnabled()) {
@@ -519,6 +550,59 @@ public class PathMatchingResourcePatternResolver implements ResourcePatternResol
 		return result.toArray(new Resource[0]);
 	}
 
+	/**
+	 * Find all resources underneath the given root directory that match the
+	 * given sub pattern, delegating to the jar, file system or VFS variant.
+	 * @param rootDirResource the root directory as Resource
+	 * @param subPattern the sub pattern to match (below the root directory)
+	 * @return a mutable Set of matching Resource instances
+	 * @throws IOException in case of I/O errors
+	 */
+	private Set<Resource> findPathMatchingResources(Resource rootDirResource, String subPattern) throws IOException {
+		rootDirResource = resolveRootDirResource(rootDirResource);
+		URL rootDirUrl = rootDirResource.getURL();
+		if (equinoxResolveMethod != null && rootDirUrl.getProtocol().startsWith("bundle")) {
+			URL resolvedUrl = (URL) ReflectionUtils.invokeMethod(equinoxResolveMethod, null, rootDirUrl);
+			if (resolvedUrl != null) {
+				rootDirUrl = resolvedUrl;
+			}
+			rootDirResource = new UrlResource(rootDirUrl);
+		}
+		if (rootDirUrl.getProtocol().startsWith(ResourceUtils.URL_PROTOCOL_VFS)) {
+			return VfsResourceMatchingDelegate.findMatchingResources(rootDirUrl, subPattern, getPathMatcher());
+		}
+		else if (ResourceUtils.isJarURL(rootDirUrl) || isJarResource(rootDirResource)) {
+			return doFindPathMatchingJarResources(rootDirResource, rootDirUrl, subPattern);
+		}
+		else {
+			return doFindPathMatchingFileResources(rootDirResource, subPattern);
+		}
+	}
+
+	/**
+	 * Run the given search on a dedicated {@link ForkJoinPool} with the
+	 * configured {@link #setScanParallelism scan parallelism}.
+	 */
+	private <T> T scanInParallel(ScanCallable<T> search) throws IOException {
+		ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+		ForkJoinPool pool = new ForkJoinPool(this.scanParallelism,
+				fjp -> new ScanWorkerThread(fjp, classLoader), null, false);
+		try {
+			return ScanTask.join(pool.submit(new ScanTask<>(search)));
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Return whether the current thread is searching as part of a parallel scan,
+	 * i.e. whether further work may be forked into the current pool.
+	 */
+	private boolean isParallelScan() {
+		return (this.scanParallelism > 1 && Thread.currentThread() instanceof ScanWorkerThread);
+	}
+
 	/**
 	 * Determine the root directory for the given location.
 	 * <p>Used for determining the starting point for file matching,
@@ -644,6 +728,9 @@ public class PathMatchingResourcePatternResolver implements ResourcePatternResol
 				// The Sun JRE does not return a slash here, but BEA JRockit does.
 				rootEntryPath = rootEntryPath + "/";
 			}
+			if (isParallelScan()) {
+				return doFindPathMatchingJarEntriesInParallel(rootDirResource, jarFile, rootEntryPath, subPattern);
+			}
 			Set<Resource> result = new LinkedHashSet<>(8);
 			for (Enumeration<JarEntry> entries = jarFile.entries(); entries.hasMoreElements();) {
 				JarEntry entry = entries.nextElement();
@@ -664,6 +751,41 @@ public class PathMatchingResourcePatternResolver implements ResourcePatternResol
 		}
 	}
 
+	/**
+	 * Match the entries of the given jar file in chunks on the current
+	 * {@link ForkJoinPool}, preserving the order of the jar file entries.
+	 */
+	private Set<Resource> doFindPathMatchingJarEntriesInParallel(
+			Resource rootDirResource, JarFile jarFile, String rootEntryPath, String subPattern) throws IOException {
+
+		List<String> relativePaths = new ArrayList<>();
+		for (Enumeration<JarEntry> entries = jarFile.entries(); entries.hasMoreElements();) {
+			String entryPath = entries.nextElement().getName();
+			if (entryPath.startsWith(rootEntryPath)) {
+				relativePaths.add(entryPath.substring(rootEntryPath.length()));
+			}
+		}
+		int chunkSize = Math.max(JAR_ENTRY_CHUNK_SIZE, relativePaths.size() / (this.scanParallelism * 4) + 1);
+		List<ForkJoinTask<List<Resource>>> tasks = new ArrayList<>();
+		for (int start = 0; start < relativePaths.size(); start += chunkSize) {
+			List<String> chunk = relativePaths.subList(start, Math.min(start + chunkSize, relativePaths.size()));
+			tasks.add(new ScanTask<>(() -> {
+				List<Resource> matches = new ArrayList<>();
+				for (String relativePath : chunk) {
+					if (getPathMatcher().match(subPattern, relativePath)) {
+						matches.add(rootDirResource.createRelative(relativePath));
+					}
+				}
+				return matches;
+			}).fork());
+		}
+		Set<Resource> result = new LinkedHashSet<>(8);
+		for (ForkJoinTask<List<Resource>> task : tasks) {
+			result.addAll(ScanTask.join(task));
+		}
+		return result;
+	}
+
 	/**
 	 * Resolve the given jar file URL into a JarFile object.
 	 */
@@ -792,6 +914,10 @@ public class PathMatchingResourcePatternResolver implements ResourcePatternResol
 			logger.trace("Searching directory [" + dir.getAbsolutePath() +
 					"] for files matching pattern [" + fullPattern + "]");
 		}
+		if (isParallelScan()) {
+			doRetrieveMatchingFilesInParallel(fullPattern, dir, result);
+			return;
+		}
 		for (File content : listDirectory(dir)) {
 			String currPath = StringUtils.replace(content.getAbsolutePath(), File.separator, "/");
 			if (content.isDirectory() && getPathMatcher().matchStart(fullPattern, currPath + "/")) {
@@ -811,6 +937,47 @@ public class PathMatchingResourcePatternResolver implements ResourcePatternResol
 		}
 	}
 
+	/**
+	 * Variant of {@link #doRetrieveMatchingFiles} for a parallel scan, searching
+	 * each subdirectory as a separate task and adding the results in the same
+	 * order as a sequential search.
+	 */
+	private void doRetrieveMatchingFilesInParallel(String fullPattern, File dir, Set<File> result) throws IOException {
+		File[] contents = listDirectory(dir);
+		String[] paths = new String[contents.length];
+		List<ForkJoinTask<Set<File>>> tasks = new ArrayList<>(contents.length);
+		for (int i = 0; i < contents.length; i++) {
+			File content = contents[i];
+			paths[i] = StringUtils.replace(content.getAbsolutePath(), File.separator, "/");
+			ForkJoinTask<Set<File>> task = null;
+			if (content.isDirectory() && getPathMatcher().matchStart(fullPattern, paths[i] + "/")) {
+				if (!content.canRead()) {
+					if (logger.isDebugEnabled()) {
+						logger.debug("Skipping subdirectory [" + dir.getAbsolutePath() +
+								"] because the application is not allowed to read the directory");
+					}
+				}
+				else {
+					task = new ScanTask<>(() -> {
+						Set<File> subResult = new LinkedHashSet<>(8);
+						doRetrieveMatchingFiles(fullPattern, content, subResult);
+						return subResult;
+					}).fork();
+				}
+			}
+			tasks.add(task);
+		}
+		for (int i = 0; i < contents.length; i++) {
+			ForkJoinTask<Set<File>> task = tasks.get(i);
+			if (task != null) {
+				result.addAll(ScanTask.join(task));
+			}
+			if (getPathMatcher().match(fullPattern, paths[i])) {
+				result.add(contents[i]);
+			}
+		}
+	}
+
 	/**
 	 * Determine a sorted list of files in the given directory.
 	 * @param dir the directory to introspect
@@ -831,6 +998,64 @@ public class PathMatchingResourcePatternResolver implements ResourcePatternResol
 	}
 
 
+	/**
+	 * A search step of a parallel scan, possibly throwing an {@link IOException}.
+	 */
+	@FunctionalInterface
+	private interface ScanCallable<T> {
+
+		T call() throws IOException;
+	}
+
+
+	/**
+	 * {@link ForkJoinTask} adapter for a {@link ScanCallable}, propagating
+	 * an {@link IOException} to the joining thread.
+	 */
+	@SuppressWarnings("serial")
+	private static class ScanTask<T> extends RecursiveTask<T> {
+
+		private final ScanCallable<T> callable;
+
+		public ScanTask(ScanCallable<T> callable) {
+			this.callable = callable;
+		}
+
+		@Override
+		protected T compute() {
+			try {
+				return this.callable.call();
+			}
+			catch (IOException ex) {
+				throw new UncheckedIOException(ex);
+			}
+		}
+
+		public static <T> T join(ForkJoinTask<T> task) throws IOException {
+			try {
+				return task.join();
+			}
+			catch (UncheckedIOException ex) {
+				throw ex.getCause();
+			}
+		}
+	}
+
+
+	/**
+	 * Worker thread of a parallel scan, exposing the context ClassLoader
+	 * of the thread that started the scan.
+	 */
+	private static class ScanWorkerThread extends ForkJoinWorkerThread {
+
+		public ScanWorkerThread(ForkJoinPool pool, @Nullable ClassLoader classLoader) {
+			super(pool);
+			setName("classpath-scan-" + getPoolIndex());
+			setContextClassLoader(classLoader);
+		}
+	}
+
+
 	/**
 	 * Inner delegate class, avoiding a hard JBoss VFS API dependency at runtime.
 	 */
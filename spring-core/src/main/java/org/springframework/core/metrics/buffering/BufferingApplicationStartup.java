@@ -0,0 +1,164 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.metrics.buffering;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.core.metrics.buffering.StartupTimeline.TimelineEvent;
+import org.springframework.util.Assert;
+
+/**
+ * {@link ApplicationStartup} implementation that buffers {@link StartupStep steps}
+ * in memory and records their timestamps as well as their processing time.
+ *
+ * <p>Steps are nested per thread: the parent of a step is the step most recently
+ * started and not yet ended on the same thread. Once ended, steps are buffered
+ * up to the configured capacity and can be retrieved as a {@link StartupTimeline},
+ * for example to determine which beans dominate the refresh of a context.
+ *
+ * <p>Steps can be filtered with {@link #addFilter(Predicate) filters}, only keeping
+ * the steps that are relevant for the analysis at hand:
+ * <pre class="code">
+ * BufferingApplicationStartup startup = new BufferingApplicationStartup(10000);
+ * startup.addFilter(step -&gt; step.getName().startsWith("spring.beans"));
+ * context.setApplicationStartup(startup);
+ * context.refresh();
+ * StartupTimeline timeline = startup.getBufferedTimeline();
+ * </pre>
+ *
+ * @since 5.2.1
+ */
+public class BufferingApplicationStartup implements ApplicationStartup {
+
+	private final int capacity;
+
+	private final ThreadLocal<BufferedStartupStep> currentStep = new ThreadLocal<>();
+
+	private final AtomicLong idSeq = new AtomicLong();
+
+	private final AtomicInteger estimatedSize = new AtomicInteger();
+
+	private final ConcurrentLinkedQueue<TimelineEvent> events = new ConcurrentLinkedQueue<>();
+
+	private Predicate<StartupStep> filter = (step) -> true;
+
+	private volatile Instant startTime;
+
+	private volatile long startNanos;
+
+
+	/**
+	 * Create a new buffered {@link ApplicationStartup} with a limited capacity
+	 * and start the recording of steps.
+	 * @param capacity the configured capacity; once reached, new steps are not recorded
+	 */
+	public BufferingApplicationStartup(int capacity) {
+		Assert.isTrue(capacity > 0, "Capacity must be greater than 0");
+		this.capacity = capacity;
+		this.startTime = Instant.now();
+		this.startNanos = System.nanoTime();
+	}
+
+
+	/**
+	 * Start the recording of steps and mark the beginning of the {@link StartupTimeline}.
+	 * <p>The class constructor already implicitly calls this, but it is possible
+	 * to reset it as long as steps have not been recorded already.
+	 * @throws IllegalStateException if called and {@link StartupStep} have been recorded already
+	 */
+	public void startRecording() {
+		Assert.state(this.events.isEmpty(), "Cannot restart recording once steps have been buffered");
+		this.startTime = Instant.now();
+		this.startNanos = System.nanoTime();
+	}
+
+	/**
+	 * Add a predicate filter to the list of existing ones.
+	 * <p>A {@link StartupStep step} that doesn't match all filters will not be recorded.
+	 * @param filter the predicate filter to add
+	 */
+	public void addFilter(Predicate<StartupStep> filter) {
+		Assert.notNull(filter, "Filter must not be null");
+		this.filter = this.filter.and(filter);
+	}
+
+	@Override
+	public StartupStep start(String name) {
+		BufferedStartupStep parent = this.currentStep.get();
+		BufferedStartupStep step = new BufferedStartupStep(
+				parent, name, this.idSeq.getAndIncrement(), System.nanoTime(), this::record);
+		this.currentStep.set(step);
+		return step;
+	}
+
+	private void record(BufferedStartupStep step) {
+		if (this.currentStep.get() == step) {
+			BufferedStartupStep parent = step.getParent();
+			if (parent != null) {
+				this.currentStep.set(parent);
+			}
+			else {
+				this.currentStep.remove();
+			}
+		}
+		if (this.filter.test(step) && this.estimatedSize.getAndIncrement() < this.capacity) {
+			this.events.add(new TimelineEvent(step, toInstant(step.getStartNanos()), toInstant(step.getEndNanos()),
+					step.getEndNanos() - step.getStartNanos()));
+		}
+	}
+
+	private Instant toInstant(long nanos) {
+		return this.startTime.plusNanos(nanos - this.startNanos);
+	}
+
+	/**
+	 * Return the {@link StartupTimeline timeline} as a snapshot of currently buffered
+	 * steps.
+	 * <p>This will not remove steps from the buffer, see {@link #drainBufferedTimeline()}
+	 * for its counterpart.
+	 * @return a snapshot of currently buffered steps.
+	 */
+	public StartupTimeline getBufferedTimeline() {
+		return new StartupTimeline(this.startTime, new ArrayList<>(this.events));
+	}
+
+	/**
+	 * Return the {@link StartupTimeline timeline} by pulling steps from the buffer.
+	 * <p>This removes steps from the buffer, see {@link #getBufferedTimeline()} for
+	 * its read-only counterpart.
+	 * @return buffered steps drained from the buffer.
+	 */
+	public StartupTimeline drainBufferedTimeline() {
+		ArrayList<TimelineEvent> drained = new ArrayList<>();
+		Iterator<TimelineEvent> iterator = this.events.iterator();
+		while (iterator.hasNext()) {
+			drained.add(iterator.next());
+			iterator.remove();
+		}
+		this.estimatedSize.set(0);
+		return new StartupTimeline(this.startTime, drained);
+	}
+
+}
@@ -0,0 +1,251 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.metrics.buffering;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.lang.Nullable;
+
+/**
+ * Represent the timeline of {@link StartupStep steps} recorded by
+ * {@link BufferingApplicationStartup}. Each {@link TimelineEvent} has a start
+ * and end time as well as a duration measured with nanosecond precision.
+ *
+ * <p>Events are ordered by start time and can be queried by step name, by
+ * parent/child relationship, or along the critical path: the chain of nested
+ * steps that contributed the most to the duration of the longest top-level step.
+ *
+ * @since 5.2.1
+ */
+public class StartupTimeline {
+
+	private final Instant startTime;
+
+	private final List<TimelineEvent> events;
+
+	private final Map<Long, List<TimelineEvent>> eventsByParentId = new HashMap<>();
+
+	private final Map<Long, TimelineEvent> eventsById = new HashMap<>();
+
+
+	StartupTimeline(Instant startTime, List<TimelineEvent> events) {
+		List<TimelineEvent> sortedEvents = new ArrayList<>(events);
+		sortedEvents.sort(Comparator.comparing(TimelineEvent::getStartTime));
+		this.startTime = startTime;
+		this.events = Collections.unmodifiableList(sortedEvents);
+		for (TimelineEvent event : sortedEvents) {
+			this.eventsById.put(event.getStartupStep().getId(), event);
+		}
+		for (TimelineEvent event : sortedEvents) {
+			Long parentId = event.getStartupStep().getParentId();
+			if (parentId != null && this.eventsById.containsKey(parentId)) {
+				this.eventsByParentId.computeIfAbsent(parentId, id -> new ArrayList<>()).add(event);
+			}
+		}
+	}
+
+
+	/**
+	 * Return the start time of this timeline.
+	 */
+	public Instant getStartTime() {
+		return this.startTime;
+	}
+
+	/**
+	 * Return the recorded events, ordered by start time.
+	 */
+	public List<TimelineEvent> getEvents() {
+		return this.events;
+	}
+
+	/**
+	 * Return the recorded events for steps with the given name, ordered by start time.
+	 * @param stepName the name of the steps, e.g. {@code "spring.beans.instantiate"}
+	 */
+	public List<TimelineEvent> getEvents(String stepName) {
+		return getEvents(step -> stepName.equals(step.getName()));
+	}
+
+	/**
+	 * Return the recorded events for steps that match the given predicate,
+	 * ordered by start time.
+	 * @param predicate the predicate to match steps against
+	 */
+	public List<TimelineEvent> getEvents(Predicate<StartupStep> predicate) {
+		List<TimelineEvent> result = new ArrayList<>();
+		for (TimelineEvent event : this.events) {
+			if (predicate.test(event.getStartupStep())) {
+				result.add(event);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Return the recorded parent event of the given event, if any.
+	 * @param event the event to find the parent for
+	 */
+	@Nullable
+	public TimelineEvent getParent(TimelineEvent event) {
+		Long parentId = event.getStartupStep().getParentId();
+		return (parentId != null ? this.eventsById.get(parentId) : null);
+	}
+
+	/**
+	 * Return the recorded events nested within the given event, ordered by start time.
+	 * @param event the event to find the children for
+	 */
+	public List<TimelineEvent> getChildren(TimelineEvent event) {
+		List<TimelineEvent> children = this.eventsByParentId.get(event.getStartupStep().getId());
+		return (children != null ? Collections.unmodifiableList(children) : Collections.emptyList());
+	}
+
+	/**
+	 * Return the top-level events, i.e. those without a recorded parent event,
+	 * ordered by start time.
+	 */
+	public List<TimelineEvent> getRootEvents() {
+		List<TimelineEvent> result = new ArrayList<>();
+		for (TimelineEvent event : this.events) {
+			if (getParent(event) == null) {
+				result.add(event);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Return the events with the longest durations, in descending order.
+	 * <p>Note that the duration of an event includes the durations of its children.
+	 * @param maxEvents the maximum number of events to return
+	 * @see #getSelfDuration(TimelineEvent)
+	 */
+	public List<TimelineEvent> getLongestEvents(int maxEvents) {
+		List<TimelineEvent> result = new ArrayList<>(this.events);
+		result.sort(Comparator.comparing(TimelineEvent::getDuration).reversed());
+		return (result.size() > maxEvents ? result.subList(0, maxEvents) : result);
+	}
+
+	/**
+	 * Return the duration of the given event, minus the durations of its children.
+	 * <p>For a bean instantiation step, this is the time spent on the bean itself
+	 * rather than on the creation of its dependencies.
+	 * @param event the event to compute the self duration for
+	 */
+	public Duration getSelfDuration(TimelineEvent event) {
+		Duration duration = event.getDuration();
+		for (TimelineEvent child : getChildren(event)) {
+			duration = duration.minus(child.getDuration());
+		}
+		return (duration.isNegative() ? Duration.ZERO : duration);
+	}
+
+	/**
+	 * Return the critical path of this timeline: starting from the longest
+	 * top-level event, the chain of nested events with the longest duration
+	 * at each level.
+	 * <p>For a context refresh, this typically reveals the sequence of
+	 * dependencies which dominates the creation of the slowest bean.
+	 */
+	public List<TimelineEvent> getCriticalPath() {
+		List<TimelineEvent> path = new ArrayList<>();
+		TimelineEvent current = longest(getRootEvents());
+		while (current != null) {
+			path.add(current);
+			current = longest(getChildren(current));
+		}
+		return path;
+	}
+
+	@Nullable
+	private static TimelineEvent longest(List<TimelineEvent> events) {
+		TimelineEvent longest = null;
+		for (TimelineEvent event : events) {
+			if (longest == null || event.getDuration().compareTo(longest.getDuration()) > 0) {
+				longest = event;
+			}
+		}
+		return longest;
+	}
+
+
+	/**
+	 * Event on the current {@link StartupTimeline}.
+	 */
+	public static class TimelineEvent {
+
+		private final StartupStep step;
+
+		private final Instant startTime;
+
+		private final Instant endTime;
+
+		private final Duration duration;
+
+		TimelineEvent(StartupStep step, Instant startTime, Instant endTime, long durationNanos) {
+			this.step = step;
+			this.startTime = startTime;
+			this.endTime = endTime;
+			this.duration = Duration.ofNanos(durationNanos);
+		}
+
+		/**
+		 * Return the start time of this event.
+		 */
+		public Instant getStartTime() {
+			return this.startTime;
+		}
+
+		/**
+		 * Return the end time of this event.
+		 */
+		public Instant getEndTime() {
+			return this.endTime;
+		}
+
+		/**
+		 * Return the duration of this event, i.e. the processing time of the associated
+		 * {@link StartupStep} including its nested steps.
+		 */
+		public Duration getDuration() {
+			return this.duration;
+		}
+
+		/**
+		 * Return the {@link StartupStep} information for this event.
+		 */
+		public StartupStep getStartupStep() {
+			return this.step;
+		}
+
+		@Override
+		public String toString() {
+			return this.step + " (" + this.duration.toMillis() + " ms)";
+		}
+	}
+
+}
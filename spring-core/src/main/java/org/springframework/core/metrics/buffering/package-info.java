@@ -0,0 +1,10 @@
+/**
+ * Support package for recording startup metrics in memory, exposing them as a
+ * {@link org.springframework.core.metrics.buffering.StartupTimeline}.
+ */
+@NonNullApi
+@NonNullFields
+package org.springframework.core.metrics.buffering;
+
+import org.springframework.lang.NonNullApi;
+import org.springframework.lang.NonNullFields;
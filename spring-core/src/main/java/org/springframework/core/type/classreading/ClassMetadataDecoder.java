@@ -0,0 +1,282 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.type.classreading;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.asm.Type;
+import org.springframework.core.annotation.AnnotationFilter;
+import org.springframework.core.annotation.MergedAnnotation;
+import org.springframework.core.annotation.MergedAnnotations;
+import org.springframework.core.type.MethodMetadata;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Decodes {@link SimpleAnnotationMetadata} from the binary form written by
+ * {@code spring-context-indexer} and by {@link ClassMetadataEncoder}.
+ *
+ * <p>Decoding mirrors {@link SimpleAnnotationMetadataReadingVisitor}: annotation
+ * types that cannot be resolved and {@link AnnotationFilter#PLAIN plain} Java
+ * annotations are skipped, and class values are exposed as class names.
+ *
+ * @since 5.2.1
+ * @see ClassMetadataIndex
+ * @see PersistentMetadataReaderFactory
+ */
+final class ClassMetadataDecoder {
+
+	@Nullable
+	private final ClassLoader classLoader;
+
+
+	ClassMetadataDecoder(@Nullable ClassLoader classLoader) {
+		this.classLoader = classLoader;
+	}
+
+
+	/**
+	 * Decode the metadata of the given class.
+	 * @param className the fully qualified class name
+	 * @param payload the encoded metadata
+	 * @return the decoded metadata
+	 * @throws IOException if the payload is malformed
+	 */
+	SimpleAnnotationMetadata decode(String className, byte[] payload) throws IOException {
+		try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+			return readClass(className, in);
+		}
+	}
+
+	private SimpleAnnotationMetadata readClass(String className, DataInputStream in) throws IOException {
+		int access = in.readInt();
+		String enclosingClassName = readNullableString(in);
+		String superClassName = readNullableString(in);
+		boolean independentInnerClass = in.readBoolean();
+		String[] interfaceNames = readStrings(in);
+		String[] memberClassNames = readStrings(in);
+		SimpleAnnotationMetadataReadingVisitor.Source source =
+				new SimpleAnnotationMetadataReadingVisitor.Source(className);
+		MergedAnnotations annotations = MergedAnnotations.of(readAnnotations(in, source));
+		int methodCount = in.readInt();
+		List<MethodMetadata> annotatedMethods = new ArrayList<>(methodCount);
+		for (int i = 0; i < methodCount; i++) {
+			String methodName = readString(in);
+			int methodAccess = in.readInt();
+			String descriptor = readString(in);
+			List<MergedAnnotation<?>> methodAnnotations = readAnnotations(in,
+					new SimpleMethodMetadataReadingVisitor.Source(className, methodName, descriptor));
+			if (!methodAnnotations.isEmpty()) {
+				String returnTypeName = Type.getReturnType(descriptor).getClassName();
+				annotatedMethods.add(new SimpleMethodMetadata(methodName, methodAccess, className,
+						returnTypeName, MergedAnnotations.of(methodAnnotations)));
+			}
+		}
+		return new SimpleAnnotationMetadata(className, access, enclosingClassName, superClassName,
+				independentInnerClass, interfaceNames, memberClassNames,
+				annotatedMethods.toArray(new MethodMetadata[0]), annotations);
+	}
+
+	private List<MergedAnnotation<?>> readAnnotations(DataInputStream in, Object source) throws IOException {
+		int count = in.readInt();
+		List<MergedAnnotation<?>> annotations = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			String typeName = readString(in);
+			Class<? extends Annotation> annotationType = resolveAnnotationType(typeName);
+			Map<String, Object> attributes = readAttributes(in, source);
+			if (annotationType != null) {
+				annotations.add(MergedAnnotation.of(this.classLoader, source, annotationType, attributes));
+			}
+		}
+		return annotations;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Nullable
+	private Class<? extends Annotation> resolveAnnotationType(String typeName) {
+		// Same filtering as for annotations read from class files
+		if (AnnotationFilter.PLAIN.matches(typeName)) {
+			return null;
+		}
+		try {
+			return (Class<? extends Annotation>) ClassUtils.forName(typeName, this.classLoader);
+		}
+		catch (ClassNotFoundException | LinkageError ex) {
+			return null;
+		}
+	}
+
+	private Map<String, Object> readAttributes(DataInputStream in, Object source) throws IOException {
+		int count = in.readInt();
+		Map<String, Object> attributes = new LinkedHashMap<>(count);
+		for (int i = 0; i < count; i++) {
+			String name = readString(in);
+			Object value = readValue(in, source);
+			if (value != null) {
+				attributes.put(name, value);
+			}
+		}
+		return attributes;
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	@Nullable
+	private Object readValue(DataInputStream in, Object source) throws IOException {
+		char tag = (char) in.readByte();
+		switch (tag) {
+			case 'Z': return in.readBoolean();
+			case 'B': return in.readByte();
+			case 'C': return in.readChar();
+			case 'S': return in.readShort();
+			case 'I': return in.readInt();
+			case 'J': return in.readLong();
+			case 'F': return in.readFloat();
+			case 'D': return in.readDouble();
+			case 's':
+			case 'c':
+				// Class values are exposed as class names, as with ASM
+				return readString(in);
+			case 'e':
+				Class enumType = ClassUtils.resolveClassName(readString(in), this.classLoader);
+				return Enum.valueOf(enumType, readString(in));
+			case '@':
+				String typeName = readString(in);
+				Map<String, Object> attributes = readAttributes(in, source);
+				if (AnnotationFilter.PLAIN.matches(typeName)) {
+					return null;
+				}
+				Class<? extends Annotation> annotationType =
+						(Class<? extends Annotation>) ClassUtils.resolveClassName(typeName, this.classLoader);
+				return MergedAnnotation.of(this.classLoader, source, annotationType, attributes);
+			case '[':
+				return readArray(in, source);
+			default:
+				throw new IOException("Unexpected value tag '" + tag + "'");
+		}
+	}
+
+	private Object readArray(DataInputStream in, Object source) throws IOException {
+		char componentTag = (char) in.readByte();
+		int length = in.readInt();
+		switch (componentTag) {
+			case 'Z': {
+				boolean[] array = new boolean[length];
+				for (int i = 0; i < length; i++) {
+					array[i] = in.readBoolean();
+				}
+				return array;
+			}
+			case 'B': {
+				byte[] array = new byte[length];
+				in.readFully(array);
+				return array;
+			}
+			case 'C': {
+				char[] array = new char[length];
+				for (int i = 0; i < length; i++) {
+					array[i] = in.readChar();
+				}
+				return array;
+			}
+			case 'S': {
+				short[] array = new short[length];
+				for (int i = 0; i < length; i++) {
+					array[i] = in.readShort();
+				}
+				return array;
+			}
+			case 'I': {
+				int[] array = new int[length];
+				for (int i = 0; i < length; i++) {
+					array[i] = in.readInt();
+				}
+				return array;
+			}
+			case 'J': {
+				long[] array = new long[length];
+				for (int i = 0; i < length; i++) {
+					array[i] = in.readLong();
+				}
+				return array;
+			}
+			case 'F': {
+				float[] array = new float[length];
+				for (int i = 0; i < length; i++) {
+					array[i] = in.readFloat();
+				}
+				return array;
+			}
+			case 'D': {
+				double[] array = new double[length];
+				for (int i = 0; i < length; i++) {
+					array[i] = in.readDouble();
+				}
+				return array;
+			}
+			case 'L': {
+				List<Object> elements = new ArrayList<>(length);
+				for (int i = 0; i < length; i++) {
+					Object element = readValue(in, source);
+					if (element != null) {
+						elements.add(element);
+					}
+				}
+				// Same component type determination as for annotations read from class files
+				Class<?> componentType = Object.class;
+				if (!elements.isEmpty()) {
+					Object firstElement = elements.get(0);
+					componentType = (firstElement instanceof Enum ?
+							((Enum<?>) firstElement).getDeclaringClass() : firstElement.getClass());
+				}
+				return elements.toArray((Object[]) Array.newInstance(componentType, elements.size()));
+			}
+			default:
+				throw new IOException("Unexpected array component tag '" + componentTag + "'");
+		}
+	}
+
+
+	static String readString(DataInput in) throws IOException {
+		byte[] bytes = new byte[in.readInt()];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	@Nullable
+	static String readNullableString(DataInput in) throws IOException {
+		return (in.readBoolean() ? readString(in) : null);
+	}
+
+	static String[] readStrings(DataInput in) throws IOException {
+		String[] strings = new String[in.readInt()];
+		for (int i = 0; i < strings.length; i++) {
+			strings[i] = readString(in);
+		}
+		return strings;
+	}
+
+}
@@ -0,0 +1,319 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.type.classreading;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.core.annotation.MergedAnnotation;
+import org.springframework.core.annotation.MergedAnnotations;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.core.type.MethodMetadata;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Encodes {@link SimpleAnnotationMetadata} into the binary form read by
+ * {@link ClassMetadataDecoder}, i.e. the same form that {@code spring-context-indexer}
+ * writes at build time.
+ *
+ * <p>Only explicitly declared attribute values are encoded: attributes that
+ * are equivalent to their default value are left out, as for the
+ * corresponding class file attributes.
+ *
+ * @since 5.2.1
+ * @see PersistentMetadataReaderFactory
+ */
+final class ClassMetadataEncoder {
+
+	private ClassMetadataEncoder() {
+	}
+
+
+	/**
+	 * Encode the given metadata, if it was read from a class file.
+	 * @param metadata the metadata to encode
+	 * @return the encoded metadata, or {@code null} if the given metadata
+	 * is not supported
+	 */
+	@Nullable
+	static byte[] encode(AnnotationMetadata metadata) {
+		if (!(metadata instanceof SimpleAnnotationMetadata)) {
+			return null;
+		}
+		SimpleAnnotationMetadata simpleMetadata = (SimpleAnnotationMetadata) metadata;
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			out.writeInt(simpleMetadata.getAccess());
+			writeNullableString(out, simpleMetadata.getEnclosingClassName());
+			writeNullableString(out, simpleMetadata.getSuperClassName());
+			out.writeBoolean(simpleMetadata.isIndependent());
+			writeStrings(out, simpleMetadata.getInterfaceNames());
+			writeStrings(out, simpleMetadata.getMemberClassNames());
+			writeAnnotations(out, simpleMetadata.getAnnotations());
+			MethodMetadata[] annotatedMethods = simpleMetadata.getAllAnnotatedMethods();
+			out.writeInt(annotatedMethods.length);
+			for (MethodMetadata method : annotatedMethods) {
+				String descriptor = getDescriptor(method);
+				if (!(method instanceof SimpleMethodMetadata) || descriptor == null) {
+					return null;
+				}
+				writeString(out, method.getMethodName());
+				out.writeInt(((SimpleMethodMetadata) method).getAccess());
+				writeString(out, descriptor);
+				writeAnnotations(out, method.getAnnotations());
+			}
+		}
+		catch (IOException | RuntimeException ex) {
+			return null;
+		}
+		return bytes.toByteArray();
+	}
+
+	@Nullable
+	private static String getDescriptor(MethodMetadata method) {
+		MergedAnnotation<?> annotation = method.getAnnotations().stream().findFirst().orElse(null);
+		Object source = (annotation != null ? annotation.getSource() : null);
+		return (source instanceof SimpleMethodMetadataReadingVisitor.Source ?
+				((SimpleMethodMetadataReadingVisitor.Source) source).getDescriptor() : null);
+	}
+
+	private static void writeAnnotations(DataOutput out, MergedAnnotations annotations) throws IOException {
+		List<MergedAnnotation<Annotation>> directAnnotations = new ArrayList<>();
+		annotations.stream().filter(MergedAnnotation::isDirectlyPresent).forEach(directAnnotations::add);
+		out.writeInt(directAnnotations.size());
+		for (MergedAnnotation<?> annotation : directAnnotations) {
+			writeAnnotation(out, annotation);
+		}
+	}
+
+	private static void writeAnnotation(DataOutput out, MergedAnnotation<?> annotation) throws IOException {
+		writeString(out, annotation.getType().getName());
+		List<Method> attributes = new ArrayList<>();
+		for (Method attribute : annotation.getType().getDeclaredMethods()) {
+			if (attribute.getParameterCount() == 0 && attribute.getReturnType() != void.class &&
+					!hasDefaultValue(annotation, attribute)) {
+				attributes.add(attribute);
+			}
+		}
+		out.writeInt(attributes.size());
+		for (Method attribute : attributes) {
+			writeString(out, attribute.getName());
+			writeAttribute(out, annotation, attribute.getName(), attribute.getReturnType());
+		}
+	}
+
+	private static boolean hasDefaultValue(MergedAnnotation<?> annotation, Method attribute) {
+		Class<?> type = attribute.getReturnType();
+		if (type.isAnnotation() || (type.isArray() && type.getComponentType().isAnnotation())) {
+			// Nested annotations are always encoded, not compared to their defaults
+			return false;
+		}
+		return annotation.hasDefaultValue(attribute.getName());
+	}
+
+	@SuppressWarnings("unchecked")
+	private static void writeAttribute(DataOutput out, MergedAnnotation<?> annotation, String name, Class<?> type)
+			throws IOException {
+
+		if (!type.isArray()) {
+			writeValue(out, type, getValue(annotation, name, type));
+			return;
+		}
+		Class<?> componentType = type.getComponentType();
+		out.writeByte('[');
+		if (componentType.isPrimitive()) {
+			writePrimitiveArray(out, componentType, annotation.getValue(name, type).get());
+			return;
+		}
+		Object[] elements;
+		if (componentType == Class.class) {
+			elements = annotation.getValue(name, String[].class).get();
+		}
+		else if (componentType.isAnnotation()) {
+			elements = annotation.getAnnotationArray(name, (Class<? extends Annotation>) componentType);
+		}
+		else {
+			elements = (Object[]) annotation.getValue(name, type).get();
+		}
+		out.writeByte('L');
+		out.writeInt(elements.length);
+		for (Object element : elements) {
+			writeValue(out, componentType, element);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Object getValue(MergedAnnotation<?> annotation, String name, Class<?> type) {
+		if (type == Class.class) {
+			return annotation.getValue(name, String.class).get();
+		}
+		if (type.isAnnotation()) {
+			return annotation.getAnnotation(name, (Class<? extends Annotation>) type);
+		}
+		return annotation.getValue(name, ClassUtils.resolvePrimitiveIfNecessary(type)).get();
+	}
+
+	private static void writeValue(DataOutput out, Class<?> type, Object value) throws IOException {
+		if (type == boolean.class) {
+			out.writeByte('Z');
+			out.writeBoolean((Boolean) value);
+		}
+		else if (type == byte.class) {
+			out.writeByte('B');
+			out.writeByte((Byte) value);
+		}
+		else if (type == char.class) {
+			out.writeByte('C');
+			out.writeChar((Character) value);
+		}
+		else if (type == short.class) {
+			out.writeByte('S');
+			out.writeShort((Short) value);
+		}
+		else if (type == int.class) {
+			out.writeByte('I');
+			out.writeInt((Integer) value);
+		}
+		else if (type == long.class) {
+			out.writeByte('J');
+			out.writeLong((Long) value);
+		}
+		else if (type == float.class) {
+			out.writeByte('F');
+			out.writeFloat((Float) value);
+		}
+		else if (type == double.class) {
+			out.writeByte('D');
+			out.writeDouble((Double) value);
+		}
+		else if (type == String.class) {
+			out.writeByte('s');
+			writeString(out, (String) value);
+		}
+		else if (type == Class.class) {
+			out.writeByte('c');
+			writeString(out, (String) value);
+		}
+		else if (type.isEnum()) {
+			Enum<?> enumValue = (Enum<?>) value;
+			out.writeByte('e');
+			writeString(out, enumValue.getDeclaringClass().getName());
+			writeString(out, enumValue.name());
+		}
+		else if (type.isAnnotation()) {
+			out.writeByte('@');
+			writeAnnotation(out, (MergedAnnotation<?>) value);
+		}
+		else {
+			throw new IllegalArgumentException("Unsupported attribute type " + type.getName());
+		}
+	}
+
+	private static void writePrimitiveArray(DataOutput out, Class<?> componentType, Object array) throws IOException {
+		if (componentType == boolean.class) {
+			boolean[] values = (boolean[]) array;
+			out.writeByte('Z');
+			out.writeInt(values.length);
+			for (boolean value : values) {
+				out.writeBoolean(value);
+			}
+		}
+		else if (componentType == byte.class) {
+			byte[] values = (byte[]) array;
+			out.writeByte('B');
+			out.writeInt(values.length);
+			out.write(values);
+		}
+		else if (componentType == char.class) {
+			char[] values = (char[]) array;
+			out.writeByte('C');
+			out.writeInt(values.length);
+			for (char value : values) {
+				out.writeChar(value);
+			}
+		}
+		else if (componentType == short.class) {
+			short[] values = (short[]) array;
+			out.writeByte('S');
+			out.writeInt(values.length);
+			for (short value : values) {
+				out.writeShort(value);
+			}
+		}
+		else if (componentType == int.class) {
+			int[] values = (int[]) array;
+			out.writeByte('I');
+			out.writeInt(values.length);
+			for (int value : values) {
+				out.writeInt(value);
+			}
+		}
+		else if (componentType == long.class) {
+			long[] values = (long[]) array;
+			out.writeByte('J');
+			out.writeInt(values.length);
+			for (long value : values) {
+				out.writeLong(value);
+			}
+		}
+		else if (componentType == float.class) {
+			float[] values = (float[]) array;
+			out.writeByte('F');
+			out.writeInt(values.length);
+			for (float value : values) {
+				out.writeFloat(value);
+			}
+		}
+		else {
+			double[] values = (double[]) array;
+			out.writeByte('D');
+			out.writeInt(values.length);
+			for (double value : values) {
+				out.writeDouble(value);
+			}
+		}
+	}
+
+	static void writeString(DataOutput out, String value) throws IOException {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static void writeNullableString(DataOutput out, @Nullable String value) throws IOException {
+		out.writeBoolean(value != null);
+		if (value != null) {
+			writeString(out, value);
+		}
+	}
+
+	private static void writeStrings(DataOutput out, String[] values) throws IOException {
+		out.writeInt(values.length);
+		for (String value : values) {
+			writeString(out, value);
+		}
+	}
+
+}
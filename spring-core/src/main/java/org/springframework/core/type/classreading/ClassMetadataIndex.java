@@ -0,0 +1,197 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.type.classreading;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.core.SpringProperties;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+
+/**
+ * Index of class metadata generated at build time by {@code spring-context-indexer},
+ * allowing {@link SimpleMetadataReaderFactory} to expose {@link AnnotationMetadata}
+ * for indexed classes without parsing their class files.
+ *
+ * <p>The index resources contain the same information that
+ * {@link SimpleAnnotationMetadataReadingVisitor} collects via ASM: class structure,
+ * directly present runtime-visible annotations with their explicitly declared
+ * attribute values, and annotated methods. Entries are decoded lazily and cached
+ * per index instance. If an entry cannot be decoded (e.g. since an enum type it
+ * refers to is not present), the class is read from its class file instead.
+ *
+ * @since 5.2.1
+ * @see #METADATA_RESOURCE_LOCATION
+ */
+final class ClassMetadataIndex {
+
+	/**
+	 * The location to look for class metadata.
+	 * <p>Can be present in multiple JAR files.
+	 */
+	static final String METADATA_RESOURCE_LOCATION = "META-INF/spring.components.metadata";
+
+	/**
+	 * System property that instructs Spring to ignore the index, shared with the
+	 * candidate components index in {@code spring-context}.
+	 */
+	static final String IGNORE_INDEX = "spring.index.ignore";
+
+	/** Marker at the start of each index resource: "SPCM". */
+	static final int MAGIC = 0x5350434D;
+
+	/** Version of the index format. */
+	static final int VERSION = 1;
+
+	private static final Object UNDECODABLE = new Object();
+
+	private static final ClassMetadataIndex EMPTY = new ClassMetadataIndex(Collections.emptyMap(), null);
+
+	private static final boolean shouldIgnoreIndex = SpringProperties.getFlag(IGNORE_INDEX);
+
+	private static final Log logger = LogFactory.getLog(ClassMetadataIndex.class);
+
+	private static final ConcurrentMap<ClassLoader, Map<String, byte[]>> cache =
+			new ConcurrentReferenceHashMap<>();
+
+
+	private final Map<String, byte[]> entries;
+
+	private final ClassMetadataDecoder decoder;
+
+	private final Map<String, Object> metadataCache = new ConcurrentHashMap<>();
+
+
+	private ClassMetadataIndex(Map<String, byte[]> entries, @Nullable ClassLoader classLoader) {
+		this.entries = entries;
+		this.decoder = new ClassMetadataDecoder(classLoader);
+	}
+
+
+	/**
+	 * Return the metadata for the given class, if indexed.
+	 * @param className the fully qualified class name
+	 * @return the metadata, or {@code null} if the class is not indexed or
+	 * its metadata cannot be decoded
+	 */
+	@Nullable
+	AnnotationMetadata getAnnotationMetadata(String className) {
+		if (this.entries.isEmpty()) {
+			return null;
+		}
+		Object metadata = this.metadataCache.get(className);
+		if (metadata == null) {
+			byte[] entry = this.entries.get(className);
+			if (entry == null) {
+				return null;
+			}
+			metadata = decode(className, entry);
+			this.metadataCache.put(className, metadata);
+		}
+		return (metadata instanceof AnnotationMetadata ? (AnnotationMetadata) metadata : null);
+	}
+
+	private Object decode(String className, byte[] entry) {
+		try {
+			return this.decoder.decode(className, entry);
+		}
+		catch (IOException | RuntimeException | LinkageError ex) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Failed to decode indexed metadata for class [" + className + "]", ex);
+			}
+			return UNDECODABLE;
+		}
+	}
+
+	/**
+	 * Load the index for the given class loader, from all
+	 * {@value #METADATA_RESOURCE_LOCATION} resources.
+	 * @param classLoader the ClassLoader to use (can be {@code null} to use the default)
+	 * @return the index to use (never {@code null}, but possibly empty)
+	 */
+	static ClassMetadataIndex load(@Nullable ClassLoader classLoader) {
+		if (shouldIgnoreIndex) {
+			return EMPTY;
+		}
+		ClassLoader classLoaderToUse = classLoader;
+		if (classLoaderToUse == null) {
+			classLoaderToUse = ClassUtils.getDefaultClassLoader();
+			if (classLoaderToUse == null) {
+				return EMPTY;
+			}
+		}
+		Map<String, byte[]> entries = cache.computeIfAbsent(classLoaderToUse, ClassMetadataIndex::loadEntries);
+		return (entries.isEmpty() ? EMPTY : new ClassMetadataIndex(entries, classLoader));
+	}
+
+	private static Map<String, byte[]> loadEntries(ClassLoader classLoader) {
+		try {
+			Enumeration<URL> urls = classLoader.getResources(METADATA_RESOURCE_LOCATION);
+			if (!urls.hasMoreElements()) {
+				return Collections.emptyMap();
+			}
+			Map<String, byte[]> entries = new HashMap<>();
+			while (urls.hasMoreElements()) {
+				URL url = urls.nextElement();
+				try (InputStream is = url.openStream()) {
+					readEntries(is, url, entries);
+				}
+			}
+			if (logger.isDebugEnabled()) {
+				logger.debug("Loaded indexed metadata for " + entries.size() + " classes");
+			}
+			return entries;
+		}
+		catch (IOException ex) {
+			throw new IllegalStateException("Unable to load indexes from location [" +
+					METADATA_RESOURCE_LOCATION + "]", ex);
+		}
+	}
+
+	private static void readEntries(InputStream is, URL url, Map<String, byte[]> entries) throws IOException {
+		DataInputStream in = new DataInputStream(new BufferedInputStream(is));
+		if (in.readInt() != MAGIC || in.readByte() != VERSION) {
+			logger.debug("Ignoring class metadata index with unsupported format: " + url);
+			return;
+		}
+		int count = in.readInt();
+		for (int i = 0; i < count; i++) {
+			String className = ClassMetadataDecoder.readString(in);
+			ClassMetadataDecoder.readString(in);  // source type, only relevant at build time
+			byte[] entry = new byte[in.readInt()];
+			in.readFully(entry);
+			// First one wins, as with class files on the class path
+			entries.putIfAbsent(className, entry);
+		}
+	}
+
+}
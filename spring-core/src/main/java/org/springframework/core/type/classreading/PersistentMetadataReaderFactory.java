@@ -0,0 +1,406 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.type.classreading;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.ResourceUtils;
+
+/**
+ * {@link CachingMetadataReaderFactory} that additionally persists the metadata of
+ * classes read from jar files in a cache directory, allowing subsequent JVMs
+ * to obtain that metadata without parsing the class files again.
+ *
+ * <p>One cache file is kept per jar file (or outermost archive for nested jars),
+ * holding the encoded metadata of all classes read from it. Each cache file is
+ * keyed by the absolute path, size and last-modified timestamp of its archive:
+ * if the archive changes, its cached entries are ignored and the cache file is
+ * rewritten on the next {@link #flush()}. Cache files are memory-mapped when
+ * loaded, and entries are only decoded when requested. Classes in the file
+ * system (e.g. in exploded build output) are not persisted.
+ *
+ * <p>New entries are written on {@link #flush()}, which is also triggered by
+ * {@link #clearCache()}, e.g. at the end of configuration class processing.
+ * {@link #clearCache()} additionally releases all loaded and decoded entries.
+ * Cache files are replaced atomically where supported by the file system.
+ *
+ * <p>As with {@link SimpleMetadataReader}, annotations whose types are not
+ * present are not part of the metadata. A cache directory is therefore meant
+ * to be used with a specific application class path, e.g. per deployed image.
+ *
+ * @since 5.2.1
+ * @see #flush()
+ */
+public class PersistentMetadataReaderFactory extends CachingMetadataReaderFactory {
+
+	/** Marker at the start of each cache file: "SPMR". */
+	private static final int MAGIC = 0x53504D52;
+
+	/** Version of the cache file format. */
+	private static final int VERSION = 1;
+
+	private static final String CACHE_FILE_SUFFIX = ".metadata";
+
+	private static final Log logger = LogFactory.getLog(PersistentMetadataReaderFactory.class);
+
+
+	private final File cacheDirectory;
+
+	private final ClassMetadataDecoder decoder;
+
+	private final Map<File, ArchiveCache> archiveCaches = new ConcurrentHashMap<>();
+
+
+	/**
+	 * Create a new PersistentMetadataReaderFactory for the default class loader,
+	 * using a local resource cache.
+	 * @param cacheDirectory the directory to keep cache files in
+	 * (created on demand)
+	 */
+	public PersistentMetadataReaderFactory(File cacheDirectory) {
+		super();
+		this.cacheDirectory = validateCacheDirectory(cacheDirectory);
+		this.decoder = new ClassMetadataDecoder(getResourceLoader().getClassLoader());
+	}
+
+	/**
+	 * Create a new PersistentMetadataReaderFactory for the given {@link ClassLoader},
+	 * using a local resource cache.
+	 * @param cacheDirectory the directory to keep cache files in
+	 * (created on demand)
+	 * @param classLoader the ClassLoader to use
+	 */
+	public PersistentMetadataReaderFactory(File cacheDirectory, @Nullable ClassLoader classLoader) {
+		super(classLoader);
+		this.cacheDirectory = validateCacheDirectory(cacheDirectory);
+		this.decoder = new ClassMetadataDecoder(getResourceLoader().getClassLoader());
+	}
+
+	/**
+	 * Create a new PersistentMetadataReaderFactory for the given {@link ResourceLoader},
+	 * using a shared resource cache if supported or a local resource cache otherwise.
+	 * @param cacheDirectory the directory to keep cache files in
+	 * (created on demand)
+	 * @param resourceLoader the Spring ResourceLoader to use
+	 * (also determines the ClassLoader to use)
+	 */
+	public PersistentMetadataReaderFactory(File cacheDirectory, @Nullable ResourceLoader resourceLoader) {
+		super(resourceLoader);
+		this.cacheDirectory = validateCacheDirectory(cacheDirectory);
+		this.decoder = new ClassMetadataDecoder(getResourceLoader().getClassLoader());
+	}
+
+	private static File validateCacheDirectory(File cacheDirectory) {
+		Assert.notNull(cacheDirectory, "Cache directory must not be null");
+		Assert.isTrue(!cacheDirectory.isFile(), () -> "Cache directory [" + cacheDirectory + "] is a file");
+		return cacheDirectory.getAbsoluteFile();
+	}
+
+
+	/**
+	 * Return the directory that cache files are kept in.
+	 */
+	public File getCacheDirectory() {
+		return this.cacheDirectory;
+	}
+
+	@Override
+	public MetadataReader getMetadataReader(Resource resource) throws IOException {
+		ArchiveCache archiveCache = getArchiveCache(resource);
+		if (archiveCache == null) {
+			return super.getMetadataReader(resource);
+		}
+		String entryName = resource.getURL().toExternalForm();
+		MetadataReader metadataReader = archiveCache.getMetadataReader(entryName, resource);
+		if (metadataReader == null) {
+			metadataReader = super.getMetadataReader(resource);
+			archiveCache.add(entryName, metadataReader);
+		}
+		return metadataReader;
+	}
+
+	@Nullable
+	private ArchiveCache getArchiveCache(Resource resource) {
+		try {
+			URL url = resource.getURL();
+			if (!ResourceUtils.isJarURL(url)) {
+				return null;
+			}
+			File archive = ResourceUtils.getFile(ResourceUtils.extractArchiveURL(url)).getAbsoluteFile();
+			return this.archiveCaches.computeIfAbsent(archive, ArchiveCache::new);
+		}
+		catch (IOException ex) {
+			// Archive not resolvable in the file system
+			return null;
+		}
+	}
+
+	/**
+	 * Write all entries added since the cache files were loaded or last flushed.
+	 * <p>Failures to write a cache file are logged and otherwise ignored.
+	 */
+	public void flush() {
+		for (ArchiveCache archiveCache : this.archiveCaches.values()) {
+			archiveCache.flush();
+		}
+	}
+
+	/**
+	 * Flush the persistent cache and release all in-memory state, including
+	 * the local MetadataReader cache, if any. Cache files are loaded again
+	 * on demand.
+	 * @see #flush()
+	 */
+	@Override
+	public void clearCache() {
+		flush();
+		this.archiveCaches.clear();
+		super.clearCache();
+	}
+
+
+	private static String readString(ByteBuffer buffer) {
+		byte[] bytes = new byte[buffer.getInt()];
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+
+	/**
+	 * Persistent cache for the classes of one archive.
+	 */
+	private class ArchiveCache {
+
+		private final File archive;
+
+		private final File cacheFile;
+
+		private final long archiveLength;
+
+		private final long archiveLastModified;
+
+		private final Map<String, CacheEntry> entries = new ConcurrentHashMap<>();
+
+		private final Map<String, MetadataReader> metadataReaders = new ConcurrentHashMap<>();
+
+		@Nullable
+		private final ByteBuffer mappedFile;
+
+		private volatile boolean modified;
+
+		ArchiveCache(File archive) {
+			this.archive = archive;
+			this.cacheFile = new File(cacheDirectory, DigestUtils.md5DigestAsHex(
+					archive.getPath().getBytes(StandardCharsets.UTF_8)) + CACHE_FILE_SUFFIX);
+			this.archiveLength = archive.length();
+			this.archiveLastModified = archive.lastModified();
+			this.mappedFile = load();
+		}
+
+		@Nullable
+		private ByteBuffer load() {
+			if (!this.cacheFile.isFile()) {
+				return null;
+			}
+			try (FileChannel channel = FileChannel.open(this.cacheFile.toPath(), StandardOpenOption.READ)) {
+				ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+				if (buffer.getInt() != MAGIC || buffer.get() != VERSION ||
+						!this.archive.getPath().equals(readString(buffer)) ||
+						buffer.getLong() != this.archiveLength || buffer.getLong() != this.archiveLastModified) {
+					if (logger.isDebugEnabled()) {
+						logger.debug("Ignoring outdated metadata cache file [" + this.cacheFile +
+								"] for archive [" + this.archive + "]");
+					}
+					return null;
+				}
+				int count = buffer.getInt();
+				for (int i = 0; i < count; i++) {
+					String entryName = readString(buffer);
+					String className = readString(buffer);
+					int length = buffer.getInt();
+					this.entries.put(entryName, new CacheEntry(className, buffer.position(), length));
+					buffer.position(buffer.position() + length);
+				}
+				if (logger.isDebugEnabled()) {
+					logger.debug("Loaded cached metadata for " + count + " classes in archive [" + this.archive + "]");
+				}
+				return buffer;
+			}
+			catch (IOException | RuntimeException ex) {
+				if (logger.isDebugEnabled()) {
+					logger.debug("Failed to load metadata cache file [" + this.cacheFile + "]", ex);
+				}
+				this.entries.clear();
+				return null;
+			}
+		}
+
+		@Nullable
+		MetadataReader getMetadataReader(String entryName, Resource resource) {
+			MetadataReader metadataReader = this.metadataReaders.get(entryName);
+			if (metadataReader != null) {
+				return metadataReader;
+			}
+			CacheEntry entry = this.entries.get(entryName);
+			if (entry == null) {
+				return null;
+			}
+			try {
+				AnnotationMetadata metadata = decoder.decode(entry.className, entry.getPayload(this.mappedFile));
+				metadataReader = new IndexedMetadataReader(resource, metadata);
+				this.metadataReaders.put(entryName, metadataReader);
+				return metadataReader;
+			}
+			catch (IOException | RuntimeException | LinkageError ex) {
+				if (logger.isDebugEnabled()) {
+					logger.debug("Failed to decode cached metadata for [" + entryName + "]", ex);
+				}
+				return null;
+			}
+		}
+
+		void add(String entryName, MetadataReader metadataReader) {
+			AnnotationMetadata metadata = metadataReader.getAnnotationMetadata();
+			byte[] payload = ClassMetadataEncoder.encode(metadata);
+			if (payload != null) {
+				this.entries.put(entryName, new CacheEntry(metadata.getClassName(), payload));
+				this.metadataReaders.put(entryName, metadataReader);
+				this.modified = true;
+			}
+		}
+
+		synchronized void flush() {
+			if (!this.modified) {
+				return;
+			}
+			this.modified = false;
+			List<Map.Entry<String, CacheEntry>> entries = new ArrayList<>(this.entries.entrySet());
+			Path tempFile = null;
+			try {
+				Files.createDirectories(cacheDirectory.toPath());
+				tempFile = Files.createTempFile(cacheDirectory.toPath(), this.cacheFile.getName(), ".tmp");
+				try (OutputStream os = Files.newOutputStream(tempFile);
+						DataOutputStream out = new DataOutputStream(new BufferedOutputStream(os))) {
+					out.writeInt(MAGIC);
+					out.writeByte(VERSION);
+					ClassMetadataEncoder.writeString(out, this.archive.getPath());
+					out.writeLong(this.archiveLength);
+					out.writeLong(this.archiveLastModified);
+					out.writeInt(entries.size());
+					for (Map.Entry<String, CacheEntry> entry : entries) {
+						byte[] payload = entry.getValue().getPayload(this.mappedFile);
+						ClassMetadataEncoder.writeString(out, entry.getKey());
+						ClassMetadataEncoder.writeString(out, entry.getValue().className);
+						out.writeInt(payload.length);
+						out.write(payload);
+					}
+				}
+				try {
+					Files.move(tempFile, this.cacheFile.toPath(),
+							StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+				}
+				catch (AtomicMoveNotSupportedException ex) {
+					Files.move(tempFile, this.cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+				}
+				if (logger.isDebugEnabled()) {
+					logger.debug("Wrote cached metadata for " + entries.size() + " classes in archive [" +
+							this.archive + "] to [" + this.cacheFile + "]");
+				}
+			}
+			catch (IOException ex) {
+				logger.info("Failed to write metadata cache file [" + this.cacheFile + "]: " + ex);
+				if (tempFile != null) {
+					try {
+						Files.deleteIfExists(tempFile);
+					}
+					catch (IOException ignored) {
+					}
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * The encoded metadata of one class: either a region of the
+	 * memory-mapped cache file or a newly encoded payload.
+	 */
+	private static final class CacheEntry {
+
+		final String className;
+
+		private final int offset;
+
+		private final int length;
+
+		@Nullable
+		private final byte[] payload;
+
+		CacheEntry(String className, int offset, int length) {
+			this.className = className;
+			this.offset = offset;
+			this.length = length;
+			this.payload = null;
+		}
+
+		CacheEntry(String className, byte[] payload) {
+			this.className = className;
+			this.offset = 0;
+			this.length = payload.length;
+			this.payload = payload;
+		}
+
+		byte[] getPayload(@Nullable ByteBuffer mappedFile) {
+			if (this.payload != null) {
+				return this.payload;
+			}
+			Assert.state(mappedFile != null, "No mapped cache file");
+			byte[] bytes = new byte[this.length];
+			ByteBuffer buffer = mappedFile.duplicate();
+			buffer.position(this.offset);
+			buffer.get(bytes);
+			return bytes;
+		}
+	}
+
+}
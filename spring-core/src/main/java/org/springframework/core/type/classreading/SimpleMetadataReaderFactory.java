@@ -22,6 +22,7 @@ import java.io.IOException;
 import org.springframework.core.io.DefaultResourceLoader;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.type.AnnotationMetadata;
 import org.springframework.lang.Nullable;
 import org.springframework.util.ClassUtils;
 
@@ -29,6 +30,11 @@ import org.springframework.util.ClassUtils;
  * Simple implementation of the {@link MetadataReaderFactory} interface,
  * creating a new ASM {@link org.springframework.asm.ClassReader} for every request.
  *
+ * <p>As of 5.2.1, class name based lookups are served from the build-time metadata
+ * index written by {@code spring-context-indexer} (in
+ * {@code META-INF/spring.components.metadata}) where available, without
+ * reading the class file.
+ *
  * @author Juergen Hoeller
  * @since 2.5
  */
@@ -36,6 +42,9 @@ public class SimpleMetadataReaderFactory implements MetadataReaderFactory {
 
 	private final ResourceLoader resourceLoader;
 
+	@Nullable
+	private volatile ClassMetadataIndex metadataIndex;
+
 
 	/**
 	 * Create a new SimpleMetadataReaderFactory for the default class loader.
@@ -74,6 +83,10 @@ public class SimpleMetadataReaderFactory implements MetadataReaderFactory {
 
 	@Override
 	public MetadataReader getMetadataReader(String className) throws IOException {
+		MetadataReader indexedReader = getIndexedMetadataReader(className);
+		if (indexedReader != null) {
+			return indexedReader;
+		}
 		try {
 			// 将包路径，转换成资源路径，并加上.class后缀
 			String resourcePath = ResourceLoader.CLASSPATH_URL_PREFIX +
@@ -107,4 +120,27 @@ public class SimpleMetadataReaderFactory implements MetadataReaderFactory {
 		return new SimpleMetadataReader(resource, this.resourceLoader.getClassLoader());
 	}
 
+	/**
+	 * Return a MetadataReader for the given class from the build-time
+	 * metadata index, if available.
+	 * @param className the class name (to be resolved to a ".class" file)
+	 * @return the MetadataReader, or {@code null} if the class is not indexed
+	 * @since 5.2.1
+	 */
+	@Nullable
+	private MetadataReader getIndexedMetadataReader(String className) {
+		ClassMetadataIndex index = this.metadataIndex;
+		if (index == null) {
+			index = ClassMetadataIndex.load(this.resourceLoader.getClassLoader());
+			this.metadataIndex = index;
+		}
+		AnnotationMetadata metadata = index.getAnnotationMetadata(className);
+		if (metadata == null) {
+			return null;
+		}
+		String resourcePath = ResourceLoader.CLASSPATH_URL_PREFIX +
+				ClassUtils.convertClassNameToResourcePath(className) + ClassUtils.CLASS_FILE_SUFFIX;
+		return new IndexedMetadataReader(this.resourceLoader.getResource(resourcePath), metadata);
+	}
+
 }
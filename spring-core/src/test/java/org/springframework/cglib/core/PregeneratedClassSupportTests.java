@@ -0,0 +1,176 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cglib.core;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.cglib.proxy.Callback;
+import org.springframework.cglib.proxy.CallbackFilter;
+import org.springframework.cglib.proxy.Enhancer;
+import org.springframework.cglib.proxy.FixedValue;
+import org.springframework.cglib.proxy.NoOp;
+import org.springframework.core.OverridingClassLoader;
+import org.springframework.core.SpringProperties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link PregeneratedClassSupport}.
+ */
+class PregeneratedClassSupportTests {
+
+	private static final Class<?>[] CALLBACK_TYPES = new Class<?>[] {NoOp.class, FixedValue.class};
+
+	@TempDir
+	File directory;
+
+
+	@AfterEach
+	void clearProperties() {
+		SpringProperties.setProperty(PregeneratedClassSupport.LOCATION_PROPERTY_NAME, null);
+		SpringProperties.setProperty(PregeneratedClassSupport.ENABLED_PROPERTY_NAME, null);
+	}
+
+
+	@Test
+	void notEnabledByDefault() {
+		assertThat(PregeneratedClassSupport.isEnabled()).isFalse();
+		Enhancer enhancer = new Enhancer();
+		PregeneratedClassSupport.configure(enhancer, getClass(), Sample.class, null,
+				new SampleCallbackFilter(1), CALLBACK_TYPES);
+		assertThat(enhancer.getNamingPolicy()).isSameAs(DefaultNamingPolicy.INSTANCE);
+		assertThat(enhancer.getAttemptLoad()).isFalse();
+	}
+
+	@Test
+	void classesAreWrittenAndLoaded() throws Exception {
+		SpringProperties.setProperty(PregeneratedClassSupport.LOCATION_PROPERTY_NAME, this.directory.getPath());
+		PregeneratedClassLoader classLoader = new PregeneratedClassLoader(this.directory);
+		Supplier<?> written = createProxy(classLoader, 1);
+		String className = written.getClass().getName();
+		assertThat(written.get()).isEqualTo("fixed");
+		assertThat(new File(this.directory, className.replace('.', File.separatorChar) + ".class")).isFile();
+		assertThat(classLoader.loadedClassNames).isEmpty();
+
+		SpringProperties.setProperty(PregeneratedClassSupport.LOCATION_PROPERTY_NAME, null);
+		SpringProperties.setFlag(PregeneratedClassSupport.ENABLED_PROPERTY_NAME);
+		classLoader = new PregeneratedClassLoader(this.directory);
+		Supplier<?> loaded = createProxy(classLoader, 1);
+		assertThat(loaded.getClass().getName()).isEqualTo(className);
+		assertThat(loaded.get()).isEqualTo("fixed");
+		assertThat(classLoader.loadedClassNames).containsExactly(className);
+	}
+
+	@Test
+	void classIsGeneratedWhenSignatureChanged() throws Exception {
+		SpringProperties.setProperty(PregeneratedClassSupport.LOCATION_PROPERTY_NAME, this.directory.getPath());
+		String writtenClassName = createProxy(new PregeneratedClassLoader(this.directory), 1).getClass().getName();
+
+		SpringProperties.setProperty(PregeneratedClassSupport.LOCATION_PROPERTY_NAME, null);
+		SpringProperties.setFlag(PregeneratedClassSupport.ENABLED_PROPERTY_NAME);
+		PregeneratedClassLoader classLoader = new PregeneratedClassLoader(this.directory);
+		Supplier<?> generated = createProxy(classLoader, 0);
+		assertThat(generated.getClass().getName()).isNotEqualTo(writtenClassName);
+		assertThat(generated.get()).isEqualTo("original");
+		assertThat(classLoader.loadedClassNames).isEmpty();
+	}
+
+	private Supplier<?> createProxy(ClassLoader classLoader, int callbackIndex) throws Exception {
+		Class<?> superclass = classLoader.loadClass(Sample.class.getName());
+		CallbackFilter filter = new SampleCallbackFilter(callbackIndex);
+		Enhancer enhancer = new Enhancer();
+		enhancer.setSuperclass(superclass);
+		enhancer.setCallbackFilter(filter);
+		enhancer.setCallbacks(new Callback[] {NoOp.INSTANCE, (FixedValue) () -> "fixed"});
+		PregeneratedClassSupport.configure(enhancer, getClass(), superclass, null, filter, CALLBACK_TYPES);
+		return (Supplier<?>) enhancer.create();
+	}
+
+
+	public static class Sample implements Supplier<String> {
+
+		@Override
+		public String get() {
+			return "original";
+		}
+	}
+
+
+	private static class SampleCallbackFilter implements CallbackFilter {
+
+		private final int callbackIndex;
+
+		SampleCallbackFilter(int callbackIndex) {
+			this.callbackIndex = callbackIndex;
+		}
+
+		@Override
+		public int accept(Method method) {
+			return (method.getName().equals("get") ? this.callbackIndex : 0);
+		}
+	}
+
+
+	/**
+	 * Loads {@link Sample} and its subclasses in isolation, picking up
+	 * pregenerated subclasses from the given directory.
+	 */
+	private static class PregeneratedClassLoader extends OverridingClassLoader {
+
+		private final File directory;
+
+		final Set<String> loadedClassNames = new HashSet<>();
+
+		PregeneratedClassLoader(File directory) {
+			super(PregeneratedClassSupportTests.class.getClassLoader());
+			this.directory = directory;
+		}
+
+		@Override
+		protected boolean isEligibleForOverriding(String className) {
+			return className.startsWith(Sample.class.getName());
+		}
+
+		@Override
+		protected InputStream openStreamForClass(String name) {
+			File file = new File(this.directory, name.replace('.', File.separatorChar) + ".class");
+			if (file.isFile()) {
+				try {
+					InputStream is = new FileInputStream(file);
+					this.loadedClassNames.add(name);
+					return is;
+				}
+				catch (FileNotFoundException ex) {
+					return null;
+				}
+			}
+			return super.openStreamForClass(name);
+		}
+	}
+
+}
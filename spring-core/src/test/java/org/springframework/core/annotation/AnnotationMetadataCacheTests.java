@@ -0,0 +1,123 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.annotation;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link AnnotationMetadataCache}.
+ */
+class AnnotationMetadataCacheTests {
+
+	@Test
+	void getCountsHitsAndMisses() {
+		AnnotationMetadataCache<String, String> cache = new AnnotationMetadataCache<>("test", 4);
+		assertThat(cache.get("a")).isNull();
+		assertThat(cache.put("a", "A")).isTrue();
+		assertThat(cache.get("a")).isEqualTo("A");
+		assertThat(cache.get("a")).isEqualTo("A");
+		AnnotationCacheStatistics statistics = cache.getStatistics();
+		assertThat(statistics.getName()).isEqualTo("test");
+		assertThat(statistics.getSize()).isEqualTo(1);
+		assertThat(statistics.getLimit()).isEqualTo(4);
+		assertThat(statistics.getHitCount()).isEqualTo(2);
+		assertThat(statistics.getMissCount()).isEqualTo(1);
+		assertThat(statistics.getEvictionCount()).isEqualTo(0);
+	}
+
+	@Test
+	void putWhenLimitReachedEvictsEldestEntries() {
+		AnnotationMetadataCache<String, String> cache = new AnnotationMetadataCache<>("test", 2);
+		cache.put("a", "A");
+		cache.put("b", "B");
+		cache.put("a", "A2");
+		cache.put("c", "C");
+		assertThat(cache.get("a")).isNull();
+		assertThat(cache.get("b")).isEqualTo("B");
+		assertThat(cache.get("c")).isEqualTo("C");
+		assertThat(cache.getStatistics().getSize()).isEqualTo(2);
+		assertThat(cache.getStatistics().getEvictionCount()).isEqualTo(1);
+	}
+
+	@Test
+	void putWhenUnboundedDoesNotEvict() {
+		AnnotationMetadataCache<Integer, Integer> cache = new AnnotationMetadataCache<>("test", 0);
+		for (int i = 0; i < 100; i++) {
+			cache.put(i, i);
+		}
+		assertThat(cache.getStatistics().getSize()).isEqualTo(100);
+		assertThat(cache.getStatistics().getEvictionCount()).isEqualTo(0);
+	}
+
+	@Test
+	void computeIfAbsentWhenFrozenComputesWithoutCaching() {
+		AnnotationMetadataCache<String, String> cache = new AnnotationMetadataCache<>("test", 4);
+		cache.computeIfAbsent("a", String::toUpperCase);
+		cache.freeze();
+		assertThat(cache.isFrozen()).isTrue();
+		assertThat(cache.put("b", "B")).isFalse();
+		assertThat(cache.computeIfAbsent("a", key -> "other")).isEqualTo("A");
+		assertThat(cache.computeIfAbsent("c", String::toUpperCase)).isEqualTo("C");
+		assertThat(cache.get("b")).isNull();
+		assertThat(cache.get("c")).isNull();
+		assertThat(cache.getStatistics().getSize()).isEqualTo(1);
+		assertThat(cache.getStatistics().isFrozen()).isTrue();
+	}
+
+	@Test
+	void clearRemovesEntriesAndUnfreezes() {
+		AnnotationMetadataCache<String, String> cache = new AnnotationMetadataCache<>("test", 4);
+		cache.put("a", "A");
+		cache.freeze();
+		cache.clear();
+		assertThat(cache.isFrozen()).isFalse();
+		assertThat(cache.get("a")).isNull();
+		assertThat(cache.put("a", "A")).isTrue();
+		assertThat(cache.getStatistics().getMissCount()).isEqualTo(1);
+	}
+
+	@Test
+	void annotationUtilsFreezeCacheKeepsServingCachedMetadata() {
+		AnnotationUtils.clearCache();
+		try {
+			assertThat(AnnotationUtils.findAnnotation(Example.class, Order.class)).isNotNull();
+			AnnotationUtils.freezeCache();
+			assertThat(AnnotationUtils.findAnnotation(Example.class, Order.class).value()).isEqualTo(1);
+			assertThat(AnnotationUtils.findAnnotation(FrozenExample.class, Order.class).value()).isEqualTo(2);
+			List<AnnotationCacheStatistics> statistics = AnnotationUtils.getCacheStatistics();
+			assertThat(statistics).hasSize(4).allMatch(AnnotationCacheStatistics::isFrozen);
+		}
+		finally {
+			AnnotationUtils.clearCache();
+		}
+		assertThat(AnnotationUtils.getCacheStatistics()).noneMatch(AnnotationCacheStatistics::isFrozen);
+	}
+
+
+	@Order(1)
+	static class Example {
+	}
+
+	@Order(2)
+	static class FrozenExample {
+	}
+
+}
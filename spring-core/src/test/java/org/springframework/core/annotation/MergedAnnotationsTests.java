@@ -2045,6 +2045,40 @@ class MergedAnnotationsTests {
 		assertThat(chars).containsExactly('x', 'y', 'z');
 	}
 
+	@Test
+	void synthesizeWithArrayReturnsNewArrayOnEachAccess() throws Exception {
+		Method method = WebController.class.getMethod("handleMappedWithValueAttribute");
+		RequestMapping webMapping = method.getAnnotation(RequestMapping.class);
+		RequestMapping synthesizedWebMapping = MergedAnnotation.from(
+				webMapping).synthesize();
+		assertThat(synthesizedWebMapping.path()).isNotSameAs(synthesizedWebMapping.path());
+		assertThat(synthesizedWebMapping.path()).isEqualTo(synthesizedWebMapping.path());
+	}
+
+	@Test
+	void synthesizedAnnotationsWithSameAttributesAreEqual() throws Exception {
+		Method method = WebController.class.getMethod("handleMappedWithValueAttribute");
+		RequestMapping webMapping = method.getAnnotation(RequestMapping.class);
+		RequestMapping synthesized1 = MergedAnnotation.from(webMapping).synthesize();
+		RequestMapping synthesized2 = MergedAnnotation.from(webMapping).synthesize();
+		assertThat(synthesized1).isNotSameAs(synthesized2);
+		assertThat(synthesized1).isEqualTo(synthesized2);
+		assertThat(synthesized1.hashCode()).isEqualTo(synthesized2.hashCode());
+	}
+
+	@Test
+	void synthesizedAnnotationWithEqualsAttribute() {
+		EqualsAttribute synthesized1 = MergedAnnotation.of(EqualsAttribute.class,
+				Collections.singletonMap("equals", "a")).synthesize();
+		EqualsAttribute synthesized2 = MergedAnnotation.of(EqualsAttribute.class,
+				Collections.singletonMap("equals", "a")).synthesize();
+		EqualsAttribute synthesized3 = MergedAnnotation.of(EqualsAttribute.class,
+				Collections.singletonMap("equals", "b")).synthesize();
+		assertThat(synthesized1.equals()).isEqualTo("a");
+		assertThat(synthesized1).isEqualTo(synthesized2);
+		assertThat(synthesized1).isNotEqualTo(synthesized3);
+	}
+
 	@Test
 	void getValueWhenHasDefaultOverride() {
 		MergedAnnotation<?> annotation = MergedAnnotations.from(
@@ -2104,6 +2138,12 @@ class MergedAnnotationsTests {
 		boolean readOnly() default false;
 	}
 
+	@Retention(RetentionPolicy.RUNTIME)
+	@interface EqualsAttribute {
+
+		String equals() default "";
+	}
+
 	@Transactional
 	@Component
 	@Retention(RetentionPolicy.RUNTIME)
@@ -444,6 +444,15 @@ class DefaultConversionServiceTests {
 		assertThat(result[2]).isEqualTo(3);
 	}
 
+	@Test
+	void convertStringToOtherPrimitiveArraysWithElementConversion() {
+		assertThat(conversionService.convert("1, 2", long[].class)).containsExactly(1L, 2L);
+		assertThat(conversionService.convert("1.5,2", double[].class)).containsExactly(1.5d, 2d);
+		assertThat(conversionService.convert("true,false", boolean[].class)).containsExactly(true, false);
+		assertThat(conversionService.convert("a,b", char[].class)).containsExactly('a', 'b');
+		assertThat(conversionService.convert("1,2", short[].class)).containsExactly((short) 1, (short) 2);
+	}
+
 	@Test
 	void convertEmptyStringToArray() {
 		String[] result = conversionService.convert("", String[].class);
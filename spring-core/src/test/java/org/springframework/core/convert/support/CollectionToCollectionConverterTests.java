@@ -227,6 +227,18 @@ class CollectionToCollectionConverterTests {
 		assertThat(conversionService.convert(resources, sourceType, new TypeDescriptor(getClass().getField("resources")))).isSameAs(resources);
 	}
 
+	@Test
+	void mixedElementTypes() throws Exception {
+		conversionService.addConverterFactory(new StringToNumberConverterFactory());
+		conversionService.addConverterFactory(new NumberToNumberConverterFactory());
+		List<Object> list = Arrays.asList("9", 37L, null, "42", 5, 6L);
+		TypeDescriptor sourceType = TypeDescriptor.forObject(list);
+		TypeDescriptor targetType = new TypeDescriptor(getClass().getField("scalarListTarget"));
+		@SuppressWarnings("unchecked")
+		List<Integer> result = (List<Integer>) conversionService.convert(list, sourceType, targetType);
+		assertThat(result).containsExactly(9, 37, null, 42, 5, 6);
+	}
+
 	@Test
 	void allNulls() throws Exception {
 		List<Resource> resources = new ArrayList<>();
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.env;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link CachingPropertySourcesPropertyResolver}.
+ */
+class CachingPropertySourcesPropertyResolverTests {
+
+	private Map<String, Object> source;
+
+	private MutablePropertySources propertySources;
+
+	private CachingPropertySourcesPropertyResolver propertyResolver;
+
+
+	@BeforeEach
+	void setUp() {
+		source = new HashMap<>();
+		propertySources = new MutablePropertySources();
+		propertySources.addFirst(new MapPropertySource("testSource", source));
+		propertyResolver = new CachingPropertySourcesPropertyResolver(propertySources);
+	}
+
+
+	@Test
+	void getPropertyIsCachedUntilPropertySourcesChange() {
+		source.put("foo", "bar");
+		assertThat(propertyResolver.getProperty("foo")).isEqualTo("bar");
+		source.put("foo", "baz");
+		assertThat(propertyResolver.getProperty("foo")).isEqualTo("bar");
+
+		propertySources.addFirst(new MapPropertySource("other", new HashMap<>()));
+		assertThat(propertyResolver.getProperty("foo")).isEqualTo("baz");
+	}
+
+	@Test
+	void missingPropertyIsCachedUntilSourceSignalsUpdate() {
+		assertThat(propertyResolver.getProperty("foo")).isNull();
+		assertThat(propertyResolver.containsProperty("foo")).isFalse();
+		source.put("foo", "bar");
+		assertThat(propertyResolver.getProperty("foo")).isNull();
+
+		propertySources.replace("testSource", propertySources.get("testSource"));
+		assertThat(propertyResolver.getProperty("foo")).isEqualTo("bar");
+		assertThat(propertyResolver.containsProperty("foo")).isTrue();
+	}
+
+	@Test
+	void clearCache() {
+		source.put("foo", "bar");
+		assertThat(propertyResolver.getProperty("foo")).isEqualTo("bar");
+		source.put("foo", "baz");
+		propertyResolver.clearCache();
+		assertThat(propertyResolver.getProperty("foo")).isEqualTo("baz");
+	}
+
+	@Test
+	void getPropertyWithConversion() {
+		source.put("enabled", "true");
+		source.put("count", "42");
+		assertThat(propertyResolver.getProperty("enabled", Boolean.class)).isTrue();
+		assertThat(propertyResolver.getProperty("enabled")).isEqualTo("true");
+		assertThat(propertyResolver.getProperty("count", Integer.class)).isEqualTo(42);
+		assertThat(propertyResolver.getProperty("count", Long.class)).isEqualTo(42L);
+	}
+
+	@Test
+	void getPropertyWithNestedPlaceholders() {
+		source.put("name", "spring");
+		source.put("greeting", "hello ${name}");
+		assertThat(propertyResolver.getProperty("greeting")).isEqualTo("hello spring");
+		assertThat(propertyResolver.getPropertyAsRawString("greeting")).isEqualTo("hello ${name}");
+		assertThat(propertyResolver.resolvePlaceholders("${greeting}!")).isEqualTo("hello spring!");
+
+		propertySources.addFirst(new MapPropertySource("override", Collections.singletonMap("name", "boot")));
+		assertThat(propertyResolver.getProperty("greeting")).isEqualTo("hello boot");
+		assertThat(propertyResolver.resolveRequiredPlaceholders("${greeting}!")).isEqualTo("hello boot!");
+	}
+
+	@Test
+	void unresolvablePlaceholdersAreNotCached() {
+		source.put("greeting", "hello ${name}");
+		assertThatIllegalArgumentException().isThrownBy(() -> propertyResolver.getProperty("greeting"));
+		assertThat(propertyResolver.resolvePlaceholders("${name}")).isEqualTo("${name}");
+
+		propertyResolver.setIgnoreUnresolvableNestedPlaceholders(true);
+		assertThat(propertyResolver.getProperty("greeting")).isEqualTo("hello ${name}");
+	}
+
+	@Test
+	void environmentWithCachingPropertyResolver() {
+		ConfigurableEnvironment environment = new StandardEnvironment() {
+			@Override
+			protected ConfigurablePropertyResolver createPropertyResolver(MutablePropertySources propertySources) {
+				return new CachingPropertySourcesPropertyResolver(propertySources);
+			}
+		};
+		assertThat(environment.getProperty("spring.test.flag")).isNull();
+		environment.getPropertySources().addFirst(new MapPropertySource("flags",
+				Collections.singletonMap("spring.test.flag", "on")));
+		assertThat(environment.getProperty("spring.test.flag")).isEqualTo("on");
+	}
+
+}
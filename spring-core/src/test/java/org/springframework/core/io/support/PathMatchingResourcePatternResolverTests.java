@@ -129,6 +129,18 @@ class PathMatchingResourcePatternResolverTests {
 		assertThat(found).as("Could not find aspectj_1_5_0.dtd in the root of the aspectjweaver jar").isTrue();
 	}
 
+	@Test
+	void parallelScanMatchesSequentialScan() throws IOException {
+		PathMatchingResourcePatternResolver parallelResolver = new PathMatchingResourcePatternResolver();
+		parallelResolver.setScanParallelism(4);
+		for (String pattern : new String[] {"classpath*:org/springframework/core/io/**/*.class",
+				"classpath*:reactor/util/**/*.class", "classpath:org/springframework/core/io/sup*/*.class"}) {
+			Resource[] resources = resolver.getResources(pattern);
+			assertThat(resources).isNotEmpty();
+			assertThat(parallelResolver.getResources(pattern)).containsExactly(resources);
+		}
+	}
+
 
 	private void assertProtocolAndFilenames(Resource[] resources, String protocol, String... filenames)
 			throws IOException {
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.metrics.buffering;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.core.metrics.buffering.StartupTimeline.TimelineEvent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Tests for {@link BufferingApplicationStartup}.
+ */
+class BufferingApplicationStartupTests {
+
+	@Test
+	void shouldRecordEventsWhenEnded() {
+		BufferingApplicationStartup applicationStartup = new BufferingApplicationStartup(2);
+		StartupStep first = applicationStartup.start("first");
+		applicationStartup.start("second").end();
+		assertThat(applicationStartup.getBufferedTimeline().getEvents()).hasSize(1);
+		first.end();
+		List<TimelineEvent> events = applicationStartup.getBufferedTimeline().getEvents();
+		assertThat(events).extracting(event -> event.getStartupStep().getName()).containsExactly("first", "second");
+	}
+
+	@Test
+	void shouldNestStepsStartedWithinAnotherStep() {
+		BufferingApplicationStartup applicationStartup = new BufferingApplicationStartup(5);
+		StartupStep parent = applicationStartup.start("parent");
+		StartupStep child = applicationStartup.start("child");
+		child.end();
+		StartupStep sibling = applicationStartup.start("sibling");
+		sibling.end();
+		parent.end();
+		assertThat(child.getParentId()).isEqualTo(parent.getId());
+		assertThat(sibling.getParentId()).isEqualTo(parent.getId());
+		assertThat(parent.getParentId()).isNull();
+
+		StartupTimeline timeline = applicationStartup.getBufferedTimeline();
+		TimelineEvent root = timeline.getRootEvents().get(0);
+		assertThat(root.getStartupStep()).isSameAs(parent);
+		assertThat(timeline.getChildren(root)).extracting(TimelineEvent::getStartupStep).containsExactly(child, sibling);
+		assertThat(timeline.getParent(timeline.getEvents("child").get(0))).isSameAs(root);
+		assertThat(timeline.getSelfDuration(root)).isLessThanOrEqualTo(root.getDuration());
+	}
+
+	@Test
+	void shouldRecordTags() {
+		BufferingApplicationStartup applicationStartup = new BufferingApplicationStartup(1);
+		applicationStartup.start("step").tag("name", "value").tag("supplied", () -> "other").end();
+		StartupStep step = applicationStartup.getBufferedTimeline().getEvents().get(0).getStartupStep();
+		assertThat(step.getTags()).extracting(StartupStep.Tag::getKey).containsExactly("name", "supplied");
+		assertThat(step.getTags()).extracting(StartupStep.Tag::getValue).containsExactly("value", "other");
+	}
+
+	@Test
+	void shouldNotTagEndedStep() {
+		BufferingApplicationStartup applicationStartup = new BufferingApplicationStartup(1);
+		StartupStep step = applicationStartup.start("step");
+		step.end();
+		assertThatIllegalStateException().isThrownBy(() -> step.tag("name", "value"));
+	}
+
+	@Test
+	void shouldNotRecordEventsOverCapacity() {
+		BufferingApplicationStartup applicationStartup = new BufferingApplicationStartup(2);
+		applicationStartup.start("first").end();
+		applicationStartup.start("second").end();
+		applicationStartup.start("third").end();
+		assertThat(applicationStartup.getBufferedTimeline().getEvents()).hasSize(2);
+	}
+
+	@Test
+	void shouldNotRecordFilteredEvents() {
+		BufferingApplicationStartup applicationStartup = new BufferingApplicationStartup(5);
+		applicationStartup.addFilter(step -> step.getName().startsWith("spring"));
+		applicationStartup.start("spring.first").end();
+		applicationStartup.start("other").end();
+		assertThat(applicationStartup.getBufferedTimeline().getEvents())
+				.extracting(event -> event.getStartupStep().getName()).containsExactly("spring.first");
+	}
+
+	@Test
+	void shouldDrainBufferedEvents() {
+		BufferingApplicationStartup applicationStartup = new BufferingApplicationStartup(2);
+		applicationStartup.start("first").end();
+		applicationStartup.start("second").end();
+		assertThat(applicationStartup.drainBufferedTimeline().getEvents()).hasSize(2);
+		assertThat(applicationStartup.getBufferedTimeline().getEvents()).isEmpty();
+		applicationStartup.start("third").end();
+		assertThat(applicationStartup.getBufferedTimeline().getEvents()).hasSize(1);
+	}
+
+	@Test
+	void shouldNotRestartRecordingOnceEventsAreBuffered() {
+		BufferingApplicationStartup applicationStartup = new BufferingApplicationStartup(1);
+		applicationStartup.start("first").end();
+		assertThatIllegalStateException().isThrownBy(applicationStartup::startRecording);
+	}
+
+	@Test
+	void shouldFollowNestedStepsOnCriticalPath() {
+		BufferingApplicationStartup applicationStartup = new BufferingApplicationStartup(5);
+		StartupStep root = applicationStartup.start("root");
+		StartupStep child = applicationStartup.start("child");
+		StartupStep grandChild = applicationStartup.start("grandChild");
+		grandChild.end();
+		child.end();
+		root.end();
+		assertThat(applicationStartup.getBufferedTimeline().getCriticalPath())
+				.extracting(TimelineEvent::getStartupStep).containsExactly(root, child, grandChild);
+	}
+
+}
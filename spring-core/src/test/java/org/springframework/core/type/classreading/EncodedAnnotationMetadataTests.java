@@ -0,0 +1,45 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.type.classreading;
+
+import org.springframework.core.type.AbstractAnnotationMetadataTests;
+import org.springframework.core.type.AnnotationMetadata;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ClassMetadataEncoder} and {@link ClassMetadataDecoder},
+ * applied to metadata read via {@link SimpleAnnotationMetadataReadingVisitor}.
+ */
+class EncodedAnnotationMetadataTests extends AbstractAnnotationMetadataTests {
+
+	@Override
+	protected AnnotationMetadata get(Class<?> source) {
+		try {
+			AnnotationMetadata metadata = new SimpleMetadataReaderFactory(
+					source.getClassLoader()).getMetadataReader(
+							source.getName()).getAnnotationMetadata();
+			byte[] payload = ClassMetadataEncoder.encode(metadata);
+			assertThat(payload).isNotNull();
+			return new ClassMetadataDecoder(source.getClassLoader()).decode(source.getName(), payload);
+		}
+		catch (Exception ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.type.classreading;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.UrlResource;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.core.type.MethodMetadata;
+import org.springframework.util.FileCopyUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link PersistentMetadataReaderFactory}.
+ */
+class PersistentMetadataReaderFactoryTests {
+
+	private static final String SAMPLE_PATH = Sample.class.getName().replace('.', '/') + ".class";
+
+	private File jarFile;
+
+	private File cacheDirectory;
+
+	private Resource resource;
+
+
+	@BeforeEach
+	void createJar(@TempDir Path tempDir) throws IOException {
+		this.jarFile = tempDir.resolve("sample.jar").toFile();
+		this.cacheDirectory = tempDir.resolve("cache").toFile();
+		try (JarOutputStream jar = new JarOutputStream(new FileOutputStream(this.jarFile));
+				InputStream classFile = getClass().getClassLoader().getResourceAsStream(SAMPLE_PATH)) {
+			jar.putNextEntry(new JarEntry(SAMPLE_PATH));
+			jar.write(FileCopyUtils.copyToByteArray(classFile));
+			jar.closeEntry();
+		}
+		this.resource = new UrlResource("jar:" + this.jarFile.toURI() + "!/" + SAMPLE_PATH);
+	}
+
+
+	@Test
+	void metadataIsPersistedForClassesInJarFiles() throws IOException {
+		PersistentMetadataReaderFactory factory = new PersistentMetadataReaderFactory(this.cacheDirectory);
+		MetadataReader metadataReader = factory.getMetadataReader(this.resource);
+		assertThat(metadataReader).isInstanceOf(SimpleMetadataReader.class);
+		factory.clearCache();
+		assertThat(this.cacheDirectory.list()).hasSize(1);
+
+		MetadataReader cachedReader =
+				new PersistentMetadataReaderFactory(this.cacheDirectory).getMetadataReader(this.resource);
+		assertThat(cachedReader).isInstanceOf(IndexedMetadataReader.class);
+		assertThat(cachedReader.getResource()).isEqualTo(this.resource);
+		assertSameMetadata(cachedReader.getAnnotationMetadata(), metadataReader.getAnnotationMetadata());
+	}
+
+	@Test
+	void metadataIsIgnoredWhenArchiveChanges() throws IOException {
+		PersistentMetadataReaderFactory factory = new PersistentMetadataReaderFactory(this.cacheDirectory);
+		factory.getMetadataReader(this.resource);
+		factory.flush();
+		assertThat(this.jarFile.setLastModified(this.jarFile.lastModified() + 10000)).isTrue();
+
+		factory = new PersistentMetadataReaderFactory(this.cacheDirectory);
+		assertThat(factory.getMetadataReader(this.resource)).isInstanceOf(SimpleMetadataReader.class);
+		factory.flush();
+		assertThat(new PersistentMetadataReaderFactory(this.cacheDirectory).getMetadataReader(this.resource))
+				.isInstanceOf(IndexedMetadataReader.class);
+	}
+
+	@Test
+	void clearCacheReleasesDecodedMetadataReaders() throws IOException {
+		PersistentMetadataReaderFactory factory = new PersistentMetadataReaderFactory(this.cacheDirectory);
+		MetadataReader metadataReader = factory.getMetadataReader(this.resource);
+		assertThat(factory.getMetadataReader(this.resource)).isSameAs(metadataReader);
+		factory.clearCache();
+
+		MetadataReader cachedReader = factory.getMetadataReader(this.resource);
+		assertThat(cachedReader).isInstanceOf(IndexedMetadataReader.class);
+		assertThat(factory.getMetadataReader(this.resource)).isSameAs(cachedReader);
+		factory.clearCache();
+		assertThat(factory.getMetadataReader(this.resource)).isInstanceOf(IndexedMetadataReader.class)
+				.isNotSameAs(cachedReader);
+	}
+
+	@Test
+	void metadataIsNotPersistedForClassesInFileSystem() throws IOException {
+		PersistentMetadataReaderFactory factory = new PersistentMetadataReaderFactory(this.cacheDirectory);
+		factory.getMetadataReader(new ClassPathResource(SAMPLE_PATH));
+		factory.flush();
+		assertThat(this.cacheDirectory).doesNotExist();
+	}
+
+	private void assertSameMetadata(AnnotationMetadata actual, AnnotationMetadata expected) {
+		assertThat(actual.getClassName()).isEqualTo(expected.getClassName());
+		assertThat(actual.isIndependent()).isEqualTo(expected.isIndependent());
+		assertThat(actual.getEnclosingClassName()).isEqualTo(expected.getEnclosingClassName());
+		assertThat(actual.getSuperClassName()).isEqualTo(expected.getSuperClassName());
+		assertThat(actual.getAnnotationTypes()).isEqualTo(expected.getAnnotationTypes());
+		assertThat(actual.getAnnotationAttributes(Order.class.getName()))
+				.isEqualTo(expected.getAnnotationAttributes(Order.class.getName()));
+		assertThat(actual.getAnnotatedMethods(Order.class.getName())).extracting(MethodMetadata::getMethodName)
+				.containsExactly("run");
+	}
+
+
+	@Order(5)
+	public static class Sample {
+
+		@Order(1)
+		public void run() {
+		}
+	}
+
+}
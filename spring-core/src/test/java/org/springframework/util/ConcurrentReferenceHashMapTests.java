@@ -234,6 +234,22 @@ class ConcurrentReferenceHashMapTests {
 		assertThat(this.map.get(5)).isEqualTo("5");
 	}
 
+	@Test
+	void shouldNotPurgeOnGet() {
+		this.map = new TestWeakConcurrentCache<>(1, 0.75f, 1);
+		for (int i = 1; i <= 5; i++) {
+			this.map.put(i, String.valueOf(i));
+		}
+		this.map.getMockReference(1, Restructure.NEVER).queueForPurge();
+		assertThat(this.map.get(1)).isEqualTo("1");
+		assertThat(this.map.containsKey(1)).isTrue();
+		assertThat(this.map.getOrDefault(1, "default")).isEqualTo("1");
+		assertThat(this.map.getSegment(0).getCount()).isEqualTo(5);
+		this.map.purgeUnreferencedEntries();
+		assertThat(this.map.get(1)).isNull();
+		assertThat(this.map.getSegment(0).getCount()).isEqualTo(4);
+	}
+
 	@Test
 	void shouldPurgeOnPut() {
 		this.map = new TestWeakConcurrentCache<>(1, 0.75f, 1);
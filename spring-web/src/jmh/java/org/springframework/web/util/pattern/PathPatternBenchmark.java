@@ -0,0 +1,107 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.util.pattern;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.http.server.PathContainer;
+
+/**
+ * Benchmarks for {@link PathPattern} parsing and matching, using request paths
+ * and patterns typical of a web application's handler mappings.
+ *
+ * @since 5.2.1
+ */
+@BenchmarkMode(Mode.Throughput)
+public class PathPatternBenchmark {
+
+	@Benchmark
+	public void parsePatterns(BenchmarkData data, Blackhole bh) {
+		for (String pattern : data.patterns) {
+			bh.consume(data.parser.parse(pattern));
+		}
+	}
+
+	@Benchmark
+	public void matchAllPatterns(BenchmarkData data, Blackhole bh) {
+		for (PathContainer path : data.paths) {
+			for (PathPattern pattern : data.parsedPatterns) {
+				bh.consume(pattern.matches(path));
+			}
+		}
+	}
+
+	@Benchmark
+	public void matchAndExtract(BenchmarkData data, Blackhole bh) {
+		for (PathContainer path : data.paths) {
+			bh.consume(data.variablesPattern.matchAndExtract(path));
+		}
+	}
+
+	@Benchmark
+	public void parseAndMatchPaths(BenchmarkData data, Blackhole bh) {
+		for (String path : data.rawPaths) {
+			bh.consume(data.variablesPattern.matches(PathContainer.parsePath(path)));
+		}
+	}
+
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkData {
+
+		public final String[] patterns = {
+				"/", "/static/**", "/api/{version}/users", "/api/{version}/users/{id}",
+				"/api/{version}/users/{id}/{*rest}", "/api/*/orders/{orderId:[0-9]+}", "/docs/*.html"};
+
+		public final String[] rawPaths = {
+				"/", "/static/css/main.css", "/api/v1/users", "/api/v1/users/42",
+				"/api/v2/users/42/preferences/display", "/api/v2/orders/1234", "/docs/index.html"};
+
+		public PathPatternParser parser;
+
+		public List<PathPattern> parsedPatterns;
+
+		public List<PathContainer> paths;
+
+		public PathPattern variablesPattern;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			this.parser = new PathPatternParser();
+			this.parsedPatterns = new ArrayList<>(this.patterns.length);
+			for (String pattern : this.patterns) {
+				this.parsedPatterns.add(this.parser.parse(pattern));
+			}
+			this.paths = new ArrayList<>(this.rawPaths.length);
+			for (String path : this.rawPaths) {
+				this.paths.add(PathContainer.parsePath(path));
+			}
+			this.variablesPattern = this.parser.parse("/api/{version}/users/{id}/{*rest}");
+		}
+	}
+
+}